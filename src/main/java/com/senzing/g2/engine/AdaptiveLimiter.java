@@ -0,0 +1,514 @@
+package com.senzing.g2.engine;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+/**
+ * Limits the number of concurrent engine calls to a limit that adapts to the
+ * observed call latency and failures, so loaders find the concurrency that
+ * maximizes throughput without overloading the database.
+ *
+ * <p>
+ * The limit follows a gradient that is updated once per window of completed
+ * calls (at least as many calls as the current limit, so roughly once per
+ * round trip): the window's average latency is compared against a baseline
+ * that tracks the lowest window average (drifting upward by a fraction of a
+ * percent per second so it can follow a database that has become
+ * permanently slower).  While the two
+ * agree within a tolerance the limit grows by a fraction of its square root
+ * per window, and as latency inflates relative to the baseline the limit
+ * shrinks in proportion.  Failures that {@link G2ErrorType} classifies as {@link
+ * G2ErrorType#RETRYABLE} (e.g.: deadlocks and timeouts) are taken as a sign
+ * of overload and cut the limit multiplicatively.  The limit is not grown
+ * while fewer than half of the permitted calls are in flight, so an idle
+ * loader does not inflate it.
+ *
+ * <p>
+ * Use {@link #wrap(G2Engine)} to limit {@link
+ * G2Engine#addRecord(String,String,String,String)}, {@link
+ * G2Engine#replaceRecord(String,String,String,String)}, {@link
+ * G2Engine#process(String)} and their response variants, or use {@link
+ * #acquire()} and {@link #release(long,G2ErrorType)} directly.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   AdaptiveLimiter limiter = new AdaptiveLimiter();
+ *   G2Engine limited = limiter.wrap(engine);
+ *   // any number of loader threads may call through the limited engine
+ *   limited.addRecord(dataSourceCode, recordID, jsonData, loadID);
+ *   ...
+ *   System.out.println("Current limit: " + limiter.getLimit());
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe.
+ */
+public class AdaptiveLimiter {
+  /**
+   * The default initial limit.
+   */
+  public static final int DEFAULT_INITIAL_LIMIT = 4;
+
+  /**
+   * The default minimum limit.
+   */
+  public static final int DEFAULT_MIN_LIMIT = 1;
+
+  /**
+   * The default maximum limit.
+   */
+  public static final int DEFAULT_MAX_LIMIT = 256;
+
+  /**
+   * The minimum number of samples in a window.
+   */
+  private static final int MIN_WINDOW = 10;
+
+  /**
+   * The fraction by which the baseline latency may rise per second.
+   */
+  private static final double BASELINE_DRIFT = 0.002;
+
+  /**
+   * The latency ratio tolerated before the limit stops growing.
+   */
+  private static final double TOLERANCE = 1.5;
+
+  /**
+   * The weight given to each new limit estimate.
+   */
+  private static final double SMOOTHING = 0.2;
+
+  /**
+   * The factor applied to the limit on an overload failure.
+   */
+  private static final double BACKOFF_RATIO = 0.9;
+
+  /**
+   * The minimum limit.
+   */
+  private final int minLimit;
+
+  /**
+   * The maximum limit.
+   */
+  private final int maxLimit;
+
+  /**
+   * The lock guarding the state.
+   */
+  private final ReentrantLock lock = new ReentrantLock();
+
+  /**
+   * The condition signalled when a permit may be available.
+   */
+  private final Condition available = this.lock.newCondition();
+
+  /**
+   * The current (fractional) limit.
+   */
+  private double limit;
+
+  /**
+   * The number of calls in flight.
+   */
+  private int inFlight;
+
+  /**
+   * The number of threads waiting for a permit.
+   */
+  private int waiting;
+
+  /**
+   * The average latency of the last window in nanoseconds, or zero (0) if
+   * none.
+   */
+  private double recentLatency;
+
+  /**
+   * The baseline latency in nanoseconds, or zero (0) if none.
+   */
+  private double baselineLatency;
+
+  /**
+   * The sum of the latencies in the current window.
+   */
+  private double windowSum;
+
+  /**
+   * The number of samples in the current window.
+   */
+  private int windowCount;
+
+  /**
+   * The time the current window started (from {@link System#nanoTime()}).
+   */
+  private long windowStart = System.nanoTime();
+
+  /**
+   * Whether or not the limit was approached during the current window.
+   */
+  private boolean windowBusy;
+
+  /**
+   * The number of completed calls.
+   */
+  private long completedCount;
+
+  /**
+   * The number of overload failures.
+   */
+  private long overloadCount;
+
+  /**
+   * Constructs with the default initial, minimum and maximum limits.
+   */
+  public AdaptiveLimiter() {
+    this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT);
+  }
+
+  /**
+   * Constructs with the specified initial, minimum and maximum limits.
+   *
+   * @param initialLimit The initial limit.
+   * @param minLimit The minimum limit.
+   * @param maxLimit The maximum limit.
+   *
+   * @throws IllegalArgumentException If the minimum limit is not positive or
+   *                                  the initial limit is not between the
+   *                                  minimum and maximum limits.
+   */
+  public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit) {
+    if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+      throw new IllegalArgumentException(
+          "Bad limits (initial=" + initialLimit + ", min=" + minLimit
+          + ", max=" + maxLimit + ").");
+    }
+    this.limit    = initialLimit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+  }
+
+  /**
+   * Waits until a call is permitted and returns the start time to pass to
+   * {@link #release(long,G2ErrorType)} once the call completes.
+   *
+   * @return The start time of the call (from {@link System#nanoTime()}).
+   *
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  public long acquire() throws InterruptedException {
+    this.lock.lock();
+    try {
+      this.waiting++;
+      try {
+        while (this.inFlight >= (int) this.limit) {
+          this.available.await();
+        }
+      } finally {
+        this.waiting--;
+      }
+      this.inFlight++;
+      return System.nanoTime();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Waits until a call is permitted, ignoring interruption, and returns the
+   * start time to pass to {@link #release(long,G2ErrorType)}.
+   *
+   * @return The start time of the call (from {@link System#nanoTime()}).
+   */
+  public long acquireUninterruptibly() {
+    this.lock.lock();
+    try {
+      this.waiting++;
+      while (this.inFlight >= (int) this.limit) {
+        this.available.awaitUninterruptibly();
+      }
+      this.waiting--;
+      this.inFlight++;
+      return System.nanoTime();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Releases the permit for a completed call and adapts the limit.
+   *
+   * @param startNanos The start time returned when the permit was acquired.
+   * @param failure The {@link G2ErrorType} if the call failed, or
+   *                <code>null</code> if it succeeded.
+   */
+  public void release(long startNanos, G2ErrorType failure) {
+    long latency = System.nanoTime() - startNanos;
+    this.lock.lock();
+    try {
+      int busy = this.inFlight--;
+      this.completedCount++;
+      if (failure == G2ErrorType.RETRYABLE) {
+        this.overloadCount++;
+        this.limit = Math.max(this.minLimit, this.limit * BACKOFF_RATIO);
+      } else if (failure == null) {
+        this.sample(latency, busy);
+      }
+      // other failures say nothing about load, so only free the permit
+      if (this.waiting > 0) this.available.signalAll();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the current limit on concurrent calls.
+   *
+   * @return The current limit on concurrent calls.
+   */
+  public int getLimit() {
+    this.lock.lock();
+    try {
+      return (int) this.limit;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of calls currently in flight.
+   *
+   * @return The number of calls currently in flight.
+   */
+  public int getInFlight() {
+    this.lock.lock();
+    try {
+      return this.inFlight;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of threads waiting to make a call.
+   *
+   * @return The number of threads waiting to make a call.
+   */
+  public int getWaitingCount() {
+    this.lock.lock();
+    try {
+      return this.waiting;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the average latency of successful calls in the last completed
+   * window in nanoseconds.
+   *
+   * @return The recent average latency in nanoseconds.
+   */
+  public long getRecentLatencyNanos() {
+    this.lock.lock();
+    try {
+      return (long) this.recentLatency;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the baseline latency of successful calls in nanoseconds against
+   * which the recent latency is compared.
+   *
+   * @return The baseline latency in nanoseconds.
+   */
+  public long getBaselineLatencyNanos() {
+    this.lock.lock();
+    try {
+      return (long) this.baselineLatency;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of completed calls.
+   *
+   * @return The number of completed calls.
+   */
+  public long getCompletedCount() {
+    this.lock.lock();
+    try {
+      return this.completedCount;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of calls that failed with a {@link
+   * G2ErrorType#RETRYABLE} failure and reduced the limit.
+   *
+   * @return The number of overload failures.
+   */
+  public long getOverloadCount() {
+    this.lock.lock();
+    try {
+      return this.overloadCount;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns a {@link G2Engine} that forwards to the specified {@link
+   * G2Engine}, limiting the concurrency of {@link
+   * G2Engine#addRecord(String,String,String,String)}, {@link
+   * G2Engine#replaceRecord(String,String,String,String)}, {@link
+   * G2Engine#process(String)} and their response variants.  Failures are
+   * classified without clearing them, so callers may still read them.
+   *
+   * @param engine The {@link G2Engine} to wrap.
+   *
+   * @return The limited {@link G2Engine}.
+   */
+  public G2Engine wrap(G2Engine engine) {
+    return new LimitedEngine(engine);
+  }
+
+  @Override
+  public String toString() {
+    this.lock.lock();
+    try {
+      return "AdaptiveLimiter{limit=" + (int) this.limit + ", inFlight="
+          + this.inFlight + ", waiting=" + this.waiting + ", recentLatency="
+          + (long) this.recentLatency + "ns, baselineLatency="
+          + (long) this.baselineLatency + "ns}";
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Internal method to adapt the limit to a latency sample.  This must be
+   * called while holding the lock.
+   */
+  private void sample(long latency, int busy) {
+    this.windowSum += latency;
+    this.windowCount++;
+    if (busy >= this.limit / 2.0) this.windowBusy = true;
+    if (this.windowCount < Math.max(MIN_WINDOW, (int) this.limit)) return;
+
+    long    now         = System.nanoTime();
+    double  seconds     = (now - this.windowStart) / 1.0e9;
+    boolean busyWindow  = this.windowBusy;
+    this.recentLatency  = this.windowSum / this.windowCount;
+    this.windowSum      = 0.0;
+    this.windowCount    = 0;
+    this.windowBusy     = false;
+    this.windowStart    = now;
+    this.baselineLatency = (this.baselineLatency == 0.0)
+        ? this.recentLatency
+        : Math.min(this.recentLatency,
+                   this.baselineLatency * (1.0 + BASELINE_DRIFT * seconds));
+
+    // an under-used limit is not evidence that more calls would help
+    if (!busyWindow) return;
+
+    double gradient = Math.max(0.5, Math.min(1.0,
+        TOLERANCE * this.baselineLatency / this.recentLatency));
+    double estimate = this.limit * gradient + Math.sqrt(this.limit);
+    double smoothed = this.limit * (1.0 - SMOOTHING) + estimate * SMOOTHING;
+    this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, smoothed));
+  }
+
+  /**
+   * The {@link G2Engine} returned by {@link #wrap(G2Engine)}.
+   */
+  private class LimitedEngine extends G2EngineDecorator {
+    private LimitedEngine(G2Engine engine) {
+      super(engine);
+    }
+
+    private int limited(IntSupplier call) {
+      long        start   = acquireUninterruptibly();
+      G2ErrorType failure = G2ErrorType.FATAL;
+      try {
+        int returnCode = call.getAsInt();
+        failure = (returnCode == 0)
+            ? null : G2ErrorType.classifyLast(this.delegate);
+        return returnCode;
+      } finally {
+        release(start, failure);
+      }
+    }
+
+    @Override
+    public int addRecord(String dataSourceCode,
+                         String recordID,
+                         String jsonData,
+                         String loadID)
+    {
+      return this.limited(() -> this.delegate.addRecord(
+          dataSourceCode, recordID, jsonData, loadID));
+    }
+
+    @Override
+    public int addRecordWithInfo(String       dataSourceCode,
+                                 String       recordID,
+                                 String       jsonData,
+                                 String       loadID,
+                                 long         flags,
+                                 StringBuffer response)
+    {
+      return this.limited(() -> this.delegate.addRecordWithInfo(
+          dataSourceCode, recordID, jsonData, loadID, flags, response));
+    }
+
+    @Override
+    public int replaceRecord(String dataSourceCode,
+                             String recordID,
+                             String jsonData,
+                             String loadID)
+    {
+      return this.limited(() -> this.delegate.replaceRecord(
+          dataSourceCode, recordID, jsonData, loadID));
+    }
+
+    @Override
+    public int replaceRecordWithInfo(String       dataSourceCode,
+                                     String       recordID,
+                                     String       jsonData,
+                                     String       loadID,
+                                     long         flags,
+                                     StringBuffer response)
+    {
+      return this.limited(() -> this.delegate.replaceRecordWithInfo(
+          dataSourceCode, recordID, jsonData, loadID, flags, response));
+    }
+
+    @Override
+    public int process(String record) {
+      return this.limited(() -> this.delegate.process(record));
+    }
+
+    @Override
+    public int process(String record, StringBuffer response) {
+      return this.limited(() -> this.delegate.process(record, response));
+    }
+
+    @Override
+    public int processWithInfo(String       record,
+                               long         flags,
+                               StringBuffer response)
+    {
+      return this.limited(() -> this.delegate.processWithInfo(
+          record, flags, response));
+    }
+  }
+}
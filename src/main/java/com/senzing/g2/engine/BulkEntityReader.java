@@ -0,0 +1,319 @@
+package com.senzing.g2.engine;
+
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Retrieves many entities by entity ID with {@link
+ * G2Engine#getEntityByEntityID(long,long,StringBuffer)}, fanning the calls out
+ * in parallel over a bounded number of threads.  Duplicate entity IDs are
+ * only retrieved once and the results are returned in the order of the
+ * requested entity IDs, each with its own return code.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   try (BulkEntityReader reader = new BulkEntityReader(engine, 8)) {
+ *     BulkEntityReader.BatchResult result
+ *         = reader.getEntities(entityIDs, G2Engine.G2_ENTITY_DEFAULT_FLAGS);
+ *     for (int index = 0; index &lt; result.size(); index++) {
+ *       if (result.getReturnCode(index) == 0) {
+ *         String json = result.getResponse(index);
+ *         ...
+ *       }
+ *     }
+ *   }
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe.
+ */
+public class BulkEntityReader implements AutoCloseable {
+  /**
+   * The {@link G2Engine} to read from.
+   */
+  private final G2Engine engine;
+
+  /**
+   * The {@link ExecutorService} that runs the calls.
+   */
+  private final ExecutorService executor;
+
+  /**
+   * The maximum number of concurrent calls for a single batch.
+   */
+  private final int concurrency;
+
+  /**
+   * Whether or not this instance owns (and should shut down) the executor.
+   */
+  private final boolean ownsExecutor;
+
+  /**
+   * Describes the results of a single call to {@link
+   * #getEntities(long[],long)}, indexed in the same order as the requested
+   * entity IDs.
+   */
+  public static class BatchResult {
+    private final long[] entityIDs;
+    private final int[] slots;
+    private final int[] returnCodes;
+    private final int[] errorCodes;
+    private final String[] responses;
+
+    private BatchResult(long[]    entityIDs,
+                        int[]     slots,
+                        int[]     returnCodes,
+                        int[]     errorCodes,
+                        String[]  responses)
+    {
+      this.entityIDs    = entityIDs;
+      this.slots        = slots;
+      this.returnCodes  = returnCodes;
+      this.errorCodes   = errorCodes;
+      this.responses    = responses;
+    }
+
+    /**
+     * Returns the number of requested entity IDs (including duplicates).
+     *
+     * @return The number of requested entity IDs.
+     */
+    public int size() {
+      return this.entityIDs.length;
+    }
+
+    /**
+     * Returns the requested entity ID at the specified index.
+     *
+     * @param index The index of the requested entity ID.
+     *
+     * @return The requested entity ID at the specified index.
+     */
+    public long getEntityID(int index) {
+      return this.entityIDs[index];
+    }
+
+    /**
+     * Returns the return code from {@link
+     * G2Engine#getEntityByEntityID(long,long,StringBuffer)} for the entity
+     * ID at the specified index.  This is zero (0) on success and non-zero
+     * on failure.
+     *
+     * @param index The index of the requested entity ID.
+     *
+     * @return The return code for the entity ID at the specified index.
+     */
+    public int getReturnCode(int index) {
+      return this.returnCodes[this.slots[index]];
+    }
+
+    /**
+     * Returns the value of {@link G2Engine#getLastExceptionCode()} that was
+     * captured on the calling thread if the retrieval failed for the entity ID
+     * at the specified index, otherwise zero (0).
+     *
+     * @param index The index of the requested entity ID.
+     *
+     * @return The exception code for the entity ID at the specified index.
+     */
+    public int getErrorCode(int index) {
+      return this.errorCodes[this.slots[index]];
+    }
+
+    /**
+     * Returns the JSON response document for the entity ID at the specified
+     * index if the retrieval succeeded, otherwise the value of {@link
+     * G2Engine#getLastException()} that was captured when it failed.
+     *
+     * @param index The index of the requested entity ID.
+     *
+     * @return The response document or error message for the entity ID at the
+     *         specified index.
+     */
+    public String getResponse(int index) {
+      return this.responses[this.slots[index]];
+    }
+
+    /**
+     * Checks if the retrieval succeeded for every requested entity ID.
+     *
+     * @return <code>true</code> if all retrievals succeeded, otherwise
+     *         <code>false</code>.
+     */
+    public boolean isAllSuccessful() {
+      for (int returnCode : this.returnCodes) {
+        if (returnCode != 0) return false;
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Constructs with the specified {@link G2Engine} and the maximum number of
+   * concurrent calls, creating an internal pool of that many threads which
+   * is shut down by {@link #close()}.
+   *
+   * @param engine The {@link G2Engine} to read from.
+   * @param concurrency The maximum number of concurrent calls.
+   *
+   * @throws IllegalArgumentException If the specified concurrency is less
+   *                                  than one (1).
+   */
+  public BulkEntityReader(G2Engine engine, int concurrency) {
+    this(engine,
+         Executors.newFixedThreadPool(
+             checkConcurrency(concurrency),
+             new NamedThreadFactory("g2-bulk-entity-reader")),
+         concurrency,
+         true);
+  }
+
+  /**
+   * Constructs with the specified {@link G2Engine}, the caller-managed
+   * {@link ExecutorService} and the maximum number of concurrent calls per
+   * batch.  The {@link ExecutorService} is <b>not</b> shut down by {@link
+   * #close()}.
+   *
+   * @param engine The {@link G2Engine} to read from.
+   * @param executor The {@link ExecutorService} to run the calls on.
+   * @param concurrency The maximum number of concurrent calls per batch.
+   *
+   * @throws IllegalArgumentException If the specified concurrency is less
+   *                                  than one (1).
+   */
+  public BulkEntityReader(G2Engine        engine,
+                          ExecutorService executor,
+                          int             concurrency)
+  {
+    this(engine, executor, checkConcurrency(concurrency), false);
+  }
+
+  /**
+   * Internal constructor.
+   */
+  private BulkEntityReader(G2Engine        engine,
+                           ExecutorService executor,
+                           int             concurrency,
+                           boolean         ownsExecutor)
+  {
+    if (engine == null) {
+      throw new NullPointerException("The G2Engine cannot be null.");
+    }
+    this.engine       = engine;
+    this.executor     = executor;
+    this.concurrency  = concurrency;
+    this.ownsExecutor = ownsExecutor;
+  }
+
+  /**
+   * Internal method to validate the concurrency.
+   */
+  private static int checkConcurrency(int concurrency) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException(
+          "The concurrency must be at least one (1): " + concurrency);
+    }
+    return concurrency;
+  }
+
+  /**
+   * Retrieves the entities identified by the specified entity IDs using the
+   * specified flags, retrieving each distinct entity ID once.  This blocks
+   * until every retrieval has completed.
+   *
+   * @param entityIDs The entity IDs of the entities to retrieve.
+   * @param flags The flags for {@link
+   *              G2Engine#getEntityByEntityID(long,long,StringBuffer)}.
+   *
+   * @return The {@link BatchResult} describing the results in the order of
+   *         the specified entity IDs.
+   *
+   * @throws InterruptedException If interrupted while waiting for the
+   *                              retrievals to complete.
+   */
+  public BatchResult getEntities(long[] entityIDs, long flags)
+      throws InterruptedException
+  {
+    long[] requested = entityIDs.clone();
+
+    // determine the distinct entity ID's without boxing
+    long[] distinct = entityIDs.clone();
+    Arrays.sort(distinct);
+    int count = 0;
+    for (int index = 0; index < distinct.length; index++) {
+      if (index == 0 || distinct[index] != distinct[count - 1]) {
+        distinct[count++] = distinct[index];
+      }
+    }
+    final long[] unique = Arrays.copyOf(distinct, count);
+
+    int[] slots = new int[requested.length];
+    for (int index = 0; index < requested.length; index++) {
+      slots[index] = Arrays.binarySearch(unique, requested[index]);
+    }
+
+    final int[]     returnCodes = new int[unique.length];
+    final int[]     errorCodes  = new int[unique.length];
+    final String[]  responses   = new String[unique.length];
+    final AtomicInteger next    = new AtomicInteger(0);
+
+    Runnable worker = () -> {
+      StringBuffer response = new StringBuffer();
+      for (int index = next.getAndIncrement();
+           index < unique.length;
+           index = next.getAndIncrement())
+      {
+        response.setLength(0);
+        int returnCode = this.engine.getEntityByEntityID(
+            unique[index], flags, response);
+        returnCodes[index] = returnCode;
+        if (returnCode == 0) {
+          responses[index] = response.toString();
+        } else {
+          errorCodes[index] = this.engine.getLastExceptionCode();
+          responses[index]  = this.engine.getLastException();
+          this.engine.clearLastException();
+        }
+      }
+    };
+
+    int workerCount = Math.min(this.concurrency, unique.length);
+    List<Future<?>> futures = new ArrayList<>(workerCount);
+    try {
+      for (int index = 0; index < workerCount; index++) {
+        futures.add(this.executor.submit(worker));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+      if (cause instanceof Error) throw (Error) cause;
+      throw new IllegalStateException(cause);
+    } finally {
+      // stop any remaining work if we are exiting early
+      next.set(unique.length);
+      for (Future<?> future : futures) {
+        future.cancel(false);
+      }
+    }
+
+    return new BatchResult(requested, slots, returnCodes, errorCodes, responses);
+  }
+
+  /**
+   * Shuts down the internal thread pool if this instance created it.
+   */
+  @Override
+  public void close() {
+    if (this.ownsExecutor) this.executor.shutdown();
+  }
+}
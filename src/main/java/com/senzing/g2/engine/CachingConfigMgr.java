@@ -0,0 +1,310 @@
+package com.senzing.g2.engine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Provides a {@link G2ConfigMgr} decorator that caches the documents returned
+ * by {@link G2ConfigMgr#getConfig(long,StringBuffer)}.  A configuration
+ * registered under a configuration ID never changes, so a cached document
+ * never needs to be refreshed.  Documents are kept in memory and, optionally,
+ * in a local cache directory so that they survive restarts of the process.
+ * Only a configuration that is in neither cache is fetched from the
+ * repository.
+ *
+ * <p>
+ * {@link G2ConfigMgr#getDefaultConfigID(Result)} and {@link
+ * G2ConfigMgr#getConfigList(StringBuffer)} describe the current state of the
+ * repository and are always forwarded, as are the functions that modify it.
+ *
+ * <p>
+ * Each cache file holds a single document preceded by a header line with
+ * its length and CRC-32 checksum.  Files are written to a temporary file and
+ * atomically renamed, and a file that fails its checksum is deleted and
+ * treated as a miss, so a damaged cache can never return a damaged
+ * configuration.  Failures to read or write the cache directory are counted
+ * but otherwise ignored.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   G2ConfigMgr configMgr = new CachingConfigMgr(
+ *       nativeConfigMgr, Paths.get("/var/cache/g2/config"));
+ *   StringBuffer response = new StringBuffer();
+ *   int returnCode = configMgr.getConfig(configID, response);
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe if the backing {@link G2ConfigMgr} is
+ * thread-safe.
+ */
+public class CachingConfigMgr extends G2ConfigMgrDecorator {
+  /**
+   * The prefix of the cache file names.
+   */
+  private static final String FILE_PREFIX = "config-";
+
+  /**
+   * The suffix of the cache file names.
+   */
+  private static final String FILE_SUFFIX = ".json";
+
+  /**
+   * The marker at the start of the header line of each cache file.
+   */
+  private static final String HEADER_MARKER = "G2CONFIG";
+
+  /**
+   * The configuration documents keyed by configuration ID.
+   */
+  private final Map<Long, String> configs = new ConcurrentHashMap<>();
+
+  /**
+   * The cache directory, or <code>null</code> if caching in memory only.
+   */
+  private final Path cacheDirectory;
+
+  /**
+   * The number of requests served from memory.
+   */
+  private final AtomicLong memoryHitCount = new AtomicLong(0L);
+
+  /**
+   * The number of requests served from the cache directory.
+   */
+  private final AtomicLong diskHitCount = new AtomicLong(0L);
+
+  /**
+   * The number of requests forwarded to the backing {@link G2ConfigMgr}.
+   */
+  private final AtomicLong missCount = new AtomicLong(0L);
+
+  /**
+   * The number of failures reading or writing the cache directory.
+   */
+  private final AtomicLong diskFailureCount = new AtomicLong(0L);
+
+  /**
+   * Constructs with the backing {@link G2ConfigMgr}, caching in memory only.
+   *
+   * @param delegate The backing {@link G2ConfigMgr}.
+   */
+  public CachingConfigMgr(G2ConfigMgr delegate) {
+    super(delegate);
+    this.cacheDirectory = null;
+  }
+
+  /**
+   * Constructs with the backing {@link G2ConfigMgr} and the cache directory,
+   * which is created if necessary.
+   *
+   * @param delegate The backing {@link G2ConfigMgr}.
+   * @param cacheDirectory The directory in which to cache the configuration
+   *                       documents.
+   *
+   * @throws IOException If the cache directory cannot be created.
+   */
+  public CachingConfigMgr(G2ConfigMgr delegate, Path cacheDirectory)
+      throws IOException
+  {
+    super(delegate);
+    if (cacheDirectory == null) {
+      throw new NullPointerException("The cache directory cannot be null.");
+    }
+    Files.createDirectories(cacheDirectory);
+    this.cacheDirectory = cacheDirectory;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This returns the cached document if the configuration is in memory or
+   * in the cache directory, and otherwise fetches it from the backing
+   * {@link G2ConfigMgr} and caches it.
+   */
+  @Override
+  public int getConfig(long configID, StringBuffer response) {
+    String config = this.configs.get(configID);
+    if (config != null) {
+      this.memoryHitCount.incrementAndGet();
+      response.setLength(0);
+      response.append(config);
+      return 0;
+    }
+    config = this.readFile(configID);
+    if (config != null) {
+      this.diskHitCount.incrementAndGet();
+      this.configs.putIfAbsent(configID, config);
+      response.setLength(0);
+      response.append(config);
+      return 0;
+    }
+
+    this.missCount.incrementAndGet();
+    // the hit paths replace the contents, so the miss path must as well
+    response.setLength(0);
+    int returnCode = this.delegate.getConfig(configID, response);
+    if (returnCode == 0) {
+      config = response.toString();
+      this.configs.putIfAbsent(configID, config);
+      this.writeFile(configID, config);
+    }
+    return returnCode;
+  }
+
+  /**
+   * Removes the configuration with the specified configuration ID from
+   * memory and from the cache directory.  This is only needed if the cache
+   * directory is shared by repositories that assign the same configuration
+   * ID to different configurations.
+   *
+   * @param configID The configuration ID of the configuration to remove.
+   */
+  public void invalidate(long configID) {
+    this.configs.remove(configID);
+    if (this.cacheDirectory == null) return;
+    try {
+      Files.deleteIfExists(this.fileFor(configID));
+    } catch (IOException e) {
+      this.diskFailureCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * Returns the number of requests served from memory.
+   *
+   * @return The number of requests served from memory.
+   */
+  public long getMemoryHitCount() {
+    return this.memoryHitCount.get();
+  }
+
+  /**
+   * Returns the number of requests served from the cache directory.
+   *
+   * @return The number of requests served from the cache directory.
+   */
+  public long getDiskHitCount() {
+    return this.diskHitCount.get();
+  }
+
+  /**
+   * Returns the number of requests forwarded to the backing {@link
+   * G2ConfigMgr}.
+   *
+   * @return The number of cache misses.
+   */
+  public long getMissCount() {
+    return this.missCount.get();
+  }
+
+  /**
+   * Returns the number of failures reading or writing the cache directory,
+   * including cache files discarded for failing their checksum.
+   *
+   * @return The number of cache directory failures.
+   */
+  public long getDiskFailureCount() {
+    return this.diskFailureCount.get();
+  }
+
+  /**
+   * Internal method to get the cache file for a configuration ID.
+   */
+  private Path fileFor(long configID) {
+    return this.cacheDirectory.resolve(FILE_PREFIX + configID + FILE_SUFFIX);
+  }
+
+  /**
+   * Internal method to read and verify a cache file, returning
+   * <code>null</code> if it is missing or invalid.
+   */
+  private String readFile(long configID) {
+    if (this.cacheDirectory == null) return null;
+    Path file = this.fileFor(configID);
+    byte[] bytes;
+    try {
+      bytes = Files.readAllBytes(file);
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      this.diskFailureCount.incrementAndGet();
+      return null;
+    }
+
+    int newline = 0;
+    while (newline < bytes.length && bytes[newline] != '\n') newline++;
+    String[] header = new String(bytes, 0, newline, StandardCharsets.US_ASCII)
+        .split(" ");
+    int start = newline + 1;
+    try {
+      if (header.length == 3 && header[0].equals(HEADER_MARKER)
+          && Integer.parseInt(header[1]) == bytes.length - start
+          && Long.parseLong(header[2], 16) == checksum(bytes, start))
+      {
+        return new String(bytes, start, bytes.length - start,
+                          StandardCharsets.UTF_8);
+      }
+    } catch (NumberFormatException ignore) {
+      // treat as invalid
+    }
+
+    this.diskFailureCount.incrementAndGet();
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException ignore) {
+      // the file will be replaced when the configuration is fetched
+    }
+    return null;
+  }
+
+  /**
+   * Internal method to write a cache file via an atomic rename.
+   */
+  private void writeFile(long configID, String config) {
+    if (this.cacheDirectory == null) return;
+    byte[] content  = config.getBytes(StandardCharsets.UTF_8);
+    byte[] header   = (HEADER_MARKER + " " + content.length + " "
+                       + Long.toHexString(checksum(content, 0)) + "\n")
+        .getBytes(StandardCharsets.US_ASCII);
+    byte[] bytes = Arrays.copyOf(header, header.length + content.length);
+    System.arraycopy(content, 0, bytes, header.length, content.length);
+
+    Path temp = null;
+    try {
+      temp = Files.createTempFile(this.cacheDirectory, FILE_PREFIX, ".tmp");
+      Files.write(temp, bytes);
+      Files.move(temp, this.fileFor(configID),
+                 StandardCopyOption.ATOMIC_MOVE,
+                 StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      this.diskFailureCount.incrementAndGet();
+      if (temp != null) {
+        try {
+          Files.deleteIfExists(temp);
+        } catch (IOException ignore) {
+          // nothing more can be done
+        }
+      }
+    }
+  }
+
+  /**
+   * Internal method to compute the CRC-32 checksum of the bytes from the
+   * specified offset.
+   */
+  private static long checksum(byte[] bytes, int offset) {
+    CRC32 crc = new CRC32();
+    crc.update(bytes, offset, bytes.length - offset);
+    return crc.getValue();
+  }
+}
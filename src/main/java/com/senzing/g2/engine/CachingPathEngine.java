@@ -0,0 +1,971 @@
+package com.senzing.g2.engine;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Provides a {@link G2Engine} that caches successful {@link
+ * G2Engine#findPathByEntityID(long,long,int,long,StringBuffer)}, {@link
+ * G2Engine#findPathExcludingByEntityID(long,long,int,String,long,StringBuffer)}
+ * and {@link G2Engine#findPathIncludingSourceByEntityID(long,long,int,String,
+ * String,long,StringBuffer)} responses (and those of their overloads) and
+ * forwards every other call unchanged.
+ *
+ * <p>
+ * Paths are symmetric, so the cache key orders the two entity IDs and a
+ * query with the end points swapped is answered from the same entry with the
+ * path's start and end entity IDs exchanged and its entities reversed.  The
+ * key also includes the function, the flags, the excluded entities and the
+ * required data sources.  The maximum degrees is matched rather than keyed:
+ * a cached path of <i>N</i> hops answers any query allowing at least
+ * <i>N</i> degrees (the engine returns the shortest path), and a cached
+ * "no path" response answers any query allowing no more degrees than the
+ * query that produced it.  The exception is an excluding or including
+ * query with {@link G2Engine#G2_FIND_PATH_PREFER_EXCLUDE}, for which the
+ * engine may return a short path through an excluded entity when a longer
+ * path avoiding it is out of reach, so those are keyed by the maximum
+ * degrees as well.
+ *
+ * <p>
+ * Each entry is indexed by the entities on its path (and its end points) and
+ * is discarded when one of those entities is reported as affected, either by
+ * a <code>*WithInfo</code> call made through this instance or by passing an
+ * info response to {@link #invalidateAffected(CharSequence)}.  A change that
+ * creates a shorter path without affecting any entity on the cached path is
+ * not detected, so entries also expire after the configured time to live and,
+ * optionally, whenever the epoch of a {@link RepositoryEpochService}
+ * advances.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   G2Engine cached = new CachingPathEngine(engine, 100000, 600000L);
+ *   cached.findPathByEntityID(entityID1, entityID2, 6, flags, response);
+ *   // answered from the cache
+ *   cached.findPathByEntityID(entityID2, entityID1, 3, flags, response);
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe if the backing {@link G2Engine} is thread-safe.
+ */
+public class CachingPathEngine extends G2EngineDecorator {
+  /**
+   * The field name of the paths array in the response.
+   */
+  private static final String ENTITY_PATHS = "ENTITY_PATHS";
+
+  /**
+   * The field name of the start entity ID in each path element.
+   */
+  private static final String START_ENTITY_ID = "START_ENTITY_ID";
+
+  /**
+   * The field name of the end entity ID in each path element.
+   */
+  private static final String END_ENTITY_ID = "END_ENTITY_ID";
+
+  /**
+   * The field name of the entity ID array in each path element.
+   */
+  private static final String ENTITIES = "ENTITIES";
+
+  /**
+   * The field name of the affected entities array in an info response.
+   */
+  private static final String AFFECTED_ENTITIES = "AFFECTED_ENTITIES";
+
+  /**
+   * The field name of the entity ID in each affected entity element.
+   */
+  private static final String ENTITY_ID = "ENTITY_ID";
+
+  /**
+   * The key prefix for the path overload without flags.
+   */
+  private static final char PATH_MARKER = 'P';
+
+  /**
+   * The key prefix for the path overload with flags.
+   */
+  private static final char PATH_FLAGS_MARKER = 'p';
+
+  /**
+   * The key prefix for the excluding overload without flags.
+   */
+  private static final char EXCLUDING_MARKER = 'X';
+
+  /**
+   * The key prefix for the excluding overload with flags.
+   */
+  private static final char EXCLUDING_FLAGS_MARKER = 'x';
+
+  /**
+   * The key prefix for the including source overload without flags.
+   */
+  private static final char INCLUDING_MARKER = 'I';
+
+  /**
+   * The key prefix for the including source overload with flags.
+   */
+  private static final char INCLUDING_FLAGS_MARKER = 'i';
+
+  /**
+   * The maximum number of invalidated entities remembered while queries are
+   * in flight before falling back to rejecting every such query.
+   */
+  private static final int MAX_TRACKED_INVALIDATIONS = 4096;
+
+  /**
+   * A cached path response.
+   */
+  private static final class CachedPath {
+    private final String key;
+    private final long startEntityID;
+    private final int maxDegrees;
+    private final int hops;
+    private final long[] entityIDs;
+    private final String response;
+    private final long created;
+    private String reversed;
+
+    private CachedPath(String  key,
+                       long    startEntityID,
+                       int     maxDegrees,
+                       int     hops,
+                       long[]  entityIDs,
+                       String  response,
+                       long    created)
+    {
+      this.key            = key;
+      this.startEntityID  = startEntityID;
+      this.maxDegrees     = maxDegrees;
+      this.hops           = hops;
+      this.entityIDs      = entityIDs;
+      this.response       = response;
+      this.created        = created;
+    }
+
+    /**
+     * Checks if this entry answers a query with the specified maximum
+     * degrees.
+     */
+    private boolean answers(int maxDegrees) {
+      return (this.hops >= 0) ? (this.hops <= maxDegrees)
+                              : (maxDegrees <= this.maxDegrees);
+    }
+  }
+
+  /**
+   * The least-recently-used map of cached paths.
+   */
+  private final LinkedHashMap<String, CachedPath> entries;
+
+  /**
+   * The keys of the cached paths indexed by the entity IDs on each path.
+   */
+  private final Map<Long, Set<String>> keysByEntity = new HashMap<>();
+
+  /**
+   * The monitor guarding the entries and the index.
+   */
+  private final Object lock = new Object();
+
+  /**
+   * The maximum age of an entry in nanoseconds.
+   */
+  private final long ttlNanos;
+
+  /**
+   * The {@link RepositoryEpochService} to follow, or <code>null</code> if
+   * none.
+   */
+  private final RepositoryEpochService epochService;
+
+  /**
+   * The most recent epoch of the {@link RepositoryEpochService} observed.
+   */
+  private final AtomicLong observedEpoch;
+
+  /**
+   * The generation, incremented on every invalidation.  Guarded by the lock.
+   */
+  private long generation = 0L;
+
+  /**
+   * The generation before which no response may be cached because of an
+   * invalidation that was not tracked per entity.  Guarded by the lock.
+   */
+  private long floorGeneration = 0L;
+
+  /**
+   * The number of queries forwarded to the backing engine and not yet
+   * completed.  Guarded by the lock.
+   */
+  private int pendingCount = 0;
+
+  /**
+   * The generation at which each entity was last invalidated while queries
+   * were in flight, so that a response computed before an invalidation of
+   * one of its entities is not cached after it.  Cleared whenever no
+   * queries are in flight.  Guarded by the lock.
+   */
+  private final Map<Long, Long> invalidatedAt = new HashMap<>();
+
+  /**
+   * The number of cache hits.
+   */
+  private final AtomicLong hitCount = new AtomicLong(0L);
+
+  /**
+   * The number of cache misses.
+   */
+  private final AtomicLong missCount = new AtomicLong(0L);
+
+  /**
+   * The number of entries discarded because an entity on the path was
+   * affected.
+   */
+  private final AtomicLong invalidationCount = new AtomicLong(0L);
+
+  /**
+   * Constructs with the backing {@link G2Engine}, the maximum number of
+   * entries and the time to live.
+   *
+   * @param delegate The backing {@link G2Engine}.
+   * @param maxEntries The maximum number of cached responses.
+   * @param ttlMillis The maximum age of a cached response in milliseconds.
+   *
+   * @throws IllegalArgumentException If the maximum entries or time to live
+   *                                  is not positive.
+   */
+  public CachingPathEngine(G2Engine delegate, int maxEntries, long ttlMillis) {
+    this(delegate, maxEntries, ttlMillis, null);
+  }
+
+  /**
+   * Constructs with the backing {@link G2Engine}, the maximum number of
+   * entries, the time to live and the {@link RepositoryEpochService} whose
+   * epoch changes invalidate the cache.
+   *
+   * @param delegate The backing {@link G2Engine}.
+   * @param maxEntries The maximum number of cached responses.
+   * @param ttlMillis The maximum age of a cached response in milliseconds.
+   * @param epochService The {@link RepositoryEpochService} to follow, or
+   *                     <code>null</code> if none.
+   *
+   * @throws IllegalArgumentException If the maximum entries or time to live
+   *                                  is not positive.
+   */
+  public CachingPathEngine(G2Engine               delegate,
+                           int                    maxEntries,
+                           long                   ttlMillis,
+                           RepositoryEpochService epochService)
+  {
+    super(delegate);
+    if (maxEntries < 1 || ttlMillis < 1L) {
+      throw new IllegalArgumentException(
+          "The maximum entries (" + maxEntries + ") and time to live ("
+          + ttlMillis + ") must be positive.");
+    }
+    this.ttlNanos       = ttlMillis * 1000000L;
+    this.epochService   = epochService;
+    this.observedEpoch  = new AtomicLong(
+        (epochService == null) ? -1L : epochService.getEpoch());
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(
+          Map.Entry<String, CachedPath> eldest)
+      {
+        if (this.size() <= maxEntries) return false;
+        unindex(eldest.getValue());
+        return true;
+      }
+    };
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Successful responses are cached.
+   */
+  @Override
+  public int findPathByEntityID(long         entityID1,
+                                long         entityID2,
+                                int          maxDegrees,
+                                StringBuffer response)
+  {
+    return this.cachedPath(PATH_MARKER, entityID1, entityID2, maxDegrees,
+                           null, null, 0L, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Successful responses are cached.
+   */
+  @Override
+  public int findPathByEntityID(long         entityID1,
+                                long         entityID2,
+                                int          maxDegrees,
+                                long         flags,
+                                StringBuffer response)
+  {
+    return this.cachedPath(PATH_FLAGS_MARKER, entityID1, entityID2,
+                           maxDegrees, null, null, flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Successful responses are cached.
+   */
+  @Override
+  public int findPathExcludingByEntityID(long          entityID1,
+                                         long          entityID2,
+                                         int           maxDegrees,
+                                         String        excludedEntities,
+                                         StringBuffer  response)
+  {
+    return this.cachedPath(EXCLUDING_MARKER, entityID1, entityID2,
+                           maxDegrees, excludedEntities, null, 0L, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Successful responses are cached.
+   */
+  @Override
+  public int findPathExcludingByEntityID(long          entityID1,
+                                         long          entityID2,
+                                         int           maxDegrees,
+                                         String        excludedEntities,
+                                         long          flags,
+                                         StringBuffer  response)
+  {
+    return this.cachedPath(EXCLUDING_FLAGS_MARKER, entityID1, entityID2,
+                           maxDegrees, excludedEntities, null, flags,
+                           response);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Successful responses are cached.
+   */
+  @Override
+  public int findPathIncludingSourceByEntityID(long          entityID1,
+                                               long          entityID2,
+                                               int           maxDegrees,
+                                               String        excludedEntities,
+                                               String        requiredSources,
+                                               StringBuffer  response)
+  {
+    return this.cachedPath(INCLUDING_MARKER, entityID1, entityID2,
+                           maxDegrees, excludedEntities, requiredSources, 0L,
+                           response);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Successful responses are cached.
+   */
+  @Override
+  public int findPathIncludingSourceByEntityID(long          entityID1,
+                                               long          entityID2,
+                                               int           maxDegrees,
+                                               String        excludedEntities,
+                                               String        requiredSources,
+                                               long          flags,
+                                               StringBuffer  response)
+  {
+    return this.cachedPath(INCLUDING_FLAGS_MARKER, entityID1, entityID2,
+                           maxDegrees, excludedEntities, requiredSources,
+                           flags, response);
+  }
+
+  /**
+   * Discards every cached path that includes the specified entity.
+   *
+   * @param entityID The entity ID of the changed entity.
+   *
+   * @return The number of entries discarded.
+   */
+  public int invalidateEntity(long entityID) {
+    int count = 0;
+    synchronized (this.lock) {
+      long generation = ++this.generation;
+      if (this.pendingCount > 0) {
+        if (this.invalidatedAt.size() < MAX_TRACKED_INVALIDATIONS) {
+          this.invalidatedAt.put(entityID, generation);
+        } else {
+          this.floorGeneration = generation;
+          this.invalidatedAt.clear();
+        }
+      }
+      Set<String> keys = this.keysByEntity.remove(entityID);
+      if (keys == null) return 0;
+      for (String key : keys.toArray(new String[0])) {
+        CachedPath entry = this.entries.remove(key);
+        if (entry != null) {
+          this.unindex(entry);
+          count++;
+        }
+      }
+    }
+    this.invalidationCount.addAndGet(count);
+    return count;
+  }
+
+  /**
+   * Discards every cached path that includes an entity listed in the
+   * <code>AFFECTED_ENTITIES</code> of the specified info response as
+   * returned by one of the <code>*WithInfo</code> functions of {@link
+   * G2Engine}.
+   *
+   * @param withInfoResponse The info response document.
+   *
+   * @return The number of entries discarded.
+   */
+  public int invalidateAffected(CharSequence withInfoResponse) {
+    if (withInfoResponse == null || withInfoResponse.length() == 0) return 0;
+    JsonCursor cursor = new JsonCursor(withInfoResponse);
+    if (cursor.next() != JsonCursor.Token.START_OBJECT) return 0;
+    int count = 0;
+    while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+      if (!cursor.textEquals(AFFECTED_ENTITIES)) {
+        cursor.skipValue();
+        continue;
+      }
+      if (cursor.next() != JsonCursor.Token.START_ARRAY) {
+        cursor.skipValue();
+        continue;
+      }
+      while (cursor.next() == JsonCursor.Token.START_OBJECT) {
+        while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+          if (cursor.textEquals(ENTITY_ID)) {
+            count += this.invalidateEntity(cursor.nextLong(0L));
+          } else {
+            cursor.skipValue();
+          }
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Discards every cached path.
+   */
+  public void invalidateAll() {
+    int count;
+    synchronized (this.lock) {
+      this.floorGeneration = ++this.generation;
+      this.invalidatedAt.clear();
+      count = this.entries.size();
+      this.entries.clear();
+      this.keysByEntity.clear();
+    }
+    this.invalidationCount.addAndGet(count);
+  }
+
+  /**
+   * Returns the number of cached paths.
+   *
+   * @return The number of cached paths.
+   */
+  public int size() {
+    synchronized (this.lock) {
+      return this.entries.size();
+    }
+  }
+
+  /**
+   * Returns the number of queries answered from the cache.
+   *
+   * @return The number of cache hits.
+   */
+  public long getHitCount() {
+    return this.hitCount.get();
+  }
+
+  /**
+   * Returns the number of queries forwarded to the backing engine.
+   *
+   * @return The number of cache misses.
+   */
+  public long getMissCount() {
+    return this.missCount.get();
+  }
+
+  /**
+   * Returns the number of cached paths discarded by invalidation.
+   *
+   * @return The number of invalidated entries.
+   */
+  public long getInvalidationCount() {
+    return this.invalidationCount.get();
+  }
+
+  /**
+   * Internal method to answer a path query from the cache or the backing
+   * engine.
+   */
+  private int cachedPath(char         marker,
+                         long         entityID1,
+                         long         entityID2,
+                         int          maxDegrees,
+                         String       excludedEntities,
+                         String       requiredSources,
+                         long         flags,
+                         StringBuffer response)
+  {
+    this.checkEpoch();
+    StringBuilder sb = new StringBuilder(64);
+    sb.append(marker).append(flags).append('|');
+    sb.append(Math.min(entityID1, entityID2)).append(':');
+    sb.append(Math.max(entityID1, entityID2)).append('|');
+    // length-prefix the documents so that no two calls share a key
+    appendPrefixed(sb, excludedEntities).append('|');
+    appendPrefixed(sb, requiredSources);
+    if (marker != PATH_MARKER && marker != PATH_FLAGS_MARKER
+        && (flags & G2_FIND_PATH_PREFER_EXCLUDE) != 0L)
+    {
+      // a deeper query may prefer a longer path avoiding excluded entities
+      sb.append('|').append(maxDegrees);
+    }
+    String key = sb.toString();
+
+    long now = System.nanoTime();
+    String cached = null;
+    long generation = 0L;
+    synchronized (this.lock) {
+      CachedPath entry = this.entries.get(key);
+      if (entry != null && now - entry.created > this.ttlNanos) {
+        this.entries.remove(key);
+        this.unindex(entry);
+        entry = null;
+      }
+      if (entry != null && entry.answers(maxDegrees)) {
+        if (entry.startEntityID == entityID1) {
+          cached = entry.response;
+        } else {
+          if (entry.reversed == null) entry.reversed = reverse(entry.response);
+          cached = entry.reversed;
+        }
+      }
+      if (cached == null) {
+        generation = this.generation;
+        this.pendingCount++;
+      }
+    }
+    if (cached != null) {
+      this.hitCount.incrementAndGet();
+      response.setLength(0);
+      response.append(cached);
+      return 0;
+    }
+
+    this.missCount.incrementAndGet();
+    try {
+      return this.forward(key, marker, entityID1, entityID2, maxDegrees,
+                          excludedEntities, requiredSources, flags,
+                          response, now, generation);
+    } finally {
+      synchronized (this.lock) {
+        if (--this.pendingCount == 0) this.invalidatedAt.clear();
+      }
+    }
+  }
+
+  /**
+   * Internal method to forward a path query to the backing engine and cache
+   * the response unless an entity it involves was invalidated since the
+   * specified generation.
+   */
+  private int forward(String       key,
+                      char         marker,
+                      long         entityID1,
+                      long         entityID2,
+                      int          maxDegrees,
+                      String       excludedEntities,
+                      String       requiredSources,
+                      long         flags,
+                      StringBuffer response,
+                      long         now,
+                      long         generation)
+  {
+    int returnCode = this.findPath(marker, entityID1, entityID2, maxDegrees,
+                                   excludedEntities, requiredSources, flags,
+                                   response);
+    if (returnCode != 0) return returnCode;
+
+    CachedPath created;
+    try {
+      created = parse(key, maxDegrees, response.toString(), now);
+    } catch (RuntimeException e) {
+      // leave unexpected responses uncached
+      return returnCode;
+    }
+    if (created == null || created.startEntityID != entityID1) {
+      return returnCode;
+    }
+    synchronized (this.lock) {
+      if (generation < this.floorGeneration) return returnCode;
+      for (long entityID : created.entityIDs) {
+        Long invalidated = this.invalidatedAt.get(entityID);
+        if (invalidated != null && invalidated > generation) {
+          return returnCode;
+        }
+      }
+      CachedPath existing = this.entries.get(key);
+      if (existing != null) {
+        // keep the entry that answers the most queries
+        if (created.hops < 0 && (existing.hops >= 0
+                                 || existing.maxDegrees >= maxDegrees))
+        {
+          return returnCode;
+        }
+        this.unindex(existing);
+      }
+      this.entries.put(key, created);
+      for (long entityID : created.entityIDs) {
+        this.keysByEntity.computeIfAbsent(entityID, id -> new HashSet<>())
+            .add(key);
+      }
+    }
+    return returnCode;
+  }
+
+  /**
+   * Internal method to append the length and text of the specified value to
+   * a cache key, or a single hyphen if the value is <code>null</code>.
+   */
+  private static StringBuilder appendPrefixed(StringBuilder sb, String value)
+  {
+    if (value == null) return sb.append('-');
+    return sb.append(value.length()).append(':').append(value);
+  }
+
+  /**
+   * Internal method to call the overload of the backing engine identified by
+   * the key marker.
+   */
+  private int findPath(char         marker,
+                       long         entityID1,
+                       long         entityID2,
+                       int          maxDegrees,
+                       String       excludedEntities,
+                       String       requiredSources,
+                       long         flags,
+                       StringBuffer response)
+  {
+    switch (marker) {
+      case PATH_MARKER:
+        return this.delegate.findPathByEntityID(
+            entityID1, entityID2, maxDegrees, response);
+      case PATH_FLAGS_MARKER:
+        return this.delegate.findPathByEntityID(
+            entityID1, entityID2, maxDegrees, flags, response);
+      case EXCLUDING_MARKER:
+        return this.delegate.findPathExcludingByEntityID(
+            entityID1, entityID2, maxDegrees, excludedEntities, response);
+      case EXCLUDING_FLAGS_MARKER:
+        return this.delegate.findPathExcludingByEntityID(
+            entityID1, entityID2, maxDegrees, excludedEntities, flags,
+            response);
+      case INCLUDING_MARKER:
+        return this.delegate.findPathIncludingSourceByEntityID(
+            entityID1, entityID2, maxDegrees, excludedEntities,
+            requiredSources, response);
+      default:
+        return this.delegate.findPathIncludingSourceByEntityID(
+            entityID1, entityID2, maxDegrees, excludedEntities,
+            requiredSources, flags, response);
+    }
+  }
+
+  /**
+   * Internal method to remove an entry from the entity index.  The caller
+   * must hold the lock.
+   */
+  private void unindex(CachedPath entry) {
+    for (long entityID : entry.entityIDs) {
+      Set<String> keys = this.keysByEntity.get(entityID);
+      if (keys != null && keys.remove(entry.key) && keys.isEmpty()) {
+        this.keysByEntity.remove(entityID);
+      }
+    }
+  }
+
+  /**
+   * Internal method to invalidate the cache if the epoch has advanced.
+   */
+  private void checkEpoch() {
+    if (this.epochService == null) return;
+    long epoch    = this.epochService.getEpoch();
+    long observed = this.observedEpoch.get();
+    if (epoch > observed && this.observedEpoch.compareAndSet(observed, epoch)) {
+      this.invalidateAll();
+    }
+  }
+
+  /**
+   * Internal method to create the cache entry for the first path of a
+   * response, returning <code>null</code> if the response has no path.
+   */
+  private static CachedPath parse(String  key,
+                                  int     maxDegrees,
+                                  String  response,
+                                  long    created)
+  {
+    JsonCursor cursor = new JsonCursor(response);
+    if (cursor.next() != JsonCursor.Token.START_OBJECT) return null;
+    while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+      if (!cursor.textEquals(ENTITY_PATHS)) {
+        cursor.skipValue();
+        continue;
+      }
+      if (cursor.next() != JsonCursor.Token.START_ARRAY
+          || cursor.next() != JsonCursor.Token.START_OBJECT)
+      {
+        return null;
+      }
+      long    start     = 0L;
+      long    end       = 0L;
+      long[]  entityIDs = new long[8];
+      int     count     = 0;
+      while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+        if (cursor.textEquals(START_ENTITY_ID)) {
+          start = cursor.nextLong(0L);
+        } else if (cursor.textEquals(END_ENTITY_ID)) {
+          end = cursor.nextLong(0L);
+        } else if (cursor.textEquals(ENTITIES)
+                   && cursor.next() == JsonCursor.Token.START_ARRAY)
+        {
+          while (cursor.next() == JsonCursor.Token.NUMBER) {
+            if (count == entityIDs.length) {
+              entityIDs = Arrays.copyOf(entityIDs, count * 2);
+            }
+            entityIDs[count++] = cursor.longValue();
+          }
+        } else {
+          cursor.skipValue();
+        }
+      }
+      int hops = count - 1;
+      // index the end points as well so "no path" entries are invalidated
+      entityIDs = Arrays.copyOf(entityIDs, count + 2);
+      entityIDs[count]     = start;
+      entityIDs[count + 1] = end;
+      return new CachedPath(
+          key, start, maxDegrees, hops, entityIDs, response, created);
+    }
+    return null;
+  }
+
+  /**
+   * Internal method to return a copy of a path response with the start and
+   * end entity IDs of each path exchanged and its entities reversed.
+   */
+  private static String reverse(String response) {
+    JsonCursor    cursor  = new JsonCursor(response);
+    StringBuilder sb      = new StringBuilder(response.length() + 16);
+    int           copied  = 0;
+    if (cursor.next() != JsonCursor.Token.START_OBJECT) return response;
+    while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+      if (!cursor.textEquals(ENTITY_PATHS)) {
+        cursor.skipValue();
+        continue;
+      }
+      if (cursor.next() != JsonCursor.Token.START_ARRAY) {
+        cursor.skipValue();
+        continue;
+      }
+      while (cursor.next() == JsonCursor.Token.START_OBJECT) {
+        int     elementStart  = cursor.tokenStart();
+        long    start         = 0L;
+        long    end           = 0L;
+        long[]  entityIDs     = new long[8];
+        int     count         = 0;
+        StringBuilder others  = new StringBuilder();
+        while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+          int fieldStart = cursor.tokenStart() - 1;
+          if (cursor.textEquals(START_ENTITY_ID)) {
+            start = cursor.nextLong(0L);
+          } else if (cursor.textEquals(END_ENTITY_ID)) {
+            end = cursor.nextLong(0L);
+          } else if (cursor.textEquals(ENTITIES)
+                     && cursor.next() == JsonCursor.Token.START_ARRAY)
+          {
+            while (cursor.next() == JsonCursor.Token.NUMBER) {
+              if (count == entityIDs.length) {
+                entityIDs = Arrays.copyOf(entityIDs, count * 2);
+              }
+              entityIDs[count++] = cursor.longValue();
+            }
+          } else {
+            cursor.skipValue();
+            int fieldEnd = (cursor.token() == JsonCursor.Token.STRING)
+                ? cursor.tokenEnd() + 1 : cursor.tokenEnd();
+            others.append(',').append(response, fieldStart, fieldEnd);
+          }
+        }
+        sb.append(response, copied, elementStart);
+        sb.append('{').append('"').append(START_ENTITY_ID).append("\":")
+            .append(end);
+        sb.append(",\"").append(END_ENTITY_ID).append("\":").append(start);
+        sb.append(",\"").append(ENTITIES).append("\":[");
+        for (int index = count - 1; index >= 0; index--) {
+          sb.append(entityIDs[index]);
+          if (index > 0) sb.append(',');
+        }
+        sb.append(']').append(others).append('}');
+        copied = cursor.tokenEnd();
+      }
+    }
+    return sb.append(response, copied, response.length()).toString();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Cached paths that include an affected entity are discarded.
+   */
+  @Override
+  public int addRecordWithInfo(String       dataSourceCode,
+                               String       recordID,
+                               String       jsonData,
+                               String       loadID,
+                               long         flags,
+                               StringBuffer response)
+  {
+    return this.update(super.addRecordWithInfo(
+        dataSourceCode, recordID, jsonData, loadID, flags, response),
+        response);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Cached paths that include an affected entity are discarded.
+   */
+  @Override
+  public int addRecordWithInfoWithReturnedRecordID(
+      String        dataSourceCode,
+      String        jsonData,
+      String        loadID,
+      long          flags,
+      StringBuffer  recordID,
+      StringBuffer  response)
+  {
+    return this.update(super.addRecordWithInfoWithReturnedRecordID(
+        dataSourceCode, jsonData, loadID, flags, recordID, response),
+        response);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Cached paths that include an affected entity are discarded.
+   */
+  @Override
+  public int replaceRecordWithInfo(String       dataSourceCode,
+                                   String       recordID,
+                                   String       jsonData,
+                                   String       loadID,
+                                   long         flags,
+                                   StringBuffer response)
+  {
+    return this.update(super.replaceRecordWithInfo(
+        dataSourceCode, recordID, jsonData, loadID, flags, response),
+        response);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Cached paths that include an affected entity are discarded.
+   */
+  @Override
+  public int deleteRecordWithInfo(String        dataSourceCode,
+                                  String        recordID,
+                                  String        loadID,
+                                  long          flags,
+                                  StringBuffer  response)
+  {
+    return this.update(super.deleteRecordWithInfo(
+        dataSourceCode, recordID, loadID, flags, response), response);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Cached paths that include an affected entity are discarded.
+   */
+  @Override
+  public int reevaluateRecordWithInfo(String        dataSourceCode,
+                                      String        recordID,
+                                      long          flags,
+                                      StringBuffer  response)
+  {
+    return this.update(super.reevaluateRecordWithInfo(
+        dataSourceCode, recordID, flags, response), response);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Cached paths that include an affected entity are discarded.
+   */
+  @Override
+  public int reevaluateEntityWithInfo(long          entityID,
+                                      long          flags,
+                                      StringBuffer  response)
+  {
+    return this.update(super.reevaluateEntityWithInfo(
+        entityID, flags, response), response);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Cached paths that include an affected entity are discarded.
+   */
+  @Override
+  public int processRedoRecordWithInfo(long         flags,
+                                       StringBuffer jsonData,
+                                       StringBuffer response)
+  {
+    return this.update(super.processRedoRecordWithInfo(
+        flags, jsonData, response), response);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Cached paths that include an affected entity are discarded.
+   */
+  @Override
+  public int processWithInfo(String record, long flags, StringBuffer response)
+  {
+    return this.update(super.processWithInfo(record, flags, response),
+                       response);
+  }
+
+  /**
+   * Internal method to apply the info response of a successful call.
+   */
+  private int update(int returnCode, StringBuffer response) {
+    if (returnCode == 0) this.invalidateAffected(response);
+    return returnCode;
+  }
+}
@@ -0,0 +1,497 @@
+package com.senzing.g2.engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Provides a {@link G2Engine} that caches successful {@link
+ * G2Engine#searchByAttributes(String,String,long,StringBuffer)} responses
+ * (and those of its overloads) and forwards every other call unchanged.
+ *
+ * <p>
+ * The cache key combines the search profile, the flags and a canonical form
+ * of the attribute JSON in which keys are sorted and upper-cased and string
+ * values are trimmed, whitespace-collapsed and upper-cased, so repeated
+ * searches that differ only in key order, spacing or letter case share one
+ * entry.  Searches whose JSON cannot be parsed bypass the cache.
+ *
+ * <p>
+ * The cache holds at most the configured number of entries (evicting the
+ * least recently used) and discards entries older than the configured time
+ * to live.  Every entry is invalidated when {@link
+ * G2Engine#getRepositoryLastModifiedTime(Result)} advances; this is checked
+ * at most once per configured interval by whichever search thread finds the
+ * interval elapsed.  Alternatively, a shared {@link RepositoryEpochService}
+ * may be given, in which case the cache is invalidated whenever the service's
+ * epoch advances and the cache performs no polling of its own.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   G2Engine cached = new CachingSearchEngine(engine, 100000, 3600000L);
+ *   cached.searchByAttributes(jsonData, searchProfile, flags, response);
+ *
+ *   // or, sharing one poller among several caches
+ *   G2Engine shared = new CachingSearchEngine(engine, 100000, 3600000L,
+ *                                             epochService);
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe if the backing {@link G2Engine} is thread-safe.
+ */
+public class CachingSearchEngine extends G2EngineDecorator {
+  /**
+   * The default interval in milliseconds between checks of the repository's
+   * last modified time.
+   */
+  public static final long DEFAULT_CHECK_INTERVAL = 1000L;
+
+  /**
+   * The number of independently locked segments.
+   */
+  private static final int SEGMENT_COUNT = 16;
+
+  /**
+   * The key prefix for the overload without flags or a profile.
+   */
+  private static final char DEFAULT_FLAGS_MARKER = 'D';
+
+  /**
+   * The key prefix for the overload with flags and no profile.
+   */
+  private static final char FLAGS_MARKER = 'F';
+
+  /**
+   * The key prefix for the overload with flags and a profile.
+   */
+  private static final char PROFILE_MARKER = 'P';
+
+  /**
+   * The per-thread canonicalizers.
+   */
+  private static final ThreadLocal<JsonCanonicalizer> CANONICALIZERS
+      = ThreadLocal.withInitial(JsonCanonicalizer::new);
+
+  /**
+   * A cached response.
+   */
+  private static final class CachedResponse {
+    private final String response;
+    private final long created;
+
+    private CachedResponse(String response, long created) {
+      this.response = response;
+      this.created  = created;
+    }
+  }
+
+  /**
+   * A least-recently-used map of cached responses guarded by its own
+   * monitor.
+   */
+  private static final class Segment
+      extends LinkedHashMap<String, CachedResponse>
+  {
+    private static final long serialVersionUID = 1L;
+    private final int maxSize;
+
+    private Segment(int maxSize) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(
+        Map.Entry<String, CachedResponse> eldest)
+    {
+      return this.size() > this.maxSize;
+    }
+  }
+
+  /**
+   * The independently locked segments.
+   */
+  private final Segment[] segments;
+
+  /**
+   * The maximum age of an entry in nanoseconds.
+   */
+  private final long ttlNanos;
+
+  /**
+   * The interval between last modified time checks in nanoseconds.
+   */
+  private final long checkIntervalNanos;
+
+  /**
+   * The generation, incremented on every invalidation so responses computed
+   * before an invalidation are not cached after it.
+   */
+  private final AtomicLong generation = new AtomicLong(0L);
+
+  /**
+   * The shared {@link RepositoryEpochService}, or <code>null</code> if this
+   * instance checks the last modified time itself.
+   */
+  private final RepositoryEpochService epochService;
+
+  /**
+   * The most recent epoch of the {@link RepositoryEpochService} observed.
+   */
+  private final AtomicLong observedEpoch;
+
+  /**
+   * The time of the last last modified time check.
+   */
+  private volatile long lastCheck;
+
+  /**
+   * The last observed repository last modified time.
+   */
+  private volatile long lastModified = Long.MIN_VALUE;
+
+  /**
+   * Whether or not a thread is checking the last modified time.
+   */
+  private final AtomicBoolean checking = new AtomicBoolean(false);
+
+  /**
+   * The number of cache hits.
+   */
+  private final AtomicLong hitCount = new AtomicLong(0L);
+
+  /**
+   * The number of cache misses.
+   */
+  private final AtomicLong missCount = new AtomicLong(0L);
+
+  /**
+   * The number of invalidations.
+   */
+  private final AtomicLong invalidationCount = new AtomicLong(0L);
+
+  /**
+   * Constructs with the backing {@link G2Engine}, the maximum number of
+   * entries and the time to live, checking the repository's last modified
+   * time at most once per {@link #DEFAULT_CHECK_INTERVAL} milliseconds.
+   *
+   * @param delegate The backing {@link G2Engine}.
+   * @param maxEntries The maximum number of cached responses.
+   * @param ttlMillis The maximum age of a cached response in milliseconds.
+   */
+  public CachingSearchEngine(G2Engine delegate, int maxEntries, long ttlMillis)
+  {
+    this(delegate, maxEntries, ttlMillis, DEFAULT_CHECK_INTERVAL);
+  }
+
+  /**
+   * Constructs with the backing {@link G2Engine}, the maximum number of
+   * entries, the time to live and the interval between checks of the
+   * repository's last modified time.
+   *
+   * @param delegate The backing {@link G2Engine}.
+   * @param maxEntries The maximum number of cached responses.
+   * @param ttlMillis The maximum age of a cached response in milliseconds.
+   * @param checkIntervalMillis The minimum interval in milliseconds between
+   *                            checks of the repository's last modified
+   *                            time, or a negative number to never check.
+   *
+   * @throws IllegalArgumentException If the maximum entries or time to live
+   *                                  is not positive.
+   */
+  public CachingSearchEngine(G2Engine delegate,
+                             int      maxEntries,
+                             long     ttlMillis,
+                             long     checkIntervalMillis)
+  {
+    this(delegate, maxEntries, ttlMillis, checkIntervalMillis, null);
+  }
+
+  /**
+   * Constructs with the backing {@link G2Engine}, the maximum number of
+   * entries, the time to live and the {@link RepositoryEpochService} whose
+   * epoch changes invalidate the cache.
+   *
+   * @param delegate The backing {@link G2Engine}.
+   * @param maxEntries The maximum number of cached responses.
+   * @param ttlMillis The maximum age of a cached response in milliseconds.
+   * @param epochService The {@link RepositoryEpochService} to follow.
+   *
+   * @throws NullPointerException If the specified {@link
+   *                              RepositoryEpochService} is <code>null</code>.
+   * @throws IllegalArgumentException If the maximum entries or time to live
+   *                                  is not positive.
+   */
+  public CachingSearchEngine(G2Engine               delegate,
+                             int                    maxEntries,
+                             long                   ttlMillis,
+                             RepositoryEpochService epochService)
+  {
+    this(delegate, maxEntries, ttlMillis, -1L, epochService);
+    if (epochService == null) {
+      throw new NullPointerException(
+          "The RepositoryEpochService cannot be null.");
+    }
+  }
+
+  /**
+   * Internal constructor.
+   */
+  private CachingSearchEngine(G2Engine               delegate,
+                              int                    maxEntries,
+                              long                   ttlMillis,
+                              long                   checkIntervalMillis,
+                              RepositoryEpochService epochService)
+  {
+    super(delegate);
+    if (maxEntries < 1 || ttlMillis < 1L) {
+      throw new IllegalArgumentException(
+          "The maximum entries (" + maxEntries + ") and time to live ("
+          + ttlMillis + ") must be positive.");
+    }
+    this.ttlNanos           = ttlMillis * 1000000L;
+    this.checkIntervalNanos = (checkIntervalMillis < 0L)
+        ? -1L : checkIntervalMillis * 1000000L;
+    this.lastCheck          = System.nanoTime() - this.checkIntervalNanos;
+    this.epochService       = epochService;
+    this.observedEpoch      = new AtomicLong(
+        (epochService == null) ? -1L : epochService.getEpoch());
+    int segmentMax = Math.max(1, (maxEntries + SEGMENT_COUNT - 1)
+                                 / SEGMENT_COUNT);
+    this.segments = new Segment[SEGMENT_COUNT];
+    for (int index = 0; index < SEGMENT_COUNT; index++) {
+      this.segments[index] = new Segment(segmentMax);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Successful responses are cached.
+   */
+  @Override
+  public int searchByAttributes(String jsonData, StringBuffer response) {
+    return this.cachedSearch(DEFAULT_FLAGS_MARKER, jsonData, null, 0L,
+                             response);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Successful responses are cached.
+   */
+  @Override
+  public int searchByAttributes(String        jsonData,
+                                long          flags,
+                                StringBuffer  response)
+  {
+    return this.cachedSearch(FLAGS_MARKER, jsonData, null, flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Successful responses are cached.
+   */
+  @Override
+  public int searchByAttributes(String        jsonData,
+                                String        searchProfile,
+                                long          flags,
+                                StringBuffer  response)
+  {
+    return this.cachedSearch(PROFILE_MARKER, jsonData, searchProfile, flags,
+                             response);
+  }
+
+  /**
+   * Discards every cached response.
+   */
+  public void invalidateAll() {
+    this.generation.incrementAndGet();
+    this.invalidationCount.incrementAndGet();
+    for (Segment segment : this.segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of cached responses.
+   *
+   * @return The number of cached responses.
+   */
+  public int size() {
+    int size = 0;
+    for (Segment segment : this.segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Returns the number of searches answered from the cache.
+   *
+   * @return The number of cache hits.
+   */
+  public long getHitCount() {
+    return this.hitCount.get();
+  }
+
+  /**
+   * Returns the number of searches forwarded to the backing engine.
+   *
+   * @return The number of cache misses.
+   */
+  public long getMissCount() {
+    return this.missCount.get();
+  }
+
+  /**
+   * Returns the number of times the whole cache was invalidated.
+   *
+   * @return The number of invalidations.
+   */
+  public long getInvalidationCount() {
+    return this.invalidationCount.get();
+  }
+
+  /**
+   * Returns the canonical form of the specified attribute JSON as used in
+   * the cache key.
+   *
+   * @param jsonData The attribute JSON.
+   *
+   * @return The canonical form of the attribute JSON.
+   *
+   * @throws IllegalArgumentException If the JSON text is malformed.
+   */
+  public static String canonicalize(String jsonData) {
+    return CANONICALIZERS.get().canonicalize(jsonData);
+  }
+
+  /**
+   * Internal method to answer a search from the cache or the backing engine.
+   */
+  private int cachedSearch(char         marker,
+                           String       jsonData,
+                           String       searchProfile,
+                           long         flags,
+                           StringBuffer response)
+  {
+    this.checkLastModified();
+    String key;
+    try {
+      StringBuilder sb = new StringBuilder(jsonData.length() + 32);
+      sb.append(marker).append(flags).append('|');
+      // length-prefix the profile so no profile can absorb the separator
+      if (searchProfile == null) {
+        sb.append('-');
+      } else {
+        sb.append(searchProfile.length()).append(':').append(searchProfile);
+      }
+      key = sb.append('|').append(canonicalize(jsonData)).toString();
+    } catch (RuntimeException e) {
+      // leave malformed input for the engine to report
+      return this.search(marker, jsonData, searchProfile, flags, response);
+    }
+
+    long now = System.nanoTime();
+    Segment segment = this.segmentFor(key);
+    CachedResponse entry;
+    synchronized (segment) {
+      entry = segment.get(key);
+      if (entry != null && now - entry.created > this.ttlNanos) {
+        segment.remove(key);
+        entry = null;
+      }
+    }
+    if (entry != null) {
+      this.hitCount.incrementAndGet();
+      response.setLength(0);
+      response.append(entry.response);
+      return 0;
+    }
+
+    this.missCount.incrementAndGet();
+    long generation = this.generation.get();
+    int returnCode = this.search(
+        marker, jsonData, searchProfile, flags, response);
+    if (returnCode == 0) {
+      CachedResponse created = new CachedResponse(response.toString(), now);
+      synchronized (segment) {
+        if (this.generation.get() == generation) segment.put(key, created);
+      }
+    }
+    return returnCode;
+  }
+
+  /**
+   * Internal method to call the overload of the backing engine identified by
+   * the key marker.
+   */
+  private int search(char         marker,
+                     String       jsonData,
+                     String       searchProfile,
+                     long         flags,
+                     StringBuffer response)
+  {
+    switch (marker) {
+      case DEFAULT_FLAGS_MARKER:
+        return this.delegate.searchByAttributes(jsonData, response);
+      case FLAGS_MARKER:
+        return this.delegate.searchByAttributes(jsonData, flags, response);
+      default:
+        return this.delegate.searchByAttributes(
+            jsonData, searchProfile, flags, response);
+    }
+  }
+
+  /**
+   * Internal method to find the segment for a key.
+   */
+  private Segment segmentFor(String key) {
+    int hash = key.hashCode();
+    return this.segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+  }
+
+  /**
+   * Internal method to invalidate the cache if the repository has been
+   * modified, either following the epoch service or checking at most once
+   * per interval.
+   */
+  private void checkLastModified() {
+    if (this.epochService != null) {
+      long epoch    = this.epochService.getEpoch();
+      long observed = this.observedEpoch.get();
+      if (epoch > observed && this.observedEpoch.compareAndSet(observed, epoch))
+      {
+        this.invalidateAll();
+      }
+      return;
+    }
+    if (this.checkIntervalNanos < 0L) return;
+    long now = System.nanoTime();
+    if (now - this.lastCheck < this.checkIntervalNanos) return;
+    if (!this.checking.compareAndSet(false, true)) return;
+    try {
+      this.lastCheck = now;
+      Result<Long> result = new Result<>();
+      if (this.delegate.getRepositoryLastModifiedTime(result) != 0) {
+        this.delegate.clearLastException();
+        return;
+      }
+      long modified = result.getValue();
+      if (modified > this.lastModified) {
+        if (this.lastModified != Long.MIN_VALUE) this.invalidateAll();
+        this.lastModified = modified;
+      }
+    } finally {
+      this.checking.set(false);
+    }
+  }
+}
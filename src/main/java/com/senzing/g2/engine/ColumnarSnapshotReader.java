@@ -0,0 +1,557 @@
+package com.senzing.g2.engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.senzing.g2.engine.ColumnarSnapshotWriter.*;
+
+/**
+ * Reads a columnar snapshot written by {@link ColumnarSnapshotWriter} by
+ * memory-mapping its column files.  Fixed-width values are read directly
+ * from the mapped files without copying or parsing, so a scan of a single
+ * column (e.g.: every relationship's match level) touches only that column's
+ * pages.  Strings are decoded from the mapped heaps only when requested, and
+ * dictionary-encoded values are available both as their <code>int</code>
+ * codes (for counting and grouping) and as decoded text.
+ *
+ * <p>
+ * Rows are addressed by <code>long</code> indexes.  The records of entity
+ * row <i>e</i> are record rows {@link #getRecordStart(long)} (inclusive)
+ * through {@link #getRecordEnd(long)} (exclusive), and likewise for its
+ * relationships.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   try (ColumnarSnapshotReader reader
+ *            = new ColumnarSnapshotReader(Paths.get("/data/columnar")))
+ *   {
+ *     long[] perLevel = new long[8];
+ *     for (long row = 0; row &lt; reader.getRelationshipCount(); row++) {
+ *       perLevel[reader.getMatchLevel(row)]++;
+ *     }
+ *   }
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe.
+ */
+public class ColumnarSnapshotReader implements AutoCloseable {
+  /**
+   * The number of bits in the size of each mapped chunk.
+   */
+  private static final int CHUNK_BITS = 30;
+
+  /**
+   * The mask of the offset within a mapped chunk.
+   */
+  private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1L;
+
+  /**
+   * A column file mapped in chunks of at most one gigabyte.  Chunk sizes
+   * are multiples of every value width, so fixed-width values never span
+   * chunks.
+   */
+  private static final class MappedColumn {
+    private final ByteBuffer[] chunks;
+    private final long size;
+
+    private MappedColumn(Path directory, String name) throws IOException {
+      try (FileChannel channel = FileChannel.open(directory.resolve(name),
+                                                  StandardOpenOption.READ))
+      {
+        this.size = channel.size();
+        int count = (int) ((this.size + CHUNK_MASK) >>> CHUNK_BITS);
+        this.chunks = new ByteBuffer[count];
+        for (int index = 0; index < count; index++) {
+          long position = ((long) index) << CHUNK_BITS;
+          MappedByteBuffer chunk = channel.map(
+              FileChannel.MapMode.READ_ONLY, position,
+              Math.min(CHUNK_MASK + 1L, this.size - position));
+          this.chunks[index] = chunk.order(ByteOrder.LITTLE_ENDIAN);
+        }
+      }
+    }
+
+    private byte getByte(long index) {
+      return this.chunks[(int) (index >>> CHUNK_BITS)]
+          .get((int) (index & CHUNK_MASK));
+    }
+
+    private int getInt(long index) {
+      long position = index * Integer.BYTES;
+      return this.chunks[(int) (position >>> CHUNK_BITS)]
+          .getInt((int) (position & CHUNK_MASK));
+    }
+
+    private long getLong(long index) {
+      long position = index * Long.BYTES;
+      return this.chunks[(int) (position >>> CHUNK_BITS)]
+          .getLong((int) (position & CHUNK_MASK));
+    }
+
+    private String getString(long start, long end) {
+      byte[] bytes = new byte[(int) (end - start)];
+      for (int offset = 0; offset < bytes.length; ) {
+        long position = start + offset;
+        ByteBuffer chunk = this.chunks[(int) (position >>> CHUNK_BITS)]
+            .duplicate();
+        chunk.position((int) (position & CHUNK_MASK));
+        int count = Math.min(chunk.remaining(), bytes.length - offset);
+        chunk.get(bytes, offset, count);
+        offset += count;
+      }
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+  }
+
+  private final MappedColumn entityID;
+  private final MappedColumn entityNameOffset;
+  private final MappedColumn entityNameHeap;
+  private final MappedColumn entityRecordOffset;
+  private final MappedColumn entityRelatedOffset;
+  private final MappedColumn recordSource;
+  private final MappedColumn recordIDOffset;
+  private final MappedColumn recordIDHeap;
+  private final MappedColumn recordMatchKey;
+  private final MappedColumn relatedID;
+  private final MappedColumn relatedMatchLevel;
+  private final MappedColumn relatedMatchKey;
+  private final MappedColumn relatedFlags;
+
+  /**
+   * The decoded data source codes indexed by dictionary code.
+   */
+  private final String[] dataSources;
+
+  /**
+   * The decoded match keys indexed by dictionary code.
+   */
+  private final String[] matchKeys;
+
+  /**
+   * The number of entities.
+   */
+  private final long entityCount;
+
+  /**
+   * The number of records.
+   */
+  private final long recordCount;
+
+  /**
+   * The number of relationships.
+   */
+  private final long relationshipCount;
+
+  /**
+   * Whether or not the entity IDs are in ascending order.
+   */
+  private final boolean sorted;
+
+  /**
+   * Opens the snapshot in the specified directory.
+   *
+   * @param directory The snapshot directory.
+   *
+   * @throws IOException If the snapshot is incomplete or an I/O failure
+   *                     occurs.
+   */
+  public ColumnarSnapshotReader(Path directory) throws IOException {
+    ByteBuffer meta = ByteBuffer.wrap(
+        Files.readAllBytes(directory.resolve(META_FILE)))
+        .order(ByteOrder.LITTLE_ENDIAN);
+    if (meta.remaining() < 44 || meta.getInt() != MAGIC) {
+      throw new IOException("Not a columnar snapshot: " + directory);
+    }
+    int version = meta.getInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported columnar snapshot version ("
+                            + version + "): " + directory);
+    }
+    this.entityCount        = meta.getLong();
+    this.recordCount        = meta.getLong();
+    this.relationshipCount  = meta.getLong();
+    this.sorted             = (meta.getInt() != 0);
+    this.dataSources = readDictionary(
+        directory.resolve(DATA_SOURCE_DICTIONARY), meta.getInt());
+    this.matchKeys = readDictionary(
+        directory.resolve(MATCH_KEY_DICTIONARY), meta.getInt());
+
+    this.entityID             = new MappedColumn(directory, ENTITY_ID);
+    this.entityNameOffset     = new MappedColumn(directory, ENTITY_NAME_OFFSET);
+    this.entityNameHeap       = new MappedColumn(directory, ENTITY_NAME_HEAP);
+    this.entityRecordOffset
+        = new MappedColumn(directory, ENTITY_RECORD_OFFSET);
+    this.entityRelatedOffset
+        = new MappedColumn(directory, ENTITY_RELATED_OFFSET);
+    this.recordSource         = new MappedColumn(directory, RECORD_SOURCE);
+    this.recordIDOffset       = new MappedColumn(directory, RECORD_ID_OFFSET);
+    this.recordIDHeap         = new MappedColumn(directory, RECORD_ID_HEAP);
+    this.recordMatchKey       = new MappedColumn(directory, RECORD_MATCH_KEY);
+    this.relatedID            = new MappedColumn(directory, RELATED_ID);
+    this.relatedMatchLevel
+        = new MappedColumn(directory, RELATED_MATCH_LEVEL);
+    this.relatedMatchKey      = new MappedColumn(directory, RELATED_MATCH_KEY);
+    this.relatedFlags         = new MappedColumn(directory, RELATED_FLAGS);
+
+    long entities = this.entityCount;
+    long records  = this.recordCount;
+    long related  = this.relationshipCount;
+    boolean consistent
+        = this.entityID.size == entities * Long.BYTES
+        && this.entityNameOffset.size == (entities + 1) * Long.BYTES
+        && this.entityRecordOffset.size == (entities + 1) * Long.BYTES
+        && this.entityRelatedOffset.size == (entities + 1) * Long.BYTES
+        && this.recordSource.size == records * Integer.BYTES
+        && this.recordIDOffset.size == (records + 1) * Long.BYTES
+        && this.recordMatchKey.size == records * Integer.BYTES
+        && this.relatedID.size == related * Long.BYTES
+        && this.relatedMatchLevel.size == related * Byte.BYTES
+        && this.relatedMatchKey.size == related * Integer.BYTES
+        && this.relatedFlags.size == related * Byte.BYTES;
+    // the final offsets must close the heaps and the child tables
+    consistent = consistent
+        && this.entityNameOffset.getLong(entities) == this.entityNameHeap.size
+        && this.recordIDOffset.getLong(records) == this.recordIDHeap.size
+        && this.entityRecordOffset.getLong(entities) == records
+        && this.entityRelatedOffset.getLong(entities) == related;
+    if (!consistent) {
+      throw new IOException(
+          "The columnar snapshot is inconsistent with its metadata: "
+          + directory);
+    }
+  }
+
+  /**
+   * Internal method to read a dictionary file.
+   */
+  private static String[] readDictionary(Path file, int count)
+      throws IOException
+  {
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file))
+        .order(ByteOrder.LITTLE_ENDIAN);
+    String[] values = new String[count];
+    for (int index = 0; index < count; index++) {
+      int length = buffer.getInt();
+      values[index] = new String(buffer.array(), buffer.position(), length,
+                                 StandardCharsets.UTF_8);
+      buffer.position(buffer.position() + length);
+    }
+    return values;
+  }
+
+  /**
+   * Returns the number of entities.
+   *
+   * @return The number of entities.
+   */
+  public long getEntityCount() {
+    return this.entityCount;
+  }
+
+  /**
+   * Returns the number of records.
+   *
+   * @return The number of records.
+   */
+  public long getRecordCount() {
+    return this.recordCount;
+  }
+
+  /**
+   * Returns the number of relationships.
+   *
+   * @return The number of relationships.
+   */
+  public long getRelationshipCount() {
+    return this.relationshipCount;
+  }
+
+  /**
+   * Returns the entity ID of the specified entity row.
+   *
+   * @param row The entity row.
+   *
+   * @return The entity ID.
+   */
+  public long getEntityID(long row) {
+    return this.entityID.getLong(row);
+  }
+
+  /**
+   * Returns the entity name of the specified entity row.
+   *
+   * @param row The entity row.
+   *
+   * @return The entity name (empty if none).
+   */
+  public String getEntityName(long row) {
+    return this.entityNameHeap.getString(
+        this.entityNameOffset.getLong(row),
+        this.entityNameOffset.getLong(row + 1));
+  }
+
+  /**
+   * Returns the first record row of the specified entity row.
+   *
+   * @param row The entity row.
+   *
+   * @return The first record row (inclusive).
+   */
+  public long getRecordStart(long row) {
+    return this.entityRecordOffset.getLong(row);
+  }
+
+  /**
+   * Returns the record row following the last record row of the specified
+   * entity row.
+   *
+   * @param row The entity row.
+   *
+   * @return The last record row (exclusive).
+   */
+  public long getRecordEnd(long row) {
+    return this.entityRecordOffset.getLong(row + 1);
+  }
+
+  /**
+   * Returns the first relationship row of the specified entity row.
+   *
+   * @param row The entity row.
+   *
+   * @return The first relationship row (inclusive).
+   */
+  public long getRelationshipStart(long row) {
+    return this.entityRelatedOffset.getLong(row);
+  }
+
+  /**
+   * Returns the relationship row following the last relationship row of the
+   * specified entity row.
+   *
+   * @param row The entity row.
+   *
+   * @return The last relationship row (exclusive).
+   */
+  public long getRelationshipEnd(long row) {
+    return this.entityRelatedOffset.getLong(row + 1);
+  }
+
+  /**
+   * Returns the entity row for the specified entity ID.  This is a binary
+   * search if the entity IDs were written in ascending order (as they are by
+   * the export) and a linear scan otherwise.
+   *
+   * @param entityID The entity ID to find.
+   *
+   * @return The entity row, or negative one (-1) if not found.
+   */
+  public long findEntity(long entityID) {
+    if (!this.sorted) {
+      for (long row = 0L; row < this.entityCount; row++) {
+        if (this.entityID.getLong(row) == entityID) return row;
+      }
+      return -1L;
+    }
+    long low  = 0L;
+    long high = this.entityCount - 1L;
+    while (low <= high) {
+      long middle = (low + high) >>> 1;
+      long value  = this.entityID.getLong(middle);
+      if (value < entityID) {
+        low = middle + 1L;
+      } else if (value > entityID) {
+        high = middle - 1L;
+      } else {
+        return middle;
+      }
+    }
+    return -1L;
+  }
+
+  /**
+   * Returns the dictionary code of the data source of the specified record
+   * row.
+   *
+   * @param recordRow The record row.
+   *
+   * @return The data source dictionary code.
+   */
+  public int getDataSourceCode(long recordRow) {
+    return this.recordSource.getInt(recordRow);
+  }
+
+  /**
+   * Returns the data source code of the specified record row.
+   *
+   * @param recordRow The record row.
+   *
+   * @return The data source code.
+   */
+  public String getDataSource(long recordRow) {
+    return this.dataSources[this.recordSource.getInt(recordRow)];
+  }
+
+  /**
+   * Returns the record ID of the specified record row.
+   *
+   * @param recordRow The record row.
+   *
+   * @return The record ID.
+   */
+  public String getRecordID(long recordRow) {
+    return this.recordIDHeap.getString(
+        this.recordIDOffset.getLong(recordRow),
+        this.recordIDOffset.getLong(recordRow + 1));
+  }
+
+  /**
+   * Returns the dictionary code of the match key of the specified record
+   * row.
+   *
+   * @param recordRow The record row.
+   *
+   * @return The match key dictionary code.
+   */
+  public int getRecordMatchKeyCode(long recordRow) {
+    return this.recordMatchKey.getInt(recordRow);
+  }
+
+  /**
+   * Returns the match key of the specified record row.
+   *
+   * @param recordRow The record row.
+   *
+   * @return The match key (empty if none).
+   */
+  public String getRecordMatchKey(long recordRow) {
+    return this.matchKeys[this.recordMatchKey.getInt(recordRow)];
+  }
+
+  /**
+   * Returns the related entity ID of the specified relationship row.
+   *
+   * @param relationshipRow The relationship row.
+   *
+   * @return The related entity ID.
+   */
+  public long getRelatedEntityID(long relationshipRow) {
+    return this.relatedID.getLong(relationshipRow);
+  }
+
+  /**
+   * Returns the match level of the specified relationship row.
+   *
+   * @param relationshipRow The relationship row.
+   *
+   * @return The match level.
+   */
+  public int getMatchLevel(long relationshipRow) {
+    return this.relatedMatchLevel.getByte(relationshipRow);
+  }
+
+  /**
+   * Returns the dictionary code of the match key of the specified
+   * relationship row.
+   *
+   * @param relationshipRow The relationship row.
+   *
+   * @return The match key dictionary code.
+   */
+  public int getRelationshipMatchKeyCode(long relationshipRow) {
+    return this.relatedMatchKey.getInt(relationshipRow);
+  }
+
+  /**
+   * Returns the match key of the specified relationship row.
+   *
+   * @param relationshipRow The relationship row.
+   *
+   * @return The match key (empty if none).
+   */
+  public String getRelationshipMatchKey(long relationshipRow) {
+    return this.matchKeys[this.relatedMatchKey.getInt(relationshipRow)];
+  }
+
+  /**
+   * Checks if the specified relationship row is disclosed.
+   *
+   * @param relationshipRow The relationship row.
+   *
+   * @return <code>true</code> if the relationship is disclosed, otherwise
+   *         <code>false</code>.
+   */
+  public boolean isDisclosed(long relationshipRow) {
+    return (this.relatedFlags.getByte(relationshipRow) & DISCLOSED_FLAG) != 0;
+  }
+
+  /**
+   * Checks if the specified relationship row is ambiguous.
+   *
+   * @param relationshipRow The relationship row.
+   *
+   * @return <code>true</code> if the relationship is ambiguous, otherwise
+   *         <code>false</code>.
+   */
+  public boolean isAmbiguous(long relationshipRow) {
+    return (this.relatedFlags.getByte(relationshipRow) & AMBIGUOUS_FLAG) != 0;
+  }
+
+  /**
+   * Returns the number of distinct data source codes.
+   *
+   * @return The size of the data source dictionary.
+   */
+  public int getDataSourceCount() {
+    return this.dataSources.length;
+  }
+
+  /**
+   * Returns the data source code for the specified dictionary code.
+   *
+   * @param code The data source dictionary code.
+   *
+   * @return The data source code.
+   */
+  public String decodeDataSource(int code) {
+    return this.dataSources[code];
+  }
+
+  /**
+   * Returns the number of distinct match keys.
+   *
+   * @return The size of the match key dictionary.
+   */
+  public int getMatchKeyCount() {
+    return this.matchKeys.length;
+  }
+
+  /**
+   * Returns the match key for the specified dictionary code.
+   *
+   * @param code The match key dictionary code.
+   *
+   * @return The match key.
+   */
+  public String decodeMatchKey(int code) {
+    return this.matchKeys[code];
+  }
+
+  /**
+   * Does nothing beyond documenting the end of use: the column files are
+   * closed once mapped, and the mappings are released when this instance is
+   * garbage collected.
+   */
+  @Override
+  public void close() {
+    // the mapped buffers are released by the garbage collector
+  }
+}
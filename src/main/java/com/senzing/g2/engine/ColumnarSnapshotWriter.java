@@ -0,0 +1,636 @@
+package com.senzing.g2.engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.senzing.g2.engine.G2Engine.*;
+
+/**
+ * Converts the entity documents of {@link
+ * G2Engine#exportJSONEntityReport(long,Result)} (or of {@link
+ * EntitySnapshotBuilder} partitions) into a compact, little-endian binary
+ * columnar snapshot that {@link ColumnarSnapshotReader} memory-maps for
+ * scanning without re-parsing any JSON.
+ *
+ * <p>
+ * The snapshot is a directory with one file per column.  There are three
+ * tables:
+ * <ul>
+ *   <li><b>Entities</b> &mdash; entity ID, entity name, and offset indexes
+ *       into the record and relationship tables.</li>
+ *   <li><b>Records</b> &mdash; data source code, record ID and match
+ *       key.</li>
+ *   <li><b>Relationships</b> &mdash; related entity ID, match level, match
+ *       key and the disclosed and ambiguous flags.</li>
+ * </ul>
+ * Data source codes and match keys are dictionary-encoded as
+ * <code>int</code> codes.  Variable-length strings (entity names and record
+ * IDs) are stored in heap files addressed by <code>long</code> offset
+ * columns with one more entry than the table has rows, so the value for row
+ * <i>i</i> spans from offset <i>i</i> to offset <i>i + 1</i>.  The metadata
+ * file is written last, and only if the writer was not aborted, so an
+ * incomplete snapshot cannot be opened.  The writer is aborted by a failed
+ * {@link #writeExport(G2Engine)}, by an I/O failure while writing an entity,
+ * or explicitly via {@link #abort()} (e.g.: when a caller feeding {@link
+ * #write(CharSequence)} fails part way through).
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   try (ColumnarSnapshotWriter writer
+ *            = new ColumnarSnapshotWriter(Paths.get("/data/columnar")))
+ *   {
+ *     int returnCode = writer.writeExport(engine);
+ *     ...
+ *   }
+ * </pre>
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+public class ColumnarSnapshotWriter implements AutoCloseable {
+  /**
+   * The flags used by {@link #writeExport(G2Engine)}, requesting every
+   * entity with the fields stored in the snapshot.
+   */
+  public static final long EXPORT_FLAGS
+      = G2_EXPORT_INCLUDE_ALL_ENTITIES
+      | G2_EXPORT_INCLUDE_ALL_RELATIONSHIPS
+      | G2_ENTITY_INCLUDE_ALL_RELATIONS
+      | G2_ENTITY_INCLUDE_ENTITY_NAME
+      | G2_ENTITY_INCLUDE_RECORD_DATA
+      | G2_ENTITY_INCLUDE_RECORD_MATCHING_INFO
+      | G2_ENTITY_INCLUDE_RELATED_MATCHING_INFO;
+
+  /**
+   * The magic number at the start of the metadata file.
+   */
+  static final int MAGIC = 0x47325343;
+
+  /**
+   * The version of the snapshot format.
+   */
+  static final int VERSION = 1;
+
+  /**
+   * The metadata file name.
+   */
+  static final String META_FILE = "snapshot.meta";
+
+  /**
+   * The data source dictionary file name.
+   */
+  static final String DATA_SOURCE_DICTIONARY = "dict.source";
+
+  /**
+   * The match key dictionary file name.
+   */
+  static final String MATCH_KEY_DICTIONARY = "dict.matchkey";
+
+  /**
+   * The entity ID column file name (<code>long</code>).
+   */
+  static final String ENTITY_ID = "entity.id";
+
+  /**
+   * The entity name offset column file name (<code>long</code>).
+   */
+  static final String ENTITY_NAME_OFFSET = "entity.name.off";
+
+  /**
+   * The entity name heap file name (UTF-8 bytes).
+   */
+  static final String ENTITY_NAME_HEAP = "entity.name.heap";
+
+  /**
+   * The entity record offset column file name (<code>long</code>).
+   */
+  static final String ENTITY_RECORD_OFFSET = "entity.record.off";
+
+  /**
+   * The entity relationship offset column file name (<code>long</code>).
+   */
+  static final String ENTITY_RELATED_OFFSET = "entity.related.off";
+
+  /**
+   * The record data source code column file name (<code>int</code>).
+   */
+  static final String RECORD_SOURCE = "record.source";
+
+  /**
+   * The record ID offset column file name (<code>long</code>).
+   */
+  static final String RECORD_ID_OFFSET = "record.id.off";
+
+  /**
+   * The record ID heap file name (UTF-8 bytes).
+   */
+  static final String RECORD_ID_HEAP = "record.id.heap";
+
+  /**
+   * The record match key code column file name (<code>int</code>).
+   */
+  static final String RECORD_MATCH_KEY = "record.matchkey";
+
+  /**
+   * The related entity ID column file name (<code>long</code>).
+   */
+  static final String RELATED_ID = "related.id";
+
+  /**
+   * The relationship match level column file name (<code>byte</code>).
+   */
+  static final String RELATED_MATCH_LEVEL = "related.level";
+
+  /**
+   * The relationship match key code column file name (<code>int</code>).
+   */
+  static final String RELATED_MATCH_KEY = "related.matchkey";
+
+  /**
+   * The relationship flags column file name (<code>byte</code>).
+   */
+  static final String RELATED_FLAGS = "related.flags";
+
+  /**
+   * The relationship flag bit for disclosed relationships.
+   */
+  static final int DISCLOSED_FLAG = 0x01;
+
+  /**
+   * The relationship flag bit for ambiguous relationships.
+   */
+  static final int AMBIGUOUS_FLAG = 0x02;
+
+  /**
+   * The size of the write buffer for each column.
+   */
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * A column file being written through a buffer.
+   */
+  private static final class Column {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    private Column(Path directory, String name) throws IOException {
+      this.channel = FileChannel.open(directory.resolve(name),
+                                      StandardOpenOption.CREATE,
+                                      StandardOpenOption.TRUNCATE_EXISTING,
+                                      StandardOpenOption.WRITE);
+      this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE)
+          .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void ensure(int count) throws IOException {
+      if (this.buffer.remaining() < count) this.flush();
+    }
+
+    private void putByte(int value) throws IOException {
+      this.ensure(Byte.BYTES);
+      this.buffer.put((byte) value);
+    }
+
+    private void putInt(int value) throws IOException {
+      this.ensure(Integer.BYTES);
+      this.buffer.putInt(value);
+    }
+
+    private void putLong(long value) throws IOException {
+      this.ensure(Long.BYTES);
+      this.buffer.putLong(value);
+    }
+
+    private void put(byte[] bytes) throws IOException {
+      for (int offset = 0; offset < bytes.length; ) {
+        if (!this.buffer.hasRemaining()) this.flush();
+        int count = Math.min(this.buffer.remaining(), bytes.length - offset);
+        this.buffer.put(bytes, offset, count);
+        offset += count;
+      }
+    }
+
+    private void flush() throws IOException {
+      this.buffer.flip();
+      while (this.buffer.hasRemaining()) {
+        this.channel.write(this.buffer);
+      }
+      this.buffer.clear();
+    }
+
+    private void close() throws IOException {
+      try {
+        this.flush();
+      } finally {
+        this.channel.close();
+      }
+    }
+  }
+
+  /**
+   * The snapshot directory.
+   */
+  private final Path directory;
+
+  /**
+   * The columns, in the order they are closed.
+   */
+  private final List<Column> columns = new ArrayList<>();
+
+  /**
+   * The entity ID column.
+   */
+  private final Column entityID;
+
+  /**
+   * The entity name offset column.
+   */
+  private final Column entityNameOffset;
+
+  /**
+   * The entity name heap.
+   */
+  private final Column entityNameHeap;
+
+  /**
+   * The entity record offset column.
+   */
+  private final Column entityRecordOffset;
+
+  /**
+   * The entity relationship offset column.
+   */
+  private final Column entityRelatedOffset;
+
+  /**
+   * The record data source code column.
+   */
+  private final Column recordSource;
+
+  /**
+   * The record ID offset column.
+   */
+  private final Column recordIDOffset;
+
+  /**
+   * The record ID heap.
+   */
+  private final Column recordIDHeap;
+
+  /**
+   * The record match key code column.
+   */
+  private final Column recordMatchKey;
+
+  /**
+   * The related entity ID column.
+   */
+  private final Column relatedID;
+
+  /**
+   * The relationship match level column.
+   */
+  private final Column relatedMatchLevel;
+
+  /**
+   * The relationship match key code column.
+   */
+  private final Column relatedMatchKey;
+
+  /**
+   * The relationship flags column.
+   */
+  private final Column relatedFlags;
+
+  /**
+   * The data source dictionary.
+   */
+  private final Map<String, Integer> dataSources = new HashMap<>();
+
+  /**
+   * The match key dictionary.
+   */
+  private final Map<String, Integer> matchKeys = new HashMap<>();
+
+  /**
+   * The parsed view of the entity being written.
+   */
+  private final EntityDocument document = new EntityDocument();
+
+  /**
+   * The number of entities written.
+   */
+  private long entityCount = 0L;
+
+  /**
+   * The number of records written.
+   */
+  private long recordCount = 0L;
+
+  /**
+   * The number of relationships written.
+   */
+  private long relatedCount = 0L;
+
+  /**
+   * The number of entity name heap bytes written.
+   */
+  private long nameBytes = 0L;
+
+  /**
+   * The number of record ID heap bytes written.
+   */
+  private long recordIDBytes = 0L;
+
+  /**
+   * The last entity ID written.
+   */
+  private long lastEntityID = Long.MIN_VALUE;
+
+  /**
+   * Whether or not the entity IDs were written in ascending order.
+   */
+  private boolean sorted = true;
+
+  /**
+   * Whether or not the snapshot was aborted and must not be completed.
+   */
+  private boolean aborted = false;
+
+  /**
+   * Whether or not this instance has been closed.
+   */
+  private boolean closed = false;
+
+  /**
+   * Constructs with the snapshot directory, which is created if necessary.
+   * Existing snapshot files in the directory are overwritten.
+   *
+   * @param directory The snapshot directory.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  public ColumnarSnapshotWriter(Path directory) throws IOException {
+    this.directory = directory;
+    Files.createDirectories(directory);
+    // remove the metadata first so a failed rewrite cannot be opened
+    Files.deleteIfExists(directory.resolve(META_FILE));
+    this.entityID             = this.column(ENTITY_ID);
+    this.entityNameOffset     = this.column(ENTITY_NAME_OFFSET);
+    this.entityNameHeap       = this.column(ENTITY_NAME_HEAP);
+    this.entityRecordOffset   = this.column(ENTITY_RECORD_OFFSET);
+    this.entityRelatedOffset  = this.column(ENTITY_RELATED_OFFSET);
+    this.recordSource         = this.column(RECORD_SOURCE);
+    this.recordIDOffset       = this.column(RECORD_ID_OFFSET);
+    this.recordIDHeap         = this.column(RECORD_ID_HEAP);
+    this.recordMatchKey       = this.column(RECORD_MATCH_KEY);
+    this.relatedID            = this.column(RELATED_ID);
+    this.relatedMatchLevel    = this.column(RELATED_MATCH_LEVEL);
+    this.relatedMatchKey      = this.column(RELATED_MATCH_KEY);
+    this.relatedFlags         = this.column(RELATED_FLAGS);
+    this.entityNameOffset.putLong(0L);
+    this.entityRecordOffset.putLong(0L);
+    this.entityRelatedOffset.putLong(0L);
+    this.recordIDOffset.putLong(0L);
+  }
+
+  /**
+   * Internal method to open a column.
+   */
+  private Column column(String name) throws IOException {
+    Column column = new Column(this.directory, name);
+    this.columns.add(column);
+    return column;
+  }
+
+  /**
+   * Exports every entity from the specified {@link G2Engine} with {@link
+   * #EXPORT_FLAGS} and writes each to the snapshot.
+   *
+   * @param engine The {@link G2Engine} to export from.
+   *
+   * @return Zero (0) on success and non-zero on failure, in which case the
+   *         error is available from the specified {@link G2Engine} and the
+   *         writer is aborted.
+   *
+   * @throws IOException If an I/O failure occurs, in which case the writer
+   *                     is aborted.
+   */
+  public int writeExport(G2Engine engine) throws IOException {
+    Result<Long> exportHandle = new Result<>();
+    int returnCode = engine.exportJSONEntityReport(EXPORT_FLAGS, exportHandle);
+    if (returnCode != 0) {
+      this.aborted = true;
+      return returnCode;
+    }
+    long handle = exportHandle.getValue();
+    boolean complete = false;
+    try {
+      StringBuffer response = new StringBuffer();
+      for (returnCode = engine.fetchNext(handle, response);
+           returnCode == 0 && response.length() > 0;
+           returnCode = engine.fetchNext(handle, response))
+      {
+        this.write(response);
+        response.setLength(0);
+      }
+      complete = true;
+    } finally {
+      int closeCode = engine.closeExport(handle);
+      if (returnCode == 0) returnCode = closeCode;
+      if (!complete || returnCode != 0) this.aborted = true;
+    }
+    return returnCode;
+  }
+
+  /**
+   * Writes the entity described by the specified entity document (as
+   * returned by the export or by {@link
+   * G2Engine#getEntityByEntityID(long,long,StringBuffer)}) to the snapshot.
+   * Documents without a positive entity ID are ignored.
+   *
+   * @param entityJson The entity document.
+   *
+   * @return <code>true</code> if the entity was written, otherwise
+   *         <code>false</code>.
+   *
+   * @throws IllegalArgumentException If the document is malformed, in
+   *                                  which case nothing is written.
+   * @throws IllegalStateException If this instance has been closed or
+   *                               aborted.
+   * @throws IOException If an I/O failure occurs, in which case the writer
+   *                     is aborted.
+   */
+  public boolean write(CharSequence entityJson) throws IOException {
+    if (this.closed || this.aborted) {
+      throw new IllegalStateException(
+          "The writer has been " + (this.closed ? "closed." : "aborted."));
+    }
+    if (!this.document.parse(entityJson)) return false;
+
+    // a failure between the column writes would leave them misaligned
+    boolean complete = false;
+    try {
+      this.writeColumns(this.document);
+      complete = true;
+    } finally {
+      if (!complete) this.aborted = true;
+    }
+    return true;
+  }
+
+  /**
+   * Internal method to append the parsed entity to the columns.
+   */
+  private void writeColumns(EntityDocument entity) throws IOException {
+    long id = entity.getEntityID();
+    if (id <= this.lastEntityID) this.sorted = false;
+    this.lastEntityID = id;
+    this.entityID.putLong(id);
+    byte[] nameUtf8 = entity.getEntityName().getBytes(StandardCharsets.UTF_8);
+    this.entityNameHeap.put(nameUtf8);
+    this.nameBytes += nameUtf8.length;
+    this.entityNameOffset.putLong(this.nameBytes);
+
+    for (int index = 0; index < entity.getRecordCount(); index++) {
+      this.recordSource.putInt(
+          code(this.dataSources, entity.getDataSource(index)));
+      byte[] recordID = entity.getRecordID(index)
+          .getBytes(StandardCharsets.UTF_8);
+      this.recordIDHeap.put(recordID);
+      this.recordIDBytes += recordID.length;
+      this.recordIDOffset.putLong(this.recordIDBytes);
+      this.recordMatchKey.putInt(
+          code(this.matchKeys, entity.getRecordMatchKey(index)));
+      this.recordCount++;
+    }
+    this.entityRecordOffset.putLong(this.recordCount);
+
+    for (int index = 0; index < entity.getRelatedCount(); index++) {
+      int flags = (entity.isDisclosed(index) ? DISCLOSED_FLAG : 0)
+          | (entity.isAmbiguous(index) ? AMBIGUOUS_FLAG : 0);
+      this.relatedID.putLong(entity.getRelatedEntityID(index));
+      this.relatedMatchLevel.putByte(entity.getMatchLevel(index));
+      this.relatedMatchKey.putInt(
+          code(this.matchKeys, entity.getMatchKey(index)));
+      this.relatedFlags.putByte(flags);
+      this.relatedCount++;
+    }
+    this.entityRelatedOffset.putLong(this.relatedCount);
+    this.entityCount++;
+  }
+
+  /**
+   * Internal method to obtain the dictionary code for a value, assigning the
+   * next code if the value is new.
+   */
+  private static int code(Map<String, Integer> dictionary, String value) {
+    Integer code = dictionary.get(value);
+    if (code == null) {
+      code = dictionary.size();
+      dictionary.put(value, code);
+    }
+    return code;
+  }
+
+  /**
+   * Returns the number of entities written so far.
+   *
+   * @return The number of entities written.
+   */
+  public long getEntityCount() {
+    return this.entityCount;
+  }
+
+  /**
+   * Marks the snapshot as incomplete so that {@link #close()} does not write
+   * the metadata and the snapshot cannot be opened.
+   */
+  public void abort() {
+    this.aborted = true;
+  }
+
+  /**
+   * Checks if the snapshot was aborted.
+   *
+   * @return <code>true</code> if the snapshot was aborted, otherwise
+   *         <code>false</code>.
+   */
+  public boolean isAborted() {
+    return this.aborted;
+  }
+
+  /**
+   * Flushes and closes the column files and, unless the snapshot was
+   * aborted, writes the dictionaries and the metadata, completing the
+   * snapshot.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  @Override
+  public void close() throws IOException {
+    if (this.closed) return;
+    this.closed = true;
+    IOException failure = null;
+    for (Column column : this.columns) {
+      try {
+        column.close();
+      } catch (IOException e) {
+        if (failure == null) failure = e;
+      }
+    }
+    if (failure != null) throw failure;
+    if (this.aborted) return;
+
+    writeDictionary(this.directory.resolve(DATA_SOURCE_DICTIONARY),
+                    this.dataSources);
+    writeDictionary(this.directory.resolve(MATCH_KEY_DICTIONARY),
+                    this.matchKeys);
+
+    ByteBuffer meta = ByteBuffer.allocate(48).order(ByteOrder.LITTLE_ENDIAN);
+    meta.putInt(MAGIC).putInt(VERSION);
+    meta.putLong(this.entityCount);
+    meta.putLong(this.recordCount);
+    meta.putLong(this.relatedCount);
+    meta.putInt(this.sorted ? 1 : 0);
+    meta.putInt(this.dataSources.size());
+    meta.putInt(this.matchKeys.size());
+    meta.flip();
+    Files.write(this.directory.resolve(META_FILE),
+                Arrays.copyOf(meta.array(), meta.limit()));
+  }
+
+  /**
+   * Internal method to write a dictionary as length-prefixed UTF-8 values in
+   * code order.
+   */
+  private static void writeDictionary(Path                  file,
+                                      Map<String, Integer>  dictionary)
+      throws IOException
+  {
+    String[] values = new String[dictionary.size()];
+    dictionary.forEach((value, code) -> values[code] = value);
+    Column column = new Column(file.getParent(), file.getFileName().toString());
+    try {
+      for (String value : values) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        column.putInt(utf8.length);
+        column.put(utf8);
+      }
+    } finally {
+      column.close();
+    }
+  }
+}
@@ -0,0 +1,1607 @@
+package com.senzing.g2.engine;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Moves a running {@link G2Engine} to a new default configuration without
+ * restarting the process.  The coordinator polls {@link
+ * G2ConfigMgr#getDefaultConfigID(Result)} and compares it with {@link
+ * G2Engine#getActiveConfigID(Result)}.  When they differ it closes a gate to
+ * new engine calls, waits for the calls in flight to drain, calls {@link
+ * G2Engine#reinit(long)} (and optionally {@link G2Engine#primeEngine()}) and
+ * reopens the gate.
+ *
+ * <p>
+ * Callers must make their engine calls through the gated {@link G2Engine}
+ * returned by {@link #getEngine()}, where each call holds the read side of a
+ * read-write lock for its duration and a rollover holds the write side.
+ * The pause seen by callers runs from the moment the rollover starts
+ * waiting for the in-flight calls until the gate reopens, and it is measured
+ * and exposed by {@link #getLastPauseMillis()} and {@link
+ * #getMaxPauseMillis()}, including the pause of a rollover that is
+ * abandoned.  If the in-flight calls do not drain within the drain timeout,
+ * the rollover is abandoned, the gate reopens, and the rollover is tried
+ * again at the next poll.
+ *
+ * <p>
+ * An export opened through the gated {@link G2Engine} counts as in flight
+ * from {@link G2Engine#exportJSONEntityReport(long,Result)} (or {@link
+ * G2Engine#exportCSVEntityReport(String,long,Result)}) until {@link
+ * G2Engine#closeExport(long)}, so an export never spans a configuration
+ * change.  While any such export is open a poll defers the rollover
+ * without closing the gate, so a long export postpones the rollover but
+ * never stalls the other engine calls.  Its {@link
+ * G2Engine#fetchNext(long,StringBuffer)} and {@link
+ * G2Engine#closeExport(long)} calls do not take the gate, since the open
+ * export already holds off the rollover.
+ *
+ * <p>
+ * A failed poll or rollover clears the last exception of the {@link
+ * G2ConfigMgr} or {@link G2Engine} and is retried at the next poll.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   ConfigRolloverCoordinator coordinator = new ConfigRolloverCoordinator(
+ *       configMgr, engine, 5000L, 2000L, true);
+ *   coordinator.start();
+ *   G2Engine gated = coordinator.getEngine();
+ *   ...
+ *   int returnCode = gated.getEntityByEntityID(entityID, flags, response);
+ *   ...
+ *   coordinator.close();
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe if the backing {@link G2ConfigMgr} and {@link
+ * G2Engine} are thread-safe.
+ */
+public class ConfigRolloverCoordinator implements AutoCloseable {
+  /**
+   * The default interval in milliseconds between polls.
+   */
+  public static final long DEFAULT_INTERVAL = 5000L;
+
+  /**
+   * The default time in milliseconds to wait for in-flight calls to drain.
+   */
+  public static final long DEFAULT_DRAIN_TIMEOUT = 2000L;
+
+  /**
+   * Notified after each successful rollover.
+   */
+  @FunctionalInterface
+  public interface Listener {
+    /**
+     * Called on the polling thread (or the thread calling {@link #poll()})
+     * after the engine has been reinitialized and the gate reopened.
+     *
+     * @param previousConfigID The previously active configuration ID.
+     * @param configID The newly active configuration ID.
+     * @param pauseMillis The time in milliseconds that engine calls were
+     *                    held at the gate.
+     */
+    void configRolledOver(long previousConfigID,
+                          long configID,
+                          long pauseMillis);
+  }
+
+  /**
+   * The {@link G2ConfigMgr} to poll for the default configuration ID.
+   */
+  private final G2ConfigMgr configMgr;
+
+  /**
+   * The backing {@link G2Engine} to reinitialize.
+   */
+  private final G2Engine engine;
+
+  /**
+   * The gated {@link G2Engine} returned by {@link #getEngine()}.
+   */
+  private final G2Engine gatedEngine;
+
+  /**
+   * The interval between polls in milliseconds.
+   */
+  private final long intervalMillis;
+
+  /**
+   * The time in milliseconds to wait for in-flight calls to drain.
+   */
+  private final long drainTimeoutMillis;
+
+  /**
+   * Whether or not to prime the engine after reinitializing it.
+   */
+  private final boolean primeEngine;
+
+  /**
+   * The read side of the gate, held by each engine call.
+   */
+  private final Lock readLock;
+
+  /**
+   * The write side of the gate, held during a rollover.
+   */
+  private final Lock writeLock;
+
+  /**
+   * The handles of the exports opened through the gated {@link G2Engine}
+   * and not yet closed, which also serves as their monitor.
+   */
+  private final Set<Long> openExports = new HashSet<>();
+
+  /**
+   * The registered listeners.
+   */
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * The monitor serializing polls.
+   */
+  private final Object pollLock = new Object();
+
+  /**
+   * The number of polls performed.
+   */
+  private final AtomicLong pollCount = new AtomicLong(0L);
+
+  /**
+   * The number of polls that failed to read a configuration ID.
+   */
+  private final AtomicLong pollFailureCount = new AtomicLong(0L);
+
+  /**
+   * The number of successful rollovers.
+   */
+  private final AtomicLong rolloverCount = new AtomicLong(0L);
+
+  /**
+   * The number of rollovers that failed to reinitialize the engine.
+   */
+  private final AtomicLong rolloverFailureCount = new AtomicLong(0L);
+
+  /**
+   * The number of rollovers abandoned because calls did not drain in time.
+   */
+  private final AtomicLong drainTimeoutCount = new AtomicLong(0L);
+
+  /**
+   * The number of rollovers deferred because an export was open.
+   */
+  private final AtomicLong exportDeferralCount = new AtomicLong(0L);
+
+  /**
+   * The number of failed calls to prime the engine.
+   */
+  private final AtomicLong primeFailureCount = new AtomicLong(0L);
+
+  /**
+   * The number of listener calls that threw an exception.
+   */
+  private final AtomicLong listenerFailureCount = new AtomicLong(0L);
+
+  /**
+   * The duration of the most recent pause in nanoseconds.
+   */
+  private volatile long lastPauseNanos = 0L;
+
+  /**
+   * The duration of the longest pause in nanoseconds.
+   */
+  private volatile long maxPauseNanos = 0L;
+
+  /**
+   * The polling thread, or <code>null</code> if not started.
+   */
+  private ScheduledExecutorService poller = null;
+
+  /**
+   * Whether or not this instance has been closed.
+   */
+  private boolean closed = false;
+
+  /**
+   * Constructs with the {@link G2ConfigMgr} to poll and the {@link G2Engine}
+   * to reinitialize, polling every {@link #DEFAULT_INTERVAL} milliseconds,
+   * waiting up to {@link #DEFAULT_DRAIN_TIMEOUT} milliseconds for calls to
+   * drain and not priming the engine.
+   *
+   * @param configMgr The {@link G2ConfigMgr} to poll.
+   * @param engine The {@link G2Engine} to reinitialize.
+   */
+  public ConfigRolloverCoordinator(G2ConfigMgr configMgr, G2Engine engine) {
+    this(configMgr, engine, DEFAULT_INTERVAL, DEFAULT_DRAIN_TIMEOUT, false);
+  }
+
+  /**
+   * Constructs with the {@link G2ConfigMgr} to poll, the {@link G2Engine} to
+   * reinitialize, the interval between polls, the time to wait for calls to
+   * drain and whether or not to prime the engine after reinitializing it.
+   *
+   * @param configMgr The {@link G2ConfigMgr} to poll.
+   * @param engine The {@link G2Engine} to reinitialize.
+   * @param intervalMillis The interval between polls in milliseconds.
+   * @param drainTimeoutMillis The time in milliseconds to wait for in-flight
+   *                           calls to drain before abandoning a rollover.
+   * @param primeEngine <code>true</code> if {@link G2Engine#primeEngine()}
+   *                    should be called before the gate reopens, otherwise
+   *                    <code>false</code>.
+   *
+   * @throws NullPointerException If the specified {@link G2ConfigMgr} or
+   *                              {@link G2Engine} is <code>null</code>.
+   * @throws IllegalArgumentException If the interval is not positive or the
+   *                                  drain timeout is negative.
+   */
+  public ConfigRolloverCoordinator(G2ConfigMgr  configMgr,
+                                   G2Engine     engine,
+                                   long         intervalMillis,
+                                   long         drainTimeoutMillis,
+                                   boolean      primeEngine)
+  {
+    if (configMgr == null) {
+      throw new NullPointerException("The G2ConfigMgr cannot be null.");
+    }
+    if (engine == null) {
+      throw new NullPointerException("The G2Engine cannot be null.");
+    }
+    if (intervalMillis < 1L || drainTimeoutMillis < 0L) {
+      throw new IllegalArgumentException(
+          "The interval (" + intervalMillis + ") must be positive and the "
+          + "drain timeout (" + drainTimeoutMillis + ") cannot be negative.");
+    }
+    ReentrantReadWriteLock gate = new ReentrantReadWriteLock();
+    this.configMgr          = configMgr;
+    this.engine             = engine;
+    this.intervalMillis     = intervalMillis;
+    this.drainTimeoutMillis = drainTimeoutMillis;
+    this.primeEngine        = primeEngine;
+    this.readLock           = gate.readLock();
+    this.writeLock          = gate.writeLock();
+    this.gatedEngine        = new GatedEngine(engine);
+  }
+
+  /**
+   * Returns the gated {@link G2Engine} through which callers must make their
+   * engine calls.  The lifecycle functions ({@link
+   * G2Engine#init(String,String,boolean)}, {@link G2Engine#reinit(long)},
+   * {@link G2Engine#destroy()} and {@link G2Engine#primeEngine()}), {@link
+   * G2Engine#getActiveConfigID(Result)} and the last exception functions
+   * are not gated.
+   *
+   * @return The gated {@link G2Engine}.
+   */
+  public G2Engine getEngine() {
+    return this.gatedEngine;
+  }
+
+  /**
+   * Starts polling on a background daemon thread.  The first poll is made
+   * immediately.
+   *
+   * @throws IllegalStateException If already started or closed.
+   */
+  public synchronized void start() {
+    if (this.closed || this.poller != null) {
+      throw new IllegalStateException("The coordinator has already been "
+                                      + (this.closed ? "closed." : "started."));
+    }
+    this.poller = Executors.newSingleThreadScheduledExecutor(
+        new NamedThreadFactory("g2-config-rollover"));
+    this.poller.scheduleWithFixedDelay(this::scheduledPoll,
+                                       0L,
+                                       this.intervalMillis,
+                                       TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Compares the default configuration ID with the active configuration ID
+   * immediately on the calling thread, rolling the engine over to the
+   * default configuration if they differ.
+   *
+   * @return <code>true</code> if the engine was rolled over, otherwise
+   *         <code>false</code>.
+   */
+  public boolean poll() {
+    synchronized (this.pollLock) {
+      this.pollCount.incrementAndGet();
+      Result<Long> result = new Result<>();
+      if (this.configMgr.getDefaultConfigID(result) != 0) {
+        this.configMgr.clearLastException();
+        this.pollFailureCount.incrementAndGet();
+        return false;
+      }
+      long defaultConfigID = result.getValue();
+      if (this.engine.getActiveConfigID(result) != 0) {
+        this.engine.clearLastException();
+        this.pollFailureCount.incrementAndGet();
+        return false;
+      }
+      long activeConfigID = result.getValue();
+      if (defaultConfigID == activeConfigID) return false;
+      return this.rollover(activeConfigID, defaultConfigID);
+    }
+  }
+
+  /**
+   * Internal method to drain the in-flight calls and reinitialize the engine
+   * with the specified configuration ID.
+   */
+  private boolean rollover(long previousConfigID, long configID) {
+    // an open export would hold the gate closed for the whole drain timeout
+    if (this.hasOpenExports()) {
+      this.exportDeferralCount.incrementAndGet();
+      return false;
+    }
+    long start = System.nanoTime();
+    try {
+      if (!this.writeLock.tryLock(this.drainTimeoutMillis,
+                                  TimeUnit.MILLISECONDS))
+      {
+        this.recordPause(System.nanoTime() - start);
+        this.drainTimeoutCount.incrementAndGet();
+        return false;
+      }
+    } catch (InterruptedException e) {
+      this.recordPause(System.nanoTime() - start);
+      Thread.currentThread().interrupt();
+      return false;
+    }
+    // no export can be opened while the gate is closed
+    if (this.hasOpenExports()) {
+      this.writeLock.unlock();
+      this.recordPause(System.nanoTime() - start);
+      this.exportDeferralCount.incrementAndGet();
+      return false;
+    }
+
+    int returnCode;
+    long pauseNanos;
+    try {
+      returnCode = this.engine.reinit(configID);
+      if (returnCode == 0 && this.primeEngine
+          && this.engine.primeEngine() != 0)
+      {
+        // the new configuration is active, only the warm-up failed
+        this.engine.clearLastException();
+        this.primeFailureCount.incrementAndGet();
+      }
+    } finally {
+      this.writeLock.unlock();
+      pauseNanos = System.nanoTime() - start;
+    }
+    this.recordPause(pauseNanos);
+
+    if (returnCode != 0) {
+      this.engine.clearLastException();
+      this.rolloverFailureCount.incrementAndGet();
+      return false;
+    }
+    this.rolloverCount.incrementAndGet();
+    long pauseMillis = TimeUnit.NANOSECONDS.toMillis(pauseNanos);
+    for (Listener listener : this.listeners) {
+      try {
+        listener.configRolledOver(previousConfigID, configID, pauseMillis);
+      } catch (RuntimeException e) {
+        this.listenerFailureCount.incrementAndGet();
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Internal method to record the duration of a pause, successful or not.
+   * This is only called by the polling thread.
+   */
+  private void recordPause(long pauseNanos) {
+    this.lastPauseNanos = pauseNanos;
+    if (pauseNanos > this.maxPauseNanos) this.maxPauseNanos = pauseNanos;
+  }
+
+  /**
+   * Internal method to check if any export opened through the gated {@link
+   * G2Engine} has not been closed.
+   */
+  private boolean hasOpenExports() {
+    synchronized (this.openExports) {
+      return !this.openExports.isEmpty();
+    }
+  }
+
+  /**
+   * Internal method to check if the specified export handle was opened
+   * through the gated {@link G2Engine} and has not been closed.
+   */
+  private boolean isOpenExport(long exportHandle) {
+    synchronized (this.openExports) {
+      return this.openExports.contains(exportHandle);
+    }
+  }
+
+  /**
+   * Internal method to record that the specified export handle was opened
+   * through the gated {@link G2Engine}.  This is called while holding the
+   * read side of the gate.
+   */
+  private void exportOpened(Long exportHandle) {
+    if (exportHandle == null) return;
+    synchronized (this.openExports) {
+      this.openExports.add(exportHandle);
+    }
+  }
+
+  /**
+   * Internal method to record that the specified export handle was closed.
+   */
+  private void exportClosed(long exportHandle) {
+    synchronized (this.openExports) {
+      this.openExports.remove(exportHandle);
+    }
+  }
+
+  /**
+   * Registers the specified {@link Listener} to be notified after each
+   * successful rollover.
+   *
+   * @param listener The {@link Listener} to register.
+   */
+  public void addListener(Listener listener) {
+    if (listener == null) {
+      throw new NullPointerException("The listener cannot be null.");
+    }
+    this.listeners.add(listener);
+  }
+
+  /**
+   * Unregisters the specified {@link Listener}.
+   *
+   * @param listener The {@link Listener} to unregister.
+   *
+   * @return <code>true</code> if the listener was registered, otherwise
+   *         <code>false</code>.
+   */
+  public boolean removeListener(Listener listener) {
+    return this.listeners.remove(listener);
+  }
+
+  /**
+   * Returns the duration of the most recent pause, during which engine
+   * calls were held at the gate.
+   *
+   * @return The duration of the most recent pause in milliseconds, or zero
+   *         (0) if there has been no rollover attempt.
+   */
+  public long getLastPauseMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(this.lastPauseNanos);
+  }
+
+  /**
+   * Returns the duration of the longest pause, during which engine calls
+   * were held at the gate.
+   *
+   * @return The duration of the longest pause in milliseconds, or zero (0)
+   *         if there has been no rollover attempt.
+   */
+  public long getMaxPauseMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(this.maxPauseNanos);
+  }
+
+  /**
+   * Returns the number of polls performed.
+   *
+   * @return The number of polls performed.
+   */
+  public long getPollCount() {
+    return this.pollCount.get();
+  }
+
+  /**
+   * Returns the number of polls that failed to read a configuration ID.
+   *
+   * @return The number of failed polls.
+   */
+  public long getPollFailureCount() {
+    return this.pollFailureCount.get();
+  }
+
+  /**
+   * Returns the number of successful rollovers.
+   *
+   * @return The number of successful rollovers.
+   */
+  public long getRolloverCount() {
+    return this.rolloverCount.get();
+  }
+
+  /**
+   * Returns the number of rollovers in which {@link G2Engine#reinit(long)}
+   * failed.
+   *
+   * @return The number of failed rollovers.
+   */
+  public long getRolloverFailureCount() {
+    return this.rolloverFailureCount.get();
+  }
+
+  /**
+   * Returns the number of rollovers abandoned because the in-flight calls
+   * did not drain within the drain timeout.
+   *
+   * @return The number of abandoned rollovers.
+   */
+  public long getDrainTimeoutCount() {
+    return this.drainTimeoutCount.get();
+  }
+
+  /**
+   * Returns the number of rollovers deferred to a later poll because an
+   * export opened through the gated {@link G2Engine} was still open.
+   *
+   * @return The number of deferred rollovers.
+   */
+  public long getExportDeferralCount() {
+    return this.exportDeferralCount.get();
+  }
+
+  /**
+   * Returns the number of failed calls to {@link G2Engine#primeEngine()}.
+   *
+   * @return The number of failed calls to prime the engine.
+   */
+  public long getPrimeFailureCount() {
+    return this.primeFailureCount.get();
+  }
+
+  /**
+   * Returns the number of listener notifications that threw an exception.
+   *
+   * @return The number of failed listener notifications.
+   */
+  public long getListenerFailureCount() {
+    return this.listenerFailureCount.get();
+  }
+
+  /**
+   * Stops polling, waiting for a poll in progress to complete.  The gated
+   * {@link G2Engine} remains usable and {@link #poll()} may still be called.
+   */
+  @Override
+  public void close() {
+    ScheduledExecutorService poller;
+    synchronized (this) {
+      if (this.closed) return;
+      this.closed = true;
+      poller      = this.poller;
+    }
+    if (poller == null) return;
+    poller.shutdownNow();
+    try {
+      while (!poller.awaitTermination(1L, TimeUnit.SECONDS)) {
+        // wait for a native call in progress to return
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Internal method to poll from the polling thread.
+   */
+  private void scheduledPoll() {
+    try {
+      this.poll();
+    } catch (RuntimeException e) {
+      // keep polling
+      this.pollFailureCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * The {@link G2Engine} that holds the read side of the gate for the
+   * duration of each call.
+   */
+  private class GatedEngine extends G2EngineDecorator {
+    private GatedEngine(G2Engine delegate) {
+      super(delegate);
+    }
+
+    @Override
+    public int purgeRepository() {
+      readLock.lock();
+      try {
+        return this.delegate.purgeRepository();
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public String stats() {
+      readLock.lock();
+      try {
+        return this.delegate.stats();
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int exportConfig(StringBuffer response) {
+      readLock.lock();
+      try {
+        return this.delegate.exportConfig(response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int exportConfig(StringBuffer response, Result<Long> configID) {
+      readLock.lock();
+      try {
+        return this.delegate.exportConfig(response, configID);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int getRepositoryLastModifiedTime(Result<Long> lastModifiedTime) {
+      readLock.lock();
+      try {
+        return this.delegate.getRepositoryLastModifiedTime(lastModifiedTime);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int addRecord(String  dataSourceCode,
+                         String  recordID,
+                         String  jsonData,
+                         String  loadID)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.addRecord(
+            dataSourceCode, recordID, jsonData, loadID);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int replaceRecord(String  dataSourceCode,
+                             String  recordID,
+                             String  jsonData,
+                             String  loadID)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.replaceRecord(
+            dataSourceCode, recordID, jsonData, loadID);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int replaceRecordWithInfo(String        dataSourceCode,
+                                     String        recordID,
+                                     String        jsonData,
+                                     String        loadID,
+                                     long          flags,
+                                     StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.replaceRecordWithInfo(
+            dataSourceCode, recordID, jsonData, loadID, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int addRecordWithReturnedRecordID(String        dataSourceCode,
+                                             StringBuffer  recordID,
+                                             String        jsonData,
+                                             String        loadID)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.addRecordWithReturnedRecordID(
+            dataSourceCode, recordID, jsonData, loadID);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int addRecordWithInfoWithReturnedRecordID(String        dataSourceCode,
+                                                     String        jsonData,
+                                                     String        loadID,
+                                                     long          flags,
+                                                     StringBuffer  recordID,
+                                                     StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.addRecordWithInfoWithReturnedRecordID(
+            dataSourceCode, jsonData, loadID, flags, recordID, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int addRecordWithInfo(String        dataSourceCode,
+                                 String        recordID,
+                                 String        jsonData,
+                                 String        loadID,
+                                 long          flags,
+                                 StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.addRecordWithInfo(
+            dataSourceCode, recordID, jsonData, loadID, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int deleteRecord(String  dataSourceCode,
+                            String  recordID,
+                            String  loadID)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.deleteRecord(dataSourceCode, recordID, loadID);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int deleteRecordWithInfo(String        dataSourceCode,
+                                    String        recordID,
+                                    String        loadID,
+                                    long          flags,
+                                    StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.deleteRecordWithInfo(
+            dataSourceCode, recordID, loadID, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int reevaluateRecord(String  dataSourceCode,
+                                String  recordID,
+                                long    flags)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.reevaluateRecord(dataSourceCode, recordID, flags);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int reevaluateRecordWithInfo(String        dataSourceCode,
+                                        String        recordID,
+                                        long          flags,
+                                        StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.reevaluateRecordWithInfo(
+            dataSourceCode, recordID, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int reevaluateEntity(long entityID, long flags) {
+      readLock.lock();
+      try {
+        return this.delegate.reevaluateEntity(entityID, flags);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int reevaluateEntityWithInfo(long          entityID,
+                                        long          flags,
+                                        StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.reevaluateEntityWithInfo(
+            entityID, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int searchByAttributes(String jsonData, StringBuffer response) {
+      readLock.lock();
+      try {
+        return this.delegate.searchByAttributes(jsonData, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int searchByAttributes(String        jsonData,
+                                  long          flags,
+                                  StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.searchByAttributes(jsonData, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int searchByAttributes(String        jsonData,
+                                  String        searchProfile,
+                                  long          flags,
+                                  StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.searchByAttributes(
+            jsonData, searchProfile, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int getEntityByEntityID(long entityID, StringBuffer response) {
+      readLock.lock();
+      try {
+        return this.delegate.getEntityByEntityID(entityID, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int getEntityByEntityID(long          entityID,
+                                   long          flags,
+                                   StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.getEntityByEntityID(entityID, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int getEntityByRecordID(String        dataSourceCode,
+                                   String        recordID,
+                                   StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.getEntityByRecordID(
+            dataSourceCode, recordID, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int getEntityByRecordID(String        dataSourceCode,
+                                   String        recordID,
+                                   long          flags,
+                                   StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.getEntityByRecordID(
+            dataSourceCode, recordID, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findInterestingEntitiesByEntityID(long          entityID,
+                                                 long          flags,
+                                                 StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findInterestingEntitiesByEntityID(
+            entityID, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findInterestingEntitiesByRecordID(String        dataSourceCode,
+                                                 String        recordID,
+                                                 long          flags,
+                                                 StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findInterestingEntitiesByRecordID(
+            dataSourceCode, recordID, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findPathByEntityID(long          entityID1,
+                                  long          entityID2,
+                                  int           maxDegrees,
+                                  StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findPathByEntityID(
+            entityID1, entityID2, maxDegrees, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findPathByEntityID(long          entityID1,
+                                  long          entityID2,
+                                  int           maxDegrees,
+                                  long          flags,
+                                  StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findPathByEntityID(
+            entityID1, entityID2, maxDegrees, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findPathByRecordID(String        dataSourceCode1,
+                                  String        recordID1,
+                                  String        dataSourceCode2,
+                                  String        recordID2,
+                                  int           maxDegrees,
+                                  StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findPathByRecordID(
+            dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+            response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findPathByRecordID(String        dataSourceCode1,
+                                  String        recordID1,
+                                  String        dataSourceCode2,
+                                  String        recordID2,
+                                  int           maxDegrees,
+                                  long          flags,
+                                  StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findPathByRecordID(
+            dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+            flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findPathExcludingByEntityID(long          entityID1,
+                                           long          entityID2,
+                                           int           maxDegrees,
+                                           String        excludedEntities,
+                                           StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findPathExcludingByEntityID(
+            entityID1, entityID2, maxDegrees, excludedEntities, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findPathExcludingByEntityID(long          entityID1,
+                                           long          entityID2,
+                                           int           maxDegrees,
+                                           String        excludedEntities,
+                                           long          flags,
+                                           StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findPathExcludingByEntityID(
+            entityID1, entityID2, maxDegrees, excludedEntities, flags,
+            response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findPathExcludingByRecordID(String        dataSourceCode1,
+                                           String        recordID1,
+                                           String        dataSourceCode2,
+                                           String        recordID2,
+                                           int           maxDegrees,
+                                           String        excludedEntities,
+                                           StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findPathExcludingByRecordID(
+            dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+            excludedEntities, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findPathExcludingByRecordID(String        dataSourceCode1,
+                                           String        recordID1,
+                                           String        dataSourceCode2,
+                                           String        recordID2,
+                                           int           maxDegrees,
+                                           String        excludedEntities,
+                                           long          flags,
+                                           StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findPathExcludingByRecordID(
+            dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+            excludedEntities, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findPathIncludingSourceByEntityID(long          entityID1,
+                                                 long          entityID2,
+                                                 int           maxDegrees,
+                                                 String        excludedEntities,
+                                                 String        requiredSources,
+                                                 StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findPathIncludingSourceByEntityID(
+            entityID1, entityID2, maxDegrees, excludedEntities, requiredSources,
+            response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findPathIncludingSourceByEntityID(long          entityID1,
+                                                 long          entityID2,
+                                                 int           maxDegrees,
+                                                 String        excludedEntities,
+                                                 String        requiredSources,
+                                                 long          flags,
+                                                 StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findPathIncludingSourceByEntityID(
+            entityID1, entityID2, maxDegrees, excludedEntities, requiredSources,
+            flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findPathIncludingSourceByRecordID(String        dataSourceCode1,
+                                                 String        recordID1,
+                                                 String        dataSourceCode2,
+                                                 String        recordID2,
+                                                 int           maxDegrees,
+                                                 String        excludedEntities,
+                                                 String        requiredSources,
+                                                 StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findPathIncludingSourceByRecordID(
+            dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+            excludedEntities, requiredSources, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findPathIncludingSourceByRecordID(String        dataSourceCode1,
+                                                 String        recordID1,
+                                                 String        dataSourceCode2,
+                                                 String        recordID2,
+                                                 int           maxDegrees,
+                                                 String        excludedEntities,
+                                                 String        requiredSources,
+                                                 long          flags,
+                                                 StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findPathIncludingSourceByRecordID(
+            dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+            excludedEntities, requiredSources, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findNetworkByEntityID(String        entityList,
+                                     int           maxDegrees,
+                                     int           buildOutDegrees,
+                                     int           maxEntities,
+                                     StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findNetworkByEntityID(
+            entityList, maxDegrees, buildOutDegrees, maxEntities, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findNetworkByEntityID(String        entityList,
+                                     int           maxDegrees,
+                                     int           buildOutDegrees,
+                                     int           maxEntities,
+                                     long          flags,
+                                     StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findNetworkByEntityID(
+            entityList, maxDegrees, buildOutDegrees, maxEntities, flags,
+            response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findNetworkByRecordID(String        recordList,
+                                     int           maxDegrees,
+                                     int           buildOutDegrees,
+                                     int           maxEntities,
+                                     StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findNetworkByRecordID(
+            recordList, maxDegrees, buildOutDegrees, maxEntities, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int findNetworkByRecordID(String        recordList,
+                                     int           maxDegrees,
+                                     int           buildOutDegrees,
+                                     int           maxEntities,
+                                     long          flags,
+                                     StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.findNetworkByRecordID(
+            recordList, maxDegrees, buildOutDegrees, maxEntities, flags,
+            response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int whyRecordInEntity(String        dataSourceCode,
+                                 String        recordID,
+                                 StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.whyRecordInEntity(
+            dataSourceCode, recordID, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int whyRecordInEntity(String        dataSourceCode,
+                                 String        recordID,
+                                 long          flags,
+                                 StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.whyRecordInEntity(
+            dataSourceCode, recordID, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int whyEntityByRecordID(String        dataSourceCode,
+                                   String        recordID,
+                                   StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.whyEntityByRecordID(
+            dataSourceCode, recordID, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int whyEntityByRecordID(String        dataSourceCode,
+                                   String        recordID,
+                                   long          flags,
+                                   StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.whyEntityByRecordID(
+            dataSourceCode, recordID, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int whyEntityByEntityID(long entityID, StringBuffer response) {
+      readLock.lock();
+      try {
+        return this.delegate.whyEntityByEntityID(entityID, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int whyEntityByEntityID(long          entityID,
+                                   long          flags,
+                                   StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.whyEntityByEntityID(entityID, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int whyRecords(String        dataSourceCode1,
+                          String        recordID1,
+                          String        dataSourceCode2,
+                          String        recordID2,
+                          StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.whyRecords(
+            dataSourceCode1, recordID1, dataSourceCode2, recordID2, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int whyRecords(String        dataSourceCode1,
+                          String        recordID1,
+                          String        dataSourceCode2,
+                          String        recordID2,
+                          long          flags,
+                          StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.whyRecords(
+            dataSourceCode1, recordID1, dataSourceCode2, recordID2, flags,
+            response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int whyEntities(long          entityID1,
+                           long          entityID2,
+                           StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.whyEntities(entityID1, entityID2, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int whyEntities(long          entityID1,
+                           long          entityID2,
+                           long          flags,
+                           StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.whyEntities(entityID1, entityID2, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int howEntityByEntityID(long entityID, StringBuffer response) {
+      readLock.lock();
+      try {
+        return this.delegate.howEntityByEntityID(entityID, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int howEntityByEntityID(long          entityID,
+                                   long          flags,
+                                   StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.howEntityByEntityID(entityID, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int getVirtualEntityByRecordID(String        recordList,
+                                          StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.getVirtualEntityByRecordID(recordList, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int getVirtualEntityByRecordID(String        recordList,
+                                          long          flags,
+                                          StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.getVirtualEntityByRecordID(
+            recordList, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int getRecord(String        dataSourceCode,
+                         String        recordID,
+                         StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.getRecord(dataSourceCode, recordID, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int getRecord(String        dataSourceCode,
+                         String        recordID,
+                         long          flags,
+                         StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.getRecord(
+            dataSourceCode, recordID, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int exportJSONEntityReport(long flags, Result<Long> exportHandle) {
+      readLock.lock();
+      try {
+        int returnCode = this.delegate.exportJSONEntityReport(
+            flags, exportHandle);
+        if (returnCode == 0) exportOpened(exportHandle.getValue());
+        return returnCode;
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int exportCSVEntityReport(String        csvColumnList,
+                                     long          flags,
+                                     Result<Long>  exportHandle)
+    {
+      readLock.lock();
+      try {
+        int returnCode = this.delegate.exportCSVEntityReport(
+            csvColumnList, flags, exportHandle);
+        if (returnCode == 0) exportOpened(exportHandle.getValue());
+        return returnCode;
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int fetchNext(long exportHandle, StringBuffer response) {
+      // an open export already holds off the rollover
+      if (isOpenExport(exportHandle)) {
+        return this.delegate.fetchNext(exportHandle, response);
+      }
+      readLock.lock();
+      try {
+        return this.delegate.fetchNext(exportHandle, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int closeExport(long exportHandle) {
+      if (isOpenExport(exportHandle)) {
+        try {
+          return this.delegate.closeExport(exportHandle);
+        } finally {
+          exportClosed(exportHandle);
+        }
+      }
+      readLock.lock();
+      try {
+        return this.delegate.closeExport(exportHandle);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int processRedoRecord(StringBuffer jsonData) {
+      readLock.lock();
+      try {
+        return this.delegate.processRedoRecord(jsonData);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int processRedoRecordWithInfo(long          flags,
+                                         StringBuffer  jsonData,
+                                         StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.processRedoRecordWithInfo(
+            flags, jsonData, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int getRedoRecord(StringBuffer jsonData) {
+      readLock.lock();
+      try {
+        return this.delegate.getRedoRecord(jsonData);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public long countRedoRecords() {
+      readLock.lock();
+      try {
+        return this.delegate.countRedoRecords();
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int process(String record) {
+      readLock.lock();
+      try {
+        return this.delegate.process(record);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int processWithInfo(String        record,
+                               long          flags,
+                               StringBuffer  response)
+    {
+      readLock.lock();
+      try {
+        return this.delegate.processWithInfo(record, flags, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    @Override
+    public int process(String record, StringBuffer response) {
+      readLock.lock();
+      try {
+        return this.delegate.process(record, response);
+      } finally {
+        readLock.unlock();
+      }
+    }
+  }
+}
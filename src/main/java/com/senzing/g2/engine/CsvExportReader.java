@@ -0,0 +1,434 @@
+package com.senzing.g2.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Provides a forward-only reader over the rows of {@link
+ * G2Engine#exportCSVEntityReport(String,long,Result)}.  The header row is
+ * read and mapped to column indexes once when the export is opened, and each
+ * call to {@link #next()} fetches and splits the next row.
+ *
+ * <p>
+ * Fields follow the export's CSV quoting: a quoted field may contain commas,
+ * line breaks and doubled quotes, which is how the embedded JSON columns
+ * (such as <code>JSON_DATA</code>) are written.  Each row is copied once
+ * into a reusable character array in which doubled quotes are collapsed in
+ * place, and {@link #getField(int)} returns a {@link CharSequence} view of
+ * that array, so reading a row allocates no per-field {@link String}.  The
+ * views are only valid until the next call to {@link #next()}; call {@link
+ * CharSequence#toString()} to keep a value.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   try (CsvExportReader reader = new CsvExportReader(
+ *            engine, "", G2Engine.G2_EXPORT_DEFAULT_FLAGS))
+ *   {
+ *     int entityColumn = reader.getColumnIndex("RESOLVED_ENTITY_ID");
+ *     int sourceColumn = reader.getColumnIndex("DATA_SOURCE");
+ *     while (reader.next()) {
+ *       long entityID = reader.getLong(entityColumn, 0L);
+ *       CharSequence dataSource = reader.getField(sourceColumn);
+ *       ...
+ *     }
+ *   }
+ * </pre>
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+public class CsvExportReader implements AutoCloseable {
+  /**
+   * The {@link G2Engine} that the export was opened on.
+   */
+  private final G2Engine engine;
+
+  /**
+   * The export handle.
+   */
+  private final long exportHandle;
+
+  /**
+   * The column names from the header row in column order.
+   */
+  private final List<String> columnNames;
+
+  /**
+   * The column indexes keyed by column name.
+   */
+  private final Map<String, Integer> columnIndexes;
+
+  /**
+   * The response buffer reused for each fetched row.
+   */
+  private final StringBuffer response = new StringBuffer();
+
+  /**
+   * The characters of the current row, with doubled quotes collapsed.
+   */
+  private char[] chars = new char[1024];
+
+  /**
+   * The offset of the first character of each field of the current row.
+   */
+  private int[] starts = new int[32];
+
+  /**
+   * The offset one past the last character of each field of the current
+   * row.
+   */
+  private int[] ends = new int[32];
+
+  /**
+   * The reusable {@link CharSequence} view of each field.
+   */
+  private FieldView[] views = new FieldView[32];
+
+  /**
+   * The number of fields in the current row.
+   */
+  private int fieldCount = 0;
+
+  /**
+   * The number of data rows read.
+   */
+  private long rowCount = 0L;
+
+  /**
+   * Whether or not the end of the export has been reached.
+   */
+  private boolean done = false;
+
+  /**
+   * Whether or not the export has been closed.
+   */
+  private boolean closed = false;
+
+  /**
+   * Opens a CSV export on the specified {@link G2Engine} and reads its
+   * header row.
+   *
+   * @param engine The {@link G2Engine} to export from.
+   * @param csvColumnList The column list for {@link
+   *                      G2Engine#exportCSVEntityReport(String,long,Result)}.
+   * @param flags The flags for {@link
+   *              G2Engine#exportCSVEntityReport(String,long,Result)}.
+   *
+   * @throws G2Exception If opening the export or fetching the header fails.
+   */
+  public CsvExportReader(G2Engine engine, String csvColumnList, long flags)
+      throws G2Exception
+  {
+    if (engine == null) {
+      throw new NullPointerException("The G2Engine cannot be null.");
+    }
+    this.engine = engine;
+    Result<Long> exportHandle = new Result<>();
+    if (engine.exportCSVEntityReport(csvColumnList, flags, exportHandle) != 0)
+    {
+      throw G2Exception.capture(engine);
+    }
+    this.exportHandle = exportHandle.getValue();
+
+    List<String>          names   = new ArrayList<>();
+    Map<String, Integer>  indexes = new HashMap<>();
+    try {
+      if (this.fetch()) {
+        for (int index = 0; index < this.fieldCount; index++) {
+          String name = this.views[index].toString().trim();
+          names.add(name);
+          indexes.putIfAbsent(name, index);
+        }
+      } else {
+        this.done = true;
+      }
+    } catch (G2Exception e) {
+      this.closed = true;
+      engine.closeExport(this.exportHandle);
+      throw e;
+    }
+    this.fieldCount     = 0;
+    this.columnNames    = Collections.unmodifiableList(names);
+    this.columnIndexes  = indexes;
+  }
+
+  /**
+   * Returns the column names from the header row in column order.
+   *
+   * @return The unmodifiable {@link List} of column names.
+   */
+  public List<String> getColumnNames() {
+    return this.columnNames;
+  }
+
+  /**
+   * Returns the index of the column with the specified name.
+   *
+   * @param columnName The column name.
+   *
+   * @return The index of the column, or negative one (-1) if the export has
+   *         no such column.
+   */
+  public int getColumnIndex(String columnName) {
+    Integer index = this.columnIndexes.get(columnName);
+    return (index == null) ? -1 : index;
+  }
+
+  /**
+   * Advances to the next row of the export.
+   *
+   * @return <code>true</code> if a row was read, or <code>false</code> if the
+   *         end of the export was reached.
+   *
+   * @throws IllegalStateException If this instance has been closed.
+   * @throws G2Exception If fetching the row fails.
+   */
+  public boolean next() throws G2Exception {
+    if (this.closed) {
+      throw new IllegalStateException("The export has been closed.");
+    }
+    if (this.done) return false;
+    if (!this.fetch()) {
+      this.done       = true;
+      this.fieldCount = 0;
+      return false;
+    }
+    this.rowCount++;
+    return true;
+  }
+
+  /**
+   * Returns the number of data rows read so far.
+   *
+   * @return The number of data rows read.
+   */
+  public long getRowCount() {
+    return this.rowCount;
+  }
+
+  /**
+   * Returns the number of fields in the current row.
+   *
+   * @return The number of fields in the current row.
+   */
+  public int getFieldCount() {
+    return this.fieldCount;
+  }
+
+  /**
+   * Returns a view of the field at the specified index of the current row.
+   * The view is only valid until the next call to {@link #next()}.
+   *
+   * @param index The column index.
+   *
+   * @return The {@link CharSequence} view of the field, which is empty if
+   *         the row has no such field.
+   */
+  public CharSequence getField(int index) {
+    if (index < 0 || index >= this.fieldCount) return "";
+    return this.views[index];
+  }
+
+  /**
+   * Returns a view of the field in the column with the specified name.  The
+   * view is only valid until the next call to {@link #next()}.
+   *
+   * @param columnName The column name.
+   *
+   * @return The {@link CharSequence} view of the field, which is empty if
+   *         the row has no such field.
+   */
+  public CharSequence getField(String columnName) {
+    return this.getField(this.getColumnIndex(columnName));
+  }
+
+  /**
+   * Checks if the field at the specified index of the current row is equal
+   * to the specified text without allocating.
+   *
+   * @param index The column index.
+   * @param text The text to compare with.
+   *
+   * @return <code>true</code> if the field is equal to the text, otherwise
+   *         <code>false</code>.
+   */
+  public boolean fieldEquals(int index, String text) {
+    if (index < 0 || index >= this.fieldCount) return text.isEmpty();
+    int start   = this.starts[index];
+    int length  = this.ends[index] - start;
+    if (length != text.length()) return false;
+    for (int offset = 0; offset < length; offset++) {
+      if (this.chars[start + offset] != text.charAt(offset)) return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the field at the specified index of the current row as a
+   * <code>long</code> without allocating.
+   *
+   * @param index The column index.
+   * @param defaultValue The value to return if the field is missing, empty
+   *                     or not an integer.
+   *
+   * @return The value of the field as a <code>long</code>.
+   */
+  public long getLong(int index, long defaultValue) {
+    if (index < 0 || index >= this.fieldCount) return defaultValue;
+    int start = this.starts[index];
+    int end   = this.ends[index];
+    while (start < end && this.chars[start] == ' ') start++;
+    while (end > start && this.chars[end - 1] == ' ') end--;
+    boolean negative = (start < end && this.chars[start] == '-');
+    if (negative) start++;
+    if (start == end) return defaultValue;
+    long result = 0L;
+    for (int offset = start; offset < end; offset++) {
+      char c = this.chars[offset];
+      if (c < '0' || c > '9') return defaultValue;
+      result = (result * 10L) + (c - '0');
+    }
+    return negative ? -result : result;
+  }
+
+  /**
+   * Closes the export.  Closing more than once has no effect.
+   *
+   * @throws G2Exception If closing the export fails.
+   */
+  @Override
+  public void close() throws G2Exception {
+    if (this.closed) return;
+    this.closed = true;
+    if (this.engine.closeExport(this.exportHandle) != 0) {
+      throw G2Exception.capture(this.engine);
+    }
+  }
+
+  /**
+   * Internal method to fetch and split the next row, returning
+   * <code>false</code> at the end of the export.
+   */
+  private boolean fetch() throws G2Exception {
+    this.response.setLength(0);
+    if (this.engine.fetchNext(this.exportHandle, this.response) != 0) {
+      throw G2Exception.capture(this.engine);
+    }
+    int length = this.response.length();
+    if (length == 0) return false;
+    while (length > 0 && (this.response.charAt(length - 1) == '\n'
+                          || this.response.charAt(length - 1) == '\r'))
+    {
+      length--;
+    }
+    if (this.chars.length < length) {
+      this.chars = new char[Math.max(length, this.chars.length * 2)];
+    }
+    JsonCursor.copyChars(this.response, 0, length, this.chars, 0);
+    this.split(length);
+    return true;
+  }
+
+  /**
+   * Internal method to split the specified number of characters of the row
+   * into fields, collapsing doubled quotes within quoted fields in place.
+   */
+  private void split(int length) {
+    char[]  chars = this.chars;
+    int     count = 0;
+    int     pos   = 0;
+    while (true) {
+      if (count == this.starts.length) this.grow();
+      if (pos < length && chars[pos] == '"') {
+        int start = ++pos;
+        int write = start;
+        while (pos < length) {
+          char c = chars[pos++];
+          if (c == '"') {
+            if (pos < length && chars[pos] == '"') {
+              pos++;
+            } else {
+              break;
+            }
+          }
+          chars[write++] = c;
+        }
+        this.starts[count]  = start;
+        this.ends[count]    = write;
+        // ignore any stray characters between the closing quote and comma
+        while (pos < length && chars[pos] != ',') pos++;
+      } else {
+        int start = pos;
+        while (pos < length && chars[pos] != ',') pos++;
+        this.starts[count]  = start;
+        this.ends[count]    = pos;
+      }
+      if (this.views[count] == null) this.views[count] = new FieldView(count);
+      count++;
+      if (pos >= length) break;
+      pos++;
+    }
+    this.fieldCount = count;
+  }
+
+  /**
+   * Internal method to grow the field arrays.
+   */
+  private void grow() {
+    int size = this.starts.length * 2;
+    int[] starts = new int[size];
+    int[] ends   = new int[size];
+    System.arraycopy(this.starts, 0, starts, 0, this.starts.length);
+    System.arraycopy(this.ends, 0, ends, 0, this.ends.length);
+    FieldView[] views = new FieldView[size];
+    System.arraycopy(this.views, 0, views, 0, this.views.length);
+    this.starts = starts;
+    this.ends   = ends;
+    this.views  = views;
+  }
+
+  /**
+   * A reusable {@link CharSequence} view of a field of the current row.
+   */
+  private final class FieldView implements CharSequence {
+    private final int index;
+
+    private FieldView(int index) {
+      this.index = index;
+    }
+
+    @Override
+    public int length() {
+      return ends[this.index] - starts[this.index];
+    }
+
+    @Override
+    public char charAt(int offset) {
+      if (offset < 0 || offset >= this.length()) {
+        throw new IndexOutOfBoundsException(
+            "Offset " + offset + " is out of bounds for length "
+            + this.length());
+      }
+      return chars[starts[this.index] + offset];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      if (start < 0 || end > this.length() || start > end) {
+        throw new IndexOutOfBoundsException(
+            "Range [" + start + ", " + end + ") is out of bounds for length "
+            + this.length());
+      }
+      return new String(chars, starts[this.index] + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+      return new String(chars, starts[this.index], this.length());
+    }
+  }
+}
@@ -0,0 +1,291 @@
+package com.senzing.g2.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Registers many data sources in a single configuration change.  The
+ * current default configuration is loaded into one {@link G2Config} handle,
+ * the requested data source codes are compared with {@link
+ * G2Config#listDataSources(long,StringBuffer)}, only the missing ones are
+ * added, and the result is saved and registered with {@link
+ * G2ConfigMgr#addConfig(String,String,Result)} once.  Registering hundreds of
+ * data sources this way produces one new configuration rather than one per
+ * data source, and requesting only data sources that already exist produces
+ * none.
+ *
+ * <p>
+ * Data source codes are compared and added in upper case, since that is how
+ * the configuration stores them.  The configuration handle is always closed,
+ * even if a step fails.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   DataSourceRegistrar registrar = new DataSourceRegistrar(config, configMgr);
+ *   DataSourceRegistrar.RegistrationResult result
+ *       = registrar.register(dataSourceCodes, "Onboard customer", true);
+ *   if (result.isConfigChanged()) {
+ *     long configID = result.getConfigID();
+ *     ...
+ *   }
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe if the backing {@link G2Config} and {@link
+ * G2ConfigMgr} are thread-safe, though concurrent registrations that set the
+ * default configuration will fail for all but one of them (see {@link
+ * #register(Collection,String,boolean)}).
+ */
+public class DataSourceRegistrar {
+  /**
+   * The field name of the data source array in the data source list.
+   */
+  private static final String DATA_SOURCES = "DATA_SOURCES";
+
+  /**
+   * The field name of the data source code.
+   */
+  private static final String DSRC_CODE = "DSRC_CODE";
+
+  /**
+   * The {@link G2Config} used to edit the configuration.
+   */
+  private final G2Config config;
+
+  /**
+   * The {@link G2ConfigMgr} used to read and register configurations.
+   */
+  private final G2ConfigMgr configMgr;
+
+  /**
+   * Describes the outcome of a call to {@link
+   * #register(Collection,String,boolean)}.
+   */
+  public static class RegistrationResult {
+    private final long previousConfigID;
+    private final long configID;
+    private final List<String> addedDataSources;
+
+    private RegistrationResult(long         previousConfigID,
+                               long         configID,
+                               List<String> addedDataSources)
+    {
+      this.previousConfigID = previousConfigID;
+      this.configID         = configID;
+      this.addedDataSources = addedDataSources;
+    }
+
+    /**
+     * Returns the configuration ID of the default configuration that the
+     * data sources were added to.
+     *
+     * @return The configuration ID of the base configuration.
+     */
+    public long getPreviousConfigID() {
+      return this.previousConfigID;
+    }
+
+    /**
+     * Returns the configuration ID of the configuration that includes all
+     * of the requested data sources.  This is the previous configuration ID
+     * if no data sources needed to be added.
+     *
+     * @return The configuration ID that includes the requested data sources.
+     */
+    public long getConfigID() {
+      return this.configID;
+    }
+
+    /**
+     * Returns the data source codes that were added, in the order requested.
+     *
+     * @return The unmodifiable {@link List} of added data source codes.
+     */
+    public List<String> getAddedDataSources() {
+      return this.addedDataSources;
+    }
+
+    /**
+     * Checks if a new configuration was registered.
+     *
+     * @return <code>true</code> if a new configuration was registered,
+     *         otherwise <code>false</code>.
+     */
+    public boolean isConfigChanged() {
+      return !this.addedDataSources.isEmpty();
+    }
+  }
+
+  /**
+   * Constructs with the {@link G2Config} used to edit the configuration and
+   * the {@link G2ConfigMgr} used to read and register configurations.
+   *
+   * @param config The {@link G2Config} to use.
+   * @param configMgr The {@link G2ConfigMgr} to use.
+   */
+  public DataSourceRegistrar(G2Config config, G2ConfigMgr configMgr) {
+    if (config == null) {
+      throw new NullPointerException("The G2Config cannot be null.");
+    }
+    if (configMgr == null) {
+      throw new NullPointerException("The G2ConfigMgr cannot be null.");
+    }
+    this.config     = config;
+    this.configMgr  = configMgr;
+  }
+
+  /**
+   * Adds the specified data sources that are missing from the default
+   * configuration and registers the result as a single new configuration.
+   * If the repository has no default configuration, the data sources are
+   * added to a new template configuration.
+   *
+   * <p>
+   * When <code>setDefault</code> is <code>true</code> the new configuration
+   * is made the default with {@link
+   * G2ConfigMgr#replaceDefaultConfigID(long,long)}, which fails if the
+   * default was changed by someone else after it was read, so a concurrent
+   * change is never silently overwritten.  In that case the new
+   * configuration is still registered and the registration can be retried.
+   *
+   * @param dataSourceCodes The data source codes to register.
+   * @param comments The comments for the new configuration.
+   * @param setDefault <code>true</code> if the new configuration should be
+   *                   made the default configuration, otherwise
+   *                   <code>false</code>.
+   *
+   * @return The {@link RegistrationResult} describing the outcome.
+   *
+   * @throws IllegalArgumentException If a data source code is
+   *                                  <code>null</code> or blank.
+   * @throws G2Exception If a configuration function fails.
+   */
+  public RegistrationResult register(Collection<String> dataSourceCodes,
+                                     String             comments,
+                                     boolean            setDefault)
+      throws G2Exception
+  {
+    Set<String> requested = new LinkedHashSet<>();
+    for (String code : dataSourceCodes) {
+      if (code == null || code.isBlank()) {
+        throw new IllegalArgumentException(
+            "The data source codes cannot be null or blank: "
+            + dataSourceCodes);
+      }
+      requested.add(code.trim().toUpperCase(Locale.ROOT));
+    }
+
+    Result<Long> result = new Result<>();
+    if (this.configMgr.getDefaultConfigID(result) != 0) {
+      throw G2Exception.capture(this.configMgr);
+    }
+    long previousConfigID = (result.getValue() == null) ? 0L
+        : result.getValue();
+
+    StringBuffer response = new StringBuffer();
+    if (previousConfigID != 0L) {
+      if (this.configMgr.getConfig(previousConfigID, response) != 0) {
+        throw G2Exception.capture(this.configMgr);
+      }
+      if (this.config.load(response.toString(), result) != 0) {
+        throw G2Exception.capture(this.config);
+      }
+    } else if (this.config.create(result) != 0) {
+      throw G2Exception.capture(this.config);
+    }
+
+    long          handle  = result.getValue();
+    List<String>  added   = new ArrayList<>();
+    String        saved   = null;
+    boolean       closed  = false;
+    try {
+      response.setLength(0);
+      if (this.config.listDataSources(handle, response) != 0) {
+        throw G2Exception.capture(this.config);
+      }
+      Set<String> existing = parseCodes(response);
+      for (String code : requested) {
+        if (existing.contains(code)) continue;
+        String inputJson = new JsonBuffer(32).append('{')
+            .appendQuoted(DSRC_CODE).append(':').appendQuoted(code)
+            .append('}').toString();
+        response.setLength(0);
+        if (this.config.addDataSource(handle, inputJson, response) != 0) {
+          throw G2Exception.capture(this.config);
+        }
+        added.add(code);
+      }
+      if (!added.isEmpty()) {
+        response.setLength(0);
+        if (this.config.save(handle, response) != 0) {
+          throw G2Exception.capture(this.config);
+        }
+        saved = response.toString();
+      }
+      closed = true;
+      if (this.config.close(handle) != 0) {
+        throw G2Exception.capture(this.config);
+      }
+    } finally {
+      // release the handle without masking the original failure
+      if (!closed) {
+        if (this.config.close(handle) != 0) this.config.clearLastException();
+      }
+    }
+
+    if (added.isEmpty()) {
+      return new RegistrationResult(
+          previousConfigID, previousConfigID, Collections.emptyList());
+    }
+    if (this.configMgr.addConfig(saved, comments, result) != 0) {
+      throw G2Exception.capture(this.configMgr);
+    }
+    long configID = result.getValue();
+    if (setDefault) {
+      int returnCode = (previousConfigID == 0L)
+          ? this.configMgr.setDefaultConfigID(configID)
+          : this.configMgr.replaceDefaultConfigID(previousConfigID, configID);
+      if (returnCode != 0) throw G2Exception.capture(this.configMgr);
+    }
+    return new RegistrationResult(
+        previousConfigID, configID, Collections.unmodifiableList(added));
+  }
+
+  /**
+   * Internal method to parse the upper-cased data source codes from the
+   * response of {@link G2Config#listDataSources(long,StringBuffer)}.
+   */
+  private static Set<String> parseCodes(CharSequence response) {
+    Set<String> codes   = new HashSet<>();
+    JsonCursor  cursor  = new JsonCursor(response);
+    if (cursor.next() != JsonCursor.Token.START_OBJECT) return codes;
+    while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+      if (!cursor.textEquals(DATA_SOURCES)) {
+        cursor.skipValue();
+        continue;
+      }
+      if (cursor.next() != JsonCursor.Token.START_ARRAY) {
+        cursor.skipValue();
+        continue;
+      }
+      while (cursor.next() == JsonCursor.Token.START_OBJECT) {
+        while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+          if (cursor.textEquals(DSRC_CODE)) {
+            String code = cursor.nextString();
+            if (code != null) codes.add(code.toUpperCase(Locale.ROOT));
+          } else {
+            cursor.skipValue();
+          }
+        }
+      }
+    }
+    return codes;
+  }
+}
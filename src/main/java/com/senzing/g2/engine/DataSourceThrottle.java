@@ -0,0 +1,434 @@
+package com.senzing.g2.engine;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Throttles {@link G2Engine#addRecord(String,String,String,String)}
+ * (including the variants that return the record ID), {@link
+ * G2Engine#replaceRecord(String,String,String,String)} and {@link
+ * G2Engine#deleteRecord(String,String,String)} traffic separately for each
+ * data source using token buckets, so a single runaway feed cannot saturate
+ * an engine shared with other feeds.
+ *
+ * <p>
+ * Each data source has a sustained rate (operations per second) and a burst
+ * allowance (the number of operations that may run back-to-back after an
+ * idle period).  A call that exceeds its data source's allowance waits
+ * <b>before</b> reaching the engine, so the throttled feed holds no engine
+ * thread while it waits.  Data sources without a specific limit use the
+ * default limit, which is unlimited unless configured.  Data source codes
+ * are matched case-insensitively.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   DataSourceThrottle throttle = new DataSourceThrottle();
+ *   throttle.setLimit("WATCHLIST", 500.0, 1000);
+ *   throttle.setDefaultLimit(2000.0, 5000);
+ *   G2Engine throttled = throttle.wrap(engine);
+ *   ...
+ *   long waited = throttle.getWaitNanos("WATCHLIST");
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe.
+ */
+public class DataSourceThrottle {
+  /**
+   * The token bucket for a data source.
+   */
+  private static final class Bucket {
+    private double rate;
+    private double burst;
+    private double tokens;
+    private long lastRefill;
+    private long acquiredCount;
+    private long throttledCount;
+    private long waitNanos;
+    private long maxWaitNanos;
+
+    private Bucket(double rate, int burst) {
+      this.configure(rate, burst);
+      this.tokens     = this.burst;
+      this.lastRefill = System.nanoTime();
+    }
+
+    private synchronized void configure(double rate, int burst) {
+      this.rate   = rate;
+      this.burst  = Math.max(1, burst);
+      this.tokens = Math.min(this.tokens, this.burst);
+    }
+
+    /**
+     * Reserves a token and returns the nanoseconds to wait for it.
+     */
+    private synchronized long reserve() {
+      this.acquiredCount++;
+      if (Double.isInfinite(this.rate)) return 0L;
+      long now = System.nanoTime();
+      this.tokens = Math.min(
+          this.burst, this.tokens + (now - this.lastRefill) * this.rate / 1e9);
+      this.lastRefill = now;
+      // tokens may go negative: callers queue behind earlier reservations
+      this.tokens -= 1.0;
+      if (this.tokens >= 0.0) return 0L;
+      this.throttledCount++;
+      return (long) (-this.tokens * 1e9 / this.rate);
+    }
+
+    /**
+     * Records the nanoseconds that a caller actually waited.
+     */
+    private synchronized void waited(long nanos) {
+      this.waitNanos += nanos;
+      this.maxWaitNanos = Math.max(this.maxWaitNanos, nanos);
+    }
+  }
+
+  /**
+   * The configured limits by upper-case data source code, each as
+   * <code>{rate, burst}</code>.
+   */
+  private final Map<String, double[]> limits = new ConcurrentHashMap<>();
+
+  /**
+   * The buckets keyed by both the data source codes as given and their
+   * upper-case forms.
+   */
+  private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+  /**
+   * The default rate for data sources without a specific limit.
+   */
+  private volatile double defaultRate = Double.POSITIVE_INFINITY;
+
+  /**
+   * The default burst for data sources without a specific limit.
+   */
+  private volatile int defaultBurst = 1;
+
+  /**
+   * Constructs with no limits.
+   */
+  public DataSourceThrottle() {
+    // do nothing
+  }
+
+  /**
+   * Sets the limit for data sources that have no specific limit.  Data
+   * sources already using the default limit are updated.
+   *
+   * @param opsPerSecond The sustained rate in operations per second, or
+   *                     {@link Double#POSITIVE_INFINITY} for no limit.
+   * @param burst The maximum number of operations allowed back-to-back.
+   *
+   * @throws IllegalArgumentException If the rate or burst is not positive.
+   */
+  public void setDefaultLimit(double opsPerSecond, int burst) {
+    validate(opsPerSecond, burst);
+    this.defaultRate  = opsPerSecond;
+    this.defaultBurst = burst;
+    this.buckets.forEach((code, bucket) -> {
+      if (!this.limits.containsKey(code.toUpperCase(Locale.ROOT))) {
+        bucket.configure(opsPerSecond, burst);
+      }
+    });
+  }
+
+  /**
+   * Sets the limit for the specified data source.
+   *
+   * @param dataSourceCode The data source code.
+   * @param opsPerSecond The sustained rate in operations per second, or
+   *                     {@link Double#POSITIVE_INFINITY} for no limit.
+   * @param burst The maximum number of operations allowed back-to-back.
+   *
+   * @throws IllegalArgumentException If the rate or burst is not positive.
+   */
+  public void setLimit(String dataSourceCode, double opsPerSecond, int burst) {
+    validate(opsPerSecond, burst);
+    String code = dataSourceCode.toUpperCase(Locale.ROOT);
+    this.limits.put(code, new double[] { opsPerSecond, burst });
+    this.bucket(code).configure(opsPerSecond, burst);
+  }
+
+  /**
+   * Removes the specific limit for the specified data source so that it
+   * uses the default limit.
+   *
+   * @param dataSourceCode The data source code.
+   */
+  public void removeLimit(String dataSourceCode) {
+    String code = dataSourceCode.toUpperCase(Locale.ROOT);
+    if (this.limits.remove(code) != null) {
+      this.bucket(code).configure(this.defaultRate, this.defaultBurst);
+    }
+  }
+
+  /**
+   * Reserves permission for one operation on the specified data source and
+   * waits until it is permitted.
+   *
+   * @param dataSourceCode The data source code.
+   *
+   * @return The number of nanoseconds the caller was required to wait.
+   *
+   * @throws InterruptedException If interrupted while waiting, in which
+   *                              case only the time actually waited is
+   *                              counted.
+   */
+  public long acquire(String dataSourceCode) throws InterruptedException {
+    Bucket bucket = this.bucket(dataSourceCode);
+    long wait = bucket.reserve();
+    if (wait <= 0L) return 0L;
+    long start = System.nanoTime();
+    try {
+      TimeUnit.NANOSECONDS.sleep(wait);
+    } catch (InterruptedException e) {
+      bucket.waited(System.nanoTime() - start);
+      throw e;
+    }
+    bucket.waited(wait);
+    return wait;
+  }
+
+  /**
+   * Reserves permission for one operation on the specified data source and
+   * waits until it is permitted, ignoring interruption.
+   *
+   * @param dataSourceCode The data source code.
+   *
+   * @return The number of nanoseconds the caller was required to wait.
+   */
+  public long acquireUninterruptibly(String dataSourceCode) {
+    Bucket bucket = this.bucket(dataSourceCode);
+    long wait = bucket.reserve();
+    if (wait <= 0L) return 0L;
+    long deadline = System.nanoTime() + wait;
+    boolean interrupted = false;
+    for (long remaining = wait; remaining > 0L;
+         remaining = deadline - System.nanoTime())
+    {
+      LockSupport.parkNanos(this, remaining);
+      interrupted |= Thread.interrupted();
+    }
+    if (interrupted) Thread.currentThread().interrupt();
+    bucket.waited(wait);
+    return wait;
+  }
+
+  /**
+   * Returns the number of operations on the specified data source that have
+   * passed through this throttle.
+   *
+   * @param dataSourceCode The data source code.
+   *
+   * @return The number of operations on the data source.
+   */
+  public long getAcquiredCount(String dataSourceCode) {
+    Bucket bucket = this.bucket(dataSourceCode);
+    synchronized (bucket) {
+      return bucket.acquiredCount;
+    }
+  }
+
+  /**
+   * Returns the number of operations on the specified data source that were
+   * required to wait.
+   *
+   * @param dataSourceCode The data source code.
+   *
+   * @return The number of throttled operations on the data source.
+   */
+  public long getThrottledCount(String dataSourceCode) {
+    Bucket bucket = this.bucket(dataSourceCode);
+    synchronized (bucket) {
+      return bucket.throttledCount;
+    }
+  }
+
+  /**
+   * Returns the total time in nanoseconds that operations on the specified
+   * data source waited, excluding the remainder of waits that were
+   * interrupted.
+   *
+   * @param dataSourceCode The data source code.
+   *
+   * @return The total wait time for the data source in nanoseconds.
+   */
+  public long getWaitNanos(String dataSourceCode) {
+    Bucket bucket = this.bucket(dataSourceCode);
+    synchronized (bucket) {
+      return bucket.waitNanos;
+    }
+  }
+
+  /**
+   * Returns the longest time in nanoseconds that an operation on the
+   * specified data source waited.
+   *
+   * @param dataSourceCode The data source code.
+   *
+   * @return The longest wait time for the data source in nanoseconds.
+   */
+  public long getMaxWaitNanos(String dataSourceCode) {
+    Bucket bucket = this.bucket(dataSourceCode);
+    synchronized (bucket) {
+      return bucket.maxWaitNanos;
+    }
+  }
+
+  /**
+   * Returns a {@link G2Engine} that forwards to the specified {@link
+   * G2Engine}, throttling {@link
+   * G2Engine#addRecord(String,String,String,String)}, {@link
+   * G2Engine#replaceRecord(String,String,String,String)}, {@link
+   * G2Engine#deleteRecord(String,String,String)} and their
+   * <code>WithInfo</code> and <code>WithReturnedRecordID</code> variants by
+   * data source.
+   *
+   * @param engine The {@link G2Engine} to wrap.
+   *
+   * @return The throttled {@link G2Engine}.
+   */
+  public G2Engine wrap(G2Engine engine) {
+    return new ThrottledEngine(engine);
+  }
+
+  /**
+   * Internal method to validate a limit.
+   */
+  private static void validate(double opsPerSecond, int burst) {
+    if (!(opsPerSecond > 0.0) || burst < 1) {
+      throw new IllegalArgumentException(
+          "The rate (" + opsPerSecond + ") and burst (" + burst
+          + ") must be positive.");
+    }
+  }
+
+  /**
+   * Internal method to obtain the bucket for a data source, creating it if
+   * necessary.
+   */
+  private Bucket bucket(String dataSourceCode) {
+    String key = (dataSourceCode == null) ? "" : dataSourceCode;
+    Bucket bucket = this.buckets.get(key);
+    if (bucket != null) return bucket;
+    String code = key.toUpperCase(Locale.ROOT);
+    bucket = this.buckets.computeIfAbsent(code, c -> {
+      double[] limit = this.limits.get(c);
+      return (limit == null) ? new Bucket(this.defaultRate, this.defaultBurst)
+                             : new Bucket(limit[0], (int) limit[1]);
+    });
+    // remember the code as given so later lookups avoid case conversion
+    this.buckets.putIfAbsent(key, bucket);
+    return bucket;
+  }
+
+  /**
+   * The {@link G2Engine} returned by {@link #wrap(G2Engine)}.
+   */
+  private class ThrottledEngine extends G2EngineDecorator {
+    private ThrottledEngine(G2Engine engine) {
+      super(engine);
+    }
+
+    @Override
+    public int addRecord(String dataSourceCode,
+                         String recordID,
+                         String jsonData,
+                         String loadID)
+    {
+      acquireUninterruptibly(dataSourceCode);
+      return this.delegate.addRecord(
+          dataSourceCode, recordID, jsonData, loadID);
+    }
+
+    @Override
+    public int addRecordWithInfo(String       dataSourceCode,
+                                 String       recordID,
+                                 String       jsonData,
+                                 String       loadID,
+                                 long         flags,
+                                 StringBuffer response)
+    {
+      acquireUninterruptibly(dataSourceCode);
+      return this.delegate.addRecordWithInfo(
+          dataSourceCode, recordID, jsonData, loadID, flags, response);
+    }
+
+    @Override
+    public int addRecordWithReturnedRecordID(String       dataSourceCode,
+                                             StringBuffer recordID,
+                                             String       jsonData,
+                                             String       loadID)
+    {
+      acquireUninterruptibly(dataSourceCode);
+      return this.delegate.addRecordWithReturnedRecordID(
+          dataSourceCode, recordID, jsonData, loadID);
+    }
+
+    @Override
+    public int addRecordWithInfoWithReturnedRecordID(
+        String        dataSourceCode,
+        String        jsonData,
+        String        loadID,
+        long          flags,
+        StringBuffer  recordID,
+        StringBuffer  response)
+    {
+      acquireUninterruptibly(dataSourceCode);
+      return this.delegate.addRecordWithInfoWithReturnedRecordID(
+          dataSourceCode, jsonData, loadID, flags, recordID, response);
+    }
+
+    @Override
+    public int replaceRecord(String dataSourceCode,
+                             String recordID,
+                             String jsonData,
+                             String loadID)
+    {
+      acquireUninterruptibly(dataSourceCode);
+      return this.delegate.replaceRecord(
+          dataSourceCode, recordID, jsonData, loadID);
+    }
+
+    @Override
+    public int replaceRecordWithInfo(String       dataSourceCode,
+                                     String       recordID,
+                                     String       jsonData,
+                                     String       loadID,
+                                     long         flags,
+                                     StringBuffer response)
+    {
+      acquireUninterruptibly(dataSourceCode);
+      return this.delegate.replaceRecordWithInfo(
+          dataSourceCode, recordID, jsonData, loadID, flags, response);
+    }
+
+    @Override
+    public int deleteRecord(String dataSourceCode,
+                            String recordID,
+                            String loadID)
+    {
+      acquireUninterruptibly(dataSourceCode);
+      return this.delegate.deleteRecord(dataSourceCode, recordID, loadID);
+    }
+
+    @Override
+    public int deleteRecordWithInfo(String       dataSourceCode,
+                                    String       recordID,
+                                    String       loadID,
+                                    long         flags,
+                                    StringBuffer response)
+    {
+      acquireUninterruptibly(dataSourceCode);
+      return this.delegate.deleteRecordWithInfo(
+          dataSourceCode, recordID, loadID, flags, response);
+    }
+  }
+}
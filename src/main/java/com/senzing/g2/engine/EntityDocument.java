@@ -0,0 +1,382 @@
+package com.senzing.g2.engine;
+
+import java.util.Arrays;
+
+/**
+ * A reusable parsed view of one entity document as returned by the entity
+ * export and the entity functions of {@link G2Engine}: the entity ID and
+ * name from the <code>"RESOLVED_ENTITY"</code> object, its
+ * <code>"RECORDS"</code> and the <code>"RELATED_ENTITIES"</code> array.
+ * Every other field is skipped, and missing or <code>null</code> text
+ * fields are reported as empty strings.
+ *
+ * <p>
+ * Each call to {@link #parse(CharSequence)} replaces the previous contents
+ * without allocating beyond the field values, so one instance can parse
+ * any number of documents.
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe.  Use one instance per thread.
+ */
+final class EntityDocument {
+  /**
+   * The cursor for parsing.
+   */
+  private final JsonCursor cursor = new JsonCursor();
+
+  /**
+   * The document that was parsed.
+   */
+  private CharSequence json;
+
+  /**
+   * The entity ID, or zero (0) if none.
+   */
+  private long entityID;
+
+  /**
+   * The entity name.
+   */
+  private String entityName;
+
+  /**
+   * The number of records.
+   */
+  private int recordCount;
+
+  /**
+   * The data source codes of the records.
+   */
+  private String[] dataSources = new String[8];
+
+  /**
+   * The record IDs of the records.
+   */
+  private String[] recordIDs = new String[8];
+
+  /**
+   * The match keys of the records.
+   */
+  private String[] recordMatchKeys = new String[8];
+
+  /**
+   * The number of relationships.
+   */
+  private int relatedCount;
+
+  /**
+   * The entity IDs of the related entities.
+   */
+  private long[] relatedIDs = new long[8];
+
+  /**
+   * The match levels of the relationships.
+   */
+  private int[] matchLevels = new int[8];
+
+  /**
+   * The match keys of the relationships.
+   */
+  private String[] matchKeys = new String[8];
+
+  /**
+   * The disclosed flags of the relationships.
+   */
+  private boolean[] disclosed = new boolean[8];
+
+  /**
+   * The ambiguous flags of the relationships.
+   */
+  private boolean[] ambiguous = new boolean[8];
+
+  /**
+   * Parses the specified entity document into this instance.
+   *
+   * @param json The entity document.
+   *
+   * @return <code>true</code> if the document has a positive entity ID,
+   *         otherwise <code>false</code>.
+   *
+   * @throws IllegalArgumentException If the document is malformed.
+   */
+  boolean parse(CharSequence json) {
+    this.json         = json;
+    this.entityID     = 0L;
+    this.entityName   = "";
+    this.recordCount  = 0;
+    this.relatedCount = 0;
+    JsonCursor cursor = this.cursor.reset(json);
+    if (cursor.next() != JsonCursor.Token.START_OBJECT) return false;
+    while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+      if (cursor.textEquals("RESOLVED_ENTITY")) {
+        if (cursor.next() != JsonCursor.Token.START_OBJECT) {
+          cursor.skipValue();
+          continue;
+        }
+        while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+          if (cursor.textEquals("ENTITY_ID")) {
+            this.entityID = cursor.nextLong(0L);
+          } else if (cursor.textEquals("ENTITY_NAME")) {
+            this.entityName = nullToEmpty(cursor.nextString());
+          } else if (cursor.textEquals("RECORDS")) {
+            this.parseRecords(cursor);
+          } else {
+            cursor.skipValue();
+          }
+        }
+      } else if (cursor.textEquals("RELATED_ENTITIES")) {
+        this.parseRelated(cursor);
+      } else {
+        cursor.skipValue();
+      }
+    }
+    return (this.entityID > 0L);
+  }
+
+  /**
+   * Returns the document that was last parsed.
+   *
+   * @return The entity document.
+   */
+  CharSequence getJson() {
+    return this.json;
+  }
+
+  /**
+   * Returns the entity ID, or zero (0) if the document has none.
+   *
+   * @return The entity ID.
+   */
+  long getEntityID() {
+    return this.entityID;
+  }
+
+  /**
+   * Returns the entity name.
+   *
+   * @return The entity name (empty if none).
+   */
+  String getEntityName() {
+    return this.entityName;
+  }
+
+  /**
+   * Returns the number of records in the entity.
+   *
+   * @return The number of records.
+   */
+  int getRecordCount() {
+    return this.recordCount;
+  }
+
+  /**
+   * Returns the data source code of the record at the specified index.
+   *
+   * @param index The record index.
+   *
+   * @return The data source code (empty if none).
+   */
+  String getDataSource(int index) {
+    checkIndex(index, this.recordCount);
+    return this.dataSources[index];
+  }
+
+  /**
+   * Returns the record ID of the record at the specified index.
+   *
+   * @param index The record index.
+   *
+   * @return The record ID (empty if none).
+   */
+  String getRecordID(int index) {
+    checkIndex(index, this.recordCount);
+    return this.recordIDs[index];
+  }
+
+  /**
+   * Returns the match key of the record at the specified index.
+   *
+   * @param index The record index.
+   *
+   * @return The match key (empty if none).
+   */
+  String getRecordMatchKey(int index) {
+    checkIndex(index, this.recordCount);
+    return this.recordMatchKeys[index];
+  }
+
+  /**
+   * Returns the number of relationships of the entity.
+   *
+   * @return The number of relationships.
+   */
+  int getRelatedCount() {
+    return this.relatedCount;
+  }
+
+  /**
+   * Returns the entity ID of the related entity at the specified index.
+   *
+   * @param index The relationship index.
+   *
+   * @return The related entity ID.
+   */
+  long getRelatedEntityID(int index) {
+    checkIndex(index, this.relatedCount);
+    return this.relatedIDs[index];
+  }
+
+  /**
+   * Returns the match level of the relationship at the specified index.
+   *
+   * @param index The relationship index.
+   *
+   * @return The match level.
+   */
+  int getMatchLevel(int index) {
+    checkIndex(index, this.relatedCount);
+    return this.matchLevels[index];
+  }
+
+  /**
+   * Returns the match key of the relationship at the specified index.
+   *
+   * @param index The relationship index.
+   *
+   * @return The match key (empty if none).
+   */
+  String getMatchKey(int index) {
+    checkIndex(index, this.relatedCount);
+    return this.matchKeys[index];
+  }
+
+  /**
+   * Checks if the relationship at the specified index is disclosed.
+   *
+   * @param index The relationship index.
+   *
+   * @return <code>true</code> if the relationship is disclosed, otherwise
+   *         <code>false</code>.
+   */
+  boolean isDisclosed(int index) {
+    checkIndex(index, this.relatedCount);
+    return this.disclosed[index];
+  }
+
+  /**
+   * Checks if the relationship at the specified index is ambiguous.
+   *
+   * @param index The relationship index.
+   *
+   * @return <code>true</code> if the relationship is ambiguous, otherwise
+   *         <code>false</code>.
+   */
+  boolean isAmbiguous(int index) {
+    checkIndex(index, this.relatedCount);
+    return this.ambiguous[index];
+  }
+
+  /**
+   * Converts a <code>null</code> string to an empty string.
+   *
+   * @param text The text to convert.
+   *
+   * @return The specified text, or an empty string if it is
+   *         <code>null</code>.
+   */
+  static String nullToEmpty(String text) {
+    return (text == null) ? "" : text;
+  }
+
+  /**
+   * Internal method to parse the records array.
+   */
+  private void parseRecords(JsonCursor cursor) {
+    if (cursor.next() != JsonCursor.Token.START_ARRAY) {
+      cursor.skipValue();
+      return;
+    }
+    while (cursor.next() == JsonCursor.Token.START_OBJECT) {
+      String dataSource = "";
+      String recordID   = "";
+      String matchKey   = "";
+      while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+        if (cursor.textEquals("DATA_SOURCE")) {
+          dataSource = nullToEmpty(cursor.nextString());
+        } else if (cursor.textEquals("RECORD_ID")) {
+          recordID = nullToEmpty(cursor.nextString());
+        } else if (cursor.textEquals("MATCH_KEY")) {
+          matchKey = nullToEmpty(cursor.nextString());
+        } else {
+          cursor.skipValue();
+        }
+      }
+      if (this.recordCount == this.dataSources.length) {
+        int size = this.recordCount * 2;
+        this.dataSources      = Arrays.copyOf(this.dataSources, size);
+        this.recordIDs        = Arrays.copyOf(this.recordIDs, size);
+        this.recordMatchKeys  = Arrays.copyOf(this.recordMatchKeys, size);
+      }
+      this.dataSources[this.recordCount]      = dataSource;
+      this.recordIDs[this.recordCount]        = recordID;
+      this.recordMatchKeys[this.recordCount]  = matchKey;
+      this.recordCount++;
+    }
+  }
+
+  /**
+   * Internal method to parse the related entities array.
+   */
+  private void parseRelated(JsonCursor cursor) {
+    if (cursor.next() != JsonCursor.Token.START_ARRAY) {
+      cursor.skipValue();
+      return;
+    }
+    while (cursor.next() == JsonCursor.Token.START_OBJECT) {
+      long    relatedID   = 0L;
+      int     level       = 0;
+      String  matchKey    = "";
+      boolean isDisclosed = false;
+      boolean isAmbiguous = false;
+      while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+        if (cursor.textEquals("ENTITY_ID")) {
+          relatedID = cursor.nextLong(0L);
+        } else if (cursor.textEquals("MATCH_LEVEL")) {
+          level = (int) cursor.nextLong(0L);
+        } else if (cursor.textEquals("MATCH_KEY")) {
+          matchKey = nullToEmpty(cursor.nextString());
+        } else if (cursor.textEquals("IS_DISCLOSED")) {
+          isDisclosed = (cursor.nextLong(0L) != 0L);
+        } else if (cursor.textEquals("IS_AMBIGUOUS")) {
+          isAmbiguous = (cursor.nextLong(0L) != 0L);
+        } else {
+          cursor.skipValue();
+        }
+      }
+      if (this.relatedCount == this.relatedIDs.length) {
+        int size = this.relatedCount * 2;
+        this.relatedIDs   = Arrays.copyOf(this.relatedIDs, size);
+        this.matchLevels  = Arrays.copyOf(this.matchLevels, size);
+        this.matchKeys    = Arrays.copyOf(this.matchKeys, size);
+        this.disclosed    = Arrays.copyOf(this.disclosed, size);
+        this.ambiguous    = Arrays.copyOf(this.ambiguous, size);
+      }
+      this.relatedIDs[this.relatedCount]  = relatedID;
+      this.matchLevels[this.relatedCount] = level;
+      this.matchKeys[this.relatedCount]   = matchKey;
+      this.disclosed[this.relatedCount]   = isDisclosed;
+      this.ambiguous[this.relatedCount]   = isAmbiguous;
+      this.relatedCount++;
+    }
+  }
+
+  /**
+   * Internal method to check an index against a count.
+   */
+  private static void checkIndex(int index, int count) {
+    if (index < 0 || index >= count) {
+      throw new IndexOutOfBoundsException(
+          "Index " + index + " is out of bounds for count " + count);
+    }
+  }
+}
@@ -0,0 +1,225 @@
+package com.senzing.g2.engine;
+
+import java.util.Collection;
+
+/**
+ * Encodes the entity, record and data source list documents accepted by
+ * {@link G2Engine} functions such as {@link
+ * G2Engine#findNetworkByEntityID(String,int,int,int,long,StringBuffer)},
+ * {@link
+ * G2Engine#findPathExcludingByEntityID(long,long,int,String,long,StringBuffer)},
+ * {@link G2Engine#findPathIncludingSourceByEntityID(long,long,int,String,
+ * String,long,StringBuffer)} and {@link
+ * G2Engine#getVirtualEntityByRecordID(String,long,StringBuffer)} directly
+ * from primitive arrays or a {@link LongHashSet}.  The JSON text is written
+ * into a character buffer that is reused across calls, so the only
+ * allocation per document is the resulting {@link String}.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   EntityListEncoder encoder = new EntityListEncoder();
+ *   LongHashSet excluded = ...;
+ *   engine.findPathExcludingByEntityID(entityID1, entityID2, maxDegrees,
+ *                                      encoder.entities(excluded),
+ *                                      flags, response);
+ * </pre>
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe.  Use one instance per thread (e.g.:
+ * via {@link ThreadLocal}).
+ */
+public class EntityListEncoder {
+  /**
+   * The characters that open an entity ID element.
+   */
+  private static final String ENTITY_ID_PREFIX = "{\"ENTITY_ID\":";
+
+  /**
+   * The characters that open a record key element.
+   */
+  private static final String DATA_SOURCE_PREFIX = "{\"DATA_SOURCE\":";
+
+  /**
+   * The characters that separate the data source code and record ID of a
+   * record key element.
+   */
+  private static final String RECORD_ID_PREFIX = ",\"RECORD_ID\":";
+
+  /**
+   * The reusable buffer.
+   */
+  private final JsonBuffer buffer;
+
+  /**
+   * Default constructor.
+   */
+  public EntityListEncoder() {
+    this(1024);
+  }
+
+  /**
+   * Constructs with the specified initial capacity for the reusable buffer.
+   *
+   * @param initialCapacity The initial capacity in characters.
+   */
+  public EntityListEncoder(int initialCapacity) {
+    this.buffer = new JsonBuffer(initialCapacity);
+  }
+
+  /**
+   * Encodes the specified entity IDs as an <code>"ENTITIES"</code> document:
+   * <pre>
+   *   {"ENTITIES":[{"ENTITY_ID":&lt;entity_id1&gt;},...]}
+   * </pre>
+   *
+   * @param entityIDs The entity IDs to encode.
+   *
+   * @return The encoded JSON document.
+   */
+  public String entities(long... entityIDs) {
+    return this.entities(entityIDs, 0, entityIDs.length);
+  }
+
+  /**
+   * Encodes the specified range of the specified entity IDs as an
+   * <code>"ENTITIES"</code> document.
+   *
+   * @param entityIDs The array containing the entity IDs to encode.
+   * @param offset The index of the first entity ID to encode.
+   * @param length The number of entity IDs to encode.
+   *
+   * @return The encoded JSON document.
+   */
+  public String entities(long[] entityIDs, int offset, int length) {
+    JsonBuffer buf = this.buffer.reset();
+    buf.ensureCapacity(16 + length * 32);
+    buf.append("{\"ENTITIES\":[");
+    for (int index = offset; index < offset + length; index++) {
+      if (index > offset) buf.append(',');
+      buf.append(ENTITY_ID_PREFIX).append(entityIDs[index]).append('}');
+    }
+    return buf.append("]}").toString();
+  }
+
+  /**
+   * Encodes the entity IDs in the specified {@link LongHashSet} as an
+   * <code>"ENTITIES"</code> document.
+   *
+   * @param entityIDs The {@link LongHashSet} of entity IDs to encode.
+   *
+   * @return The encoded JSON document.
+   */
+  public String entities(LongHashSet entityIDs) {
+    JsonBuffer buf = this.buffer.reset();
+    buf.ensureCapacity(16 + entityIDs.size() * 32);
+    buf.append("{\"ENTITIES\":[");
+    entityIDs.forEach(entityID -> {
+      if (buf.last() != '[') buf.append(',');
+      buf.append(ENTITY_ID_PREFIX).append(entityID).append('}');
+    });
+    return buf.append("]}").toString();
+  }
+
+  /**
+   * Encodes the specified record keys as an <code>"ENTITIES"</code> document
+   * for the functions that identify entities by their records (e.g.: {@link
+   * G2Engine#findNetworkByRecordID(String,int,int,int,long,StringBuffer)}):
+   * <pre>
+   *   {"ENTITIES":[{"DATA_SOURCE":"&lt;data_source1&gt;",
+   *                 "RECORD_ID":"&lt;record_id1&gt;"},...]}
+   * </pre>
+   *
+   * @param dataSources The data source codes of the records.
+   * @param recordIDs The record IDs of the records, parallel to the specified
+   *                  data source codes.
+   *
+   * @return The encoded JSON document.
+   *
+   * @throws IllegalArgumentException If the arrays differ in length.
+   */
+  public String recordEntities(String[] dataSources, String[] recordIDs) {
+    return this.recordKeys("{\"ENTITIES\":[", dataSources, recordIDs);
+  }
+
+  /**
+   * Encodes the specified record keys as a <code>"RECORDS"</code> document
+   * for {@link G2Engine#getVirtualEntityByRecordID(String,long,StringBuffer)}:
+   * <pre>
+   *   {"RECORDS":[{"DATA_SOURCE":"&lt;data_source1&gt;",
+   *                "RECORD_ID":"&lt;record_id1&gt;"},...]}
+   * </pre>
+   *
+   * @param dataSources The data source codes of the records.
+   * @param recordIDs The record IDs of the records, parallel to the specified
+   *                  data source codes.
+   *
+   * @return The encoded JSON document.
+   *
+   * @throws IllegalArgumentException If the arrays differ in length.
+   */
+  public String records(String[] dataSources, String[] recordIDs) {
+    return this.recordKeys("{\"RECORDS\":[", dataSources, recordIDs);
+  }
+
+  /**
+   * Encodes the specified data source codes as a
+   * <code>"DATA_SOURCES"</code> document:
+   * <pre>
+   *   {"DATA_SOURCES":["&lt;data_source_code1&gt;",...]}
+   * </pre>
+   *
+   * @param dataSources The data source codes to encode.
+   *
+   * @return The encoded JSON document.
+   */
+  public String dataSources(String... dataSources) {
+    JsonBuffer buf = this.buffer.reset().append("{\"DATA_SOURCES\":[");
+    for (int index = 0; index < dataSources.length; index++) {
+      if (index > 0) buf.append(',');
+      buf.appendQuoted(dataSources[index]);
+    }
+    return buf.append("]}").toString();
+  }
+
+  /**
+   * Encodes the specified {@link Collection} of data source codes as a
+   * <code>"DATA_SOURCES"</code> document.
+   *
+   * @param dataSources The {@link Collection} of data source codes.
+   *
+   * @return The encoded JSON document.
+   */
+  public String dataSources(Collection<String> dataSources) {
+    JsonBuffer buf = this.buffer.reset().append("{\"DATA_SOURCES\":[");
+    String prefix = "";
+    for (String dataSource : dataSources) {
+      buf.append(prefix).appendQuoted(dataSource);
+      prefix = ",";
+    }
+    return buf.append("]}").toString();
+  }
+
+  /**
+   * Internal method to encode record keys.
+   */
+  private String recordKeys(String    opening,
+                            String[]  dataSources,
+                            String[]  recordIDs)
+  {
+    if (dataSources.length != recordIDs.length) {
+      throw new IllegalArgumentException(
+          "The number of data source codes (" + dataSources.length
+          + ") must match the number of record IDs (" + recordIDs.length
+          + ").");
+    }
+    JsonBuffer buf = this.buffer.reset().append(opening);
+    for (int index = 0; index < dataSources.length; index++) {
+      if (index > 0) buf.append(',');
+      buf.append(DATA_SOURCE_PREFIX).appendQuoted(dataSources[index])
+         .append(RECORD_ID_PREFIX).appendQuoted(recordIDs[index])
+         .append('}');
+    }
+    return buf.append("]}").toString();
+  }
+}
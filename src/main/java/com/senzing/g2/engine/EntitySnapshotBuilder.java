@@ -0,0 +1,486 @@
+package com.senzing.g2.engine;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds a full snapshot of the resolved entities in parallel.  Entity IDs
+ * are enumerated for each entity size with {@link
+ * G2Diagnostic#getEntityListBySize(long,Result)} and {@link
+ * G2Diagnostic#fetchNextEntityBySize(long,StringBuffer)} on the calling
+ * thread, and the entity documents are retrieved with {@link
+ * G2Engine#getEntityByEntityID(long,long,StringBuffer)} by a pool of worker
+ * threads, each writing one JSON document per line to its own partition file
+ * (<code>entities-NNNNN.jsonl</code>) in the output directory.  This removes
+ * the single-thread bound of reading {@link
+ * G2Engine#exportJSONEntityReport(long,Result)} through one handle.
+ *
+ * <p>
+ * The snapshot is not transactional: entities that are merged or deleted
+ * after being enumerated are skipped (and counted), and entities created or
+ * resized during the build may be missed.  Entity IDs are de-duplicated
+ * across sizes so an entity that changes size mid-build is written once.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   EntitySnapshotBuilder builder
+ *       = new EntitySnapshotBuilder(diagnostic, engine, 16);
+ *   EntitySnapshotBuilder.SnapshotResult result = builder.build(
+ *       Paths.get("/data/snapshot"), G2Engine.G2_EXPORT_DEFAULT_FLAGS,
+ *       (enumerated, written, skipped, failed)
+ *           -&gt; System.out.println(written + " / " + enumerated));
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe, but each call to {@link #build} uses its own
+ * worker threads.
+ */
+public class EntitySnapshotBuilder {
+  /**
+   * The default number of written entities between progress reports.
+   */
+  public static final long DEFAULT_PROGRESS_INTERVAL = 10000L;
+
+  /**
+   * The prefix of the partition file names.
+   */
+  public static final String PARTITION_PREFIX = "entities-";
+
+  /**
+   * The suffix of the partition file names.
+   */
+  public static final String PARTITION_SUFFIX = ".jsonl";
+
+  /**
+   * The number of entity IDs handed to a worker at a time.
+   */
+  private static final int BATCH_SIZE = 256;
+
+  /**
+   * The empty batch that tells a worker to stop.
+   */
+  private static final long[] END_OF_INPUT = new long[0];
+
+  /**
+   * The field names whose values are entity IDs in the sized entity list.
+   */
+  private static final String[] ENTITY_ID_FIELDS = {"ENTITY_ID", "RES_ENT_ID"};
+
+  /**
+   * The field name of the entity size in the size breakdown.
+   */
+  private static final String ENTITY_SIZE = "ENTITY_SIZE";
+
+  /**
+   * Receives progress reports from {@link #build}.  Calls are serialized.
+   */
+  @FunctionalInterface
+  public interface ProgressListener {
+    /**
+     * Called periodically during a build and once when it completes.
+     *
+     * @param enumerated The number of distinct entity IDs enumerated.
+     * @param written The number of entities written.
+     * @param skipped The number of entities that no longer exist.
+     * @param failed The number of entities that could not be retrieved.
+     */
+    void progress(long enumerated, long written, long skipped, long failed);
+  }
+
+  /**
+   * Describes the outcome of a call to {@link #build}.
+   */
+  public static class SnapshotResult {
+    private final long entityCount;
+    private final long skippedCount;
+    private final long failedCount;
+    private final List<Path> partitions;
+
+    private SnapshotResult(long        entityCount,
+                           long        skippedCount,
+                           long        failedCount,
+                           List<Path>  partitions)
+    {
+      this.entityCount  = entityCount;
+      this.skippedCount = skippedCount;
+      this.failedCount  = failedCount;
+      this.partitions   = partitions;
+    }
+
+    /**
+     * Returns the number of entities written.
+     *
+     * @return The number of entities written.
+     */
+    public long getEntityCount() {
+      return this.entityCount;
+    }
+
+    /**
+     * Returns the number of enumerated entities that no longer existed when
+     * retrieved.
+     *
+     * @return The number of skipped entities.
+     */
+    public long getSkippedCount() {
+      return this.skippedCount;
+    }
+
+    /**
+     * Returns the number of entities that could not be retrieved for any
+     * reason other than no longer existing.
+     *
+     * @return The number of failed entities.
+     */
+    public long getFailedCount() {
+      return this.failedCount;
+    }
+
+    /**
+     * Returns the paths of the partition files.
+     *
+     * @return The unmodifiable {@link List} of partition file paths.
+     */
+    public List<Path> getPartitions() {
+      return this.partitions;
+    }
+  }
+
+  /**
+   * The {@link G2Diagnostic} used to enumerate entity IDs.
+   */
+  private final G2Diagnostic diagnostic;
+
+  /**
+   * The {@link G2Engine} used to retrieve entities.
+   */
+  private final G2Engine engine;
+
+  /**
+   * The number of worker threads.
+   */
+  private final int concurrency;
+
+  /**
+   * The number of written entities between progress reports.
+   */
+  private volatile long progressInterval = DEFAULT_PROGRESS_INTERVAL;
+
+  /**
+   * Constructs with the {@link G2Diagnostic} to enumerate entity IDs with,
+   * the {@link G2Engine} to retrieve entities with and the number of worker
+   * threads (and partition files).
+   *
+   * @param diagnostic The {@link G2Diagnostic} to enumerate entity IDs with.
+   * @param engine The {@link G2Engine} to retrieve entities with.
+   * @param concurrency The number of worker threads.
+   *
+   * @throws IllegalArgumentException If the concurrency is less than one
+   *                                  (1).
+   */
+  public EntitySnapshotBuilder(G2Diagnostic diagnostic,
+                               G2Engine     engine,
+                               int          concurrency)
+  {
+    if (diagnostic == null || engine == null) {
+      throw new NullPointerException(
+          "The G2Diagnostic and G2Engine cannot be null.");
+    }
+    if (concurrency < 1) {
+      throw new IllegalArgumentException(
+          "The concurrency must be at least one (1): " + concurrency);
+    }
+    this.diagnostic   = diagnostic;
+    this.engine       = engine;
+    this.concurrency  = concurrency;
+  }
+
+  /**
+   * Sets the number of written entities between progress reports.
+   *
+   * @param interval The number of written entities between progress
+   *                 reports.
+   *
+   * @throws IllegalArgumentException If the interval is less than one (1).
+   */
+  public void setProgressInterval(long interval) {
+    if (interval < 1L) {
+      throw new IllegalArgumentException(
+          "The progress interval must be at least one (1): " + interval);
+    }
+    this.progressInterval = interval;
+  }
+
+  /**
+   * Builds a snapshot of every entity, determining the entity sizes to
+   * enumerate with {@link
+   * G2Diagnostic#getEntitySizeBreakdown(long,boolean,StringBuffer)}.
+   *
+   * @param directory The output directory, which is created if necessary.
+   * @param flags The flags for {@link
+   *              G2Engine#getEntityByEntityID(long,long,StringBuffer)}.
+   * @param listener The {@link ProgressListener} to notify, or
+   *                 <code>null</code> if none.
+   *
+   * @return The {@link SnapshotResult} describing the snapshot.
+   *
+   * @throws G2Exception If enumerating the entities fails.
+   * @throws IOException If writing a partition file fails.
+   * @throws InterruptedException If interrupted while building.
+   */
+  public SnapshotResult build(Path              directory,
+                              long              flags,
+                              ProgressListener  listener)
+      throws G2Exception, IOException, InterruptedException
+  {
+    StringBuffer response = new StringBuffer();
+    if (this.diagnostic.getEntitySizeBreakdown(1L, false, response) != 0) {
+      throw G2Exception.capture(this.diagnostic);
+    }
+    LongHashSet sizes = new LongHashSet();
+    JsonCursor cursor = new JsonCursor(response);
+    for (JsonCursor.Token token = cursor.next();
+         token != JsonCursor.Token.END;
+         token = cursor.next())
+    {
+      if (token == JsonCursor.Token.FIELD_NAME
+          && cursor.textEquals(ENTITY_SIZE))
+      {
+        long size = cursor.nextLong(0L);
+        if (size > 0L) sizes.add(size);
+      }
+    }
+    long[] sorted = sizes.toArray();
+    Arrays.sort(sorted);
+    return this.build(directory, sorted, flags, listener);
+  }
+
+  /**
+   * Builds a snapshot of the entities having the specified entity sizes.
+   *
+   * @param directory The output directory, which is created if necessary.
+   * @param entitySizes The entity sizes (record counts) to enumerate.
+   * @param flags The flags for {@link
+   *              G2Engine#getEntityByEntityID(long,long,StringBuffer)}.
+   * @param listener The {@link ProgressListener} to notify, or
+   *                 <code>null</code> if none.
+   *
+   * @return The {@link SnapshotResult} describing the snapshot.
+   *
+   * @throws G2Exception If enumerating the entities fails.
+   * @throws IOException If writing a partition file fails.
+   * @throws InterruptedException If interrupted while building.
+   */
+  public SnapshotResult build(Path              directory,
+                              long[]            entitySizes,
+                              long              flags,
+                              ProgressListener  listener)
+      throws G2Exception, IOException, InterruptedException
+  {
+    Files.createDirectories(directory);
+    List<Path> partitions = new ArrayList<>(this.concurrency);
+    for (int index = 0; index < this.concurrency; index++) {
+      partitions.add(directory.resolve(
+          PARTITION_PREFIX + String.format("%05d", index) + PARTITION_SUFFIX));
+    }
+
+    Progress progress = new Progress(listener, this.progressInterval);
+    BlockingQueue<long[]> queue
+        = new ArrayBlockingQueue<>(this.concurrency * 4);
+    ExecutorService workers = Executors.newFixedThreadPool(
+        this.concurrency, new NamedThreadFactory("g2-snapshot"));
+    List<Future<?>> futures = new ArrayList<>(this.concurrency);
+    boolean completed = false;
+    try {
+      for (Path partition : partitions) {
+        futures.add(workers.submit(() -> {
+          this.retrieve(queue, partition, flags, progress);
+          return null;
+        }));
+      }
+      this.enumerate(entitySizes, queue, futures, progress);
+      for (int index = 0; index < futures.size(); index++) {
+        WorkerQueues.offer(queue, END_OF_INPUT, futures);
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      completed = true;
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) throw (IOException) cause;
+      if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+      if (cause instanceof Error) throw (Error) cause;
+      throw new IllegalStateException(cause);
+    } finally {
+      if (!completed) workers.shutdownNow();
+      workers.shutdown();
+      while (!workers.awaitTermination(1L, TimeUnit.SECONDS)) {
+        // wait for native calls in progress to return
+      }
+    }
+
+    progress.report();
+    return new SnapshotResult(progress.written.get(),
+                              progress.skipped.get(),
+                              progress.failed.get(),
+                              Collections.unmodifiableList(partitions));
+  }
+
+  /**
+   * Internal method to enumerate the entity IDs for each size and queue
+   * them in batches for the workers.
+   */
+  private void enumerate(long[]                 entitySizes,
+                         BlockingQueue<long[]>  queue,
+                         List<Future<?>>        workers,
+                         Progress               progress)
+      throws G2Exception, InterruptedException, ExecutionException
+  {
+    LongHashSet   seen      = new LongHashSet();
+    long[]        batch     = new long[BATCH_SIZE];
+    int           count     = 0;
+    Result<Long>  handle    = new Result<>();
+    StringBuffer  response  = new StringBuffer();
+    JsonCursor    cursor    = new JsonCursor();
+    for (long size : entitySizes) {
+      if (this.diagnostic.getEntityListBySize(size, handle) != 0) {
+        throw G2Exception.capture(this.diagnostic);
+      }
+      long listHandle = handle.getValue();
+      try {
+        while (true) {
+          response.setLength(0);
+          if (this.diagnostic.fetchNextEntityBySize(listHandle, response)
+              != 0)
+          {
+            throw G2Exception.capture(this.diagnostic);
+          }
+          if (response.length() == 0) break;
+          cursor.reset(response);
+          for (JsonCursor.Token token = cursor.next();
+               token != JsonCursor.Token.END;
+               token = cursor.next())
+          {
+            if (token != JsonCursor.Token.FIELD_NAME
+                || !isEntityIDField(cursor))
+            {
+              continue;
+            }
+            long entityID = cursor.nextLong(0L);
+            if (entityID <= 0L || !seen.add(entityID)) continue;
+            progress.enumerated.incrementAndGet();
+            batch[count++] = entityID;
+            if (count == BATCH_SIZE) {
+              WorkerQueues.offer(queue, batch, workers);
+              batch = new long[BATCH_SIZE];
+              count = 0;
+            }
+          }
+        }
+      } finally {
+        this.diagnostic.closeEntityListBySize(listHandle);
+      }
+    }
+    if (count > 0) {
+      WorkerQueues.offer(queue, Arrays.copyOf(batch, count), workers);
+    }
+  }
+
+  /**
+   * Internal method to check if the current field name is an entity ID.
+   */
+  private static boolean isEntityIDField(JsonCursor cursor) {
+    for (String field : ENTITY_ID_FIELDS) {
+      if (cursor.textEquals(field)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Internal method run by each worker to retrieve the queued entities and
+   * write them to its partition file.
+   */
+  private void retrieve(BlockingQueue<long[]> queue,
+                        Path                  partition,
+                        long                  flags,
+                        Progress              progress)
+      throws IOException, InterruptedException
+  {
+    StringBuffer response = new StringBuffer();
+    try (Writer writer = new BufferedWriter(
+        Files.newBufferedWriter(partition, StandardCharsets.UTF_8), 1 << 16))
+    {
+      for (long[] batch = queue.take(); batch != END_OF_INPUT;
+           batch = queue.take())
+      {
+        for (long entityID : batch) {
+          response.setLength(0);
+          int returnCode = this.engine.getEntityByEntityID(
+              entityID, flags, response);
+          if (returnCode != 0) {
+            if (G2ErrorType.classifyLast(this.engine)
+                == G2ErrorType.NOT_FOUND)
+            {
+              progress.skipped.incrementAndGet();
+            } else {
+              progress.failed.incrementAndGet();
+            }
+            this.engine.clearLastException();
+            continue;
+          }
+          writer.append(response).append('\n');
+          progress.written();
+        }
+      }
+    }
+  }
+
+  /**
+   * Tracks the progress of a build and notifies the listener.
+   */
+  private static final class Progress {
+    private final ProgressListener listener;
+    private final long interval;
+    private final AtomicLong enumerated = new AtomicLong(0L);
+    private final AtomicLong written = new AtomicLong(0L);
+    private final AtomicLong skipped = new AtomicLong(0L);
+    private final AtomicLong failed = new AtomicLong(0L);
+
+    private Progress(ProgressListener listener, long interval) {
+      this.listener = listener;
+      this.interval = interval;
+    }
+
+    private void written() {
+      if (this.written.incrementAndGet() % this.interval == 0L) {
+        this.report();
+      }
+    }
+
+    private void report() {
+      if (this.listener == null) return;
+      synchronized (this) {
+        this.listener.progress(this.enumerated.get(), this.written.get(),
+                               this.skipped.get(), this.failed.get());
+      }
+    }
+  }
+}
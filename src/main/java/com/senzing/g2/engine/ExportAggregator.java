@@ -0,0 +1,754 @@
+package com.senzing.g2.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import static com.senzing.g2.engine.G2Engine.*;
+
+/**
+ * Computes repository statistics in a single streaming pass over {@link
+ * G2Engine#exportJSONEntityReport(long,Result)} without loading the export
+ * anywhere.  The calling thread fetches the export rows and hands them in
+ * small batches through a bounded queue to worker threads, which parse each
+ * row into an {@link Entity} and fold it into their own accumulator.  When
+ * the export is exhausted the per-worker accumulators are merged into the
+ * result.  Memory use depends on the number of workers, the queue capacity
+ * and the size of the accumulators, but not on the size of the repository.
+ *
+ * <p>
+ * An {@link Aggregator} describes how to create, update and merge an
+ * accumulator, and {@link Aggregator#of(Supplier,BiConsumer,BiConsumer)}
+ * builds one from three functions.  The following are built in:
+ * <ul>
+ *   <li>{@link #entitySizeDistribution()} &mdash; the number of entities
+ *       with each number of records.</li>
+ *   <li>{@link #dataSourceOverlap()} &mdash; the number of entities with
+ *       records from each pair of data sources.</li>
+ *   <li>{@link #matchLevelCounts()} &mdash; the number of relationships at
+ *       each match level.</li>
+ *   <li>{@link #statistics()} &mdash; all of the above in one pass.</li>
+ * </ul>
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   ExportAggregator aggregator = new ExportAggregator(engine, 8);
+ *   ExportAggregator.Statistics statistics = aggregator.aggregate(
+ *       ExportAggregator.EXPORT_FLAGS, ExportAggregator.statistics());
+ *   long pairs = statistics.getDataSourceOverlap().getCount("CUSTOMERS",
+ *                                                           "WATCHLIST");
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe, but aggregators with mutable state must
+ * tolerate concurrent use by the workers.
+ */
+public class ExportAggregator {
+  /**
+   * The flags that provide the fields used by the built-in aggregators.
+   */
+  public static final long EXPORT_FLAGS
+      = G2_EXPORT_INCLUDE_ALL_ENTITIES
+      | G2_EXPORT_INCLUDE_ALL_RELATIONSHIPS
+      | G2_ENTITY_INCLUDE_ALL_RELATIONS
+      | G2_ENTITY_INCLUDE_RECORD_DATA
+      | G2_ENTITY_INCLUDE_RELATED_MATCHING_INFO;
+
+  /**
+   * The number of export rows handed to a worker at a time.
+   */
+  private static final int BATCH_SIZE = 64;
+
+  /**
+   * The empty batch that tells a worker to stop.
+   */
+  private static final String[] END_OF_INPUT = new String[0];
+
+  /**
+   * Describes how to aggregate the exported entities into an accumulator.
+   * Each worker thread uses its own accumulator, so {@link
+   * #accumulate(Object,Entity)} need not be thread-safe.
+   *
+   * @param <A> The type of the accumulator.
+   */
+  public interface Aggregator<A> {
+    /**
+     * Creates a new empty accumulator.
+     *
+     * @return The new accumulator.
+     */
+    A newAccumulator();
+
+    /**
+     * Folds the specified entity into the specified accumulator.  The
+     * {@link Entity} is reused for the next row once this returns.
+     *
+     * @param accumulator The accumulator to update.
+     * @param entity The {@link Entity} to fold in.
+     */
+    void accumulate(A accumulator, Entity entity);
+
+    /**
+     * Merges the source accumulator into the target accumulator.
+     *
+     * @param target The accumulator to merge into.
+     * @param source The accumulator to merge from, which is discarded
+     *               afterwards.
+     */
+    void merge(A target, A source);
+
+    /**
+     * Creates an {@link Aggregator} from the specified functions.
+     *
+     * @param supplier Creates a new empty accumulator.
+     * @param accumulator Folds an entity into an accumulator.
+     * @param merger Merges its second argument into its first.
+     *
+     * @param <A> The type of the accumulator.
+     *
+     * @return The new {@link Aggregator}.
+     */
+    static <A> Aggregator<A> of(Supplier<A>             supplier,
+                                BiConsumer<A, Entity>   accumulator,
+                                BiConsumer<A, A>        merger)
+    {
+      return new Aggregator<A>() {
+        @Override
+        public A newAccumulator() {
+          return supplier.get();
+        }
+
+        @Override
+        public void accumulate(A target, Entity entity) {
+          accumulator.accept(target, entity);
+        }
+
+        @Override
+        public void merge(A target, A source) {
+          merger.accept(target, source);
+        }
+      };
+    }
+  }
+
+  /**
+   * A reusable parsed view of one exported entity, with its records and
+   * relationships.
+   */
+  public static final class Entity {
+    private final EntityDocument document = new EntityDocument();
+
+    private Entity() {
+      // only constructed by the workers
+    }
+
+    /**
+     * Returns the export row that was parsed.
+     *
+     * @return The entity document.
+     */
+    public CharSequence getJson() {
+      return this.document.getJson();
+    }
+
+    /**
+     * Returns the entity ID.
+     *
+     * @return The entity ID.
+     */
+    public long getEntityID() {
+      return this.document.getEntityID();
+    }
+
+    /**
+     * Returns the number of records in the entity.
+     *
+     * @return The number of records.
+     */
+    public int getRecordCount() {
+      return this.document.getRecordCount();
+    }
+
+    /**
+     * Returns the data source code of the record at the specified index.
+     *
+     * @param index The record index.
+     *
+     * @return The data source code.
+     */
+    public String getDataSource(int index) {
+      return this.document.getDataSource(index);
+    }
+
+    /**
+     * Returns the record ID of the record at the specified index.
+     *
+     * @param index The record index.
+     *
+     * @return The record ID.
+     */
+    public String getRecordID(int index) {
+      return this.document.getRecordID(index);
+    }
+
+    /**
+     * Returns the number of relationships of the entity.
+     *
+     * @return The number of relationships.
+     */
+    public int getRelatedCount() {
+      return this.document.getRelatedCount();
+    }
+
+    /**
+     * Returns the entity ID of the related entity at the specified index.
+     *
+     * @param index The relationship index.
+     *
+     * @return The related entity ID.
+     */
+    public long getRelatedEntityID(int index) {
+      return this.document.getRelatedEntityID(index);
+    }
+
+    /**
+     * Returns the match level of the relationship at the specified index.
+     *
+     * @param index The relationship index.
+     *
+     * @return The match level.
+     */
+    public int getMatchLevel(int index) {
+      return this.document.getMatchLevel(index);
+    }
+
+    /**
+     * Returns the match key of the relationship at the specified index.
+     *
+     * @param index The relationship index.
+     *
+     * @return The match key (empty if none).
+     */
+    public String getMatchKey(int index) {
+      return this.document.getMatchKey(index);
+    }
+  }
+
+  /**
+   * The number of entities with each number of records.
+   */
+  public static final class EntitySizeDistribution {
+    private long[] counts = new long[16];
+    private long entityCount = 0L;
+
+    private EntitySizeDistribution() {
+      // created by entitySizeDistribution()
+    }
+
+    /**
+     * Returns the number of entities counted.
+     *
+     * @return The number of entities.
+     */
+    public long getEntityCount() {
+      return this.entityCount;
+    }
+
+    /**
+     * Returns the largest number of records in any entity.
+     *
+     * @return The largest entity size, or zero (0) if there are no entities.
+     */
+    public int getMaxSize() {
+      for (int size = this.counts.length - 1; size > 0; size--) {
+        if (this.counts[size] > 0L) return size;
+      }
+      return 0;
+    }
+
+    /**
+     * Returns the number of entities with the specified number of records.
+     *
+     * @param size The number of records.
+     *
+     * @return The number of entities with that many records.
+     */
+    public long getCount(int size) {
+      return (size < 0 || size >= this.counts.length) ? 0L : this.counts[size];
+    }
+
+    private void add(Entity entity) {
+      int size = entity.getRecordCount();
+      if (size >= this.counts.length) {
+        this.counts = Arrays.copyOf(
+            this.counts, Math.max(size + 1, this.counts.length * 2));
+      }
+      this.counts[size]++;
+      this.entityCount++;
+    }
+
+    private void merge(EntitySizeDistribution other) {
+      if (other.counts.length > this.counts.length) {
+        this.counts = Arrays.copyOf(this.counts, other.counts.length);
+      }
+      for (int size = 0; size < other.counts.length; size++) {
+        this.counts[size] += other.counts[size];
+      }
+      this.entityCount += other.entityCount;
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("{");
+      for (int size = 0; size < this.counts.length; size++) {
+        if (this.counts[size] == 0L) continue;
+        if (sb.length() > 1) sb.append(", ");
+        sb.append(size).append('=').append(this.counts[size]);
+      }
+      return sb.append('}').toString();
+    }
+  }
+
+  /**
+   * The number of entities with records from each pair of data sources.
+   * The count for a data source paired with itself is the number of
+   * entities with any record from that data source.
+   */
+  public static final class DataSourceOverlap {
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<String> dataSources = new ArrayList<>();
+    private long[][] counts = new long[0][0];
+    private int[] scratch = new int[8];
+
+    private DataSourceOverlap() {
+      // created by dataSourceOverlap()
+    }
+
+    /**
+     * Returns the data source codes that were encountered.
+     *
+     * @return The unmodifiable {@link List} of data source codes.
+     */
+    public List<String> getDataSources() {
+      return Collections.unmodifiableList(this.dataSources);
+    }
+
+    /**
+     * Returns the number of entities with records from both of the specified
+     * data sources.
+     *
+     * @param dataSource1 The first data source code.
+     * @param dataSource2 The second data source code.
+     *
+     * @return The number of entities with records from both data sources.
+     */
+    public long getCount(String dataSource1, String dataSource2) {
+      Integer index1 = this.indexes.get(dataSource1);
+      Integer index2 = this.indexes.get(dataSource2);
+      if (index1 == null || index2 == null) return 0L;
+      return this.counts[index1][index2];
+    }
+
+    private int indexOf(String dataSource) {
+      Integer index = this.indexes.get(dataSource);
+      if (index != null) return index;
+      int size = this.dataSources.size();
+      this.indexes.put(dataSource, size);
+      this.dataSources.add(dataSource);
+      long[][] counts = new long[size + 1][size + 1];
+      for (int row = 0; row < size; row++) {
+        System.arraycopy(this.counts[row], 0, counts[row], 0, size);
+      }
+      this.counts = counts;
+      return size;
+    }
+
+    private void add(Entity entity) {
+      // gather the distinct data sources of the entity
+      int count = 0;
+      for (int record = 0; record < entity.getRecordCount(); record++) {
+        int index = this.indexOf(entity.getDataSource(record));
+        boolean found = false;
+        for (int prior = 0; !found && prior < count; prior++) {
+          found = (this.scratch[prior] == index);
+        }
+        if (found) continue;
+        if (count == this.scratch.length) {
+          this.scratch = Arrays.copyOf(this.scratch, count * 2);
+        }
+        this.scratch[count++] = index;
+      }
+      for (int first = 0; first < count; first++) {
+        for (int second = 0; second < count; second++) {
+          this.counts[this.scratch[first]][this.scratch[second]]++;
+        }
+      }
+    }
+
+    private void merge(DataSourceOverlap other) {
+      int[] mapping = new int[other.dataSources.size()];
+      for (int index = 0; index < mapping.length; index++) {
+        mapping[index] = this.indexOf(other.dataSources.get(index));
+      }
+      for (int row = 0; row < mapping.length; row++) {
+        for (int column = 0; column < mapping.length; column++) {
+          this.counts[mapping[row]][mapping[column]]
+              += other.counts[row][column];
+        }
+      }
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("{");
+      for (int row = 0; row < this.dataSources.size(); row++) {
+        for (int column = row; column < this.dataSources.size(); column++) {
+          if (this.counts[row][column] == 0L) continue;
+          if (sb.length() > 1) sb.append(", ");
+          sb.append(this.dataSources.get(row)).append('/')
+              .append(this.dataSources.get(column)).append('=')
+              .append(this.counts[row][column]);
+        }
+      }
+      return sb.append('}').toString();
+    }
+  }
+
+  /**
+   * The number of relationships at each match level.  Each relationship is
+   * exported with both of its entities, so it is only counted with the
+   * entity that has the smaller entity ID.
+   */
+  public static final class MatchLevelCounts {
+    private long[] counts = new long[8];
+
+    private MatchLevelCounts() {
+      // created by matchLevelCounts()
+    }
+
+    /**
+     * Returns the number of relationships at the specified match level.
+     *
+     * @param matchLevel The match level.
+     *
+     * @return The number of relationships at that match level.
+     */
+    public long getCount(int matchLevel) {
+      return (matchLevel < 0 || matchLevel >= this.counts.length) ? 0L
+          : this.counts[matchLevel];
+    }
+
+    /**
+     * Returns the total number of relationships.
+     *
+     * @return The total number of relationships.
+     */
+    public long getTotal() {
+      long total = 0L;
+      for (long count : this.counts) total += count;
+      return total;
+    }
+
+    private void add(Entity entity) {
+      for (int index = 0; index < entity.getRelatedCount(); index++) {
+        if (entity.getRelatedEntityID(index) <= entity.getEntityID()) {
+          continue;
+        }
+        int level = Math.max(0, entity.getMatchLevel(index));
+        if (level >= this.counts.length) {
+          this.counts = Arrays.copyOf(
+              this.counts, Math.max(level + 1, this.counts.length * 2));
+        }
+        this.counts[level]++;
+      }
+    }
+
+    private void merge(MatchLevelCounts other) {
+      if (other.counts.length > this.counts.length) {
+        this.counts = Arrays.copyOf(this.counts, other.counts.length);
+      }
+      for (int level = 0; level < other.counts.length; level++) {
+        this.counts[level] += other.counts[level];
+      }
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("{");
+      for (int level = 0; level < this.counts.length; level++) {
+        if (this.counts[level] == 0L) continue;
+        if (sb.length() > 1) sb.append(", ");
+        sb.append(level).append('=').append(this.counts[level]);
+      }
+      return sb.append('}').toString();
+    }
+  }
+
+  /**
+   * The results of all of the built-in aggregators.
+   */
+  public static final class Statistics {
+    private final EntitySizeDistribution entitySizes
+        = new EntitySizeDistribution();
+    private final DataSourceOverlap dataSourceOverlap
+        = new DataSourceOverlap();
+    private final MatchLevelCounts matchLevelCounts = new MatchLevelCounts();
+
+    private Statistics() {
+      // created by statistics()
+    }
+
+    /**
+     * Returns the entity size distribution.
+     *
+     * @return The {@link EntitySizeDistribution}.
+     */
+    public EntitySizeDistribution getEntitySizeDistribution() {
+      return this.entitySizes;
+    }
+
+    /**
+     * Returns the data source overlap matrix.
+     *
+     * @return The {@link DataSourceOverlap}.
+     */
+    public DataSourceOverlap getDataSourceOverlap() {
+      return this.dataSourceOverlap;
+    }
+
+    /**
+     * Returns the relationship counts by match level.
+     *
+     * @return The {@link MatchLevelCounts}.
+     */
+    public MatchLevelCounts getMatchLevelCounts() {
+      return this.matchLevelCounts;
+    }
+
+    private void add(Entity entity) {
+      this.entitySizes.add(entity);
+      this.dataSourceOverlap.add(entity);
+      this.matchLevelCounts.add(entity);
+    }
+
+    private void merge(Statistics other) {
+      this.entitySizes.merge(other.entitySizes);
+      this.dataSourceOverlap.merge(other.dataSourceOverlap);
+      this.matchLevelCounts.merge(other.matchLevelCounts);
+    }
+
+    @Override
+    public String toString() {
+      return "entitySizes=" + this.entitySizes
+          + ", dataSourceOverlap=" + this.dataSourceOverlap
+          + ", matchLevelCounts=" + this.matchLevelCounts;
+    }
+  }
+
+  /**
+   * The {@link G2Engine} to export from.
+   */
+  private final G2Engine engine;
+
+  /**
+   * The number of worker threads.
+   */
+  private final int concurrency;
+
+  /**
+   * Constructs with the {@link G2Engine} to export from and the number of
+   * worker threads that parse and aggregate the rows.
+   *
+   * @param engine The {@link G2Engine} to export from.
+   * @param concurrency The number of worker threads.
+   *
+   * @throws IllegalArgumentException If the concurrency is less than one (1).
+   */
+  public ExportAggregator(G2Engine engine, int concurrency) {
+    if (engine == null) {
+      throw new NullPointerException("The G2Engine cannot be null.");
+    }
+    if (concurrency < 1) {
+      throw new IllegalArgumentException(
+          "The concurrency must be at least one (1): " + concurrency);
+    }
+    this.engine       = engine;
+    this.concurrency  = concurrency;
+  }
+
+  /**
+   * Returns an {@link Aggregator} for the {@link EntitySizeDistribution}.
+   *
+   * @return An {@link Aggregator} for the entity size distribution.
+   */
+  public static Aggregator<EntitySizeDistribution> entitySizeDistribution() {
+    return Aggregator.of(EntitySizeDistribution::new,
+                         EntitySizeDistribution::add,
+                         EntitySizeDistribution::merge);
+  }
+
+  /**
+   * Returns an {@link Aggregator} for the {@link DataSourceOverlap}.
+   *
+   * @return An {@link Aggregator} for the data source overlap matrix.
+   */
+  public static Aggregator<DataSourceOverlap> dataSourceOverlap() {
+    return Aggregator.of(DataSourceOverlap::new,
+                         DataSourceOverlap::add,
+                         DataSourceOverlap::merge);
+  }
+
+  /**
+   * Returns an {@link Aggregator} for the {@link MatchLevelCounts}.
+   *
+   * @return An {@link Aggregator} for the relationship counts by match
+   *         level.
+   */
+  public static Aggregator<MatchLevelCounts> matchLevelCounts() {
+    return Aggregator.of(MatchLevelCounts::new,
+                         MatchLevelCounts::add,
+                         MatchLevelCounts::merge);
+  }
+
+  /**
+   * Returns an {@link Aggregator} for all of the built-in {@link
+   * Statistics}.
+   *
+   * @return An {@link Aggregator} for all of the built-in statistics.
+   */
+  public static Aggregator<Statistics> statistics() {
+    return Aggregator.of(Statistics::new,
+                         Statistics::add,
+                         Statistics::merge);
+  }
+
+  /**
+   * Exports the entities with the specified flags and aggregates them with
+   * the specified {@link Aggregator}.  Rows without a positive entity ID
+   * are ignored.  This blocks until the export has been consumed.
+   *
+   * @param flags The flags for {@link
+   *              G2Engine#exportJSONEntityReport(long,Result)}, which must
+   *              provide the fields the aggregator uses (e.g.: {@link
+   *              #EXPORT_FLAGS}).
+   * @param aggregator The {@link Aggregator} to apply.
+   *
+   * @param <A> The type of the accumulator.
+   *
+   * @return The merged accumulator.
+   *
+   * @throws G2Exception If the export fails.
+   * @throws InterruptedException If interrupted while aggregating.
+   */
+  public <A> A aggregate(long flags, Aggregator<A> aggregator)
+      throws G2Exception, InterruptedException
+  {
+    BlockingQueue<String[]> queue
+        = new ArrayBlockingQueue<>(this.concurrency * 4);
+    ExecutorService workers = Executors.newFixedThreadPool(
+        this.concurrency, new NamedThreadFactory("g2-export-aggregator"));
+    List<Future<A>> futures = new ArrayList<>(this.concurrency);
+    boolean completed = false;
+    try {
+      for (int index = 0; index < this.concurrency; index++) {
+        futures.add(workers.submit(() -> consume(queue, aggregator)));
+      }
+      this.produce(flags, queue, futures);
+      for (int index = 0; index < futures.size(); index++) {
+        WorkerQueues.offer(queue, END_OF_INPUT, futures);
+      }
+      A result = futures.get(0).get();
+      for (int index = 1; index < futures.size(); index++) {
+        aggregator.merge(result, futures.get(index).get());
+      }
+      completed = true;
+      return result;
+
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+      if (cause instanceof Error) throw (Error) cause;
+      throw new IllegalStateException(cause);
+    } finally {
+      if (!completed) workers.shutdownNow();
+      workers.shutdown();
+      while (!workers.awaitTermination(1L, TimeUnit.SECONDS)) {
+        // wait for native calls in progress to return
+      }
+    }
+  }
+
+  /**
+   * Internal method to fetch the export rows and queue them in batches for
+   * the workers.
+   */
+  private <A> void produce(long                     flags,
+                           BlockingQueue<String[]>  queue,
+                           List<Future<A>>          workers)
+      throws G2Exception, InterruptedException, ExecutionException
+  {
+    Result<Long> exportHandle = new Result<>();
+    if (this.engine.exportJSONEntityReport(flags, exportHandle) != 0) {
+      throw G2Exception.capture(this.engine);
+    }
+    long handle = exportHandle.getValue();
+    try {
+      StringBuffer  response  = new StringBuffer();
+      String[]      batch     = new String[BATCH_SIZE];
+      int           count     = 0;
+      while (true) {
+        response.setLength(0);
+        if (this.engine.fetchNext(handle, response) != 0) {
+          throw G2Exception.capture(this.engine);
+        }
+        if (response.length() == 0) break;
+        batch[count++] = response.toString();
+        if (count == BATCH_SIZE) {
+          WorkerQueues.offer(queue, batch, workers);
+          batch = new String[BATCH_SIZE];
+          count = 0;
+        }
+      }
+      if (count > 0) {
+        WorkerQueues.offer(queue, Arrays.copyOf(batch, count), workers);
+      }
+    } finally {
+      this.engine.closeExport(handle);
+    }
+  }
+
+  /**
+   * Internal method run by each worker to parse the queued rows and fold
+   * them into its own accumulator.
+   */
+  private static <A> A consume(BlockingQueue<String[]>  queue,
+                               Aggregator<A>            aggregator)
+      throws InterruptedException
+  {
+    A       accumulator = aggregator.newAccumulator();
+    Entity  entity      = new Entity();
+    for (String[] batch = queue.take(); batch != END_OF_INPUT;
+         batch = queue.take())
+    {
+      for (String row : batch) {
+        if (entity.document.parse(row)) {
+          aggregator.accumulate(accumulator, entity);
+        }
+      }
+    }
+    return accumulator;
+  }
+}
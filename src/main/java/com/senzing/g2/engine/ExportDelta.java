@@ -0,0 +1,794 @@
+package com.senzing.g2.engine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static com.senzing.g2.engine.G2Engine.*;
+
+/**
+ * Computes which entities were added, removed or changed between two entity
+ * exports without holding either export in memory.
+ *
+ * <p>
+ * Each export is first reduced to a <i>fingerprint file</i>: one 16-byte
+ * entry per entity (the entity ID and a 64-bit hash of the entity's sorted
+ * record membership and sorted relationships) in ascending entity ID order.
+ * The entries are gathered in sorted runs of bounded size that are spilled
+ * to a work directory and then combined with a k-way merge, so memory use
+ * depends on the run size rather than on the size of the repository.  The
+ * fingerprint file of yesterday's export can be kept and compared with
+ * today's, and comparing two fingerprint files is a single sequential pass
+ * over each.
+ *
+ * <p>
+ * The changes are reported to a {@link Listener} or written as a compact
+ * <i>delta file</i> in which each change is a single variable-length integer
+ * holding the change type and the difference from the previous entity ID,
+ * which {@link #readDelta(Path,Listener)} reads back.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   ExportDelta delta = new ExportDelta(Paths.get("/tmp/delta-work"));
+ *   int returnCode = delta.fingerprintExport(engine, today);
+ *   ...
+ *   ExportDelta.DeltaResult result = ExportDelta.diff(
+ *       yesterday, today, (change, entityID) -&gt; {
+ *         ...
+ *       });
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe, though each fingerprint file should only be
+ * written by one thread at a time.
+ */
+public class ExportDelta {
+  /**
+   * The flags used by {@link #fingerprintExport(G2Engine,Path)}, requesting
+   * every entity with its records and relationships.
+   */
+  public static final long EXPORT_FLAGS
+      = G2_EXPORT_INCLUDE_ALL_ENTITIES
+      | G2_EXPORT_INCLUDE_ALL_RELATIONSHIPS
+      | G2_ENTITY_INCLUDE_ALL_RELATIONS
+      | G2_ENTITY_INCLUDE_RECORD_DATA
+      | G2_ENTITY_INCLUDE_RELATED_MATCHING_INFO;
+
+  /**
+   * The default number of entities in each sorted run (a run of this size
+   * uses 64 megabytes of memory).
+   */
+  public static final int DEFAULT_RUN_SIZE = 4 * 1024 * 1024;
+
+  /**
+   * The magic number at the start of a fingerprint file.
+   */
+  private static final long FINGERPRINT_MAGIC = 0x4732465052543031L;
+
+  /**
+   * The magic number at the start of a delta file.
+   */
+  private static final long DELTA_MAGIC = 0x4732444C54413031L;
+
+  /**
+   * The size of the buffers used for the run, fingerprint and delta files.
+   */
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * The ranges below which runs are sorted by insertion.
+   */
+  private static final int INSERTION_SORT_THRESHOLD = 16;
+
+  /**
+   * Enumerates the kinds of change between two exports.
+   */
+  public enum Change {
+    /**
+     * The entity is only in the newer export.
+     */
+    ADDED,
+
+    /**
+     * The entity is only in the older export.
+     */
+    REMOVED,
+
+    /**
+     * The entity is in both exports with different records or
+     * relationships.
+     */
+    CHANGED
+  }
+
+  /**
+   * Receives the changes found by {@link #diff(Path,Path,Listener)} in
+   * ascending entity ID order.
+   */
+  public interface Listener {
+    /**
+     * Called for each entity that differs between the exports.
+     *
+     * @param change The {@link Change} describing the difference.
+     * @param entityID The entity ID of the entity.
+     *
+     * @throws IOException If the listener fails to record the change.
+     */
+    void entityChanged(Change change, long entityID) throws IOException;
+  }
+
+  /**
+   * Describes the number of entities in each category of a comparison.
+   */
+  public static class DeltaResult {
+    private final long addedCount;
+    private final long removedCount;
+    private final long changedCount;
+    private final long unchangedCount;
+
+    private DeltaResult(long addedCount,
+                        long removedCount,
+                        long changedCount,
+                        long unchangedCount)
+    {
+      this.addedCount     = addedCount;
+      this.removedCount   = removedCount;
+      this.changedCount   = changedCount;
+      this.unchangedCount = unchangedCount;
+    }
+
+    /**
+     * Returns the number of added entities.
+     *
+     * @return The number of added entities.
+     */
+    public long getAddedCount() {
+      return this.addedCount;
+    }
+
+    /**
+     * Returns the number of removed entities.
+     *
+     * @return The number of removed entities.
+     */
+    public long getRemovedCount() {
+      return this.removedCount;
+    }
+
+    /**
+     * Returns the number of changed entities.
+     *
+     * @return The number of changed entities.
+     */
+    public long getChangedCount() {
+      return this.changedCount;
+    }
+
+    /**
+     * Returns the number of entities found unchanged.  This is always zero
+     * (0) for the result of {@link #readDelta(Path,Listener)} since delta
+     * files only record changes.
+     *
+     * @return The number of unchanged entities.
+     */
+    public long getUnchangedCount() {
+      return this.unchangedCount;
+    }
+
+    @Override
+    public String toString() {
+      return "added=" + this.addedCount + ", removed=" + this.removedCount
+          + ", changed=" + this.changedCount
+          + ", unchanged=" + this.unchangedCount;
+    }
+  }
+
+  /**
+   * The directory in which sorted runs are spilled.
+   */
+  private final Path workDirectory;
+
+  /**
+   * The maximum number of entities in each sorted run.
+   */
+  private final int runSize;
+
+  /**
+   * Constructs with the directory for spilling sorted runs and the {@link
+   * #DEFAULT_RUN_SIZE}.
+   *
+   * @param workDirectory The directory for temporary files, which is created
+   *                      if necessary.
+   */
+  public ExportDelta(Path workDirectory) {
+    this(workDirectory, DEFAULT_RUN_SIZE);
+  }
+
+  /**
+   * Constructs with the directory for spilling sorted runs and the maximum
+   * number of entities held in memory in each sorted run.
+   *
+   * @param workDirectory The directory for temporary files, which is created
+   *                      if necessary.
+   * @param runSize The maximum number of entities in each sorted run.
+   *
+   * @throws IllegalArgumentException If the run size is less than one (1).
+   */
+  public ExportDelta(Path workDirectory, int runSize) {
+    if (workDirectory == null) {
+      throw new NullPointerException("The work directory cannot be null.");
+    }
+    if (runSize < 1) {
+      throw new IllegalArgumentException(
+          "The run size must be at least one (1): " + runSize);
+    }
+    this.workDirectory  = workDirectory;
+    this.runSize        = runSize;
+  }
+
+  /**
+   * Exports every entity from the specified {@link G2Engine} with {@link
+   * #EXPORT_FLAGS} and writes the fingerprint file for the export.
+   *
+   * @param engine The {@link G2Engine} to export from.
+   * @param target The fingerprint file to write.
+   *
+   * @return Zero (0) on success and non-zero on failure, in which case the
+   *         error is available from the specified {@link G2Engine} and the
+   *         fingerprint file is not written.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  public int fingerprintExport(G2Engine engine, Path target)
+      throws IOException
+  {
+    Result<Long> exportHandle = new Result<>();
+    int returnCode = engine.exportJSONEntityReport(EXPORT_FLAGS, exportHandle);
+    if (returnCode != 0) return returnCode;
+    long handle = exportHandle.getValue();
+    try (Sorter sorter = new Sorter()) {
+      try {
+        StringBuffer response = new StringBuffer();
+        for (returnCode = engine.fetchNext(handle, response);
+             returnCode == 0 && response.length() > 0;
+             returnCode = engine.fetchNext(handle, response))
+        {
+          sorter.add(response);
+          response.setLength(0);
+        }
+      } finally {
+        int closeCode = engine.closeExport(handle);
+        if (returnCode == 0) returnCode = closeCode;
+      }
+      if (returnCode == 0) sorter.finish(target);
+    }
+    return returnCode;
+  }
+
+  /**
+   * Writes the fingerprint file for an export that was saved as a file with
+   * one entity document per line (such as an {@link EntitySnapshotBuilder}
+   * partition or the output of the export fetched to disk).  Blank lines are
+   * ignored.
+   *
+   * @param exportFile The JSON-lines export file to read.
+   * @param target The fingerprint file to write.
+   *
+   * @return The number of entities written to the fingerprint file.
+   *
+   * @throws IllegalArgumentException If a line is malformed.
+   * @throws IOException If an I/O failure occurs.
+   */
+  public long fingerprintFile(Path exportFile, Path target)
+      throws IOException
+  {
+    try (Sorter sorter = new Sorter();
+         BufferedReader reader = Files.newBufferedReader(
+             exportFile, StandardCharsets.UTF_8))
+    {
+      for (String line = reader.readLine();
+           line != null;
+           line = reader.readLine())
+      {
+        if (!line.isBlank()) sorter.add(line);
+      }
+      return sorter.finish(target);
+    }
+  }
+
+  /**
+   * Compares two fingerprint files and reports each added, removed or
+   * changed entity to the specified {@link Listener} in ascending entity ID
+   * order.
+   *
+   * @param oldFingerprints The fingerprint file of the older export.
+   * @param newFingerprints The fingerprint file of the newer export.
+   * @param listener The {@link Listener} to report the changes to.
+   *
+   * @return The {@link DeltaResult} describing the comparison.
+   *
+   * @throws IOException If a file is not a fingerprint file, the listener
+   *                     fails or an I/O failure occurs.
+   */
+  public static DeltaResult diff(Path     oldFingerprints,
+                                 Path     newFingerprints,
+                                 Listener listener)
+      throws IOException
+  {
+    long added = 0L, removed = 0L, changed = 0L, unchanged = 0L;
+    try (FingerprintInput older = new FingerprintInput(oldFingerprints);
+         FingerprintInput newer = new FingerprintInput(newFingerprints))
+    {
+      boolean hasOld = older.next();
+      boolean hasNew = newer.next();
+      while (hasOld || hasNew) {
+        if (!hasNew || (hasOld && older.entityID < newer.entityID)) {
+          listener.entityChanged(Change.REMOVED, older.entityID);
+          removed++;
+          hasOld = older.next();
+        } else if (!hasOld || newer.entityID < older.entityID) {
+          listener.entityChanged(Change.ADDED, newer.entityID);
+          added++;
+          hasNew = newer.next();
+        } else {
+          if (older.fingerprint != newer.fingerprint) {
+            listener.entityChanged(Change.CHANGED, newer.entityID);
+            changed++;
+          } else {
+            unchanged++;
+          }
+          hasOld = older.next();
+          hasNew = newer.next();
+        }
+      }
+    }
+    return new DeltaResult(added, removed, changed, unchanged);
+  }
+
+  /**
+   * Compares two fingerprint files and writes the changes to the specified
+   * delta file.
+   *
+   * @param oldFingerprints The fingerprint file of the older export.
+   * @param newFingerprints The fingerprint file of the newer export.
+   * @param deltaFile The delta file to write.
+   *
+   * @return The {@link DeltaResult} describing the comparison.
+   *
+   * @throws IOException If a file is not a fingerprint file or an I/O
+   *                     failure occurs.
+   */
+  public static DeltaResult diff(Path oldFingerprints,
+                                 Path newFingerprints,
+                                 Path deltaFile)
+      throws IOException
+  {
+    try (OutputStream os = new BufferedOutputStream(
+             Files.newOutputStream(deltaFile), BUFFER_SIZE))
+    {
+      writeLong(os, DELTA_MAGIC);
+      long[] previous = { 0L };
+      return diff(oldFingerprints, newFingerprints, (change, entityID) -> {
+        writeVarLong(os, ((entityID - previous[0]) << 2) | change.ordinal());
+        previous[0] = entityID;
+      });
+    }
+  }
+
+  /**
+   * Reads the changes recorded in a delta file written by {@link
+   * #diff(Path,Path,Path)} and reports them to the specified {@link
+   * Listener} in ascending entity ID order.
+   *
+   * @param deltaFile The delta file to read.
+   * @param listener The {@link Listener} to report the changes to.
+   *
+   * @return The {@link DeltaResult} describing the recorded changes.
+   *
+   * @throws IOException If the file is not a delta file, the listener fails
+   *                     or an I/O failure occurs.
+   */
+  public static DeltaResult readDelta(Path deltaFile, Listener listener)
+      throws IOException
+  {
+    Change[]  changes   = Change.values();
+    long[]    counts    = new long[changes.length];
+    long      entityID  = 0L;
+    try (InputStream is = new BufferedInputStream(
+             Files.newInputStream(deltaFile), BUFFER_SIZE))
+    {
+      if (readLong(is) != DELTA_MAGIC) {
+        throw new IOException("Not a delta file: " + deltaFile);
+      }
+      for (long value = readVarLong(is); value >= 0L; value = readVarLong(is))
+      {
+        Change change = changes[(int) (value & 0x03L)];
+        entityID += (value >>> 2);
+        listener.entityChanged(change, entityID);
+        counts[change.ordinal()]++;
+      }
+    }
+    return new DeltaResult(counts[Change.ADDED.ordinal()],
+                           counts[Change.REMOVED.ordinal()],
+                           counts[Change.CHANGED.ordinal()],
+                           0L);
+  }
+
+  /**
+   * Gathers fingerprint entries in sorted runs that are spilled to the work
+   * directory when full and merged into a fingerprint file on completion.
+   */
+  private final class Sorter implements AutoCloseable {
+    private final List<Path> runs = new ArrayList<>();
+    private final EntityDocument document = new EntityDocument();
+    private long[] entries = new long[2 * Math.min(runSize, 1 << 16)];
+    private long[] recordKeys = new long[16];
+    private long[] relatedKeys = new long[16];
+    private int count = 0;
+    private long entityID;
+    private long fingerprint;
+
+    /**
+     * Adds the entry for the specified entity document, ignoring documents
+     * without a positive entity ID.
+     */
+    private void add(CharSequence entityJson) throws IOException {
+      if (!this.fingerprint(entityJson)) return;
+      if (this.count == runSize) this.spill();
+      if (2 * this.count == this.entries.length) {
+        this.entries = Arrays.copyOf(
+            this.entries, 2 * Math.min(2 * this.count, runSize));
+      }
+      this.entries[2 * this.count]      = this.entityID;
+      this.entries[2 * this.count + 1]  = this.fingerprint;
+      this.count++;
+    }
+
+    /**
+     * Parses an entity document into its entity ID and fingerprint,
+     * returning <code>false</code> if it has no positive entity ID.
+     */
+    private boolean fingerprint(CharSequence entityJson) {
+      EntityDocument entity = this.document;
+      if (!entity.parse(entityJson)) return false;
+      int recordCount   = entity.getRecordCount();
+      int relatedCount  = entity.getRelatedCount();
+      if (recordCount > this.recordKeys.length) {
+        this.recordKeys = new long[Math.max(recordCount,
+                                            2 * this.recordKeys.length)];
+      }
+      if (relatedCount > this.relatedKeys.length) {
+        this.relatedKeys = new long[Math.max(relatedCount,
+                                             2 * this.relatedKeys.length)];
+      }
+      for (int index = 0; index < recordCount; index++) {
+        this.recordKeys[index] = mix(hash(hash(0xcbf29ce484222325L,
+                                               entity.getDataSource(index)),
+                                          entity.getRecordID(index)));
+      }
+      for (int index = 0; index < relatedCount; index++) {
+        long relatedID  = entity.getRelatedEntityID(index);
+        long level      = entity.getMatchLevel(index);
+        this.relatedKeys[index]
+            = mix(hash(mix(mix(relatedID) ^ level), entity.getMatchKey(index)));
+      }
+
+      // sort so the fingerprint does not depend on the element order
+      Arrays.sort(this.recordKeys, 0, recordCount);
+      Arrays.sort(this.relatedKeys, 0, relatedCount);
+      long hash = 0xcbf29ce484222325L;
+      for (int index = 0; index < recordCount; index++) {
+        hash = mix(hash ^ this.recordKeys[index]);
+      }
+      hash = mix(hash ^ recordCount);
+      for (int index = 0; index < relatedCount; index++) {
+        hash = mix(hash ^ this.relatedKeys[index]);
+      }
+      this.entityID     = entity.getEntityID();
+      this.fingerprint  = mix(hash ^ relatedCount);
+      return true;
+    }
+
+    /**
+     * Sorts the buffered entries and writes them to a new run file.
+     */
+    private void spill() throws IOException {
+      Files.createDirectories(workDirectory);
+      Path run = Files.createTempFile(workDirectory, "run-", ".fp");
+      this.runs.add(run);
+      sort(this.entries, 0, this.count);
+      try (OutputStream os = new BufferedOutputStream(
+               Files.newOutputStream(run), BUFFER_SIZE))
+      {
+        for (int index = 0; index < 2 * this.count; index++) {
+          writeLong(os, this.entries[index]);
+        }
+      }
+      this.count = 0;
+    }
+
+    /**
+     * Merges the runs and buffered entries into the specified fingerprint
+     * file, keeping only one entry for any repeated entity ID, and returns
+     * the number of entries written.
+     */
+    private long finish(Path target) throws IOException {
+      sort(this.entries, 0, this.count);
+      PriorityQueue<RunInput> queue = new PriorityQueue<>(
+          Math.max(1, this.runs.size() + 1),
+          (r1, r2) -> Long.compare(r1.entityID, r2.entityID));
+      List<RunInput> inputs = new ArrayList<>(this.runs.size());
+      try {
+        for (Path run : this.runs) {
+          RunInput input = new RunInput(run);
+          inputs.add(input);
+          if (input.next()) queue.add(input);
+        }
+        RunInput memory = new RunInput(this.entries, this.count);
+        if (memory.next()) queue.add(memory);
+
+        long written = 0L;
+        try (OutputStream os = new BufferedOutputStream(
+                 Files.newOutputStream(target), BUFFER_SIZE))
+        {
+          writeLong(os, FINGERPRINT_MAGIC);
+          long previous = Long.MIN_VALUE;
+          while (!queue.isEmpty()) {
+            RunInput input = queue.poll();
+            if (input.entityID != previous) {
+              writeLong(os, input.entityID);
+              writeLong(os, input.fingerprint);
+              previous = input.entityID;
+              written++;
+            }
+            if (input.next()) queue.add(input);
+          }
+        }
+        return written;
+
+      } finally {
+        for (RunInput input : inputs) input.close();
+      }
+    }
+
+    /**
+     * Deletes the run files.
+     */
+    @Override
+    public void close() throws IOException {
+      for (Path run : this.runs) Files.deleteIfExists(run);
+      this.runs.clear();
+    }
+  }
+
+  /**
+   * Reads the entries of a sorted run from a run file or from memory.
+   */
+  private static final class RunInput implements AutoCloseable {
+    private final InputStream input;
+    private final long[] entries;
+    private final int count;
+    private int index = 0;
+    private long entityID;
+    private long fingerprint;
+
+    private RunInput(Path run) throws IOException {
+      this.input    = new BufferedInputStream(Files.newInputStream(run),
+                                              BUFFER_SIZE);
+      this.entries  = null;
+      this.count    = 0;
+    }
+
+    private RunInput(long[] entries, int count) {
+      this.input    = null;
+      this.entries  = entries;
+      this.count    = count;
+    }
+
+    private boolean next() throws IOException {
+      if (this.entries != null) {
+        if (this.index == this.count) return false;
+        this.entityID     = this.entries[2 * this.index];
+        this.fingerprint  = this.entries[2 * this.index + 1];
+        this.index++;
+        return true;
+      }
+      try {
+        this.entityID = readLong(this.input);
+      } catch (EOFException e) {
+        return false;
+      }
+      this.fingerprint = readLong(this.input);
+      return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (this.input != null) this.input.close();
+    }
+  }
+
+  /**
+   * Reads the entries of a fingerprint file.
+   */
+  private static final class FingerprintInput implements AutoCloseable {
+    private final InputStream input;
+    private long entityID;
+    private long fingerprint;
+
+    private FingerprintInput(Path file) throws IOException {
+      this.input = new BufferedInputStream(Files.newInputStream(file),
+                                           BUFFER_SIZE);
+      try {
+        if (readLong(this.input) != FINGERPRINT_MAGIC) {
+          throw new IOException("Not a fingerprint file: " + file);
+        }
+      } catch (IOException e) {
+        this.input.close();
+        throw e;
+      }
+    }
+
+    private boolean next() throws IOException {
+      try {
+        this.entityID = readLong(this.input);
+      } catch (EOFException e) {
+        return false;
+      }
+      this.fingerprint = readLong(this.input);
+      return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.input.close();
+    }
+  }
+
+  /**
+   * Internal method to sort the specified range of (entity ID, fingerprint)
+   * pairs by entity ID.  Exports are usually in entity ID order, so an
+   * already sorted range is detected in a single pass.
+   */
+  private static void sort(long[] pairs, int from, int to) {
+    boolean sorted = true;
+    for (int index = from + 1; sorted && index < to; index++) {
+      sorted = (pairs[2 * index - 2] <= pairs[2 * index]);
+    }
+    if (!sorted) quickSort(pairs, from, to - 1);
+  }
+
+  /**
+   * Internal method to quick sort the specified inclusive range of pairs,
+   * recursing on the smaller partition to bound the stack depth.
+   */
+  private static void quickSort(long[] pairs, int low, int high) {
+    while (high - low >= INSERTION_SORT_THRESHOLD) {
+      long pivot = pairs[2 * ((low + high) >>> 1)];
+      int  left  = low;
+      int  right = high;
+      while (left <= right) {
+        while (pairs[2 * left] < pivot) left++;
+        while (pairs[2 * right] > pivot) right--;
+        if (left <= right) swap(pairs, left++, right--);
+      }
+      if (right - low < high - left) {
+        quickSort(pairs, low, right);
+        low = left;
+      } else {
+        quickSort(pairs, left, high);
+        high = right;
+      }
+    }
+    for (int index = low + 1; index <= high; index++) {
+      for (int pair = index;
+           pair > low && pairs[2 * pair - 2] > pairs[2 * pair];
+           pair--)
+      {
+        swap(pairs, pair - 1, pair);
+      }
+    }
+  }
+
+  /**
+   * Internal method to swap two pairs.
+   */
+  private static void swap(long[] pairs, int pair1, int pair2) {
+    for (int offset = 0; offset < 2; offset++) {
+      long value                  = pairs[2 * pair1 + offset];
+      pairs[2 * pair1 + offset]   = pairs[2 * pair2 + offset];
+      pairs[2 * pair2 + offset]   = value;
+    }
+  }
+
+  /**
+   * Internal method to fold the characters of the specified text into an
+   * FNV-1a hash, followed by a separator.
+   */
+  private static long hash(long hash, String text) {
+    for (int index = 0; index < text.length(); index++) {
+      hash = (hash ^ text.charAt(index)) * 0x100000001b3L;
+    }
+    return (hash ^ 0xFFFFL) * 0x100000001b3L;
+  }
+
+  /**
+   * Internal method to spread the bits of a 64-bit value.
+   */
+  private static long mix(long value) {
+    value ^= (value >>> 33);
+    value *= 0xff51afd7ed558ccdL;
+    value ^= (value >>> 33);
+    value *= 0xc4ceb9fe1a85ec53L;
+    value ^= (value >>> 33);
+    return value;
+  }
+
+  /**
+   * Internal method to write a big-endian <code>long</code>.
+   */
+  private static void writeLong(OutputStream os, long value)
+      throws IOException
+  {
+    for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+      os.write((int) (value >>> shift));
+    }
+  }
+
+  /**
+   * Internal method to read a big-endian <code>long</code>.
+   */
+  private static long readLong(InputStream is) throws IOException {
+    long value = 0L;
+    for (int index = 0; index < Long.BYTES; index++) {
+      int b = is.read();
+      if (b < 0) throw new EOFException();
+      value = (value << Byte.SIZE) | b;
+    }
+    return value;
+  }
+
+  /**
+   * Internal method to write a non-negative <code>long</code> in seven-bit
+   * groups, least significant first.
+   */
+  private static void writeVarLong(OutputStream os, long value)
+      throws IOException
+  {
+    while ((value & ~0x7FL) != 0L) {
+      os.write((int) ((value & 0x7FL) | 0x80L));
+      value >>>= 7;
+    }
+    os.write((int) value);
+  }
+
+  /**
+   * Internal method to read a value written by {@link
+   * #writeVarLong(OutputStream,long)}, returning negative one (-1) at the end
+   * of the stream.
+   */
+  private static long readVarLong(InputStream is) throws IOException {
+    long value = 0L;
+    for (int shift = 0; ; shift += 7) {
+      int b = is.read();
+      if (b < 0) {
+        if (shift == 0) return -1L;
+        throw new EOFException("Truncated delta file.");
+      }
+      value |= ((long) (b & 0x7F)) << shift;
+      if ((b & 0x80) == 0) return value;
+    }
+  }
+}
@@ -0,0 +1,264 @@
+package com.senzing.g2.engine;
+
+/**
+ * Provides a typed view of a {@link G2Config} whose functions return their
+ * results and throw a checked {@link G2Exception} on failure.
+ *
+ * <p>
+ * Each function that reports a return code instead throws the {@link
+ * G2Exception} subclass for its failure after the error has been read and
+ * cleared on the calling thread (see {@link G2Exception#capture(G2Fallible)}).
+ * A response {@link StringBuffer} or {@link Result} parameter becomes the
+ * return value, so <code>getLastException()</code> and
+ * <code>clearLastException()</code> need never be called directly.
+ *
+ * <p>
+ * This class is thread-safe if the backing {@link G2Config} is thread-safe.
+ */
+public class G2CheckedConfig {
+  /**
+   * The backing {@link G2Config}.
+   */
+  private final G2Config delegate;
+
+  /**
+   * Constructs with the backing {@link G2Config}.
+   *
+   * @param delegate The backing {@link G2Config}, which should already be
+   *                 initialized unless <code>init()</code> will be called
+   *                 through this instance.
+   *
+   * @throws NullPointerException If the specified {@link G2Config} is
+   *                              <code>null</code>.
+   */
+  public G2CheckedConfig(G2Config delegate) {
+    if (delegate == null) {
+      throw new NullPointerException(
+          "The backing G2Config instance cannot be null.");
+    }
+    this.delegate = delegate;
+  }
+
+  /**
+   * Returns the backing {@link G2Config}.
+   *
+   * @return The backing {@link G2Config}.
+   */
+  public G2Config getDelegate() {
+    return this.delegate;
+  }
+
+  /**
+   * Initializes the G2 config API with the specified module name,
+   * init parameters and flag indicating verbose logging.
+   *
+   * @param moduleName A short name given to this instance of the diagnostic
+   *                   object.
+   * @param iniParams A JSON string containing configuration parameters.
+   * @param verboseLogging Enable diagnostic logging which will print a massive
+   *                       amount of information to stdout.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void init(String   moduleName,
+                   String   iniParams,
+                   boolean  verboseLogging)
+      throws G2Exception
+  {
+    if (this.delegate.init(moduleName, iniParams, verboseLogging) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Uninitializes the G2 config API and cleans up system resources.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void destroy() throws G2Exception {
+    if (this.delegate.destroy() != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Creates a new in-memory configuration using the default template and
+   * sets the specified {@link Result} parameter with the value of the
+   * configuration handle for working with it.
+   *
+   * @return The value returned via the <code>configHandle</code> parameter of
+   *         {@link G2Config#create(Result)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public long create() throws G2Exception {
+    Result<Long> configHandle = new Result<>();
+    if (this.delegate.create(configHandle) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return configHandle.getValue();
+  }
+
+  /**
+   * Creates a new in-memory configuration using the specified JSON text and
+   * sets the specified {@link Result} parameter with the value of the
+   * configuration handle for working with it.
+   *
+   * @param jsonConfig The JSON text for the config.
+   *
+   * @return The value returned via the <code>configHandle</code> parameter of
+   *         {@link G2Config#load(String, Result)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public long load(String jsonConfig) throws G2Exception {
+    Result<Long> configHandle = new Result<>();
+    if (this.delegate.load(jsonConfig, configHandle) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return configHandle.getValue();
+  }
+
+  /**
+   * Writes the JSON text for the configuration associated with the specified
+   * configuration handle to the specified {@link StringBuffer}.
+   *
+   * @param configHandle The configuration handle to export the JSON text from.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Config#save(long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String save(long configHandle) throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.save(configHandle, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Closes the in-memory configuration associated with the specified config
+   * handle and cleans up system resources.  After calling this method, the
+   * configuration handle can no longer be used and becomes invalid.
+   *
+   * @param configHandle The config handle identifying the in-memory
+   *                     configuration to close.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void close(long configHandle) throws G2Exception {
+    if (this.delegate.close(configHandle) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Extracts the data sources from the in-memory configuration associated with
+   * the specified config handle and writes JSON text to the specified
+   * {@link StringBuffer} describing the data sources from the configuration.
+   * The format of the JSON response is as follows:
+   * <pre>
+   * {
+   * 	"DATA_SOURCES": [
+   *    {
+   * 			"DSRC_ID": 1,
+   * 			"DSRC_CODE": "TEST"
+   *    },
+   *    {
+   * 			"DSRC_ID": 2,
+   * 			"DSRC_CODE": "SEARCH"
+   *    }
+   * 	]
+   * }
+   * </pre>
+   *
+   * @param configHandle The config handle identifying the in-memory
+   *                     configuration to close.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Config#listDataSources(long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String listDataSources(long configHandle) throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.listDataSources(configHandle, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Adds a data source described by the specified JSON to the in-memory
+   * configuration associated with the specified config handle.  The response
+   * JSON is written to the specified {@link StringBuffer}.
+   * The input JSON has the following format:
+   * <pre>
+   *   {
+   *     "DSRC_CODE": "CUSTOMERS"
+   *   }
+   * </pre>
+   * Optionally, you can specify the data source ID:
+   * <pre>
+   *   {
+   *     "DSRC_CODE": "CUSTOMERS",
+   *     "DSRC_ID": 410
+   *   }
+   * </pre>
+   * <p>
+   * The response JSON provides the data source ID of the created data source,
+   * which is especially useful if the data source ID was not specified in the
+   * input:
+   * <pre>
+   *   {
+   *     "DSRC_ID": 410
+   *   }
+   * </pre>
+   *
+   * @param configHandle The config handle identifying the in-memory
+   *                     configuration to close.
+   * @param inputJson The JSON text describing the data source to create.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Config#addDataSource(long, String, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String addDataSource(long    configHandle,
+                              String  inputJson)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.addDataSource(configHandle, inputJson, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Deletes the data source described by the specified JSON from the in-memory
+   * configuration associated with the specified config handle.
+   * The input JSON has the following format:
+   * <pre>
+   *   {
+   *     "DSRC_CODE": "CUSTOMERS"
+   *   }
+   * </pre>
+   *
+   * @param configHandle The config handle identifying the in-memory
+   *                     configuration to close.
+   * @param inputJson The JSON text describing the data source to delete.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void deleteDataSource(long    configHandle,
+                               String  inputJson)
+      throws G2Exception
+  {
+    if (this.delegate.deleteDataSource(configHandle, inputJson) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+}
@@ -0,0 +1,220 @@
+package com.senzing.g2.engine;
+
+/**
+ * Provides a typed view of a {@link G2ConfigMgr} whose functions return their
+ * results and throw a checked {@link G2Exception} on failure.
+ *
+ * <p>
+ * Each function that reports a return code instead throws the {@link
+ * G2Exception} subclass for its failure after the error has been read and
+ * cleared on the calling thread (see {@link G2Exception#capture(G2Fallible)}).
+ * A response {@link StringBuffer} or {@link Result} parameter becomes the
+ * return value, so <code>getLastException()</code> and
+ * <code>clearLastException()</code> need never be called directly.
+ *
+ * <p>
+ * This class is thread-safe if the backing {@link G2ConfigMgr} is thread-safe.
+ */
+public class G2CheckedConfigMgr {
+  /**
+   * The backing {@link G2ConfigMgr}.
+   */
+  private final G2ConfigMgr delegate;
+
+  /**
+   * Constructs with the backing {@link G2ConfigMgr}.
+   *
+   * @param delegate The backing {@link G2ConfigMgr}, which should already be
+   *                 initialized unless <code>init()</code> will be called
+   *                 through this instance.
+   *
+   * @throws NullPointerException If the specified {@link G2ConfigMgr} is
+   *                              <code>null</code>.
+   */
+  public G2CheckedConfigMgr(G2ConfigMgr delegate) {
+    if (delegate == null) {
+      throw new NullPointerException(
+          "The backing G2ConfigMgr instance cannot be null.");
+    }
+    this.delegate = delegate;
+  }
+
+  /**
+   * Returns the backing {@link G2ConfigMgr}.
+   *
+   * @return The backing {@link G2ConfigMgr}.
+   */
+  public G2ConfigMgr getDelegate() {
+    return this.delegate;
+  }
+
+  /**
+   * Initializes the G2 config manager API with the specified module name,
+   * init parameters and flag indicating verbose logging.
+   *
+   * @param moduleName A short name given to this instance of the config manager
+   *                   API.
+   * @param iniParams A JSON string containing configuration parameters.
+   * @param verboseLogging Enable diagnostic logging which will print a massive
+   *                       amount of information to stdout.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void init(String   moduleName,
+                   String   iniParams,
+                   boolean  verboseLogging)
+      throws G2Exception
+  {
+    if (this.delegate.init(moduleName, iniParams, verboseLogging) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Uninitializes the G2 config manager API.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void destroy() throws G2Exception {
+    if (this.delegate.destroy() != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Adds the configuration described by the specified JSON to the repository
+   * with the specified comments and returns the ID of the config in the
+   * specified {@link Result} object.
+   *
+   * @param configStr The JSON text describing the configuration.
+   * @param configComments The comments for the configuration.
+   *
+   * @return The value returned via the <code>configID</code> parameter of
+   *         {@link G2ConfigMgr#addConfig(String, String, Result)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public long addConfig(String  configStr,
+                        String  configComments)
+      throws G2Exception
+  {
+    Result<Long> configID = new Result<>();
+    if (this.delegate.addConfig(configStr, configComments, configID) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return configID.getValue();
+  }
+
+  /**
+   * Gets the configuration with the specified config ID and writes the JSON
+   * text of configuration to the specified {@link StringBuffer}.
+   *
+   * @param configID The configuration ID of the configuration to retrieve.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2ConfigMgr#getConfig(long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getConfig(long configID) throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.getConfig(configID, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Gets the list of saved configuration IDs with their comments and
+   * timestamps and writes the JSON text describing the configurations to
+   * the specified {@link StringBuffer}.  The format of the response is:
+   * <pre>
+   * {
+   *   "CONFIGS": [
+   *     {
+   *     	  "CONFIG_ID": 12345678912345,
+   *     	  "SYS_CREATE_DT": "2021-03-25 18:35:00.743",
+   *     	  "CONFIG_COMMENTS": "Added EMPLOYEES data source."
+   *     },
+   *     {
+   *     	  "CONFIG_ID": 23456789123456,
+   *     	  "SYS_CREATE_DT": "2021-02-08 23:27:09.876",
+   *     	  "CONFIG_COMMENTS": "Added CUSTOMERS data source."
+   *     },
+   *     {
+   *     	  "CONFIG_ID": 34567891234567,
+   *     	  "SYS_CREATE_DT": "2021-02-08 23:27:05.212",
+   *     	  "CONFIG_COMMENTS": "Initial Config"
+   *     },
+   *     . . .
+   *   ]
+   * }
+   * </pre>
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2ConfigMgr#getConfigList(StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getConfigList() throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.getConfigList(response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Sets the default configuration for the repository to the specified
+   * configuration ID.
+   *
+   * @param configID The configuration ID to set as the default configuration.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void setDefaultConfigID(long configID) throws G2Exception {
+    if (this.delegate.setDefaultConfigID(configID) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Gets the configuration ID of the default configuration for the repository
+   * and sets the value in the specified {@link Result} object.
+   *
+   * @return The value returned via the <code>configID</code> parameter of
+   *         {@link G2ConfigMgr#getDefaultConfigID(Result)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public long getDefaultConfigID() throws G2Exception {
+    Result<Long> configID = new Result<>();
+    if (this.delegate.getDefaultConfigID(configID) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return configID.getValue();
+  }
+
+  /**
+   * Replaces the current configuration ID of the repository with the specified
+   * new configuration ID providing the current configuration ID of the
+   * repository is equal to the specified old configuration ID.  If the current
+   * configuration ID is not the same as the specified old configuration ID then
+   * this method fails to replace the default configuration ID with the new
+   * value.
+   *
+   * @param oldConfigID The configuration ID that is believed to be the current
+   *                    default configuration ID.
+   * @param newConfigID The new configuration ID for the repository.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void replaceDefaultConfigID(long  oldConfigID,
+                                     long  newConfigID)
+      throws G2Exception
+  {
+    if (this.delegate.replaceDefaultConfigID(oldConfigID, newConfigID) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+}
@@ -0,0 +1,518 @@
+package com.senzing.g2.engine;
+
+/**
+ * Provides a typed view of a {@link G2Diagnostic} whose functions return
+ * their results and throw a checked {@link G2Exception} on failure.
+ *
+ * <p>
+ * Each function that reports a return code instead throws the {@link
+ * G2Exception} subclass for its failure after the error has been read and
+ * cleared on the calling thread (see {@link G2Exception#capture(G2Fallible)}).
+ * A response {@link StringBuffer} or {@link Result} parameter becomes the
+ * return value, so <code>getLastException()</code> and
+ * <code>clearLastException()</code> need never be called directly.
+ *
+ * <p>
+ * This class is thread-safe if the backing {@link G2Diagnostic} is thread-safe.
+ */
+public class G2CheckedDiagnostic {
+  /**
+   * The backing {@link G2Diagnostic}.
+   */
+  private final G2Diagnostic delegate;
+
+  /**
+   * Constructs with the backing {@link G2Diagnostic}.
+   *
+   * @param delegate The backing {@link G2Diagnostic}, which should already be
+   *                 initialized unless <code>init()</code> will be called
+   *                 through this instance.
+   *
+   * @throws NullPointerException If the specified {@link G2Diagnostic} is
+   *                              <code>null</code>.
+   */
+  public G2CheckedDiagnostic(G2Diagnostic delegate) {
+    if (delegate == null) {
+      throw new NullPointerException(
+          "The backing G2Diagnostic instance cannot be null.");
+    }
+    this.delegate = delegate;
+  }
+
+  /**
+   * Returns the backing {@link G2Diagnostic}.
+   *
+   * @return The backing {@link G2Diagnostic}.
+   */
+  public G2Diagnostic getDelegate() {
+    return this.delegate;
+  }
+
+  /**
+   * Initializes the G2 Diagnostic object with the specified module name,
+   * init parameters and flag indicating verbose logging.  If the
+   * <code>G2CONFIGFILE</code> init parameter is absent then the default
+   * configuration from the repository is used.
+   *
+   * @param moduleName A short name given to this instance of the diagnostic
+   *                   object.
+   * @param iniParams A JSON string containing configuration parameters.
+   * @param verboseLogging Enable diagnostic logging which will print a massive
+   *                       amount of information to stdout.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void init(String   moduleName,
+                   String   iniParams,
+                   boolean  verboseLogging)
+      throws G2Exception
+  {
+    if (this.delegate.init(moduleName, iniParams, verboseLogging) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Initializes the G2 Diagnostic object with the module name, initialization
+   * parameters, verbose logging flag and a specific configuration ID
+   * identifying the configuration to use.
+   *
+   * @param moduleName The module name with which to initialize.
+   * @param iniParams The JSON initialization parameters.
+   * @param initConfigID The specific configuration ID to initialize with.
+   * @param verboseLogging Whether or not to initialize with verbose logging.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void initWithConfigID(String   moduleName,
+                               String   iniParams,
+                               long     initConfigID,
+                               boolean  verboseLogging)
+      throws G2Exception
+  {
+    int returnCode = this.delegate.initWithConfigID(
+        moduleName, iniParams, initConfigID, verboseLogging);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Reinitializes with the specified configuration ID.
+   *
+   * @param initConfigID The configuration ID with which to reinitialize.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void reinit(long initConfigID) throws G2Exception {
+    if (this.delegate.reinit(initConfigID) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Uninitializes the G2 diagnostic object.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void destroy() throws G2Exception {
+    if (this.delegate.destroy() != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Returns the total number of bytes of RAM on the system
+   *
+   * <p>
+   * This forwards directly to {@link G2Diagnostic#getTotalSystemMemory()}.
+   *
+   * @return The value returned by the underlying function.
+   */
+  public long getTotalSystemMemory() {
+    return this.delegate.getTotalSystemMemory();
+  }
+
+  /**
+   * Returns the available number of bytes of RAM on the system
+   *
+   * <p>
+   * This forwards directly to {@link G2Diagnostic#getAvailableMemory()}.
+   *
+   * @return The value returned by the underlying function.
+   */
+  public long getAvailableMemory() {
+    return this.delegate.getAvailableMemory();
+  }
+
+  /**
+   * Returns the number of physical cores on the system.
+   *
+   * <p>
+   * This forwards directly to {@link G2Diagnostic#getPhysicalCores()}.
+   *
+   * @return The value returned by the underlying function.
+   */
+  public int getPhysicalCores() {
+    return this.delegate.getPhysicalCores();
+  }
+
+  /**
+   * Returns the number of logical cores on the system.  This may be different
+   * that physical due to hyper-threading.
+   *
+   * <p>
+   * This forwards directly to {@link G2Diagnostic#getLogicalCores()}.
+   *
+   * @return The value returned by the underlying function.
+   */
+  public int getLogicalCores() {
+    return this.delegate.getLogicalCores();
+  }
+
+  /**
+   * Runs non-destruction DB performance tests and writes detail of the result
+   * as JSON in the specified {@link StringBuffer}.
+   *
+   * @param secondsToRun How long to run the database performance test.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Diagnostic#checkDBPerf(int, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String checkDBPerf(int secondsToRun) throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.checkDBPerf(secondsToRun, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Gets information about database connections and generates a JSON document
+   * describing the result in the following format (sans pretty-printing):
+   * <pre>
+   *   {
+   *     "Hybrid Mode": false,
+   *     "Database Details": [
+   *       {
+   *         "Name": "SENZDB",
+   *         "Type": "POSTGRES"
+   *       }
+   *     ]
+   *   }
+   * </pre>
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Diagnostic#getDBInfo(StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getDBInfo() throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.getDBInfo(response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This methods asks g2 for any entities having any of the lib feat id
+   * specified in the "features" doc.  The "features" also contains an
+   * entity id that specifies the entity to be ignored in the returned values.
+   * The response is written as a JSON document to the specified {@link
+   * StringBuffer}.
+   *
+   * <p>
+   * The format of the "features" document is as follows:
+   * <pre>
+   *   {
+   *     "ENTITY_ID": &lt;entity_id&gt;,
+   *     "LIB_FEAT_IDS": [ &lt;id1&gt;, &lt;id2&gt;, ... &lt;idn&gt; ]
+   *   }
+   * </pre>
+   *
+   * <p>
+   * The format of the response document is as follows (sans pretty-printing):
+   * <pre>
+   *   [
+   *     {
+   *       "LIB_FEAT_ID": &lt;lib_feat_id&gt;,
+   *       "USAGE_TYPE": "&lt;usage_type&gt;",
+   *       "RES_ENT_ID": &lt;entity_id&gt;
+   *     },
+   *     ...
+   *   ]
+   * </pre>
+   *
+   * @param features Json document describing the desired features.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Diagnostic#findEntitiesByFeatureIDs(String, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findEntitiesByFeatureIDs(String features) throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.findEntitiesByFeatureIDs(features, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Experimental/internal method for obtaining data source counts.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Diagnostic#getDataSourceCounts(StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getDataSourceCounts() throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.getDataSourceCounts(response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Experimental/internal method for obtaining mapping statistics.
+   *
+   * @param includeInternalFeatures <code>true</code> if internal features
+   *                                should be included and <code>false</code> if
+   *                                they should be excluded.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Diagnostic#getMappingStatistics(boolean, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getMappingStatistics(boolean includeInternalFeatures)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.getMappingStatistics(
+        includeInternalFeatures, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Experimental/internal method for obtaining generic features.
+   *
+   * @param featureType The feature type code.
+   * @param maximumEstimatedCount The maximum estimated count.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Diagnostic#getGenericFeatures(String, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getGenericFeatures(String  featureType,
+                                   long    maximumEstimatedCount)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.getGenericFeatures(
+        featureType, maximumEstimatedCount, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Experimental/internal method for obtaining entity size breakdown.
+   *
+   * @param minimumEntitySize The minimum entity size.
+   * @param includeInternalFeatures <code>true</code> if internal features
+   *                                should be included and <code>false</code> if
+   *                                they should be excluded.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Diagnostic#getEntitySizeBreakdown(long, boolean, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getEntitySizeBreakdown(long     minimumEntitySize,
+                                       boolean  includeInternalFeatures)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.getEntitySizeBreakdown(
+        minimumEntitySize, includeInternalFeatures, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Experimental/internal method for obtaining diagnostic entity details.
+   *
+   * @param entityID The entity ID for the entity.
+   * @param includeInternalFeatures <code>true</code> if internal features
+   *                                should be included and <code>false</code> if
+   *                                they should be excluded.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Diagnostic#getEntityDetails(long, boolean, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getEntityDetails(long     entityID,
+                                 boolean  includeInternalFeatures)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.getEntityDetails(
+        entityID, includeInternalFeatures, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Experimental/internal method for obtaining resolution statistics.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Diagnostic#getResolutionStatistics(StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getResolutionStatistics() throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.getResolutionStatistics(response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Experimental/internal method for obtaining diagnostic relationship
+   * details.
+   *
+   * @param relationshipID The relationship ID identifying the relationship.
+   * @param includeInternalFeatures <code>true</code> if internal features
+   *                                should be included and <code>false</code> if
+   *                                they should be excluded.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Diagnostic#getRelationshipDetails(long, boolean, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getRelationshipDetails(long     relationshipID,
+                                       boolean  includeInternalFeatures)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.getRelationshipDetails(
+        relationshipID, includeInternalFeatures, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Experimental/internal method for obtaining diagnostic entity resume.
+   *
+   * @param entityID The entity ID.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Diagnostic#getEntityResume(long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getEntityResume(long entityID) throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.getEntityResume(entityID, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Experimental/internal method for obtaining diagnostic feature information.
+   *
+   * @param libFeatID The <code>LIB_FEAT_ID</code> identifying the feature.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Diagnostic#getFeature(long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getFeature(long libFeatID) throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.getFeature(libFeatID, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Experimental/internal method for obtaining diagnostic information on
+   * sized entities.
+   *
+   * @param entitySize The entity size.
+   *
+   * @return The value returned via the <code>exportHandle</code> parameter of
+   *         {@link G2Diagnostic#getEntityListBySize(long, Result)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public long getEntityListBySize(long entitySize) throws G2Exception {
+    Result<Long> exportHandle = new Result<>();
+    if (this.delegate.getEntityListBySize(entitySize, exportHandle) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return exportHandle.getValue();
+  }
+
+  /**
+   * Experimental/internal method for obtaining the next sized entity result
+   * with the specified handle obtained from {@link
+   * G2Diagnostic#getEntityListBySize(long,Result)}.
+   *
+   * @param entityListBySizeHandle The handle for the result set.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Diagnostic#fetchNextEntityBySize(long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String fetchNextEntityBySize(long entityListBySizeHandle)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.fetchNextEntityBySize(
+        entityListBySizeHandle, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Experimental/internal method to close the result set associated with the
+   * specified handle obtained from {@link
+   * G2Diagnostic#getEntityListBySize(long,Result)}.
+   *
+   * @param entityListBySizeHandle The handle for the result set.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void closeEntityListBySize(long entityListBySizeHandle)
+      throws G2Exception
+  {
+    if (this.delegate.closeEntityListBySize(entityListBySizeHandle) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+}
@@ -0,0 +1,2314 @@
+package com.senzing.g2.engine;
+
+/**
+ * Provides a typed view of a {@link G2Engine} whose functions return their
+ * results and throw a checked {@link G2Exception} on failure.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   G2CheckedEngine checked = new G2CheckedEngine(engine);
+ *   try {
+ *     String entity = checked.getEntityByRecordID(dataSource, recordID, flags);
+ *     ...
+ *   } catch (G2NotFoundException e) {
+ *     ...
+ *   }
+ * </pre>
+ *
+ * <p>
+ * Each function that reports a return code instead throws the {@link
+ * G2Exception} subclass for its failure after the error has been read and
+ * cleared on the calling thread (see {@link G2Exception#capture(G2Fallible)}).
+ * A response {@link StringBuffer} or {@link Result} parameter becomes the
+ * return value, so <code>getLastException()</code> and
+ * <code>clearLastException()</code> need never be called directly.
+ *
+ * <p>
+ * This class is thread-safe if the backing {@link G2Engine} is thread-safe.
+ */
+public class G2CheckedEngine {
+  /**
+   * The backing {@link G2Engine}.
+   */
+  private final G2Engine delegate;
+
+  /**
+   * Constructs with the backing {@link G2Engine}.
+   *
+   * @param delegate The backing {@link G2Engine}, which should already be
+   *                 initialized unless <code>init()</code> will be called
+   *                 through this instance.
+   *
+   * @throws NullPointerException If the specified {@link G2Engine} is
+   *                              <code>null</code>.
+   */
+  public G2CheckedEngine(G2Engine delegate) {
+    if (delegate == null) {
+      throw new NullPointerException(
+          "The backing G2Engine instance cannot be null.");
+    }
+    this.delegate = delegate;
+  }
+
+  /**
+   * Returns the backing {@link G2Engine}.
+   *
+   * @return The backing {@link G2Engine}.
+   */
+  public G2Engine getDelegate() {
+    return this.delegate;
+  }
+
+  /**
+   * Initializes the G2 Engine API with the specified module name,
+   * init parameters and flag indicating verbose logging.  If the
+   * <code>G2CONFIGFILE</code> init parameter is absent then the default
+   * configuration from the repository is used.
+   *
+   * @param moduleName A short name given to this instance of the engine object
+   * @param iniParams A JSON string containing configuration parameters
+   * @param verboseLogging Enable diagnostic logging which will print a massive
+   *                       amount of information to stdout
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void init(String   moduleName,
+                   String   iniParams,
+                   boolean  verboseLogging)
+      throws G2Exception
+  {
+    if (this.delegate.init(moduleName, iniParams, verboseLogging) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Initializes the G2 Engine object with the module name, initialization
+   * parameters, verbose logging flag and a specific configuration ID
+   * identifying the configuration to use.
+   *
+   * @param moduleName The module name with which to initialize.
+   * @param iniParams The JSON initialization parameters.
+   * @param initConfigID The specific configuration ID to initialize with.
+   * @param verboseLogging Whether or not to initialize with verbose logging.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void initWithConfigID(String   moduleName,
+                               String   iniParams,
+                               long     initConfigID,
+                               boolean  verboseLogging)
+      throws G2Exception
+  {
+    int returnCode = this.delegate.initWithConfigID(
+        moduleName, iniParams, initConfigID, verboseLogging);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Reinitializes with the specified configuration ID.
+   *
+   * @param initConfigID The configuration ID with which to reinitialize.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void reinit(long initConfigID) throws G2Exception {
+    if (this.delegate.reinit(initConfigID) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Uninitializes the G2 engine.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void destroy() throws G2Exception {
+    if (this.delegate.destroy() != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * May optionally be called to pre-initialize some of the heavier weight
+   * internal resources of the G2 engine.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void primeEngine() throws G2Exception {
+    if (this.delegate.primeEngine() != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Purges all data in the configured repository
+   * WARNING: There is no undoing from this.  Make sure your repository is
+   * regularly backed up.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void purgeRepository() throws G2Exception {
+    if (this.delegate.purgeRepository() != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Returns the current internal engine workload statistics for the process.
+   * The counters are reset after each call.
+   *
+   * <p>
+   * This forwards directly to {@link G2Engine#stats()}.
+   *
+   * @return The value returned by the underlying function.
+   */
+  public String stats() {
+    return this.delegate.stats();
+  }
+
+  /**
+   * Exports the JSON configuration that is currently loaded into the engine.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#exportConfig(StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String exportConfig() throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.exportConfig(response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Exports the JSON configuration that is currently loaded into the engine.
+   *
+   * @param configID The {@link Result} object to store the configuration ID.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#exportConfig(StringBuffer, Result)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String exportConfig(Result<Long> configID) throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.exportConfig(response, configID) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Returns an identifier for the loaded G2 engine configuration
+   *
+   * @return The value returned via the <code>configID</code> parameter of
+   *         {@link G2Engine#getActiveConfigID(Result)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public long getActiveConfigID() throws G2Exception {
+    Result<Long> configID = new Result<>();
+    if (this.delegate.getActiveConfigID(configID) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return configID.getValue();
+  }
+
+  /**
+   * Returns a long integer representing number of seconds since
+   * January 1, 1970 12:00am GMT (epoch time).  This indicates the last
+   * time the data repository was modified.
+   *
+   * @return The value returned via the <code>lastModifiedTime</code> parameter
+   *         of {@link G2Engine#getRepositoryLastModifiedTime(Result)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public long getRepositoryLastModifiedTime() throws G2Exception {
+    Result<Long> lastModifiedTime = new Result<>();
+    if (this.delegate.getRepositoryLastModifiedTime(lastModifiedTime) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return lastModifiedTime.getValue();
+  }
+
+  /**
+   * Loads the JSON record with the specified data source code and record ID.
+   * The specified JSON data may contain the <code>DATA_SOURCE</code> and
+   * <code>RECORD_ID</code> elements, but, if so, they must match the specified
+   * parameters.
+   *
+   * @param dataSourceCode The data source for the observation.
+   * @param recordID The ID for the record
+   * @param jsonData A JSON document containing the attribute information for
+   *                 the observation.
+   * @param loadID The observation load ID for the record, can be null and will
+   *               default to dataSourceCode
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void addRecord(String  dataSourceCode,
+                        String  recordID,
+                        String  jsonData,
+                        String  loadID)
+      throws G2Exception
+  {
+    int returnCode = this.delegate.addRecord(
+        dataSourceCode, recordID, jsonData, loadID);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Replace the JSON record that has already been loaded
+   *
+   * @param dataSourceCode The data source for the observation.
+   * @param recordID The ID for the record
+   * @param jsonData A JSON document containing the attribute information for
+   *                 the observation.
+   * @param loadID The observation load ID for the record, can be null and will
+   *               default to dataSourceCode.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void replaceRecord(String  dataSourceCode,
+                            String  recordID,
+                            String  jsonData,
+                            String  loadID)
+      throws G2Exception
+  {
+    int returnCode = this.delegate.replaceRecord(
+        dataSourceCode, recordID, jsonData, loadID);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Replace the JSON record that has already been loaded and returns
+   * a list of modified resolved entities
+   *
+   * @param dataSourceCode The data source for the observation.
+   * @param recordID The ID for the record
+   * @param jsonData A JSON document containing the attribute information for
+   *                 the observation.
+   * @param loadID The observation load ID for the record, can be null and will
+   *               default to dataSourceCode
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#replaceRecordWithInfo(String, String, String, String,
+   *         long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String replaceRecordWithInfo(String  dataSourceCode,
+                                      String  recordID,
+                                      String  jsonData,
+                                      String  loadID,
+                                      long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.replaceRecordWithInfo(
+        dataSourceCode, recordID, jsonData, loadID, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Loads the JSON record.  This works similarly to the G2_addRecord function,
+   * except that instead or requiring the recordID as an input parameter, the
+   * recordID is generated internally and returned through the parameter list.
+   *
+   * @param dataSourceCode The data source for the observation.
+   * @param jsonData A JSON document containing the attribute information for
+   *                 the observation.
+   * @param loadID The observation load ID for the record, can be null and will
+   *               default to dataSourceCode
+   *
+   * @return The text returned via the <code>recordID</code> parameter of {@link
+   *         G2Engine#addRecordWithReturnedRecordID(String, StringBuffer,
+   *         String, String)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String addRecordWithReturnedRecordID(String  dataSourceCode,
+                                              String  jsonData,
+                                              String  loadID)
+      throws G2Exception
+  {
+    StringBuffer recordID = new StringBuffer();
+    int returnCode = this.delegate.addRecordWithReturnedRecordID(
+        dataSourceCode, recordID, jsonData, loadID);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return recordID.toString();
+  }
+
+  /**
+   *
+   * @param dataSourceCode The data source for the observation.
+   * @param jsonData A JSON document containing the attribute information for
+   *                 the observation.
+   * @param loadID The observation load ID for the record, can be null and will
+   *               default to dataSourceCode.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   * @param recordID A buffer that returns the ID for the record
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#addRecordWithInfoWithReturnedRecordID(String, String,
+   *         String, long, StringBuffer, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String addRecordWithInfoWithReturnedRecordID(String        dataSourceCode,
+                                                      String        jsonData,
+                                                      String        loadID,
+                                                      long          flags,
+                                                      StringBuffer  recordID)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.addRecordWithInfoWithReturnedRecordID(
+        dataSourceCode, jsonData, loadID, flags, recordID, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method is used to add entity data into the system.  This works
+   * similarly to the G2_addRecord function, except that instead or requiring
+   * the recordID as an input parameter, the recordID is generated internally
+   * and returned through the parameter list. A list of modified resolved
+   * entities is also returned
+   *
+   * @param dataSourceCode The data source for the observation.
+   * @param recordID The ID for the record. If specified, then it will be used,
+   *                 if empty string, then G2 will generate an ID
+   * @param jsonData A JSON document containing the attribute information for
+   *                 the observation.
+   * @param loadID The observation load ID for the record, can be NULL and will
+   *               default to dataSourceCode.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#addRecordWithInfo(String, String, String, String, long,
+   *         StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String addRecordWithInfo(String  dataSourceCode,
+                                  String  recordID,
+                                  String  jsonData,
+                                  String  loadID,
+                                  long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.addRecordWithInfo(
+        dataSourceCode, recordID, jsonData, loadID, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Delete the record that has already been loaded
+   *
+   * @param dataSourceCode The data source for the observation.
+   * @param recordID The ID for the record
+   * @param loadID The observation load ID for the record, can be null and will
+   *               default to <code>dataSourceCode</code>.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void deleteRecord(String  dataSourceCode,
+                           String  recordID,
+                           String  loadID)
+      throws G2Exception
+  {
+    if (this.delegate.deleteRecord(dataSourceCode, recordID, loadID) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Delete the record that has already been loaded. Returns a list
+   * of modified resolved entities
+   *
+   * @param dataSourceCode The data source for the observation.
+   * @param recordID The ID for the record
+   * @param loadID The observation load ID for the record, can be null and will
+   *               default to <code>dataSourceCode</code>.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#deleteRecordWithInfo(String, String, String, long,
+   *         StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String deleteRecordWithInfo(String  dataSourceCode,
+                                     String  recordID,
+                                     String  loadID,
+                                     long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.deleteRecordWithInfo(
+        dataSourceCode, recordID, loadID, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Reevaluate a record that has already been loaded
+   *
+   * @param dataSourceCode The data source for the observation.
+   * @param recordID The ID for the record
+   * @param flags The flags to control how the operation is performed.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void reevaluateRecord(String  dataSourceCode,
+                               String  recordID,
+                               long    flags)
+      throws G2Exception
+  {
+    if (this.delegate.reevaluateRecord(dataSourceCode, recordID, flags) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Reevaluate a record that has already been loaded. Returns a list
+   * of resolved entities.
+   *
+   * @param dataSourceCode The data source for the observation.
+   * @param recordID The ID for the record
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#reevaluateRecordWithInfo(String, String, long,
+   *         StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String reevaluateRecordWithInfo(String  dataSourceCode,
+                                         String  recordID,
+                                         long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.reevaluateRecordWithInfo(
+        dataSourceCode, recordID, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Reevaluate a resolved entity identified by the specified entity ID.
+   *
+   * @param entityID The ID of the resolved entity to reevaluate
+   * @param flags The flags to control how the operation is performed.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void reevaluateEntity(long entityID, long flags) throws G2Exception {
+    if (this.delegate.reevaluateEntity(entityID, flags) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Reevaluate a resolved entity and return a list of resolved entities
+   *
+   * @param entityID The ID of the resolved entity to reevaluate
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#reevaluateEntityWithInfo(long, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String reevaluateEntityWithInfo(long  entityID,
+                                         long  flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.reevaluateEntityWithInfo(
+        entityID, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method searches for entities that contain attribute information
+   * that are relevant to a set of input search attributes.
+   *
+   * @param jsonData A JSON document containing the attribute information to
+   *                 search for
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#searchByAttributes(String, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String searchByAttributes(String jsonData) throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.searchByAttributes(jsonData, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method searches for entities that contain attribute information
+   * that are relevant to a set of input search attributes.
+   *
+   * @param jsonData A JSON document containing the attribute information to
+   *                 search for
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#searchByAttributes(String, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String searchByAttributes(String  jsonData,
+                                   long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.searchByAttributes(jsonData, flags, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method searches for entities that contain attribute information
+   * that are relevant to a set of input search attributes.
+   *
+   * @param jsonData A JSON document containing the attribute information to
+   *                 search for
+   * @param searchProfile A search-profile identifier
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#searchByAttributes(String, String, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String searchByAttributes(String  jsonData,
+                                   String  searchProfile,
+                                   long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.searchByAttributes(
+        jsonData, searchProfile, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method is used to retrieve information about a specific resolved
+   * entity.  The information is returned as a JSON document.
+   *
+   * An entityID may be named ENTITY_ID, RESOLVED_ID, or RELATED_ID in
+   * the JSON or CSV function output.
+   *
+   * @param entityID The resolved entity to retrieve information for
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#getEntityByEntityID(long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getEntityByEntityID(long entityID) throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.getEntityByEntityID(entityID, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method is used to retrieve information about a specific resolved
+   * entity.  The information is returned as a JSON document.
+   *
+   * An entityID may be named ENTITY_ID, RESOLVED_ID, or RELATED_ID in
+   * the JSON or CSV function output.
+   *
+   * @param entityID The resolved entity to retrieve information for
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#getEntityByEntityID(long, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getEntityByEntityID(long  entityID,
+                                    long  flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.getEntityByEntityID(entityID, flags, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method is used to retrieve information about the resolved entity
+   * containing a particular observation record.
+   *
+   * @param dataSourceCode The data source of the observation to search for
+   * @param recordID The record ID of the observation to search for
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#getEntityByRecordID(String, String, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getEntityByRecordID(String  dataSourceCode,
+                                    String  recordID)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.getEntityByRecordID(
+        dataSourceCode, recordID, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method is used to retrieve information about the resolved entity
+   * containing a particular observation record.
+   *
+   * @param dataSourceCode The data source of the observation to search for
+   * @param recordID The record ID of the observation to search for
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#getEntityByRecordID(String, String, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getEntityByRecordID(String  dataSourceCode,
+                                    String  recordID,
+                                    long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.getEntityByRecordID(
+        dataSourceCode, recordID, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method is used to find interesting entities close to a specific
+   * resolved
+   * entity.  The information is returned as a JSON document.
+   *
+   * @param entityID The resolved entity to search around
+   * @param flags The flags to control how the operation is performed.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findInterestingEntitiesByEntityID(long, long,
+   *         StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findInterestingEntitiesByEntityID(long  entityID,
+                                                  long  flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findInterestingEntitiesByEntityID(
+        entityID, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method is used to find interesting entities close to a specific
+   * resolved
+   * entity containing a particular observation record.
+   *
+   * @param dataSourceCode The data source of the observation to search around
+   * @param recordID The record ID of the observation to search around
+   * @param flags The flags to control how the operation is performed.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findInterestingEntitiesByRecordID(String, String, long,
+   *         StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findInterestingEntitiesByRecordID(String  dataSourceCode,
+                                                  String  recordID,
+                                                  long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findInterestingEntitiesByRecordID(
+        dataSourceCode, recordID, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method is used to find a relationship path between entities that
+   * are identified by entity ID.
+   *
+   * @param entityID1 The entity ID of the first entity.
+   * @param entityID2 The entity ID of the second entity.
+   * @param maxDegrees The maximum number of degrees for the path search.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findPathByEntityID(long, long, int, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findPathByEntityID(long  entityID1,
+                                   long  entityID2,
+                                   int   maxDegrees)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findPathByEntityID(
+        entityID1, entityID2, maxDegrees, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method is used to find a relationship path between entities that
+   * are identified by entity ID.
+   *
+   * @param entityID1 The entity ID of the first entity.
+   * @param entityID2 The entity ID of the second entity.
+   * @param maxDegrees The maximum number of degrees for the path search.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findPathByEntityID(long, long, int, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findPathByEntityID(long  entityID1,
+                                   long  entityID2,
+                                   int   maxDegrees,
+                                   long  flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findPathByEntityID(
+        entityID1, entityID2, maxDegrees, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method is used to find a relationship path between entities that
+   * are identified by the data source code and record ID of records in each
+   * of the entities.
+   *
+   * @param dataSourceCode1 The data source code of the first record.
+   * @param recordID1 The record ID of the first record.
+   * @param dataSourceCode2 The data source code of the second record.
+   * @param recordID2 The record ID of the second record.
+   * @param maxDegrees The maximum number of degrees for the path search.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findPathByRecordID(String, String, String, String, int,
+   *         StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findPathByRecordID(String  dataSourceCode1,
+                                   String  recordID1,
+                                   String  dataSourceCode2,
+                                   String  recordID2,
+                                   int     maxDegrees)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findPathByRecordID(
+        dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+        response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method is used to find a relationship path between entities that
+   * are identified by the data source code and record ID of records in each
+   * of the entities.
+   *
+   * @param dataSourceCode1 The data source code of the first record.
+   * @param recordID1 The record ID of the first record.
+   * @param dataSourceCode2 The data source code of the second record.
+   * @param recordID2 The record ID of the second record.
+   * @param maxDegrees The maximum number of degrees for the path search.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findPathByRecordID(String, String, String, String, int,
+   *         long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findPathByRecordID(String  dataSourceCode1,
+                                   String  recordID1,
+                                   String  dataSourceCode2,
+                                   String  recordID2,
+                                   int     maxDegrees,
+                                   long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findPathByRecordID(
+        dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+        flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * <p>
+   * This method is used to find a relationship path between two entities
+   * identified by their entity ID's that excludes one or more entities, also
+   * identified by their entity ID's.
+   *
+   * <p>
+   * The excluded entities are identified by their entity ID's in a JSON
+   * document with the following format:
+   * <pre>
+   *   {
+   *     "ENTITIES": [
+   *        { "ENTITY_ID": &lt;entity_id1&gt; },
+   *        { "ENTITY_ID": &lt;entity_id2&gt; },
+   *        . . .
+   *        { "ENTITY_ID": &lt;entity_idN&gt; }
+   *     ]
+   *   }
+   * </pre>
+   *
+   * @param entityID1 The entity ID of the first entity.
+   * @param entityID2 The entity ID of the second entity.
+   * @param maxDegrees The maximum number of degrees for the path search.
+   * @param excludedEntities The JSON document identifying the excluded entities
+   *                         via their entity ID's.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findPathExcludingByEntityID(long, long, int, String,
+   *         StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findPathExcludingByEntityID(long    entityID1,
+                                            long    entityID2,
+                                            int     maxDegrees,
+                                            String  excludedEntities)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findPathExcludingByEntityID(
+        entityID1, entityID2, maxDegrees, excludedEntities, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * <p>
+   * This method is used to find a relationship path between two entities
+   * identified by their entity ID's that excludes one or more entities, also
+   * identified by their entity ID's.
+   *
+   * <p>
+   * The excluded entities are identified by their entity ID's in a JSON
+   * document with the following format:
+   * <pre>
+   *   {
+   *     "ENTITIES": [
+   *        { "ENTITY_ID": &lt;entity_id1&gt; },
+   *        { "ENTITY_ID": &lt;entity_id2&gt; },
+   *        . . .
+   *        { "ENTITY_ID": &lt;entity_idN&gt; }
+   *     ]
+   *   }
+   * </pre>
+   *
+   * @param entityID1 The entity ID of the first entity.
+   * @param entityID2 The entity ID of the second entity.
+   * @param maxDegrees The maximum number of degrees for the path search.
+   * @param excludedEntities The JSON document identifying the excluded entities
+   *                         via their entity ID's.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findPathExcludingByEntityID(long, long, int, String, long,
+   *         StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findPathExcludingByEntityID(long    entityID1,
+                                            long    entityID2,
+                                            int     maxDegrees,
+                                            String  excludedEntities,
+                                            long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findPathExcludingByEntityID(
+        entityID1, entityID2, maxDegrees, excludedEntities, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * <p>
+   * This method is used to find a relationship path between two entities
+   * identified by the data source codes and record IDs of their composite
+   * records where that path excludes one or more entities, also
+   * identified by the data source codes and record IDs of their composite
+   * records.
+   *
+   * <p>
+   * The excluded entities are identified by the data source codes and record
+   * ID's of their composite records in a JSON document with the following
+   * format:
+   * <pre>
+   *   {
+   *     "ENTITIES": [
+   *        {
+   *          "DATA_SOURCE": "&lt;data_source1&gt;",
+   *          "RECORD_ID":  "&lt;record_id1&gt;"
+   *        },
+   *        {
+   *          "DATA_SOURCE": "&lt;data_source2&gt;",
+   *          "RECORD_ID":  "&lt;record_id2&gt;"
+   *        },
+   *        . . .
+   *        {
+   *          "DATA_SOURCE": "&lt;data_sourceN&gt;",
+   *          "RECORD_ID":  "&lt;record_idN&gt;"
+   *        }
+   *     ]
+   *   }
+   * </pre>
+   *
+   * @param dataSourceCode1 The data source code of the first record.
+   * @param recordID1 The record ID of the first record.
+   * @param dataSourceCode2 The data source code of the second record.
+   * @param recordID2 The record ID of the second record.
+   * @param maxDegrees The maximum number of degrees for the path search.
+   * @param excludedEntities The JSON document identifying the excluded entities
+   *                         via their entity ID's.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findPathExcludingByRecordID(String, String, String,
+   *         String, int, String, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findPathExcludingByRecordID(String  dataSourceCode1,
+                                            String  recordID1,
+                                            String  dataSourceCode2,
+                                            String  recordID2,
+                                            int     maxDegrees,
+                                            String  excludedEntities)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findPathExcludingByRecordID(
+        dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+        excludedEntities, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * <p>
+   * This method is used to find a relationship path between two entities
+   * identified by the data source codes and record IDs of their composite
+   * records where that path excludes one or more entities, also
+   * identified by the data source codes and record IDs of their composite
+   * records.
+   *
+   * <p>
+   * The excluded entities are identified by the data source codes and record
+   * ID's of their composite records in a JSON document with the following
+   * format:
+   * <pre>
+   *   {
+   *     "ENTITIES": [
+   *        {
+   *          "DATA_SOURCE": "&lt;data_source1&gt;",
+   *          "RECORD_ID":  "&lt;record_id1&gt;"
+   *        },
+   *        {
+   *          "DATA_SOURCE": "&lt;data_source2&gt;",
+   *          "RECORD_ID":  "&lt;record_id2&gt;"
+   *        },
+   *        . . .
+   *        {
+   *          "DATA_SOURCE": "&lt;data_sourceN&gt;",
+   *          "RECORD_ID":  "&lt;record_idN&gt;"
+   *        }
+   *     ]
+   *   }
+   * </pre>
+   *
+   * @param dataSourceCode1 The data source code of the first record.
+   * @param recordID1 The record ID of the first record.
+   * @param dataSourceCode2 The data source code of the second record.
+   * @param recordID2 The record ID of the second record.
+   * @param maxDegrees The maximum number of degrees for the path search.
+   * @param excludedEntities The JSON document identifying the excluded entities
+   *                         via their entity ID's.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findPathExcludingByRecordID(String, String, String,
+   *         String, int, String, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findPathExcludingByRecordID(String  dataSourceCode1,
+                                            String  recordID1,
+                                            String  dataSourceCode2,
+                                            String  recordID2,
+                                            int     maxDegrees,
+                                            String  excludedEntities,
+                                            long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findPathExcludingByRecordID(
+        dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+        excludedEntities, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * <p>
+   * This method is used to find a relationship path between two entities
+   * identified by their entity ID's.  The path will exclude the one or more
+   * entities, also identified by the specified entity ID's and will require
+   * that the path contains <b>at least one</b> of the data sources identified
+   * by the one or more specified data sources codes.
+   *
+   * <p>
+   * The excluded entities are identified by their entity ID's in a JSON
+   * document with the following format:
+   * <pre>
+   *   {
+   *     "ENTITIES": [
+   *        { "ENTITY_ID": &lt;entity_id1&gt; },
+   *        { "ENTITY_ID": &lt;entity_id2&gt; },
+   *        . . .
+   *        { "ENTITY_ID": &lt;entity_idN&gt; }
+   *     ]
+   *   }
+   * </pre>
+   *
+   * <p>
+   * The required set of data sources are identified by their data source codes
+   * in a JSON document with the following format:
+   * <pre>
+   *    { "DATA_SOURCES": [
+   *        "&lt;data_source_code1&gt;",
+   *        "&lt;data_source_code2&gt;",
+   *        . . .
+   *        "&lt;data_source_codeN&gt;"
+   *      ]
+   *    }
+   * </pre>
+   *
+   * @param entityID1 The entity ID of the first entity.
+   * @param entityID2 The entity ID of the second entity.
+   * @param maxDegrees The maximum number of degrees for the path search.
+   * @param excludedEntities The JSON document identifying the excluded entities
+   *                         via their entity ID's.
+   * @param requiredSources The JSON document identifying the data sources that
+   *                        must be included on the path.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findPathIncludingSourceByEntityID(long, long, int, String,
+   *         String, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findPathIncludingSourceByEntityID(long    entityID1,
+                                                  long    entityID2,
+                                                  int     maxDegrees,
+                                                  String  excludedEntities,
+                                                  String  requiredSources)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findPathIncludingSourceByEntityID(
+        entityID1, entityID2, maxDegrees, excludedEntities, requiredSources,
+        response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * <p>
+   * This method is used to find a relationship path between two entities
+   * identified by their entity ID's.  The path will exclude the one or more
+   * entities, also identified by the specified entity ID's and will require
+   * that the path contains <b>at least one</b> of the data sources identified
+   * by the one or more specified data sources codes.
+   *
+   * <p>
+   * The excluded entities are identified by their entity ID's in a JSON
+   * document with the following format:
+   * <pre>
+   *   {
+   *     "ENTITIES": [
+   *        { "ENTITY_ID": &lt;entity_id1&gt; },
+   *        { "ENTITY_ID": &lt;entity_id2&gt; },
+   *        . . .
+   *        { "ENTITY_ID": &lt;entity_idN&gt; }
+   *     ]
+   *   }
+   * </pre>
+   *
+   * <p>
+   * The required set of data sources are identified by their data source codes
+   * in a JSON document with the following format:
+   * <pre>
+   *    { "DATA_SOURCES": [
+   *        "&lt;data_source_code1&gt;",
+   *        "&lt;data_source_code2&gt;",
+   *        . . .
+   *        "&lt;data_source_codeN&gt;"
+   *      ]
+   *    }
+   * </pre>
+   *
+   * @param entityID1 The entity ID of the first entity.
+   * @param entityID2 The entity ID of the second entity.
+   * @param maxDegrees The maximum number of degrees for the path search.
+   * @param excludedEntities The JSON document identifying the excluded entities
+   *                         via their entity ID's.
+   * @param requiredSources The JSON document identifying the data sources that
+   *                        must be included on the path.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findPathIncludingSourceByEntityID(long, long, int, String,
+   *         String, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findPathIncludingSourceByEntityID(long    entityID1,
+                                                  long    entityID2,
+                                                  int     maxDegrees,
+                                                  String  excludedEntities,
+                                                  String  requiredSources,
+                                                  long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findPathIncludingSourceByEntityID(
+        entityID1, entityID2, maxDegrees, excludedEntities, requiredSources,
+        flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * <p>
+   * This method is used to find a relationship path between two entities
+   * identified by the data source codes and record IDs of their composite
+   * records.  THe path will exclude the one or more entities also identified
+   * by the specified data source code and record ID pairs that identify the
+   * composite records of the excluded entities and further will require the
+   * path contains <b>at least one</b> of the data sources identified by the
+   * one or more specified data sources codes.
+   *
+   * <p>
+   * The excluded entities are identified by the data source codes and record
+   * ID's of their composite records in a JSON document with the following
+   * format:
+   * <pre>
+   *   {
+   *     "ENTITIES": [
+   *        {
+   *          "DATA_SOURCE": "&lt;data_source1&gt;",
+   *          "RECORD_ID":  "&lt;record_id1&gt;"
+   *        },
+   *        {
+   *          "DATA_SOURCE": "&lt;data_source2&gt;",
+   *          "RECORD_ID":  "&lt;record_id2&gt;"
+   *        },
+   *        . . .
+   *        {
+   *          "DATA_SOURCE": "&lt;data_sourceN&gt;",
+   *          "RECORD_ID":  "&lt;record_idN&gt;"
+   *        }
+   *     ]
+   *   }
+   * </pre>
+   *
+   * <p>
+   * The required set of data sources are identified by their data source codes
+   * in a JSON document with the following format:
+   * <pre>
+   *    { "DATA_SOURCES": [
+   *        "&lt;data_source_code1&gt;",
+   *        "&lt;data_source_code2&gt;",
+   *        . . .
+   *        "&lt;data_source_codeN&gt;"
+   *      ]
+   *    }
+   * </pre>
+   *
+   * @param dataSourceCode1 The data source code of the first record.
+   * @param recordID1 The record ID of the first record.
+   * @param dataSourceCode2 The data source code of the second record.
+   * @param recordID2 The record ID of the second record.
+   * @param maxDegrees The maximum number of degrees for the path search.
+   * @param excludedEntities The JSON document identifying the excluded entities
+   *                         via their entity ID's.
+   * @param requiredSources The JSON document identifying the data sources that
+   *                        must be included on the path.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findPathIncludingSourceByRecordID(String, String, String,
+   *         String, int, String, String, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findPathIncludingSourceByRecordID(String  dataSourceCode1,
+                                                  String  recordID1,
+                                                  String  dataSourceCode2,
+                                                  String  recordID2,
+                                                  int     maxDegrees,
+                                                  String  excludedEntities,
+                                                  String  requiredSources)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findPathIncludingSourceByRecordID(
+        dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+        excludedEntities, requiredSources, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * <p>
+   * This method is used to find a relationship path between two entities
+   * identified by the data source codes and record IDs of their composite
+   * records.  THe path will exclude the one or more entities also identified
+   * by the specified data source code and record ID pairs that identify the
+   * composite records of the excluded entities and further will require the
+   * path contains <b>at least one</b> of the data sources identified by the
+   * one or more specified data sources codes.
+   *
+   * <p>
+   * The excluded entities are identified by the data source codes and record
+   * ID's of their composite records in a JSON document with the following
+   * format:
+   * <pre>
+   *   {
+   *     "ENTITIES": [
+   *        {
+   *          "DATA_SOURCE": "&lt;data_source1&gt;",
+   *          "RECORD_ID":  "&lt;record_id1&gt;"
+   *        },
+   *        {
+   *          "DATA_SOURCE": "&lt;data_source2&gt;",
+   *          "RECORD_ID":  "&lt;record_id2&gt;"
+   *        },
+   *        . . .
+   *        {
+   *          "DATA_SOURCE": "&lt;data_sourceN&gt;",
+   *          "RECORD_ID":  "&lt;record_idN&gt;"
+   *        }
+   *     ]
+   *   }
+   * </pre>
+   *
+   * <p>
+   * The required set of data sources are identified by their data source codes
+   * in a JSON document with the following format:
+   * <pre>
+   *    { "DATA_SOURCES": [
+   *        "&lt;data_source_code1&gt;",
+   *        "&lt;data_source_code2&gt;",
+   *        . . .
+   *        "&lt;data_source_codeN&gt;"
+   *      ]
+   *    }
+   * </pre>
+   *
+   * @param dataSourceCode1 The data source code of the first record.
+   * @param recordID1 The record ID of the first record.
+   * @param dataSourceCode2 The data source code of the second record.
+   * @param recordID2 The record ID of the second record.
+   * @param maxDegrees The maximum number of degrees for the path search.
+   * @param excludedEntities The JSON document identifying the excluded entities
+   *                         via their entity ID's.
+   * @param requiredSources The JSON document identifying the data sources that
+   *                        must be included on the path.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findPathIncludingSourceByRecordID(String, String, String,
+   *         String, int, String, String, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findPathIncludingSourceByRecordID(String  dataSourceCode1,
+                                                  String  recordID1,
+                                                  String  dataSourceCode2,
+                                                  String  recordID2,
+                                                  int     maxDegrees,
+                                                  String  excludedEntities,
+                                                  String  requiredSources,
+                                                  long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findPathIncludingSourceByRecordID(
+        dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+        excludedEntities, requiredSources, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * <p>
+   * This method is used to find a network of entity relationships,
+   * surrounding the paths between a set of entities.  The entities are
+   * identified by their entity IDs.
+   *
+   * <p>
+   * The desired entities are identified by their entity ID's in a JSON
+   * document with the following format:
+   * <pre>
+   *   {
+   *     "ENTITIES": [
+   *        { "ENTITY_ID": &lt;entity_id1&gt; },
+   *        { "ENTITY_ID": &lt;entity_id2&gt; },
+   *        . . .
+   *        { "ENTITY_ID": &lt;entity_idN&gt; }
+   *     ]
+   *   }
+   * </pre>
+   *
+   * @param entityList The JSON document specifying the entity ID's of the
+   *                   desired entities.
+   * @param maxDegrees The maximum number of degrees for the path search between
+   *                   the specified entities.
+   * @param buildOutDegrees The number of relationship degrees to build out from
+   *                        each of the found entities.
+   * @param maxEntities The maximum number of entities to build out to.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findNetworkByEntityID(String, int, int, int,
+   *         StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findNetworkByEntityID(String  entityList,
+                                      int     maxDegrees,
+                                      int     buildOutDegrees,
+                                      int     maxEntities)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findNetworkByEntityID(
+        entityList, maxDegrees, buildOutDegrees, maxEntities, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * <p>
+   * This method is used to find a network of entity relationships,
+   * surrounding the paths between a set of entities.  The entities are
+   * identified by their entity IDs.
+   *
+   * <p>
+   * The desired entities are identified by their entity ID's in a JSON
+   * document with the following format:
+   * <pre>
+   *   {
+   *     "ENTITIES": [
+   *        { "ENTITY_ID": &lt;entity_id1&gt; },
+   *        { "ENTITY_ID": &lt;entity_id2&gt; },
+   *        . . .
+   *        { "ENTITY_ID": &lt;entity_idN&gt; }
+   *     ]
+   *   }
+   * </pre>
+   *
+   * @param entityList The JSON document specifying the entity ID's of the
+   *                   desired entities.
+   * @param maxDegrees The maximum number of degrees for the path search between
+   *                   the specified entities.
+   * @param buildOutDegrees The number of relationship degrees to build out from
+   *                        each of the found entities.
+   * @param maxEntities The maximum number of entities to build out to.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findNetworkByEntityID(String, int, int, int, long,
+   *         StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findNetworkByEntityID(String  entityList,
+                                      int     maxDegrees,
+                                      int     buildOutDegrees,
+                                      int     maxEntities,
+                                      long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findNetworkByEntityID(
+        entityList, maxDegrees, buildOutDegrees, maxEntities, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * <p>
+   * This method is used to find a network of entity relationships,
+   * surrounding the paths between a set of entities.  The entities are
+   * identified by their composite records having the specified data source
+   * code and record ID pairs.
+   *
+   * <p>
+   * The composite records af the desired entities are identified by the
+   * data source code and record ID pairs in a JSON document with the following
+   * format:
+   * <pre>
+   *   {
+   *     "ENTITIES": [
+   *        {
+   *          "DATA_SOURCE": "&lt;data_source1&gt;",
+   *          "RECORD_ID":  "&lt;record_id1&gt;"
+   *        },
+   *        {
+   *          "DATA_SOURCE": "&lt;data_source2&gt;",
+   *          "RECORD_ID":  "&lt;record_id2&gt;"
+   *        },
+   *        . . .
+   *        {
+   *          "DATA_SOURCE": "&lt;data_sourceN&gt;",
+   *          "RECORD_ID":  "&lt;record_idN&gt;"
+   *        }
+   *     ]
+   *   }
+   * </pre>
+   *
+   * @param recordList The JSON document containing the data source code and
+   *                   record ID pairs for the composite records of the desired
+   *                   entities.
+   * @param maxDegrees The maximum number of degrees for the path search between
+   *                   the specified entities.
+   * @param buildOutDegrees The number of relationship degrees to build out from
+   *                        each of the found entities.
+   * @param maxEntities The maximum number of entities to build out to.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findNetworkByRecordID(String, int, int, int,
+   *         StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findNetworkByRecordID(String  recordList,
+                                      int     maxDegrees,
+                                      int     buildOutDegrees,
+                                      int     maxEntities)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findNetworkByRecordID(
+        recordList, maxDegrees, buildOutDegrees, maxEntities, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * <p>
+   * This method is used to find a network of entity relationships,
+   * surrounding the paths between a set of entities.  The entities are
+   * identified by their composite records having the specified data source
+   * code and record ID pairs.
+   *
+   * <p>
+   * The composite records af the desired entities are identified by the
+   * data source code and record ID pairs in a JSON document with the following
+   * format:
+   * <pre>
+   *   {
+   *     "ENTITIES": [
+   *        {
+   *          "DATA_SOURCE": "&lt;data_source1&gt;",
+   *          "RECORD_ID":  "&lt;record_id1&gt;"
+   *        },
+   *        {
+   *          "DATA_SOURCE": "&lt;data_source2&gt;",
+   *          "RECORD_ID":  "&lt;record_id2&gt;"
+   *        },
+   *        . . .
+   *        {
+   *          "DATA_SOURCE": "&lt;data_sourceN&gt;",
+   *          "RECORD_ID":  "&lt;record_idN&gt;"
+   *        }
+   *     ]
+   *   }
+   * </pre>
+   *
+   * @param recordList The JSON document containing the data source code and
+   *                   record ID pairs for the composite records of the desired
+   *                   entities.
+   * @param maxDegrees The maximum number of degrees for the path search between
+   *                   the specified entities.
+   * @param buildOutDegrees The number of relationship degrees to build out from
+   *                        each of the found entities.
+   * @param maxEntities The maximum number of entities to build out to.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#findNetworkByRecordID(String, int, int, int, long,
+   *         StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String findNetworkByRecordID(String  recordList,
+                                      int     maxDegrees,
+                                      int     buildOutDegrees,
+                                      int     maxEntities,
+                                      long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.findNetworkByRecordID(
+        recordList, maxDegrees, buildOutDegrees, maxEntities, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method determines why a particular record is included in its resolved
+   * entity.
+   *
+   * @param dataSourceCode The data source code for the composite record of the
+   *                       subject entity.
+   * @param recordID The record ID for the composite record of the subject
+   *                 entity.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#whyRecordInEntity(String, String, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String whyRecordInEntity(String  dataSourceCode,
+                                  String  recordID)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.whyRecordInEntity(
+        dataSourceCode, recordID, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method determines why a particular record is included in its resolved
+   * entity.
+   *
+   * @param dataSourceCode The data source code for the composite record of the
+   *                       subject entity.
+   * @param recordID The record ID for the composite record of the subject
+   *                 entity.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#whyRecordInEntity(String, String, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String whyRecordInEntity(String  dataSourceCode,
+                                  String  recordID,
+                                  long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.whyRecordInEntity(
+        dataSourceCode, recordID, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method determines why records are included in the resolved entity
+   * they belong to.  The entity for the operation is the one having the
+   * record with the specified data source code and record ID.
+   *
+   * @param dataSourceCode The data source code for the composite record of the
+   *                       subject entity.
+   * @param recordID The record ID for the composite record of the subject
+   *                 entity.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#whyEntityByRecordID(String, String, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String whyEntityByRecordID(String  dataSourceCode,
+                                    String  recordID)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.whyEntityByRecordID(
+        dataSourceCode, recordID, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method determines why records are included in the resolved entity
+   * they belong to.  The entity for the operation is the one having the
+   * record with the specified data source code and record ID.
+   *
+   * @param dataSourceCode The data source code for the composite record of the
+   *                       subject entity.
+   * @param recordID The record ID for the composite record of the subject
+   *                 entity.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#whyEntityByRecordID(String, String, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String whyEntityByRecordID(String  dataSourceCode,
+                                    String  recordID,
+                                    long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.whyEntityByRecordID(
+        dataSourceCode, recordID, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method determines why records are included in the resolved entity
+   * they belong to.  The entity is identified with the specified entity ID.
+   *
+   * @param entityID The entity ID of the subject entity.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#whyEntityByEntityID(long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String whyEntityByEntityID(long entityID) throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.whyEntityByEntityID(entityID, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method determines why records are included in the resolved entity
+   * they belong to.  The entity is identified with the specified entity ID.
+   *
+   * @param entityID The entity ID of the subject entity.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#whyEntityByEntityID(long, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String whyEntityByEntityID(long  entityID,
+                                    long  flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.whyEntityByEntityID(entityID, flags, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method determines how two records are related to each other.
+   *
+   * @param dataSourceCode1 The data source code for the first record.
+   * @param recordID1 The record ID for the first record.
+   * @param dataSourceCode2 The data source code for the second record.
+   * @param recordID2 The record ID for the second record.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#whyRecords(String, String, String, String, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String whyRecords(String  dataSourceCode1,
+                           String  recordID1,
+                           String  dataSourceCode2,
+                           String  recordID2)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.whyRecords(
+        dataSourceCode1, recordID1, dataSourceCode2, recordID2, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method determines how two records are related to each other.
+   *
+   * @param dataSourceCode1 The data source code for the first record.
+   * @param recordID1 The record ID for the first record.
+   * @param dataSourceCode2 The data source code for the second record.
+   * @param recordID2 The record ID for the second record.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#whyRecords(String, String, String, String, long,
+   *         StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String whyRecords(String  dataSourceCode1,
+                           String  recordID1,
+                           String  dataSourceCode2,
+                           String  recordID2,
+                           long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.whyRecords(
+        dataSourceCode1, recordID1, dataSourceCode2, recordID2, flags,
+        response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method determines how two entities are related to each other.
+   *
+   * @param entityID1 The entity ID of the first entity.
+   * @param entityID2 The entity ID of the second entity.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#whyEntities(long, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String whyEntities(long entityID1, long entityID2) throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.whyEntities(entityID1, entityID2, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method determines how two entities are related to each other.
+   *
+   * @param entityID1 The entity ID of the first entity.
+   * @param entityID2 The entity ID of the second entity.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#whyEntities(long, long, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String whyEntities(long  entityID1,
+                            long  entityID2,
+                            long  flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.whyEntities(entityID1, entityID2, flags, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method gives information on how entities were constructed from
+   * their base records.
+   *
+   * @param entityID The entity ID.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#howEntityByEntityID(long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String howEntityByEntityID(long entityID) throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.howEntityByEntityID(entityID, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method gives information on how entities were constructed from
+   * their base records.
+   *
+   * @param entityID The entity ID.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#howEntityByEntityID(long, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String howEntityByEntityID(long  entityID,
+                                    long  flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.howEntityByEntityID(entityID, flags, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method gives information on how an entity composed of a given set
+   * of records would look.
+   *
+   * @param recordList The list of records used to build the virtual entity.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#getVirtualEntityByRecordID(String, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getVirtualEntityByRecordID(String recordList)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.getVirtualEntityByRecordID(recordList, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method gives information on how an entity composed of a given set
+   * of records would look.
+   *
+   * @param recordList The list of records used to build the virtual entity.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#getVirtualEntityByRecordID(String, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getVirtualEntityByRecordID(String  recordList,
+                                           long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.getVirtualEntityByRecordID(
+        recordList, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method is used to retrieve the stored record.
+   *
+   * @param dataSourceCode The data source of the observation to search for
+   * @param recordID The record ID of the observation to search for
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#getRecord(String, String, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getRecord(String  dataSourceCode,
+                          String  recordID)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.getRecord(dataSourceCode, recordID, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method is used to retrieve the stored record.
+   *
+   * @param dataSourceCode The data source of the observation to search for
+   * @param recordID The record ID of the observation to search for
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#getRecord(String, String, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getRecord(String  dataSourceCode,
+                          String  recordID,
+                          long    flags)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.getRecord(
+        dataSourceCode, recordID, flags, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This is used to export entity data from known entities.  This function
+   * returns an export-handle that can be read from to get the export data
+   * in JSON format.  The export-handle should be read using the "G2_fetchNext"
+   * function, and closed when work is complete. Each output row contains the
+   * exported entity data for a single resolved entity.
+   *
+   * @param flags A bit mask specifying control flags, such as
+   *              "G2_EXPORT_INCLUDE_SINGLETONS".  The default and recommended
+   *              value is "G2_EXPORT_DEFAULT_FLAGS".
+   *
+   * @return The value returned via the <code>exportHandle</code> parameter of
+   *         {@link G2Engine#exportJSONEntityReport(long, Result)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public long exportJSONEntityReport(long flags) throws G2Exception {
+    Result<Long> exportHandle = new Result<>();
+    if (this.delegate.exportJSONEntityReport(flags, exportHandle) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return exportHandle.getValue();
+  }
+
+  /**
+   * This is used to export entity data from known entities.  This function
+   * returns an export-handle that can be read from to get the export data
+   * in CSV format.  The export-handle should be read using the "G2_fetchNext"
+   * function, and closed when work is complete. The first output row returned
+   * by the export-handle contains the JSON column headers as a string.  Each
+   * following row contains the exported entity data.
+   *
+   * @param csvColumnList Specify <code>"*"</code> to indicate "all columns",
+   *                      specify empty-string to indicate the "standard
+   *                      columns", otherwise specify a comma-separated list of
+   *                      column names.
+   * @param flags A bit mask specifying other control flags, such as
+   *              "G2_EXPORT_INCLUDE_SINGLETONS".  The default and recommended
+   *              value is "G2_EXPORT_DEFAULT_FLAGS".
+   *
+   * @return The value returned via the <code>exportHandle</code> parameter of
+   *         {@link G2Engine#exportCSVEntityReport(String, long, Result)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public long exportCSVEntityReport(String  csvColumnList,
+                                    long    flags)
+      throws G2Exception
+  {
+    Result<Long> exportHandle = new Result<>();
+    int returnCode = this.delegate.exportCSVEntityReport(
+        csvColumnList, flags, exportHandle);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return exportHandle.getValue();
+  }
+
+  /**
+   * This function is used to read entity data from an export handle,
+   * one data row at a time.
+   *
+   * @param exportHandle The export handle to retrieve data from
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#fetchNext(long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String fetchNext(long exportHandle) throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.fetchNext(exportHandle, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This function closes an export handle, to clean up system resources.
+   *
+   * @param exportHandle The export handle of the export to close.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void closeExport(long exportHandle) throws G2Exception {
+    if (this.delegate.closeExport(exportHandle) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Processes a redo record.
+   *
+   * @return The text returned via the <code>jsonData</code> parameter of {@link
+   *         G2Engine#processRedoRecord(StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String processRedoRecord() throws G2Exception {
+    StringBuffer jsonData = new StringBuffer();
+    if (this.delegate.processRedoRecord(jsonData) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return jsonData.toString();
+  }
+
+  /**
+   * Processes a redo record.
+   *
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   * @param jsonData A returned JSON document containing the info.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#processRedoRecordWithInfo(long, StringBuffer,
+   *         StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String processRedoRecordWithInfo(long          flags,
+                                          StringBuffer  jsonData)
+      throws G2Exception
+  {
+    StringBuffer response = new StringBuffer();
+    int returnCode = this.delegate.processRedoRecordWithInfo(
+        flags, jsonData, response);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * Retrieves a pending redo record from the reevaluation queue.
+   *
+   * @return The text returned via the <code>jsonData</code> parameter of {@link
+   *         G2Engine#getRedoRecord(StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String getRedoRecord() throws G2Exception {
+    StringBuffer jsonData = new StringBuffer();
+    if (this.delegate.getRedoRecord(jsonData) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return jsonData.toString();
+  }
+
+  /**
+   * Gets the number of redo records waiting to be processed.
+   *
+   * <p>
+   * This forwards directly to {@link G2Engine#countRedoRecords()}.
+   *
+   * @return The value returned by the underlying function.
+   */
+  public long countRedoRecords() {
+    return this.delegate.countRedoRecords();
+  }
+
+  /**
+   * This method will send a record for processing in g2. It is a synchronous
+   * call, i.e. it will wait until g2 actually processes the record.  This
+   * is similar to {@link G2Engine#process(String,StringBuffer)} method, but
+   * this
+   * variant does <b>not</b> return a response.  <b>NOTE:</b> there are
+   * performance benefits of calling this variant of process that does not
+   * require a response.
+   *
+   * @param record An input record to be processed.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void process(String record) throws G2Exception {
+    if (this.delegate.process(record) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * This method will send a record for processing in g2. It is a synchronous
+   * call, i.e. it will wait until g2 actually processes the record.  This
+   * is similar to {@link G2Engine#process(String,StringBuffer)} method, but
+   * this
+   * variant does <b>not</b> return a response.  <b>NOTE:</b> there are
+   * performance benefits of calling this variant of process that does not
+   * require a response. Also returns a list of modified resolved entities
+   *
+   * @param record An input record to be processed.
+   * @param flags The flags to control how the operation is performed and
+   *              specifically the content of the response JSON document.
+   *
+   * @return The text returned via the <code>response</code> parameter of {@link
+   *         G2Engine#processWithInfo(String, long, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String processWithInfo(String record, long flags) throws G2Exception {
+    StringBuffer response = new StringBuffer();
+    if (this.delegate.processWithInfo(record, flags, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return response.toString();
+  }
+
+  /**
+   * This method will send a record for processing in g2. It is a synchronous
+   * call, i.e. it will wait until g2 actually processes the record, and then
+   * return a response message.  This is similar to {@link
+   * G2Engine#process(String)}
+   * method, but this variant returns a response.  <b>NOTE:</b> there are
+   * performance benefits of calling the variant of process that does <b>not</b>
+   * require a response.
+   *
+   * @param record An input record to be processed.
+   * @param response A {@link StringBuffer} for returning the response document.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void process(String record, StringBuffer response) throws G2Exception {
+    if (this.delegate.process(record, response) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package com.senzing.g2.engine;
+
+/**
+ * Provides a typed view of a {@link G2Product} whose functions return their
+ * results and throw a checked {@link G2Exception} on failure.
+ *
+ * <p>
+ * Each function that reports a return code instead throws the {@link
+ * G2Exception} subclass for its failure after the error has been read and
+ * cleared on the calling thread (see {@link G2Exception#capture(G2Fallible)}).
+ * A response {@link StringBuffer} or {@link Result} parameter becomes the
+ * return value, so <code>getLastException()</code> and
+ * <code>clearLastException()</code> need never be called directly.
+ *
+ * <p>
+ * This class is thread-safe if the backing {@link G2Product} is thread-safe.
+ */
+public class G2CheckedProduct {
+  /**
+   * The backing {@link G2Product}.
+   */
+  private final G2Product delegate;
+
+  /**
+   * Constructs with the backing {@link G2Product}.
+   *
+   * @param delegate The backing {@link G2Product}, which should already be
+   *                 initialized unless <code>init()</code> will be called
+   *                 through this instance.
+   *
+   * @throws NullPointerException If the specified {@link G2Product} is
+   *                              <code>null</code>.
+   */
+  public G2CheckedProduct(G2Product delegate) {
+    if (delegate == null) {
+      throw new NullPointerException(
+          "The backing G2Product instance cannot be null.");
+    }
+    this.delegate = delegate;
+  }
+
+  /**
+   * Returns the backing {@link G2Product}.
+   *
+   * @return The backing {@link G2Product}.
+   */
+  public G2Product getDelegate() {
+    return this.delegate;
+  }
+
+  /**
+   * Initializes the G2 product API with the specified module name,
+   * init parameters and flag indicating verbose logging.  If the
+   * <code>G2CONFIGFILE</code> init parameter is absent then the default
+   * configuration from the repository is used.
+   *
+   * @param moduleName A short name given to this instance of the product API.
+   * @param iniParams A JSON string containing configuration parameters.
+   * @param verboseLogging Enable diagnostic logging which will print a massive
+   *                       amount of information to stdout.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void init(String   moduleName,
+                   String   iniParams,
+                   boolean  verboseLogging)
+      throws G2Exception
+  {
+    if (this.delegate.init(moduleName, iniParams, verboseLogging) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Uninitializes the G2 product API.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public void destroy() throws G2Exception {
+    if (this.delegate.destroy() != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+  }
+
+  /**
+   * Returns the currently configured license details.
+   *
+   * <p>
+   * This forwards directly to {@link G2Product#license()}.
+   *
+   * @return The value returned by the underlying function.
+   */
+  public String license() {
+    return this.delegate.license();
+  }
+
+  /**
+   * Determines whether a specified license file is valid
+   *
+   * @param licenseFile The path
+   *
+   * @return The text returned via the <code>errorResponse</code> parameter of
+   *         {@link G2Product#validateLicenseFile(String, StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String validateLicenseFile(String licenseFile) throws G2Exception {
+    StringBuffer errorResponse = new StringBuffer();
+    if (this.delegate.validateLicenseFile(licenseFile, errorResponse) != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return errorResponse.toString();
+  }
+
+  /**
+   * Determines whether a specified license Base-64 string is valid.
+   *
+   * @param licenseData The license data as a encoded Base-64 {@link String}.
+   *
+   * @return The text returned via the <code>errorResponse</code> parameter of
+   *         {@link G2Product#validateLicenseStringBase64(String,
+   *         StringBuffer)}.
+   *
+   * @throws G2Exception If the underlying function fails.
+   */
+  public String validateLicenseStringBase64(String licenseData)
+      throws G2Exception
+  {
+    StringBuffer errorResponse = new StringBuffer();
+    int returnCode = this.delegate.validateLicenseStringBase64(
+        licenseData, errorResponse);
+    if (returnCode != 0) {
+      throw G2Exception.capture(this.delegate);
+    }
+    return errorResponse.toString();
+  }
+
+  /**
+   * Returns the currently installed version details
+   *
+   * <p>
+   * This forwards directly to {@link G2Product#version()}.
+   *
+   * @return The value returned by the underlying function.
+   */
+  public String version() {
+    return this.delegate.version();
+  }
+}
@@ -0,0 +1,133 @@
+package com.senzing.g2.engine;
+
+/**
+ * Provides a {@link G2ConfigMgr} implementation that forwards every call to a
+ * backing {@link G2ConfigMgr} instance.  This is intended to be extended by
+ * classes that layer additional behavior (e.g.: caching or instrumentation)
+ * over an existing {@link G2ConfigMgr} by overriding only the functions of
+ * interest.
+ */
+public class G2ConfigMgrDecorator implements G2ConfigMgr {
+  /**
+   * The backing {@link G2ConfigMgr} to which calls are forwarded.
+   */
+  protected final G2ConfigMgr delegate;
+
+  /**
+   * Constructs with the backing {@link G2ConfigMgr} to which calls are
+   * forwarded.
+   *
+   * @param delegate The backing {@link G2ConfigMgr} to which calls are
+   *                 forwarded.
+   *
+   * @throws NullPointerException If the specified {@link G2ConfigMgr} is
+   *                              <code>null</code>.
+   */
+  public G2ConfigMgrDecorator(G2ConfigMgr delegate) {
+    if (delegate == null) {
+      throw new NullPointerException(
+          "The backing G2ConfigMgr instance cannot be null.");
+    }
+    this.delegate = delegate;
+  }
+
+  /**
+   * Returns the backing {@link G2ConfigMgr} to which calls are forwarded.
+   *
+   * @return The backing {@link G2ConfigMgr} to which calls are forwarded.
+   */
+  public G2ConfigMgr getDelegate() {
+    return this.delegate;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int init(String moduleName, String iniParams, boolean verboseLogging) {
+    return this.delegate.init(moduleName, iniParams, verboseLogging);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int destroy() {
+    return this.delegate.destroy();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int addConfig(String       configStr,
+                       String       configComments,
+                       Result<Long> configID)
+  {
+    return this.delegate.addConfig(configStr, configComments, configID);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getConfig(long configID, StringBuffer response) {
+    return this.delegate.getConfig(configID, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getConfigList(StringBuffer response) {
+    return this.delegate.getConfigList(response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int setDefaultConfigID(long configID) {
+    return this.delegate.setDefaultConfigID(configID);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getDefaultConfigID(Result<Long> configID) {
+    return this.delegate.getDefaultConfigID(configID);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int replaceDefaultConfigID(long oldConfigID, long newConfigID) {
+    return this.delegate.replaceDefaultConfigID(oldConfigID, newConfigID);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String getLastException() {
+    return this.delegate.getLastException();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getLastExceptionCode() {
+    return this.delegate.getLastExceptionCode();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void clearLastException() {
+    this.delegate.clearLastException();
+  }
+}
@@ -0,0 +1,972 @@
+package com.senzing.g2.engine;
+
+/**
+ * Provides a {@link G2Engine} implementation that forwards every call to a
+ * backing {@link G2Engine} instance.  This is intended to be extended by
+ * classes that layer additional behavior (e.g.: caching, scheduling or
+ * instrumentation) over an existing {@link G2Engine} by overriding only the
+ * functions of interest.
+ */
+public class G2EngineDecorator implements G2Engine {
+  /**
+   * The backing {@link G2Engine} to which calls are forwarded.
+   */
+  protected final G2Engine delegate;
+
+  /**
+   * Constructs with the backing {@link G2Engine} to which calls are
+   * forwarded.
+   *
+   * @param delegate The backing {@link G2Engine} to which calls are
+   *                 forwarded.
+   *
+   * @throws NullPointerException If the specified {@link G2Engine} is
+   *                              <code>null</code>.
+   */
+  public G2EngineDecorator(G2Engine delegate) {
+    if (delegate == null) {
+      throw new NullPointerException(
+          "The backing G2Engine instance cannot be null.");
+    }
+    this.delegate = delegate;
+  }
+
+  /**
+   * Returns the backing {@link G2Engine} to which calls are forwarded.
+   *
+   * @return The backing {@link G2Engine} to which calls are forwarded.
+   */
+  public G2Engine getDelegate() {
+    return this.delegate;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int init(String moduleName, String iniParams, boolean verboseLogging) {
+    return this.delegate.init(moduleName, iniParams, verboseLogging);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int initWithConfigID(String   moduleName,
+                              String   iniParams,
+                              long     initConfigID,
+                              boolean  verboseLogging)
+  {
+    return this.delegate.initWithConfigID(moduleName, iniParams, initConfigID,
+                                          verboseLogging);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int reinit(long initConfigID) {
+    return this.delegate.reinit(initConfigID);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int destroy() {
+    return this.delegate.destroy();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int primeEngine() {
+    return this.delegate.primeEngine();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int purgeRepository() {
+    return this.delegate.purgeRepository();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String stats() {
+    return this.delegate.stats();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int exportConfig(StringBuffer response) {
+    return this.delegate.exportConfig(response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int exportConfig(StringBuffer response, Result<Long> configID) {
+    return this.delegate.exportConfig(response, configID);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getActiveConfigID(Result<Long> configID) {
+    return this.delegate.getActiveConfigID(configID);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getRepositoryLastModifiedTime(Result<Long> lastModifiedTime) {
+    return this.delegate.getRepositoryLastModifiedTime(lastModifiedTime);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int addRecord(String  dataSourceCode,
+                       String  recordID,
+                       String  jsonData,
+                       String  loadID)
+  {
+    return this.delegate.addRecord(dataSourceCode, recordID, jsonData, loadID);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int replaceRecord(String  dataSourceCode,
+                           String  recordID,
+                           String  jsonData,
+                           String  loadID)
+  {
+    return this.delegate.replaceRecord(dataSourceCode, recordID, jsonData,
+                                       loadID);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int replaceRecordWithInfo(String        dataSourceCode,
+                                   String        recordID,
+                                   String        jsonData,
+                                   String        loadID,
+                                   long          flags,
+                                   StringBuffer  response)
+  {
+    return this.delegate.replaceRecordWithInfo(dataSourceCode, recordID,
+                                               jsonData, loadID, flags,
+                                               response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int addRecordWithReturnedRecordID(String        dataSourceCode,
+                                           StringBuffer  recordID,
+                                           String        jsonData,
+                                           String        loadID)
+  {
+    return this.delegate.addRecordWithReturnedRecordID(dataSourceCode, recordID,
+                                                       jsonData, loadID);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int addRecordWithInfoWithReturnedRecordID(String        dataSourceCode,
+                                                   String        jsonData,
+                                                   String        loadID,
+                                                   long          flags,
+                                                   StringBuffer  recordID,
+                                                   StringBuffer  response)
+  {
+    return this.delegate.addRecordWithInfoWithReturnedRecordID(dataSourceCode,
+                                                               jsonData, loadID,
+                                                               flags, recordID,
+                                                               response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int addRecordWithInfo(String        dataSourceCode,
+                               String        recordID,
+                               String        jsonData,
+                               String        loadID,
+                               long          flags,
+                               StringBuffer  response)
+  {
+    return this.delegate.addRecordWithInfo(dataSourceCode, recordID, jsonData,
+                                           loadID, flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int deleteRecord(String  dataSourceCode,
+                          String  recordID,
+                          String  loadID)
+  {
+    return this.delegate.deleteRecord(dataSourceCode, recordID, loadID);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int deleteRecordWithInfo(String        dataSourceCode,
+                                  String        recordID,
+                                  String        loadID,
+                                  long          flags,
+                                  StringBuffer  response)
+  {
+    return this.delegate.deleteRecordWithInfo(dataSourceCode, recordID, loadID,
+                                              flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int reevaluateRecord(String  dataSourceCode,
+                              String  recordID,
+                              long    flags)
+  {
+    return this.delegate.reevaluateRecord(dataSourceCode, recordID, flags);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int reevaluateRecordWithInfo(String        dataSourceCode,
+                                      String        recordID,
+                                      long          flags,
+                                      StringBuffer  response)
+  {
+    return this.delegate.reevaluateRecordWithInfo(dataSourceCode, recordID,
+                                                  flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int reevaluateEntity(long entityID, long flags) {
+    return this.delegate.reevaluateEntity(entityID, flags);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int reevaluateEntityWithInfo(long          entityID,
+                                      long          flags,
+                                      StringBuffer  response)
+  {
+    return this.delegate.reevaluateEntityWithInfo(entityID, flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int searchByAttributes(String jsonData, StringBuffer response) {
+    return this.delegate.searchByAttributes(jsonData, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int searchByAttributes(String        jsonData,
+                                long          flags,
+                                StringBuffer  response)
+  {
+    return this.delegate.searchByAttributes(jsonData, flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int searchByAttributes(String        jsonData,
+                                String        searchProfile,
+                                long          flags,
+                                StringBuffer  response)
+  {
+    return this.delegate.searchByAttributes(jsonData, searchProfile, flags,
+                                            response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getEntityByEntityID(long entityID, StringBuffer response) {
+    return this.delegate.getEntityByEntityID(entityID, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getEntityByEntityID(long          entityID,
+                                 long          flags,
+                                 StringBuffer  response)
+  {
+    return this.delegate.getEntityByEntityID(entityID, flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getEntityByRecordID(String        dataSourceCode,
+                                 String        recordID,
+                                 StringBuffer  response)
+  {
+    return this.delegate.getEntityByRecordID(dataSourceCode, recordID,
+                                             response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getEntityByRecordID(String        dataSourceCode,
+                                 String        recordID,
+                                 long          flags,
+                                 StringBuffer  response)
+  {
+    return this.delegate.getEntityByRecordID(dataSourceCode, recordID, flags,
+                                             response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findInterestingEntitiesByEntityID(long          entityID,
+                                               long          flags,
+                                               StringBuffer  response)
+  {
+    return this.delegate.findInterestingEntitiesByEntityID(entityID, flags,
+                                                           response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findInterestingEntitiesByRecordID(String        dataSourceCode,
+                                               String        recordID,
+                                               long          flags,
+                                               StringBuffer  response)
+  {
+    return this.delegate.findInterestingEntitiesByRecordID(dataSourceCode,
+                                                           recordID, flags,
+                                                           response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findPathByEntityID(long          entityID1,
+                                long          entityID2,
+                                int           maxDegrees,
+                                StringBuffer  response)
+  {
+    return this.delegate.findPathByEntityID(entityID1, entityID2, maxDegrees,
+                                            response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findPathByEntityID(long          entityID1,
+                                long          entityID2,
+                                int           maxDegrees,
+                                long          flags,
+                                StringBuffer  response)
+  {
+    return this.delegate.findPathByEntityID(entityID1, entityID2, maxDegrees,
+                                            flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findPathByRecordID(String        dataSourceCode1,
+                                String        recordID1,
+                                String        dataSourceCode2,
+                                String        recordID2,
+                                int           maxDegrees,
+                                StringBuffer  response)
+  {
+    return this.delegate.findPathByRecordID(dataSourceCode1, recordID1,
+                                            dataSourceCode2, recordID2,
+                                            maxDegrees, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findPathByRecordID(String        dataSourceCode1,
+                                String        recordID1,
+                                String        dataSourceCode2,
+                                String        recordID2,
+                                int           maxDegrees,
+                                long          flags,
+                                StringBuffer  response)
+  {
+    return this.delegate.findPathByRecordID(dataSourceCode1, recordID1,
+                                            dataSourceCode2, recordID2,
+                                            maxDegrees, flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findPathExcludingByEntityID(long          entityID1,
+                                         long          entityID2,
+                                         int           maxDegrees,
+                                         String        excludedEntities,
+                                         StringBuffer  response)
+  {
+    return this.delegate.findPathExcludingByEntityID(entityID1, entityID2,
+                                                     maxDegrees,
+                                                     excludedEntities,
+                                                     response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findPathExcludingByEntityID(long          entityID1,
+                                         long          entityID2,
+                                         int           maxDegrees,
+                                         String        excludedEntities,
+                                         long          flags,
+                                         StringBuffer  response)
+  {
+    return this.delegate.findPathExcludingByEntityID(entityID1, entityID2,
+                                                     maxDegrees,
+                                                     excludedEntities, flags,
+                                                     response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findPathExcludingByRecordID(String        dataSourceCode1,
+                                         String        recordID1,
+                                         String        dataSourceCode2,
+                                         String        recordID2,
+                                         int           maxDegrees,
+                                         String        excludedEntities,
+                                         StringBuffer  response)
+  {
+    return this.delegate.findPathExcludingByRecordID(dataSourceCode1, recordID1,
+                                                     dataSourceCode2, recordID2,
+                                                     maxDegrees,
+                                                     excludedEntities,
+                                                     response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findPathExcludingByRecordID(String        dataSourceCode1,
+                                         String        recordID1,
+                                         String        dataSourceCode2,
+                                         String        recordID2,
+                                         int           maxDegrees,
+                                         String        excludedEntities,
+                                         long          flags,
+                                         StringBuffer  response)
+  {
+    return this.delegate.findPathExcludingByRecordID(dataSourceCode1, recordID1,
+                                                     dataSourceCode2, recordID2,
+                                                     maxDegrees,
+                                                     excludedEntities, flags,
+                                                     response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findPathIncludingSourceByEntityID(long          entityID1,
+                                               long          entityID2,
+                                               int           maxDegrees,
+                                               String        excludedEntities,
+                                               String        requiredSources,
+                                               StringBuffer  response)
+  {
+    return this.delegate.findPathIncludingSourceByEntityID(entityID1, entityID2,
+                                                           maxDegrees,
+                                                           excludedEntities,
+                                                           requiredSources,
+                                                           response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findPathIncludingSourceByEntityID(long          entityID1,
+                                               long          entityID2,
+                                               int           maxDegrees,
+                                               String        excludedEntities,
+                                               String        requiredSources,
+                                               long          flags,
+                                               StringBuffer  response)
+  {
+    return this.delegate.findPathIncludingSourceByEntityID(entityID1, entityID2,
+                                                           maxDegrees,
+                                                           excludedEntities,
+                                                           requiredSources,
+                                                           flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findPathIncludingSourceByRecordID(String        dataSourceCode1,
+                                               String        recordID1,
+                                               String        dataSourceCode2,
+                                               String        recordID2,
+                                               int           maxDegrees,
+                                               String        excludedEntities,
+                                               String        requiredSources,
+                                               StringBuffer  response)
+  {
+    return this.delegate.findPathIncludingSourceByRecordID(dataSourceCode1,
+                                                           recordID1,
+                                                           dataSourceCode2,
+                                                           recordID2,
+                                                           maxDegrees,
+                                                           excludedEntities,
+                                                           requiredSources,
+                                                           response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findPathIncludingSourceByRecordID(String        dataSourceCode1,
+                                               String        recordID1,
+                                               String        dataSourceCode2,
+                                               String        recordID2,
+                                               int           maxDegrees,
+                                               String        excludedEntities,
+                                               String        requiredSources,
+                                               long          flags,
+                                               StringBuffer  response)
+  {
+    return this.delegate.findPathIncludingSourceByRecordID(dataSourceCode1,
+                                                           recordID1,
+                                                           dataSourceCode2,
+                                                           recordID2,
+                                                           maxDegrees,
+                                                           excludedEntities,
+                                                           requiredSources,
+                                                           flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findNetworkByEntityID(String        entityList,
+                                   int           maxDegrees,
+                                   int           buildOutDegrees,
+                                   int           maxEntities,
+                                   StringBuffer  response)
+  {
+    return this.delegate.findNetworkByEntityID(entityList, maxDegrees,
+                                               buildOutDegrees, maxEntities,
+                                               response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findNetworkByEntityID(String        entityList,
+                                   int           maxDegrees,
+                                   int           buildOutDegrees,
+                                   int           maxEntities,
+                                   long          flags,
+                                   StringBuffer  response)
+  {
+    return this.delegate.findNetworkByEntityID(entityList, maxDegrees,
+                                               buildOutDegrees, maxEntities,
+                                               flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findNetworkByRecordID(String        recordList,
+                                   int           maxDegrees,
+                                   int           buildOutDegrees,
+                                   int           maxEntities,
+                                   StringBuffer  response)
+  {
+    return this.delegate.findNetworkByRecordID(recordList, maxDegrees,
+                                               buildOutDegrees, maxEntities,
+                                               response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int findNetworkByRecordID(String        recordList,
+                                   int           maxDegrees,
+                                   int           buildOutDegrees,
+                                   int           maxEntities,
+                                   long          flags,
+                                   StringBuffer  response)
+  {
+    return this.delegate.findNetworkByRecordID(recordList, maxDegrees,
+                                               buildOutDegrees, maxEntities,
+                                               flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int whyRecordInEntity(String        dataSourceCode,
+                               String        recordID,
+                               StringBuffer  response)
+  {
+    return this.delegate.whyRecordInEntity(dataSourceCode, recordID, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int whyRecordInEntity(String        dataSourceCode,
+                               String        recordID,
+                               long          flags,
+                               StringBuffer  response)
+  {
+    return this.delegate.whyRecordInEntity(dataSourceCode, recordID, flags,
+                                           response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int whyEntityByRecordID(String        dataSourceCode,
+                                 String        recordID,
+                                 StringBuffer  response)
+  {
+    return this.delegate.whyEntityByRecordID(dataSourceCode, recordID,
+                                             response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int whyEntityByRecordID(String        dataSourceCode,
+                                 String        recordID,
+                                 long          flags,
+                                 StringBuffer  response)
+  {
+    return this.delegate.whyEntityByRecordID(dataSourceCode, recordID, flags,
+                                             response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int whyEntityByEntityID(long entityID, StringBuffer response) {
+    return this.delegate.whyEntityByEntityID(entityID, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int whyEntityByEntityID(long          entityID,
+                                 long          flags,
+                                 StringBuffer  response)
+  {
+    return this.delegate.whyEntityByEntityID(entityID, flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int whyRecords(String        dataSourceCode1,
+                        String        recordID1,
+                        String        dataSourceCode2,
+                        String        recordID2,
+                        StringBuffer  response)
+  {
+    return this.delegate.whyRecords(dataSourceCode1, recordID1, dataSourceCode2,
+                                    recordID2, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int whyRecords(String        dataSourceCode1,
+                        String        recordID1,
+                        String        dataSourceCode2,
+                        String        recordID2,
+                        long          flags,
+                        StringBuffer  response)
+  {
+    return this.delegate.whyRecords(dataSourceCode1, recordID1, dataSourceCode2,
+                                    recordID2, flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int whyEntities(long          entityID1,
+                         long          entityID2,
+                         StringBuffer  response)
+  {
+    return this.delegate.whyEntities(entityID1, entityID2, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int whyEntities(long          entityID1,
+                         long          entityID2,
+                         long          flags,
+                         StringBuffer  response)
+  {
+    return this.delegate.whyEntities(entityID1, entityID2, flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int howEntityByEntityID(long entityID, StringBuffer response) {
+    return this.delegate.howEntityByEntityID(entityID, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int howEntityByEntityID(long          entityID,
+                                 long          flags,
+                                 StringBuffer  response)
+  {
+    return this.delegate.howEntityByEntityID(entityID, flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getVirtualEntityByRecordID(String        recordList,
+                                        StringBuffer  response)
+  {
+    return this.delegate.getVirtualEntityByRecordID(recordList, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getVirtualEntityByRecordID(String        recordList,
+                                        long          flags,
+                                        StringBuffer  response)
+  {
+    return this.delegate.getVirtualEntityByRecordID(recordList, flags,
+                                                    response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getRecord(String        dataSourceCode,
+                       String        recordID,
+                       StringBuffer  response)
+  {
+    return this.delegate.getRecord(dataSourceCode, recordID, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getRecord(String        dataSourceCode,
+                       String        recordID,
+                       long          flags,
+                       StringBuffer  response)
+  {
+    return this.delegate.getRecord(dataSourceCode, recordID, flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int exportJSONEntityReport(long flags, Result<Long> exportHandle) {
+    return this.delegate.exportJSONEntityReport(flags, exportHandle);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int exportCSVEntityReport(String        csvColumnList,
+                                   long          flags,
+                                   Result<Long>  exportHandle)
+  {
+    return this.delegate.exportCSVEntityReport(csvColumnList, flags,
+                                               exportHandle);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int fetchNext(long exportHandle, StringBuffer response) {
+    return this.delegate.fetchNext(exportHandle, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int closeExport(long exportHandle) {
+    return this.delegate.closeExport(exportHandle);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int processRedoRecord(StringBuffer jsonData) {
+    return this.delegate.processRedoRecord(jsonData);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int processRedoRecordWithInfo(long          flags,
+                                       StringBuffer  jsonData,
+                                       StringBuffer  response)
+  {
+    return this.delegate.processRedoRecordWithInfo(flags, jsonData, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getRedoRecord(StringBuffer jsonData) {
+    return this.delegate.getRedoRecord(jsonData);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long countRedoRecords() {
+    return this.delegate.countRedoRecords();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int process(String record) {
+    return this.delegate.process(record);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int processWithInfo(String record, long flags, StringBuffer response) {
+    return this.delegate.processWithInfo(record, flags, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int process(String record, StringBuffer response) {
+    return this.delegate.process(record, response);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String getLastException() {
+    return this.delegate.getLastException();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getLastExceptionCode() {
+    return this.delegate.getLastExceptionCode();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void clearLastException() {
+    this.delegate.clearLastException();
+  }
+}
@@ -0,0 +1,139 @@
+package com.senzing.g2.engine;
+
+import java.util.Locale;
+
+/**
+ * Classifies the failures reported by {@link G2Fallible#getLastExceptionCode()}
+ * and {@link G2Fallible#getLastException()} by how the caller should react
+ * to them.
+ *
+ * <p>
+ * Classification is by the error code, with the error message consulted for
+ * database and connection failures that are reported under general codes.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   int returnCode = engine.addRecord(dataSource, recordID, jsonData, null);
+ *   if (returnCode != 0) {
+ *     G2ErrorType errorType = G2ErrorType.classify(
+ *         engine.getLastExceptionCode(), engine.getLastException());
+ *     engine.clearLastException();
+ *     if (errorType.isTransient()) {
+ *       ...
+ *     }
+ *   }
+ * </pre>
+ */
+public enum G2ErrorType {
+  /**
+   * The requested record or entity does not exist (e.g.: <code>0033E</code>
+   * or <code>0037E</code>).
+   */
+  NOT_FOUND,
+
+  /**
+   * The input was rejected (e.g.: malformed JSON or an unknown data source)
+   * and will be rejected again if retried unchanged.
+   */
+  BAD_INPUT,
+
+  /**
+   * The failure is transient (e.g.: a deadlock, timeout or lost database
+   * connection) and the operation may succeed if retried.
+   */
+  RETRYABLE,
+
+  /**
+   * The failure is unexpected or leaves the engine unusable (e.g.: out of
+   * memory, license or configuration failures).
+   */
+  FATAL;
+
+  /**
+   * The error codes that indicate something was not found.
+   */
+  private static final int[] NOT_FOUND_CODES = { 33, 37 };
+
+  /**
+   * The error codes that indicate bad input.
+   */
+  private static final int[] BAD_INPUT_CODES = {
+      2, 7, 23, 24, 25, 26, 27, 32, 34, 35, 36, 51, 61, 62, 64, 87, 88,
+      30121
+  };
+
+  /**
+   * The error codes that indicate a transient failure.
+   */
+  private static final int[] RETRYABLE_CODES = { 10, 7209, 7245, 30011 };
+
+  /**
+   * The lower-case message fragments that indicate a transient failure.
+   */
+  private static final String[] RETRYABLE_TEXT = {
+      "deadlock", "timeout", "timed out", "connection lost",
+      "connection reset", "lock wait", "try again", "temporarily"
+  };
+
+  /**
+   * Checks if operations failing with this type may succeed if retried.
+   *
+   * @return <code>true</code> if this is {@link #RETRYABLE}, otherwise
+   *         <code>false</code>.
+   */
+  public boolean isTransient() {
+    return this == RETRYABLE;
+  }
+
+  /**
+   * Classifies the failure described by the specified error code and
+   * message as obtained from {@link G2Fallible#getLastExceptionCode()} and
+   * {@link G2Fallible#getLastException()} on the failing thread.
+   *
+   * @param errorCode The error code.
+   * @param message The error message (may be <code>null</code>).
+   *
+   * @return The {@link G2ErrorType} for the failure.
+   */
+  public static G2ErrorType classify(int errorCode, String message) {
+    if (contains(NOT_FOUND_CODES, errorCode)) return NOT_FOUND;
+    if (contains(BAD_INPUT_CODES, errorCode)) return BAD_INPUT;
+    if (contains(RETRYABLE_CODES, errorCode)) return RETRYABLE;
+    if (message != null) {
+      // some failures are only identifiable by their message text
+      if (message.contains("0033E") || message.contains("0037E")) {
+        return NOT_FOUND;
+      }
+      String text = message.toLowerCase(Locale.ROOT);
+      for (String fragment : RETRYABLE_TEXT) {
+        if (text.contains(fragment)) return RETRYABLE;
+      }
+    }
+    return FATAL;
+  }
+
+  /**
+   * Classifies the last failure on the calling thread for the specified
+   * {@link G2Fallible} <b>without</b> clearing it.
+   *
+   * @param fallible The {@link G2Fallible} whose last failure should be
+   *                 classified.
+   *
+   * @return The {@link G2ErrorType} for the failure.
+   */
+  public static G2ErrorType classifyLast(G2Fallible fallible) {
+    return classify(fallible.getLastExceptionCode(),
+                    fallible.getLastException());
+  }
+
+  /**
+   * Internal method to check if an array contains a value.
+   */
+  private static boolean contains(int[] codes, int code) {
+    for (int candidate : codes) {
+      if (candidate == code) return true;
+    }
+    return false;
+  }
+}
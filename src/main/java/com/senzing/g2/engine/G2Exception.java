@@ -0,0 +1,99 @@
+package com.senzing.g2.engine;
+
+/**
+ * The checked exception thrown by the typed wrappers ({@link
+ * G2CheckedEngine}, {@link G2CheckedConfig}, {@link G2CheckedConfigMgr},
+ * {@link G2CheckedDiagnostic} and {@link G2CheckedProduct}) when a native
+ * call fails.  Each failure is reported as the subclass for its {@link
+ * G2ErrorType} so callers can catch only the failures they handle:
+ * {@link G2NotFoundException}, {@link G2BadInputException}, {@link
+ * G2RetryableException} or {@link G2FatalException}.
+ *
+ * <p>
+ * These exceptions do not capture a stack trace and do not support
+ * suppressed exceptions, so expected high-rate failures (e.g.: not-found
+ * lookups) cost little more than the error message already produced by the
+ * native library.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   if (engine.addRecord(dataSource, recordID, jsonData, null) != 0) {
+ *     throw G2Exception.capture(engine);
+ *   }
+ * </pre>
+ */
+public abstract class G2Exception extends Exception {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The error code from {@link G2Fallible#getLastExceptionCode()}.
+   */
+  private final int errorCode;
+
+  /**
+   * Constructs with the specified error code and message.
+   *
+   * @param errorCode The error code.
+   * @param message The error message.
+   */
+  protected G2Exception(int errorCode, String message) {
+    super(message, null, false, false);
+    this.errorCode = errorCode;
+  }
+
+  /**
+   * Returns the error code from {@link G2Fallible#getLastExceptionCode()}.
+   *
+   * @return The error code.
+   */
+  public int getErrorCode() {
+    return this.errorCode;
+  }
+
+  /**
+   * Returns the {@link G2ErrorType} of this failure.
+   *
+   * @return The {@link G2ErrorType} of this failure.
+   */
+  public abstract G2ErrorType getErrorType();
+
+  /**
+   * Creates the {@link G2Exception} subclass for the specified error code
+   * and message.
+   *
+   * @param errorCode The error code.
+   * @param message The error message.
+   *
+   * @return The created {@link G2Exception}.
+   */
+  public static G2Exception create(int errorCode, String message) {
+    switch (G2ErrorType.classify(errorCode, message)) {
+      case NOT_FOUND:
+        return new G2NotFoundException(errorCode, message);
+      case BAD_INPUT:
+        return new G2BadInputException(errorCode, message);
+      case RETRYABLE:
+        return new G2RetryableException(errorCode, message);
+      default:
+        return new G2FatalException(errorCode, message);
+    }
+  }
+
+  /**
+   * Reads the last failure of the specified {@link G2Fallible} on the
+   * calling thread, clears it, and returns the corresponding {@link
+   * G2Exception}.  Call this on the same thread immediately after the failed
+   * call.
+   *
+   * @param fallible The {@link G2Fallible} on which the call failed.
+   *
+   * @return The {@link G2Exception} describing the failure.
+   */
+  public static G2Exception capture(G2Fallible fallible) {
+    int     errorCode = fallible.getLastExceptionCode();
+    String  message   = fallible.getLastException();
+    fallible.clearLastException();
+    return create(errorCode, message);
+  }
+}
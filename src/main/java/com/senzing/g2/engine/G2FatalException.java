@@ -0,0 +1,26 @@
+package com.senzing.g2.engine;
+
+/**
+ * Thrown when an unexpected failure occurs or the engine is left unusable.
+ */
+public class G2FatalException extends G2Exception {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructs with the specified error code and message.
+   *
+   * @param errorCode The error code.
+   * @param message The error message.
+   */
+  public G2FatalException(int errorCode, String message) {
+    super(errorCode, message);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public G2ErrorType getErrorType() {
+    return G2ErrorType.FATAL;
+  }
+}
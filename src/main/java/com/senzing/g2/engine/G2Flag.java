@@ -0,0 +1,275 @@
+package com.senzing.g2.engine;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Enumerates the individual bitwise flags defined as <code>long</code>
+ * constants on {@link G2Engine}, with each constant mapping to exactly one
+ * bit.  Combinations of these (including the recommended defaults) can be
+ * built with {@link G2Flags}.
+ */
+public enum G2Flag {
+  /**
+   * Includes the "resolved" relationships or match level for exports and
+   * searches.
+   * See {@link G2Engine#G2_EXPORT_INCLUDE_RESOLVED}.
+   */
+  EXPORT_INCLUDE_RESOLVED(G2Engine.G2_EXPORT_INCLUDE_RESOLVED),
+
+  /**
+   * Includes the "possibly same" relationships or match level for exports and
+   * searches.
+   * See {@link G2Engine#G2_EXPORT_INCLUDE_POSSIBLY_SAME}.
+   */
+  EXPORT_INCLUDE_POSSIBLY_SAME(G2Engine.G2_EXPORT_INCLUDE_POSSIBLY_SAME),
+
+  /**
+   * Includes the "possibly related" relationships or match level for exports
+   * and searches.
+   * See {@link G2Engine#G2_EXPORT_INCLUDE_POSSIBLY_RELATED}.
+   */
+  EXPORT_INCLUDE_POSSIBLY_RELATED(G2Engine.G2_EXPORT_INCLUDE_POSSIBLY_RELATED),
+
+  /**
+   * Includes the "name only" relationships or match level for exports and
+   * searches.
+   * See {@link G2Engine#G2_EXPORT_INCLUDE_NAME_ONLY}.
+   */
+  EXPORT_INCLUDE_NAME_ONLY(G2Engine.G2_EXPORT_INCLUDE_NAME_ONLY),
+
+  /**
+   * Includes the "disclosed" relationships for exports.
+   * See {@link G2Engine#G2_EXPORT_INCLUDE_DISCLOSED}.
+   */
+  EXPORT_INCLUDE_DISCLOSED(G2Engine.G2_EXPORT_INCLUDE_DISCLOSED),
+
+  /**
+   * Includes singleton entities for exports.
+   * See {@link G2Engine#G2_EXPORT_INCLUDE_SINGLETONS}.
+   */
+  EXPORT_INCLUDE_SINGLETONS(G2Engine.G2_EXPORT_INCLUDE_SINGLETONS),
+
+  /**
+   * Includes possibly-same relations for entities.
+   * See {@link G2Engine#G2_ENTITY_INCLUDE_POSSIBLY_SAME_RELATIONS}.
+   */
+  ENTITY_INCLUDE_POSSIBLY_SAME_RELATIONS(G2Engine.G2_ENTITY_INCLUDE_POSSIBLY_SAME_RELATIONS),
+
+  /**
+   * Includes possibly-related relations for entities.
+   * See {@link G2Engine#G2_ENTITY_INCLUDE_POSSIBLY_RELATED_RELATIONS}.
+   */
+  ENTITY_INCLUDE_POSSIBLY_RELATED_RELATIONS(G2Engine.G2_ENTITY_INCLUDE_POSSIBLY_RELATED_RELATIONS),
+
+  /**
+   * Includes name-only relations for entities.
+   * See {@link G2Engine#G2_ENTITY_INCLUDE_NAME_ONLY_RELATIONS}.
+   */
+  ENTITY_INCLUDE_NAME_ONLY_RELATIONS(G2Engine.G2_ENTITY_INCLUDE_NAME_ONLY_RELATIONS),
+
+  /**
+   * Includes disclosed relations for entities.
+   * See {@link G2Engine#G2_ENTITY_INCLUDE_DISCLOSED_RELATIONS}.
+   */
+  ENTITY_INCLUDE_DISCLOSED_RELATIONS(G2Engine.G2_ENTITY_INCLUDE_DISCLOSED_RELATIONS),
+
+  /**
+   * Includes all features for entities.
+   * See {@link G2Engine#G2_ENTITY_INCLUDE_ALL_FEATURES}.
+   */
+  ENTITY_INCLUDE_ALL_FEATURES(G2Engine.G2_ENTITY_INCLUDE_ALL_FEATURES),
+
+  /**
+   * Includes representative features for entities.
+   * See {@link G2Engine#G2_ENTITY_INCLUDE_REPRESENTATIVE_FEATURES}.
+   */
+  ENTITY_INCLUDE_REPRESENTATIVE_FEATURES(G2Engine.G2_ENTITY_INCLUDE_REPRESENTATIVE_FEATURES),
+
+  /**
+   * Includes the name of the entity.
+   * See {@link G2Engine#G2_ENTITY_INCLUDE_ENTITY_NAME}.
+   */
+  ENTITY_INCLUDE_ENTITY_NAME(G2Engine.G2_ENTITY_INCLUDE_ENTITY_NAME),
+
+  /**
+   * Includes the record summary of the entity.
+   * See {@link G2Engine#G2_ENTITY_INCLUDE_RECORD_SUMMARY}.
+   */
+  ENTITY_INCLUDE_RECORD_SUMMARY(G2Engine.G2_ENTITY_INCLUDE_RECORD_SUMMARY),
+
+  /**
+   * Includes the basic record data for the entity.
+   * See {@link G2Engine#G2_ENTITY_INCLUDE_RECORD_DATA}.
+   */
+  ENTITY_INCLUDE_RECORD_DATA(G2Engine.G2_ENTITY_INCLUDE_RECORD_DATA),
+
+  /**
+   * Includes the record matching info for the entity.
+   * See {@link G2Engine#G2_ENTITY_INCLUDE_RECORD_MATCHING_INFO}.
+   */
+  ENTITY_INCLUDE_RECORD_MATCHING_INFO(G2Engine.G2_ENTITY_INCLUDE_RECORD_MATCHING_INFO),
+
+  /**
+   * Includes the record JSON data for the entity.
+   * See {@link G2Engine#G2_ENTITY_INCLUDE_RECORD_JSON_DATA}.
+   */
+  ENTITY_INCLUDE_RECORD_JSON_DATA(G2Engine.G2_ENTITY_INCLUDE_RECORD_JSON_DATA),
+
+  /**
+   * Includes the record formatted data for the entity.
+   * See {@link G2Engine#G2_ENTITY_INCLUDE_RECORD_FORMATTED_DATA}.
+   */
+  ENTITY_INCLUDE_RECORD_FORMATTED_DATA(G2Engine.G2_ENTITY_INCLUDE_RECORD_FORMATTED_DATA),
+
+  /**
+   * Includes the feature identifiers for the records.
+   * See {@link G2Engine#G2_ENTITY_INCLUDE_RECORD_FEATURE_IDS}.
+   */
+  ENTITY_INCLUDE_RECORD_FEATURE_IDS(G2Engine.G2_ENTITY_INCLUDE_RECORD_FEATURE_IDS),
+
+  /**
+   * Includes the name of the related entities.
+   * See {@link G2Engine#G2_ENTITY_INCLUDE_RELATED_ENTITY_NAME}.
+   */
+  ENTITY_INCLUDE_RELATED_ENTITY_NAME(G2Engine.G2_ENTITY_INCLUDE_RELATED_ENTITY_NAME),
+
+  /**
+   * Includes the record matching info of the related entities.
+   * See {@link G2Engine#G2_ENTITY_INCLUDE_RELATED_MATCHING_INFO}.
+   */
+  ENTITY_INCLUDE_RELATED_MATCHING_INFO(G2Engine.G2_ENTITY_INCLUDE_RELATED_MATCHING_INFO),
+
+  /**
+   * Includes the record summary of the related entities.
+   * See {@link G2Engine#G2_ENTITY_INCLUDE_RELATED_RECORD_SUMMARY}.
+   */
+  ENTITY_INCLUDE_RELATED_RECORD_SUMMARY(G2Engine.G2_ENTITY_INCLUDE_RELATED_RECORD_SUMMARY),
+
+  /**
+   * Includes the basic record data of the related entities.
+   * See {@link G2Engine#G2_ENTITY_INCLUDE_RELATED_RECORD_DATA}.
+   */
+  ENTITY_INCLUDE_RELATED_RECORD_DATA(G2Engine.G2_ENTITY_INCLUDE_RELATED_RECORD_DATA),
+
+  /**
+   * Includes internal features in entity output.
+   * See {@link G2Engine#G2_ENTITY_OPTION_INCLUDE_INTERNAL_FEATURES}.
+   */
+  ENTITY_OPTION_INCLUDE_INTERNAL_FEATURES(G2Engine.G2_ENTITY_OPTION_INCLUDE_INTERNAL_FEATURES),
+
+  /**
+   * Includes feature statistics in entity output.
+   * See {@link G2Engine#G2_ENTITY_OPTION_INCLUDE_FEATURE_STATS}.
+   */
+  ENTITY_OPTION_INCLUDE_FEATURE_STATS(G2Engine.G2_ENTITY_OPTION_INCLUDE_FEATURE_STATS),
+
+  /**
+   * Indicates that excluded entities are still allowed on paths, but not
+   * preferred.
+   * See {@link G2Engine#G2_FIND_PATH_PREFER_EXCLUDE}.
+   */
+  FIND_PATH_PREFER_EXCLUDE(G2Engine.G2_FIND_PATH_PREFER_EXCLUDE),
+
+  /**
+   * Includes feature scores.
+   * See {@link G2Engine#G2_INCLUDE_FEATURE_SCORES}.
+   */
+  INCLUDE_FEATURE_SCORES(G2Engine.G2_INCLUDE_FEATURE_SCORES),
+
+  /**
+   * Includes statistics from search results.
+   * See {@link G2Engine#G2_SEARCH_INCLUDE_STATS}.
+   */
+  SEARCH_INCLUDE_STATS(G2Engine.G2_SEARCH_INCLUDE_STATS);
+
+  /**
+   * The bitwise mask for the flag.
+   */
+  private final long mask;
+
+  /**
+   * Constructs with the bitwise mask for the flag.
+   *
+   * @param mask The bitwise mask for the flag.
+   */
+  G2Flag(long mask) {
+    this.mask = mask;
+  }
+
+  /**
+   * Returns the bitwise mask for this flag.
+   *
+   * @return The bitwise mask for this flag.
+   */
+  public long getMask() {
+    return this.mask;
+  }
+
+  /**
+   * Checks if this flag is set in the specified bitwise flags.
+   *
+   * @param flags The bitwise flags to check.
+   *
+   * @return <code>true</code> if this flag is set in the specified bitwise
+   *         flags, otherwise <code>false</code>.
+   */
+  public boolean isSet(long flags) {
+    return (flags & this.mask) != 0L;
+  }
+
+  /**
+   * Converts the specified {@link Collection} of {@link G2Flag} values to
+   * their bitwise <code>long</code> representation.
+   *
+   * @param flags The {@link Collection} of {@link G2Flag} values.
+   *
+   * @return The bitwise <code>long</code> representation of the flags.
+   */
+  public static long toLong(Collection<G2Flag> flags) {
+    long result = 0L;
+    for (G2Flag flag : flags) {
+      result |= flag.mask;
+    }
+    return result;
+  }
+
+  /**
+   * Converts the specified bitwise <code>long</code> flags to an {@link
+   * EnumSet} of {@link G2Flag} values.  Any bits that do not correspond to a
+   * known {@link G2Flag} are ignored.
+   *
+   * @param flags The bitwise <code>long</code> flags.
+   *
+   * @return The {@link EnumSet} of {@link G2Flag} values.
+   */
+  public static EnumSet<G2Flag> toFlags(long flags) {
+    EnumSet<G2Flag> result = EnumSet.noneOf(G2Flag.class);
+    for (G2Flag flag : values()) {
+      if ((flags & flag.mask) != 0L) result.add(flag);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the names of the flags that are set in the specified bitwise
+   * flags as a pipe-delimited {@link String} (e.g.:
+   * <code>"ENTITY_INCLUDE_ENTITY_NAME | ENTITY_INCLUDE_RECORD_DATA"</code>).
+   *
+   * @param flags The bitwise <code>long</code> flags.
+   *
+   * @return The pipe-delimited names of the flags.
+   */
+  public static String toString(long flags) {
+    Set<G2Flag> set = toFlags(flags);
+    if (set.isEmpty()) return "0";
+    StringBuilder sb = new StringBuilder();
+    String prefix = "";
+    for (G2Flag flag : set) {
+      sb.append(prefix).append(flag.name());
+      prefix = " | ";
+    }
+    return sb.toString();
+  }
+}
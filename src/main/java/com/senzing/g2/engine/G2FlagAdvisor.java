@@ -0,0 +1,818 @@
+package com.senzing.g2.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.senzing.g2.engine.G2Engine.*;
+
+/**
+ * Records which sections of {@link G2Engine} response documents are actually
+ * read by callers for each call site and flag combination, and recommends the
+ * minimal flags that would still produce those sections along with the
+ * estimated bytes and time that the leaner flags would save.
+ *
+ * <p>
+ * Recording is opt-in.  Wrap the {@link G2Engine} with {@link
+ * #wrap(G2Engine)} and read the responses via {@link
+ * G2Response#of(CharSequence)}.  When the {@link G2Engine} is not wrapped
+ * nothing is recorded and {@link G2Response} has no recording overhead.
+ * <pre>
+ *   G2FlagAdvisor advisor = new G2FlagAdvisor();
+ *   G2Engine engine = advisor.wrap(g2engine);
+ *   ...
+ *   engine.getEntityByEntityID(entityID, flags, response);
+ *   String name = G2Response.of(response).getSection(
+ *       "RESOLVED_ENTITY.ENTITY_NAME");
+ *   ...
+ *   System.out.println(advisor.report());
+ * </pre>
+ *
+ * <p>
+ * Sections are attributed to flags by name (see {@link G2Response}), so the
+ * entities of search and network responses count towards the same
+ * <code>"RESOLVED_ENTITY.*"</code> and <code>"RELATED_ENTITIES"</code>
+ * sections as a single entity response.  Other sections (e.g.: the paths of
+ * a path or network response) are reported but never drive a
+ * recommendation.
+ *
+ * <p>
+ * The call site for each call is the first stack frame outside of this
+ * package, which is captured only while recording.  This class is
+ * thread-safe.
+ */
+public class G2FlagAdvisor {
+  /**
+   * The {@link Map} of section names to the flags that cause the section to
+   * be included in a response.
+   */
+  private static final Map<String, Long> SECTION_FLAGS;
+
+  static {
+    Map<String, Long> map = new LinkedHashMap<>();
+    String prefix = G2Response.RESOLVED_ENTITY_PREFIX;
+    map.put(prefix + "FEATURES",
+            G2_ENTITY_INCLUDE_ALL_FEATURES
+            | G2_ENTITY_INCLUDE_REPRESENTATIVE_FEATURES
+            | G2_ENTITY_OPTION_INCLUDE_INTERNAL_FEATURES
+            | G2_ENTITY_OPTION_INCLUDE_FEATURE_STATS);
+    map.put(prefix + "ENTITY_NAME", G2_ENTITY_INCLUDE_ENTITY_NAME);
+    map.put(prefix + "RECORD_SUMMARY", G2_ENTITY_INCLUDE_RECORD_SUMMARY);
+    map.put(prefix + "RECORDS",
+            G2_ENTITY_INCLUDE_RECORD_DATA
+            | G2_ENTITY_INCLUDE_RECORD_MATCHING_INFO
+            | G2_ENTITY_INCLUDE_RECORD_JSON_DATA
+            | G2_ENTITY_INCLUDE_RECORD_FORMATTED_DATA
+            | G2_ENTITY_INCLUDE_RECORD_FEATURE_IDS);
+    map.put("RELATED_ENTITIES",
+            G2_ENTITY_INCLUDE_ALL_RELATIONS
+            | G2_ENTITY_INCLUDE_RELATED_ENTITY_NAME
+            | G2_ENTITY_INCLUDE_RELATED_MATCHING_INFO
+            | G2_ENTITY_INCLUDE_RELATED_RECORD_SUMMARY
+            | G2_ENTITY_INCLUDE_RELATED_RECORD_DATA);
+    map.put("SEARCH_STATISTICS", G2_SEARCH_INCLUDE_STATS);
+    SECTION_FLAGS = Collections.unmodifiableMap(map);
+  }
+
+  /**
+   * The name of this package used for skipping SDK frames when determining
+   * the call site.
+   */
+  private static final String PACKAGE_PREFIX
+      = G2FlagAdvisor.class.getPackageName() + ".";
+
+  /**
+   * The {@link StackWalker} for determining call sites.
+   */
+  private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+  /**
+   * The pending {@link G2Response} for the last recorded call on each thread.
+   */
+  private static final ThreadLocal<Pending> PENDING = new ThreadLocal<>();
+
+  /**
+   * Associates a recorded response with the buffer it was produced from.
+   */
+  private static class Pending {
+    private final CharSequence buffer;
+    private final G2Response response;
+
+    private Pending(CharSequence buffer, G2Response response) {
+      this.buffer   = buffer;
+      this.response = response;
+    }
+  }
+
+  /**
+   * Identifies the call site, operation and flags being tracked.
+   */
+  private static class Key {
+    private final String callSite;
+    private final String operation;
+    private final long flags;
+
+    private Key(String callSite, String operation, long flags) {
+      this.callSite   = callSite;
+      this.operation  = operation;
+      this.flags      = flags;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Key)) return false;
+      Key key = (Key) obj;
+      return this.flags == key.flags && this.callSite.equals(key.callSite)
+          && this.operation.equals(key.operation);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.callSite, this.operation, this.flags);
+    }
+  }
+
+  /**
+   * Accumulates the statistics for a {@link Key}.
+   */
+  private static class Stats {
+    private long calls = 0L;
+    private long totalNanos = 0L;
+    private long totalBytes = 0L;
+    private final Map<String, Long> sectionBytes = new LinkedHashMap<>();
+    private final Map<String, Long> sectionReads = new LinkedHashMap<>();
+
+    private synchronized void record(long nanos, G2Response response) {
+      this.calls++;
+      this.totalNanos += nanos;
+      this.totalBytes += response.length();
+      for (String name : response.getSectionNames()) {
+        this.sectionBytes.merge(
+            name, (long) response.getSectionSize(name), Long::sum);
+      }
+    }
+
+    private synchronized void read(String name) {
+      this.sectionReads.merge(name, 1L, Long::sum);
+    }
+  }
+
+  /**
+   * Records the sections read from a single response.
+   */
+  static class Usage {
+    private final Stats stats;
+    private final Set<String> read = new HashSet<>();
+
+    private Usage(Stats stats) {
+      this.stats = stats;
+    }
+
+    void read(String name) {
+      if (this.read.add(name)) this.stats.read(name);
+    }
+  }
+
+  /**
+   * Describes the recommendation for a single call site, operation and
+   * flag combination.
+   */
+  public static class Recommendation {
+    private final String callSite;
+    private final String operation;
+    private final long currentFlags;
+    private final long recommendedFlags;
+    private final long callCount;
+    private final long averageBytes;
+    private final long averageNanos;
+    private final long bytesSavedPerCall;
+    private final long nanosSavedPerCall;
+    private final Set<String> unreadSections;
+
+    private Recommendation(Key key, Stats stats) {
+      synchronized (stats) {
+        long removable  = 0L;
+        long required   = 0L;
+        long unreadSize = 0L;
+        Set<String> unread = new HashSet<>();
+        for (Map.Entry<String, Long> entry : stats.sectionBytes.entrySet()) {
+          String name = entry.getKey();
+          Long flags = SECTION_FLAGS.get(name);
+          if (stats.sectionReads.containsKey(name)) {
+            if (flags != null) required |= flags;
+          } else if (flags != null) {
+            removable   |= flags;
+            unreadSize  += entry.getValue();
+            unread.add(name);
+          }
+        }
+        removable &= ~required;
+
+        this.callSite         = key.callSite;
+        this.operation        = key.operation;
+        this.currentFlags     = key.flags;
+        this.recommendedFlags = key.flags & ~removable;
+        this.callCount        = stats.calls;
+        this.averageBytes     = stats.totalBytes / stats.calls;
+        this.averageNanos     = stats.totalNanos / stats.calls;
+        this.unreadSections   = Collections.unmodifiableSet(unread);
+        if (this.recommendedFlags == this.currentFlags) {
+          this.bytesSavedPerCall = 0L;
+          this.nanosSavedPerCall = 0L;
+        } else {
+          this.bytesSavedPerCall = unreadSize / stats.calls;
+          this.nanosSavedPerCall = (stats.totalBytes == 0L) ? 0L
+              : (long) (this.averageNanos
+                        * ((double) unreadSize / stats.totalBytes));
+        }
+      }
+    }
+
+    /**
+     * Returns the call site (the first stack frame outside of the SDK).
+     *
+     * @return The call site.
+     */
+    public String getCallSite() {
+      return this.callSite;
+    }
+
+    /**
+     * Returns the name of the {@link G2Engine} function that was called.
+     *
+     * @return The name of the {@link G2Engine} function that was called.
+     */
+    public String getOperation() {
+      return this.operation;
+    }
+
+    /**
+     * Returns the flags that the call site currently uses.
+     *
+     * @return The flags that the call site currently uses.
+     */
+    public long getCurrentFlags() {
+      return this.currentFlags;
+    }
+
+    /**
+     * Returns the minimal flags that still produce every section that was
+     * read by the call site.
+     *
+     * @return The recommended flags.
+     */
+    public long getRecommendedFlags() {
+      return this.recommendedFlags;
+    }
+
+    /**
+     * Returns the number of recorded calls.
+     *
+     * @return The number of recorded calls.
+     */
+    public long getCallCount() {
+      return this.callCount;
+    }
+
+    /**
+     * Returns the average response size in characters.
+     *
+     * @return The average response size in characters.
+     */
+    public long getAverageBytes() {
+      return this.averageBytes;
+    }
+
+    /**
+     * Returns the average call duration in nanoseconds.
+     *
+     * @return The average call duration in nanoseconds.
+     */
+    public long getAverageNanos() {
+      return this.averageNanos;
+    }
+
+    /**
+     * Returns the estimated number of response characters that the
+     * recommended flags would save per call.
+     *
+     * @return The estimated number of characters saved per call.
+     */
+    public long getBytesSavedPerCall() {
+      return this.bytesSavedPerCall;
+    }
+
+    /**
+     * Returns the estimated nanoseconds that the recommended flags would
+     * save per call.  This assumes the call duration is proportional to the
+     * size of the response.
+     *
+     * @return The estimated nanoseconds saved per call.
+     */
+    public long getNanosSavedPerCall() {
+      return this.nanosSavedPerCall;
+    }
+
+    /**
+     * Returns the unmodifiable {@link Set} of response sections that were
+     * present but never read.
+     *
+     * @return The unmodifiable {@link Set} of unread sections.
+     */
+    public Set<String> getUnreadSections() {
+      return this.unreadSections;
+    }
+
+    @Override
+    public String toString() {
+      return this.operation + " @ " + this.callSite + System.lineSeparator()
+          + "    calls: " + this.callCount
+          + ", average size: " + this.averageBytes
+          + ", average time: " + (this.averageNanos / 1000L) + "us"
+          + System.lineSeparator()
+          + "    current flags:     " + G2Flag.toString(this.currentFlags)
+          + System.lineSeparator()
+          + "    recommended flags: " + G2Flag.toString(this.recommendedFlags)
+          + System.lineSeparator()
+          + "    unread sections: " + this.unreadSections
+          + ", estimated savings per call: " + this.bytesSavedPerCall
+          + " characters, " + (this.nanosSavedPerCall / 1000L) + "us";
+    }
+  }
+
+  /**
+   * The {@link Map} of {@link Key} to {@link Stats}.
+   */
+  private final Map<Key, Stats> statsMap = new ConcurrentHashMap<>();
+
+  /**
+   * Default constructor.
+   */
+  public G2FlagAdvisor() {
+    // do nothing
+  }
+
+  /**
+   * Returns a {@link G2Engine} that forwards to the specified {@link
+   * G2Engine} and records every successful call that takes flags and
+   * produces a response document.  Of the overloads that use the default
+   * flags, only those of {@link G2Engine#searchByAttributes(String,
+   * StringBuffer)}, {@link G2Engine#getEntityByEntityID(long, StringBuffer)}
+   * and {@link G2Engine#getEntityByRecordID(String, String, StringBuffer)}
+   * are recorded.
+   *
+   * @param engine The {@link G2Engine} to wrap.
+   *
+   * @return The recording {@link G2Engine}.
+   */
+  public G2Engine wrap(G2Engine engine) {
+    return new RecordingEngine(engine);
+  }
+
+  /**
+   * Records a call explicitly, for callers that do not use {@link
+   * #wrap(G2Engine)}, and returns the {@link G2Response} through which the
+   * response should be read.
+   *
+   * @param operation The name of the {@link G2Engine} function called.
+   * @param flags The flags that were used for the call.
+   * @param response The JSON response document.
+   * @param elapsedNanos The duration of the call in nanoseconds.
+   *
+   * @return The {@link G2Response} through which to read the response.
+   */
+  public G2Response track(String        operation,
+                          long          flags,
+                          CharSequence  response,
+                          long          elapsedNanos)
+  {
+    Key key = new Key(callSite(), operation, flags);
+    Stats stats = this.statsMap.computeIfAbsent(key, k -> new Stats());
+    G2Response result = new G2Response(response);
+    stats.record(elapsedNanos, result);
+    result.setUsage(new Usage(stats));
+    return result;
+  }
+
+  /**
+   * Returns the recommendations for every recorded call site, operation and
+   * flag combination, sorted by the descending total estimated savings.
+   *
+   * @return The {@link List} of {@link Recommendation} instances.
+   */
+  public List<Recommendation> getRecommendations() {
+    List<Recommendation> result = new ArrayList<>(this.statsMap.size());
+    this.statsMap.forEach((key, stats) -> {
+      result.add(new Recommendation(key, stats));
+    });
+    result.sort((r1, r2) -> Long.compare(
+        r2.getBytesSavedPerCall() * r2.getCallCount(),
+        r1.getBytesSavedPerCall() * r1.getCallCount()));
+    return result;
+  }
+
+  /**
+   * Produces a human-readable report of the recommendations that would
+   * change the flags.
+   *
+   * @return The human-readable report.
+   */
+  public String report() {
+    StringBuilder sb = new StringBuilder();
+    for (Recommendation recommendation : this.getRecommendations()) {
+      if (recommendation.getRecommendedFlags()
+          == recommendation.getCurrentFlags())
+      {
+        continue;
+      }
+      sb.append(recommendation).append(System.lineSeparator());
+    }
+    if (sb.length() == 0) sb.append("No flag reductions recommended.");
+    return sb.toString();
+  }
+
+  /**
+   * Clears all recorded statistics.
+   */
+  public void reset() {
+    this.statsMap.clear();
+  }
+
+  /**
+   * Removes and returns the pending {@link G2Response} for the calling thread
+   * if it was produced from the specified buffer.
+   *
+   * @param buffer The buffer holding the response.
+   *
+   * @return The pending {@link G2Response} or <code>null</code>.
+   */
+  static G2Response takePending(CharSequence buffer) {
+    Pending pending = PENDING.get();
+    if (pending == null || pending.buffer != buffer) return null;
+    PENDING.remove();
+    return (pending.response.length() == buffer.length())
+        ? pending.response : null;
+  }
+
+  /**
+   * Internal method to determine the call site of the current call.
+   */
+  private static String callSite() {
+    Optional<StackWalker.StackFrame> frame = STACK_WALKER.walk(
+        frames -> frames.filter(f -> {
+          String className = f.getClassName();
+          return !className.startsWith(PACKAGE_PREFIX)
+              || className.indexOf('.', PACKAGE_PREFIX.length()) >= 0;
+        }).findFirst());
+    return frame.map(f -> f.toStackTraceElement().toString())
+                .orElse("[unknown]");
+  }
+
+  /**
+   * The recording {@link G2Engine} returned by {@link #wrap(G2Engine)}.
+   */
+  private class RecordingEngine extends G2EngineDecorator {
+    private RecordingEngine(G2Engine engine) {
+      super(engine);
+    }
+
+    private int record(String       operation,
+                       long         flags,
+                       StringBuffer response,
+                       long         start,
+                       int          returnCode)
+    {
+      if (returnCode != 0) return returnCode;
+      long elapsed = System.nanoTime() - start;
+      try {
+        G2Response result = track(operation, flags, response, elapsed);
+        PENDING.set(new Pending(response, result));
+      } catch (IllegalArgumentException ignore) {
+        // not a JSON object response, so nothing to record
+      }
+      return returnCode;
+    }
+
+    @Override
+    public int searchByAttributes(String jsonData, StringBuffer response) {
+      return this.searchByAttributes(
+          jsonData, G2_SEARCH_BY_ATTRIBUTES_DEFAULT_FLAGS, response);
+    }
+
+    @Override
+    public int searchByAttributes(String        jsonData,
+                                  long          flags,
+                                  StringBuffer  response)
+    {
+      long start = System.nanoTime();
+      return this.record("searchByAttributes", flags, response, start,
+                         super.searchByAttributes(jsonData, flags, response));
+    }
+
+    @Override
+    public int searchByAttributes(String        jsonData,
+                                  String        searchProfile,
+                                  long          flags,
+                                  StringBuffer  response)
+    {
+      long start = System.nanoTime();
+      return this.record("searchByAttributes", flags, response, start,
+                         super.searchByAttributes(
+                             jsonData, searchProfile, flags, response));
+    }
+
+    @Override
+    public int getEntityByEntityID(long entityID, StringBuffer response) {
+      return this.getEntityByEntityID(
+          entityID, G2_ENTITY_DEFAULT_FLAGS, response);
+    }
+
+    @Override
+    public int getEntityByEntityID(long         entityID,
+                                   long         flags,
+                                   StringBuffer response)
+    {
+      long start = System.nanoTime();
+      return this.record("getEntityByEntityID", flags, response, start,
+                         super.getEntityByEntityID(entityID, flags, response));
+    }
+
+    @Override
+    public int getEntityByRecordID(String       dataSourceCode,
+                                   String       recordID,
+                                   StringBuffer response)
+    {
+      return this.getEntityByRecordID(
+          dataSourceCode, recordID, G2_ENTITY_DEFAULT_FLAGS, response);
+    }
+
+    @Override
+    public int getEntityByRecordID(String       dataSourceCode,
+                                   String       recordID,
+                                   long         flags,
+                                   StringBuffer response)
+    {
+      long start = System.nanoTime();
+      return this.record("getEntityByRecordID", flags, response, start,
+                         super.getEntityByRecordID(
+                             dataSourceCode, recordID, flags, response));
+    }
+
+    @Override
+    public int findPathByEntityID(long          entityID1,
+                                  long          entityID2,
+                                  int           maxDegrees,
+                                  long          flags,
+                                  StringBuffer  response)
+    {
+      long start = System.nanoTime();
+      return this.record("findPathByEntityID", flags, response, start,
+                         super.findPathByEntityID(
+                             entityID1, entityID2, maxDegrees, flags,
+                             response));
+    }
+
+    @Override
+    public int findPathByRecordID(String       dataSourceCode1,
+                                  String       recordID1,
+                                  String       dataSourceCode2,
+                                  String       recordID2,
+                                  int          maxDegrees,
+                                  long         flags,
+                                  StringBuffer response)
+    {
+      long start = System.nanoTime();
+      return this.record("findPathByRecordID", flags, response, start,
+                         super.findPathByRecordID(
+                             dataSourceCode1, recordID1, dataSourceCode2,
+                             recordID2, maxDegrees, flags, response));
+    }
+
+    @Override
+    public int findPathExcludingByEntityID(long          entityID1,
+                                           long          entityID2,
+                                           int           maxDegrees,
+                                           String        excludedEntities,
+                                           long          flags,
+                                           StringBuffer  response)
+    {
+      long start = System.nanoTime();
+      return this.record("findPathExcludingByEntityID", flags, response,
+                         start, super.findPathExcludingByEntityID(
+                             entityID1, entityID2, maxDegrees,
+                             excludedEntities, flags, response));
+    }
+
+    @Override
+    public int findPathExcludingByRecordID(String        dataSourceCode1,
+                                           String        recordID1,
+                                           String        dataSourceCode2,
+                                           String        recordID2,
+                                           int           maxDegrees,
+                                           String        excludedEntities,
+                                           long          flags,
+                                           StringBuffer  response)
+    {
+      long start = System.nanoTime();
+      return this.record("findPathExcludingByRecordID", flags, response,
+                         start, super.findPathExcludingByRecordID(
+                             dataSourceCode1, recordID1, dataSourceCode2,
+                             recordID2, maxDegrees, excludedEntities, flags,
+                             response));
+    }
+
+    @Override
+    public int findPathIncludingSourceByEntityID(
+        long          entityID1,
+        long          entityID2,
+        int           maxDegrees,
+        String        excludedEntities,
+        String        requiredSources,
+        long          flags,
+        StringBuffer  response)
+    {
+      long start = System.nanoTime();
+      return this.record("findPathIncludingSourceByEntityID", flags, response,
+                         start, super.findPathIncludingSourceByEntityID(
+                             entityID1, entityID2, maxDegrees,
+                             excludedEntities, requiredSources, flags,
+                             response));
+    }
+
+    @Override
+    public int findPathIncludingSourceByRecordID(
+        String        dataSourceCode1,
+        String        recordID1,
+        String        dataSourceCode2,
+        String        recordID2,
+        int           maxDegrees,
+        String        excludedEntities,
+        String        requiredSources,
+        long          flags,
+        StringBuffer  response)
+    {
+      long start = System.nanoTime();
+      return this.record("findPathIncludingSourceByRecordID", flags, response,
+                         start, super.findPathIncludingSourceByRecordID(
+                             dataSourceCode1, recordID1, dataSourceCode2,
+                             recordID2, maxDegrees, excludedEntities,
+                             requiredSources, flags, response));
+    }
+
+    @Override
+    public int findNetworkByEntityID(String       entityList,
+                                     int          maxDegrees,
+                                     int          buildOutDegrees,
+                                     int          maxEntities,
+                                     long         flags,
+                                     StringBuffer response)
+    {
+      long start = System.nanoTime();
+      return this.record("findNetworkByEntityID", flags, response, start,
+                         super.findNetworkByEntityID(
+                             entityList, maxDegrees, buildOutDegrees,
+                             maxEntities, flags, response));
+    }
+
+    @Override
+    public int findNetworkByRecordID(String       recordList,
+                                     int          maxDegrees,
+                                     int          buildOutDegrees,
+                                     int          maxEntities,
+                                     long         flags,
+                                     StringBuffer response)
+    {
+      long start = System.nanoTime();
+      return this.record("findNetworkByRecordID", flags, response, start,
+                         super.findNetworkByRecordID(
+                             recordList, maxDegrees, buildOutDegrees,
+                             maxEntities, flags, response));
+    }
+
+    @Override
+    public int whyRecordInEntity(String       dataSourceCode,
+                                 String       recordID,
+                                 long         flags,
+                                 StringBuffer response)
+    {
+      long start = System.nanoTime();
+      return this.record("whyRecordInEntity", flags, response, start,
+                         super.whyRecordInEntity(
+                             dataSourceCode, recordID, flags, response));
+    }
+
+    @Override
+    public int whyEntityByRecordID(String       dataSourceCode,
+                                   String       recordID,
+                                   long         flags,
+                                   StringBuffer response)
+    {
+      long start = System.nanoTime();
+      return this.record("whyEntityByRecordID", flags, response, start,
+                         super.whyEntityByRecordID(
+                             dataSourceCode, recordID, flags, response));
+    }
+
+    @Override
+    public int whyEntityByEntityID(long         entityID,
+                                   long         flags,
+                                   StringBuffer response)
+    {
+      long start = System.nanoTime();
+      return this.record("whyEntityByEntityID", flags, response, start,
+                         super.whyEntityByEntityID(entityID, flags, response));
+    }
+
+    @Override
+    public int whyRecords(String       dataSourceCode1,
+                          String       recordID1,
+                          String       dataSourceCode2,
+                          String       recordID2,
+                          long         flags,
+                          StringBuffer response)
+    {
+      long start = System.nanoTime();
+      return this.record("whyRecords", flags, response, start,
+                         super.whyRecords(dataSourceCode1, recordID1,
+                                          dataSourceCode2, recordID2,
+                                          flags, response));
+    }
+
+    @Override
+    public int whyEntities(long         entityID1,
+                           long         entityID2,
+                           long         flags,
+                           StringBuffer response)
+    {
+      long start = System.nanoTime();
+      return this.record("whyEntities", flags, response, start,
+                         super.whyEntities(
+                             entityID1, entityID2, flags, response));
+    }
+
+    @Override
+    public int howEntityByEntityID(long         entityID,
+                                   long         flags,
+                                   StringBuffer response)
+    {
+      long start = System.nanoTime();
+      return this.record("howEntityByEntityID", flags, response, start,
+                         super.howEntityByEntityID(entityID, flags, response));
+    }
+
+    @Override
+    public int getVirtualEntityByRecordID(String        recordList,
+                                          long          flags,
+                                          StringBuffer  response)
+    {
+      long start = System.nanoTime();
+      return this.record("getVirtualEntityByRecordID", flags, response, start,
+                         super.getVirtualEntityByRecordID(
+                             recordList, flags, response));
+    }
+
+    @Override
+    public int getRecord(String       dataSourceCode,
+                         String       recordID,
+                         long         flags,
+                         StringBuffer response)
+    {
+      long start = System.nanoTime();
+      return this.record("getRecord", flags, response, start,
+                         super.getRecord(
+                             dataSourceCode, recordID, flags, response));
+    }
+
+    @Override
+    public int findInterestingEntitiesByEntityID(long         entityID,
+                                                 long         flags,
+                                                 StringBuffer response)
+    {
+      long start = System.nanoTime();
+      return this.record("findInterestingEntitiesByEntityID", flags,
+                         response, start,
+                         super.findInterestingEntitiesByEntityID(
+                             entityID, flags, response));
+    }
+
+    @Override
+    public int findInterestingEntitiesByRecordID(String       dataSourceCode,
+                                                 String       recordID,
+                                                 long         flags,
+                                                 StringBuffer response)
+    {
+      long start = System.nanoTime();
+      return this.record("findInterestingEntitiesByRecordID", flags,
+                         response, start,
+                         super.findInterestingEntitiesByRecordID(
+                             dataSourceCode, recordID, flags, response));
+    }
+  }
+}
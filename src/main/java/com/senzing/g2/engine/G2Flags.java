@@ -0,0 +1,321 @@
+package com.senzing.g2.engine;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.senzing.g2.engine.G2Engine.*;
+
+/**
+ * Provides a typed builder for the bitwise <code>long</code> flags accepted by
+ * the {@link G2Engine} functions.  Instances start from an empty set of flags
+ * or from one of the named {@link Preset} values and are then adjusted with
+ * {@link #with(G2Flag...)} and {@link #without(G2Flag...)} before being
+ * converted with {@link #toLong()}.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   long flags = G2Flags.of(G2Flags.Preset.ENTITY_DEFAULT)
+ *                       .without(G2Flag.ENTITY_INCLUDE_RECORD_DATA)
+ *                       .with(G2Flag.ENTITY_INCLUDE_RECORD_JSON_DATA)
+ *                       .toLong();
+ * </pre>
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+public class G2Flags {
+  /**
+   * Enumerates the named combinations of flags that are defined as
+   * <code>long</code> constants on {@link G2Engine}.
+   */
+  public enum Preset {
+    /**
+     * See {@link G2Engine#G2_EXPORT_INCLUDE_ALL_ENTITIES}.
+     */
+    EXPORT_INCLUDE_ALL_ENTITIES(G2_EXPORT_INCLUDE_ALL_ENTITIES),
+
+    /**
+     * See {@link G2Engine#G2_EXPORT_INCLUDE_ALL_RELATIONSHIPS}.
+     */
+    EXPORT_INCLUDE_ALL_RELATIONSHIPS(G2_EXPORT_INCLUDE_ALL_RELATIONSHIPS),
+
+    /**
+     * See {@link G2Engine#G2_ENTITY_INCLUDE_ALL_RELATIONS}.
+     */
+    ENTITY_INCLUDE_ALL_RELATIONS(G2_ENTITY_INCLUDE_ALL_RELATIONS),
+
+    /**
+     * See {@link G2Engine#G2_SEARCH_INCLUDE_ALL_ENTITIES}.
+     */
+    SEARCH_INCLUDE_ALL_ENTITIES(G2_SEARCH_INCLUDE_ALL_ENTITIES),
+
+    /**
+     * See {@link G2Engine#G2_RECORD_DEFAULT_FLAGS}.
+     */
+    RECORD_DEFAULT(G2_RECORD_DEFAULT_FLAGS),
+
+    /**
+     * See {@link G2Engine#G2_ENTITY_DEFAULT_FLAGS}.
+     */
+    ENTITY_DEFAULT(G2_ENTITY_DEFAULT_FLAGS),
+
+    /**
+     * See {@link G2Engine#G2_ENTITY_BRIEF_DEFAULT_FLAGS}.
+     */
+    ENTITY_BRIEF_DEFAULT(G2_ENTITY_BRIEF_DEFAULT_FLAGS),
+
+    /**
+     * See {@link G2Engine#G2_EXPORT_DEFAULT_FLAGS}.
+     */
+    EXPORT_DEFAULT(G2_EXPORT_DEFAULT_FLAGS),
+
+    /**
+     * See {@link G2Engine#G2_FIND_PATH_DEFAULT_FLAGS}.
+     */
+    FIND_PATH_DEFAULT(G2_FIND_PATH_DEFAULT_FLAGS),
+
+    /**
+     * See {@link G2Engine#G2_WHY_ENTITY_DEFAULT_FLAGS}.
+     */
+    WHY_ENTITY_DEFAULT(G2_WHY_ENTITY_DEFAULT_FLAGS),
+
+    /**
+     * See {@link G2Engine#G2_HOW_ENTITY_DEFAULT_FLAGS}.
+     */
+    HOW_ENTITY_DEFAULT(G2_HOW_ENTITY_DEFAULT_FLAGS),
+
+    /**
+     * See {@link G2Engine#G2_SEARCH_BY_ATTRIBUTES_ALL}.
+     */
+    SEARCH_BY_ATTRIBUTES_ALL(G2_SEARCH_BY_ATTRIBUTES_ALL),
+
+    /**
+     * See {@link G2Engine#G2_SEARCH_BY_ATTRIBUTES_STRONG}.
+     */
+    SEARCH_BY_ATTRIBUTES_STRONG(G2_SEARCH_BY_ATTRIBUTES_STRONG),
+
+    /**
+     * See {@link G2Engine#G2_SEARCH_BY_ATTRIBUTES_MINIMAL_ALL}.
+     */
+    SEARCH_BY_ATTRIBUTES_MINIMAL_ALL(G2_SEARCH_BY_ATTRIBUTES_MINIMAL_ALL),
+
+    /**
+     * See {@link G2Engine#G2_SEARCH_BY_ATTRIBUTES_MINIMAL_STRONG}.
+     */
+    SEARCH_BY_ATTRIBUTES_MINIMAL_STRONG(G2_SEARCH_BY_ATTRIBUTES_MINIMAL_STRONG),
+
+    /**
+     * See {@link G2Engine#G2_SEARCH_BY_ATTRIBUTES_DEFAULT_FLAGS}.
+     */
+    SEARCH_BY_ATTRIBUTES_DEFAULT(G2_SEARCH_BY_ATTRIBUTES_DEFAULT_FLAGS);
+
+    /**
+     * The bitwise mask for the preset.
+     */
+    private final long mask;
+
+    /**
+     * The unmodifiable {@link Set} of {@link G2Flag} values for the preset.
+     */
+    private final Set<G2Flag> flags;
+
+    /**
+     * Constructs with the bitwise mask for the preset.
+     *
+     * @param mask The bitwise mask for the preset.
+     */
+    Preset(long mask) {
+      this.mask   = mask;
+      this.flags  = Collections.unmodifiableSet(G2Flag.toFlags(mask));
+    }
+
+    /**
+     * Returns the bitwise mask for this preset.
+     *
+     * @return The bitwise mask for this preset.
+     */
+    public long getMask() {
+      return this.mask;
+    }
+
+    /**
+     * Returns the unmodifiable {@link Set} of {@link G2Flag} values that make
+     * up this preset.
+     *
+     * @return The unmodifiable {@link Set} of {@link G2Flag} values that make
+     *         up this preset.
+     */
+    public Set<G2Flag> getFlags() {
+      return this.flags;
+    }
+  }
+
+  /**
+   * The current set of flags.
+   */
+  private final EnumSet<G2Flag> flags;
+
+  /**
+   * Constructs with an empty set of flags.
+   */
+  public G2Flags() {
+    this.flags = EnumSet.noneOf(G2Flag.class);
+  }
+
+  /**
+   * Constructs with the flags that are set in the specified bitwise
+   * <code>long</code> flags.
+   *
+   * @param flags The bitwise <code>long</code> flags.
+   */
+  public G2Flags(long flags) {
+    this.flags = G2Flag.toFlags(flags);
+  }
+
+  /**
+   * Constructs with the specified {@link Collection} of {@link G2Flag}
+   * values.
+   *
+   * @param flags The {@link Collection} of {@link G2Flag} values.
+   */
+  public G2Flags(Collection<G2Flag> flags) {
+    this.flags = EnumSet.noneOf(G2Flag.class);
+    this.flags.addAll(flags);
+  }
+
+  /**
+   * Creates a new instance with the specified {@link G2Flag} values.
+   *
+   * @param flags The {@link G2Flag} values.
+   *
+   * @return The new {@link G2Flags} instance.
+   */
+  public static G2Flags of(G2Flag... flags) {
+    return new G2Flags().with(flags);
+  }
+
+  /**
+   * Creates a new instance with the flags from the specified {@link Preset}
+   * values.
+   *
+   * @param presets The {@link Preset} values.
+   *
+   * @return The new {@link G2Flags} instance.
+   */
+  public static G2Flags of(Preset... presets) {
+    return new G2Flags().with(presets);
+  }
+
+  /**
+   * Adds the specified {@link G2Flag} values.
+   *
+   * @param flags The {@link G2Flag} values to add.
+   *
+   * @return A reference to this instance.
+   */
+  public G2Flags with(G2Flag... flags) {
+    Collections.addAll(this.flags, flags);
+    return this;
+  }
+
+  /**
+   * Adds all the {@link G2Flag} values of the specified {@link Preset}
+   * values.
+   *
+   * @param presets The {@link Preset} values whose flags should be added.
+   *
+   * @return A reference to this instance.
+   */
+  public G2Flags with(Preset... presets) {
+    for (Preset preset : presets) {
+      this.flags.addAll(preset.getFlags());
+    }
+    return this;
+  }
+
+  /**
+   * Removes the specified {@link G2Flag} values.
+   *
+   * @param flags The {@link G2Flag} values to remove.
+   *
+   * @return A reference to this instance.
+   */
+  public G2Flags without(G2Flag... flags) {
+    for (G2Flag flag : flags) {
+      this.flags.remove(flag);
+    }
+    return this;
+  }
+
+  /**
+   * Removes all the {@link G2Flag} values of the specified {@link Preset}
+   * values.
+   *
+   * @param presets The {@link Preset} values whose flags should be removed.
+   *
+   * @return A reference to this instance.
+   */
+  public G2Flags without(Preset... presets) {
+    for (Preset preset : presets) {
+      this.flags.removeAll(preset.getFlags());
+    }
+    return this;
+  }
+
+  /**
+   * Checks if the specified {@link G2Flag} is currently set.
+   *
+   * @param flag The {@link G2Flag} to check.
+   *
+   * @return <code>true</code> if the flag is set, otherwise
+   *         <code>false</code>.
+   */
+  public boolean contains(G2Flag flag) {
+    return this.flags.contains(flag);
+  }
+
+  /**
+   * Returns a copy of the current {@link G2Flag} values as an {@link
+   * EnumSet}.
+   *
+   * @return A copy of the current {@link G2Flag} values.
+   */
+  public EnumSet<G2Flag> toSet() {
+    return EnumSet.copyOf(this.flags);
+  }
+
+  /**
+   * Returns the bitwise <code>long</code> representation of the current
+   * flags for passing to the {@link G2Engine} functions.
+   *
+   * @return The bitwise <code>long</code> representation of the flags.
+   */
+  public long toLong() {
+    return G2Flag.toLong(this.flags);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) return true;
+    if (obj == null || obj.getClass() != this.getClass()) return false;
+    return this.flags.equals(((G2Flags) obj).flags);
+  }
+
+  @Override
+  public int hashCode() {
+    return this.flags.hashCode();
+  }
+
+  /**
+   * Returns the pipe-delimited names of the current flags.
+   *
+   * @return The pipe-delimited names of the current flags.
+   */
+  @Override
+  public String toString() {
+    return G2Flag.toString(this.toLong());
+  }
+}
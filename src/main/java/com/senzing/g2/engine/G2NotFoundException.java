@@ -0,0 +1,26 @@
+package com.senzing.g2.engine;
+
+/**
+ * Thrown when the requested record or entity does not exist.
+ */
+public class G2NotFoundException extends G2Exception {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructs with the specified error code and message.
+   *
+   * @param errorCode The error code.
+   * @param message The error message.
+   */
+  public G2NotFoundException(int errorCode, String message) {
+    super(errorCode, message);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public G2ErrorType getErrorType() {
+    return G2ErrorType.NOT_FOUND;
+  }
+}
@@ -0,0 +1,361 @@
+package com.senzing.g2.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Provides section-level access to a JSON response document returned by a
+ * {@link G2Engine} function.  The sections are the top-level fields of the
+ * document together with the fields of the <code>"RESOLVED_ENTITY"</code>
+ * object (if present), which are named with a <code>"RESOLVED_ENTITY."</code>
+ * prefix (e.g.: <code>"RESOLVED_ENTITY.FEATURES"</code> or
+ * <code>"RELATED_ENTITIES"</code>).
+ *
+ * <p>
+ * The entities of a search response (the <code>"ENTITY"</code> object of
+ * each <code>"RESOLVED_ENTITIES"</code> element) and of a network response
+ * (each <code>"ENTITIES"</code> element) are sectioned the same way, so
+ * their <code>"RESOLVED_ENTITY"</code> fields and
+ * <code>"RELATED_ENTITIES"</code> arrays are reported under the same section
+ * names as those of a single entity response.  The text of such a section
+ * is a JSON array with one element for each entity that has the section, and
+ * its size is the total size of those elements.  Reading a top-level section
+ * counts as reading every section nested within it.
+ *
+ * <p>
+ * Reading sections through this class (rather than parsing the raw text)
+ * allows a {@link G2FlagAdvisor} to record which sections are actually used
+ * so it can recommend leaner flags.  Obtain instances via {@link
+ * #of(CharSequence)}.
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+public class G2Response {
+  /**
+   * The prefix for the sections within the <code>"RESOLVED_ENTITY"</code>
+   * object.
+   */
+  public static final String RESOLVED_ENTITY_PREFIX = "RESOLVED_ENTITY.";
+
+  /**
+   * The field name of the resolved entity object.
+   */
+  private static final String RESOLVED_ENTITY = "RESOLVED_ENTITY";
+
+  /**
+   * The field name of the related entity array.
+   */
+  private static final String RELATED_ENTITIES = "RELATED_ENTITIES";
+
+  /**
+   * The field name of the entity array of a search response.
+   */
+  private static final String RESOLVED_ENTITIES = "RESOLVED_ENTITIES";
+
+  /**
+   * The field name of the entity object within a search result.
+   */
+  private static final String ENTITY = "ENTITY";
+
+  /**
+   * The field name of the entity array of a network response.
+   */
+  private static final String ENTITIES = "ENTITIES";
+
+  /**
+   * The characters of the response document.
+   */
+  private final char[] chars;
+
+  /**
+   * The length of the response document.
+   */
+  private final int length;
+
+  /**
+   * The {@link Map} of section names to the start and end offsets of each of
+   * their occurrences, stored as consecutive pairs.
+   */
+  private final Map<String, int[]> sections;
+
+  /**
+   * The names of the sections gathered from entity arrays.
+   */
+  private final Set<String> repeated;
+
+  /**
+   * The {@link Map} of top-level section names to the names of the sections
+   * nested within them.
+   */
+  private final Map<String, List<String>> nested;
+
+  /**
+   * The usage recorder, or <code>null</code> if not recording.
+   */
+  private G2FlagAdvisor.Usage usage = null;
+
+  /**
+   * Constructs with the specified response document.
+   *
+   * @param json The JSON response document.
+   *
+   * @throws IllegalArgumentException If the response is malformed.
+   */
+  G2Response(CharSequence json) {
+    JsonCursor cursor = new JsonCursor(json);
+    this.chars    = cursor.chars();
+    this.length   = json.length();
+    this.sections = new LinkedHashMap<>();
+    this.repeated = new HashSet<>();
+    this.nested   = new LinkedHashMap<>();
+    if (cursor.next() != JsonCursor.Token.START_OBJECT) return;
+    while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+      String name = cursor.stringValue();
+      JsonCursor.Token token = cursor.next();
+      int start = this.valueStart(cursor);
+      Set<String> children = new LinkedHashSet<>();
+      if (name.equals(RESOLVED_ENTITY)
+          && token == JsonCursor.Token.START_OBJECT)
+      {
+        this.parseResolvedEntity(cursor, false, children);
+      } else if (name.equals(RESOLVED_ENTITIES)
+                 && token == JsonCursor.Token.START_ARRAY)
+      {
+        while (cursor.next() != JsonCursor.Token.END_ARRAY) {
+          if (cursor.token() != JsonCursor.Token.START_OBJECT) {
+            cursor.skipValue();
+            continue;
+          }
+          while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+            if (cursor.textEquals(ENTITY)
+                && cursor.next() == JsonCursor.Token.START_OBJECT)
+            {
+              this.parseEntity(cursor, children);
+            } else {
+              cursor.skipValue();
+            }
+          }
+        }
+      } else if (name.equals(ENTITIES)
+                 && token == JsonCursor.Token.START_ARRAY)
+      {
+        while (cursor.next() != JsonCursor.Token.END_ARRAY) {
+          if (cursor.token() == JsonCursor.Token.START_OBJECT) {
+            this.parseEntity(cursor, children);
+          } else {
+            cursor.skipValue();
+          }
+        }
+      } else {
+        cursor.skipValue();
+      }
+      this.addRange(name, start, cursor.position());
+      if (!children.isEmpty()) {
+        this.nested.put(name, new ArrayList<>(children));
+      }
+    }
+  }
+
+  /**
+   * Internal method to section the fields of an entity object (one with
+   * <code>"RESOLVED_ENTITY"</code> and <code>"RELATED_ENTITIES"</code>
+   * fields) from an entity array, leaving the cursor at its end.
+   */
+  private void parseEntity(JsonCursor cursor, Set<String> children) {
+    while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+      if (cursor.textEquals(RESOLVED_ENTITY)) {
+        if (cursor.next() == JsonCursor.Token.START_OBJECT) {
+          this.parseResolvedEntity(cursor, true, children);
+        } else {
+          cursor.skipValue();
+        }
+      } else if (cursor.textEquals(RELATED_ENTITIES)) {
+        cursor.next();
+        int start = this.valueStart(cursor);
+        cursor.skipValue();
+        this.addRange(RELATED_ENTITIES, start, cursor.position());
+        this.repeated.add(RELATED_ENTITIES);
+        children.add(RELATED_ENTITIES);
+      } else {
+        cursor.skipValue();
+      }
+    }
+  }
+
+  /**
+   * Internal method to section the fields of a <code>"RESOLVED_ENTITY"</code>
+   * object, leaving the cursor at its end.
+   */
+  private void parseResolvedEntity(JsonCursor   cursor,
+                                   boolean      fromArray,
+                                   Set<String>  children)
+  {
+    while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+      String name = RESOLVED_ENTITY_PREFIX + cursor.stringValue();
+      cursor.next();
+      int start = this.valueStart(cursor);
+      cursor.skipValue();
+      this.addRange(name, start, cursor.position());
+      if (fromArray) this.repeated.add(name);
+      children.add(name);
+    }
+  }
+
+  /**
+   * Internal method to get the start offset of the current value, including
+   * the opening quote of a string.
+   */
+  private int valueStart(JsonCursor cursor) {
+    int start = cursor.tokenStart();
+    return (cursor.token() == JsonCursor.Token.STRING) ? start - 1 : start;
+  }
+
+  /**
+   * Internal method to add an occurrence of the named section.
+   */
+  private void addRange(String name, int start, int end) {
+    int[] ranges = this.sections.get(name);
+    if (ranges == null) {
+      ranges = new int[] { start, end };
+    } else {
+      ranges = Arrays.copyOf(ranges, ranges.length + 2);
+      ranges[ranges.length - 2] = start;
+      ranges[ranges.length - 1] = end;
+    }
+    this.sections.put(name, ranges);
+  }
+
+  /**
+   * Obtains a {@link G2Response} for the specified JSON response document.
+   * If the document was just produced on the calling thread by a {@link
+   * G2Engine} obtained from {@link G2FlagAdvisor#wrap(G2Engine)} then the
+   * returned instance records section usage for that advisor.
+   *
+   * @param json The JSON response document.
+   *
+   * @return The {@link G2Response} for the specified document.
+   *
+   * @throws IllegalArgumentException If the response is malformed.
+   */
+  public static G2Response of(CharSequence json) {
+    G2Response pending = G2FlagAdvisor.takePending(json);
+    return (pending != null) ? pending : new G2Response(json);
+  }
+
+  /**
+   * Binds the specified usage recorder to this instance.
+   *
+   * @param usage The usage recorder.
+   */
+  void setUsage(G2FlagAdvisor.Usage usage) {
+    this.usage = usage;
+  }
+
+  /**
+   * Returns the length of the response document in characters.
+   *
+   * @return The length of the response document in characters.
+   */
+  public int length() {
+    return this.length;
+  }
+
+  /**
+   * Returns the unmodifiable {@link Set} of section names present in the
+   * response.
+   *
+   * @return The unmodifiable {@link Set} of section names.
+   */
+  public Set<String> getSectionNames() {
+    return Collections.unmodifiableSet(this.sections.keySet());
+  }
+
+  /**
+   * Checks if the specified section is present in the response.  This does
+   * <b>not</b> count as reading the section.
+   *
+   * @param name The name of the section.
+   *
+   * @return <code>true</code> if the section is present, otherwise
+   *         <code>false</code>.
+   */
+  public boolean hasSection(String name) {
+    return this.sections.containsKey(name);
+  }
+
+  /**
+   * Returns the size in characters of the JSON text of the specified
+   * section, or zero (0) if the section is not present.  This does <b>not</b>
+   * count as reading the section.
+   *
+   * @param name The name of the section.
+   *
+   * @return The size in characters of the section.
+   */
+  public int getSectionSize(String name) {
+    int[] ranges = this.sections.get(name);
+    if (ranges == null) return 0;
+    int size = 0;
+    for (int index = 0; index < ranges.length; index += 2) {
+      size += ranges[index + 1] - ranges[index];
+    }
+    return size;
+  }
+
+  /**
+   * Returns the raw JSON text of the specified section, or <code>null</code>
+   * if the section is not present in the response.  For a section gathered
+   * from the entities of a search or network response this is a JSON array
+   * of the section text for each entity that has it.
+   *
+   * @param name The name of the section.
+   *
+   * @return The raw JSON text of the section, or <code>null</code>.
+   */
+  public String getSection(String name) {
+    if (this.usage != null) {
+      this.usage.read(name);
+      List<String> children = this.nested.get(name);
+      if (children != null) {
+        for (String child : children) this.usage.read(child);
+      }
+    }
+    int[] ranges = this.sections.get(name);
+    if (ranges == null) return null;
+    if (!this.repeated.contains(name)) {
+      return new String(this.chars, ranges[0], ranges[1] - ranges[0]);
+    }
+    StringBuilder sb = new StringBuilder(
+        this.getSectionSize(name) + (ranges.length / 2) + 1);
+    sb.append('[');
+    for (int index = 0; index < ranges.length; index += 2) {
+      if (index > 0) sb.append(',');
+      sb.append(this.chars, ranges[index], ranges[index + 1] - ranges[index]);
+    }
+    return sb.append(']').toString();
+  }
+
+  /**
+   * Returns the full JSON text of the response.  This counts as reading all
+   * sections.
+   *
+   * @return The full JSON text of the response.
+   */
+  @Override
+  public String toString() {
+    if (this.usage != null) {
+      for (String name : this.sections.keySet()) {
+        this.usage.read(name);
+      }
+    }
+    return new String(this.chars, 0, this.length);
+  }
+}
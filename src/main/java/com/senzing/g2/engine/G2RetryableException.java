@@ -0,0 +1,27 @@
+package com.senzing.g2.engine;
+
+/**
+ * Thrown when a transient failure occurs and the operation may succeed if
+ * retried.
+ */
+public class G2RetryableException extends G2Exception {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructs with the specified error code and message.
+   *
+   * @param errorCode The error code.
+   * @param message The error message.
+   */
+  public G2RetryableException(int errorCode, String message) {
+    super(errorCode, message);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public G2ErrorType getErrorType() {
+    return G2ErrorType.RETRYABLE;
+  }
+}
@@ -0,0 +1,252 @@
+package com.senzing.g2.engine;
+
+/**
+ * A growable, reusable character buffer with the primitive operations needed
+ * to write JSON text without intermediate allocations: numbers are written
+ * digit-by-digit and strings are escaped directly into the buffer.  Callers
+ * are responsible for the structure (brackets, commas and colons).
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+final class JsonBuffer implements CharSequence {
+  /**
+   * The hexadecimal digits for unicode escapes.
+   */
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  /**
+   * The characters that encode {@link Long#MIN_VALUE}, which cannot be
+   * negated.
+   */
+  private static final char[] MIN_LONG = Long.toString(Long.MIN_VALUE)
+                                             .toCharArray();
+
+  /**
+   * The buffered characters.
+   */
+  private char[] chars;
+
+  /**
+   * The number of buffered characters.
+   */
+  private int length;
+
+  /**
+   * Constructs with the specified initial capacity.
+   *
+   * @param capacity The initial capacity.
+   */
+  JsonBuffer(int capacity) {
+    this.chars  = new char[Math.max(16, capacity)];
+    this.length = 0;
+  }
+
+  /**
+   * Clears the buffer, retaining its capacity.
+   *
+   * @return A reference to this instance.
+   */
+  JsonBuffer reset() {
+    this.length = 0;
+    return this;
+  }
+
+  /**
+   * Returns the backing character array.
+   *
+   * @return The backing character array.
+   */
+  char[] array() {
+    return this.chars;
+  }
+
+  /**
+   * Sets the length of the buffer, which must not exceed the current length.
+   *
+   * @param length The new length.
+   */
+  void setLength(int length) {
+    if (length < 0 || length > this.length) {
+      throw new IndexOutOfBoundsException("Bad length: " + length);
+    }
+    this.length = length;
+  }
+
+  /**
+   * Ensures room for the specified number of additional characters.
+   *
+   * @param count The number of additional characters.
+   */
+  void ensureCapacity(int count) {
+    int required = this.length + count;
+    if (required > this.chars.length) {
+      char[] larger = new char[Math.max(required, this.chars.length * 2)];
+      System.arraycopy(this.chars, 0, larger, 0, this.length);
+      this.chars = larger;
+    }
+  }
+
+  /**
+   * Appends a single character.
+   *
+   * @param c The character to append.
+   *
+   * @return A reference to this instance.
+   */
+  JsonBuffer append(char c) {
+    if (this.length == this.chars.length) this.ensureCapacity(1);
+    this.chars[this.length++] = c;
+    return this;
+  }
+
+  /**
+   * Appends the specified text without escaping.
+   *
+   * @param text The text to append.
+   *
+   * @return A reference to this instance.
+   */
+  JsonBuffer append(String text) {
+    int count = text.length();
+    this.ensureCapacity(count);
+    text.getChars(0, count, this.chars, this.length);
+    this.length += count;
+    return this;
+  }
+
+  /**
+   * Appends the specified characters without escaping.
+   *
+   * @param text The characters to append.
+   * @param start The offset of the first character to append.
+   * @param end The offset one past the last character to append.
+   *
+   * @return A reference to this instance.
+   */
+  JsonBuffer append(char[] text, int start, int end) {
+    int count = end - start;
+    this.ensureCapacity(count);
+    System.arraycopy(text, start, this.chars, this.length, count);
+    this.length += count;
+    return this;
+  }
+
+  /**
+   * Appends the decimal representation of the specified value.
+   *
+   * @param value The value to append.
+   *
+   * @return A reference to this instance.
+   */
+  JsonBuffer append(long value) {
+    if (value == Long.MIN_VALUE) {
+      return this.append(MIN_LONG, 0, MIN_LONG.length);
+    }
+    this.ensureCapacity(20);
+    if (value < 0) {
+      this.chars[this.length++] = '-';
+      value = -value;
+    }
+    int digits = 1;
+    for (long bound = 10L; digits < 19 && value >= bound; bound *= 10L) {
+      digits++;
+    }
+    int index = this.length + digits;
+    this.length = index;
+    do {
+      this.chars[--index] = (char) ('0' + (value % 10L));
+      value /= 10L;
+    } while (value != 0L);
+    return this;
+  }
+
+  /**
+   * Appends the specified text as a quoted and escaped JSON string, or the
+   * literal <code>null</code> if the specified text is <code>null</code>.
+   *
+   * @param text The text to append.
+   *
+   * @return A reference to this instance.
+   */
+  JsonBuffer appendQuoted(CharSequence text) {
+    if (text == null) return this.append("null");
+    int count = text.length();
+    this.ensureCapacity(count + 2);
+    this.chars[this.length++] = '"';
+    for (int index = 0; index < count; index++) {
+      char c = text.charAt(index);
+      if (c >= 0x20 && c != '"' && c != '\\') {
+        if (this.length == this.chars.length) this.ensureCapacity(1);
+        this.chars[this.length++] = c;
+        continue;
+      }
+      this.ensureCapacity(6);
+      this.chars[this.length++] = '\\';
+      switch (c) {
+        case '"':
+          this.chars[this.length++] = '"';
+          break;
+        case '\\':
+          this.chars[this.length++] = '\\';
+          break;
+        case '\n':
+          this.chars[this.length++] = 'n';
+          break;
+        case '\r':
+          this.chars[this.length++] = 'r';
+          break;
+        case '\t':
+          this.chars[this.length++] = 't';
+          break;
+        case '\b':
+          this.chars[this.length++] = 'b';
+          break;
+        case '\f':
+          this.chars[this.length++] = 'f';
+          break;
+        default:
+          this.chars[this.length++] = 'u';
+          this.chars[this.length++] = '0';
+          this.chars[this.length++] = '0';
+          this.chars[this.length++] = HEX_DIGITS[(c >> 4) & 0xF];
+          this.chars[this.length++] = HEX_DIGITS[c & 0xF];
+      }
+    }
+    if (this.length == this.chars.length) this.ensureCapacity(1);
+    this.chars[this.length++] = '"';
+    return this;
+  }
+
+  /**
+   * Returns the last character in the buffer, or zero (0) if empty.
+   *
+   * @return The last character in the buffer, or zero (0) if empty.
+   */
+  char last() {
+    return (this.length == 0) ? 0 : this.chars[this.length - 1];
+  }
+
+  @Override
+  public int length() {
+    return this.length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= this.length) {
+      throw new IndexOutOfBoundsException("Bad index: " + index);
+    }
+    return this.chars[index];
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    return new String(this.chars, start, end - start);
+  }
+
+  @Override
+  public String toString() {
+    return new String(this.chars, 0, this.length);
+  }
+}
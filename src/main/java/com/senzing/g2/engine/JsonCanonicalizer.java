@@ -0,0 +1,138 @@
+package com.senzing.g2.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Rewrites JSON attribute documents into a canonical form so that documents
+ * that differ only in key order, insignificant whitespace or letter case map
+ * to the same text (e.g.: for use as a cache key).  In the canonical form:
+ * <ul>
+ *   <li>Object keys are upper-cased and sorted (duplicate keys are kept in
+ *       their original relative order).</li>
+ *   <li>String values are trimmed, runs of whitespace are collapsed to a
+ *       single space and letters are upper-cased.</li>
+ *   <li>Array order, numbers and literals are preserved as written.</li>
+ *   <li>No whitespace appears between tokens.</li>
+ * </ul>
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe.  Use one instance per thread.
+ */
+final class JsonCanonicalizer {
+  /**
+   * The cursor for parsing.
+   */
+  private final JsonCursor cursor = new JsonCursor();
+
+  /**
+   * The scratch buffer for decoding strings.
+   */
+  private final StringBuilder scratch = new StringBuilder();
+
+  /**
+   * Returns the canonical form of the specified JSON text.
+   *
+   * @param json The JSON text to canonicalize.
+   *
+   * @return The canonical form of the JSON text.
+   *
+   * @throws IllegalArgumentException If the JSON text is malformed.
+   */
+  String canonicalize(CharSequence json) {
+    this.cursor.reset(json);
+    if (this.cursor.next() == JsonCursor.Token.END) {
+      throw new IllegalArgumentException("Empty JSON text.");
+    }
+    JsonBuffer out = new JsonBuffer(json.length());
+    this.writeValue(out);
+    if (this.cursor.next() != JsonCursor.Token.END) {
+      throw new IllegalArgumentException(
+          "Unexpected content after the JSON value at offset "
+          + this.cursor.tokenStart() + " of JSON text.");
+    }
+    return out.toString();
+  }
+
+  /**
+   * Internal method to write the canonical form of the value at the current
+   * token.
+   */
+  private void writeValue(JsonBuffer out) {
+    JsonCursor cursor = this.cursor;
+    switch (cursor.token()) {
+      case START_OBJECT:
+        this.writeObject(out);
+        break;
+      case START_ARRAY:
+        out.append('[');
+        while (cursor.next() != JsonCursor.Token.END_ARRAY) {
+          if (out.last() != '[') out.append(',');
+          this.writeValue(out);
+        }
+        out.append(']');
+        break;
+      case STRING:
+        out.appendQuoted(this.normalizedString(true));
+        break;
+      case NUMBER:
+      case TRUE:
+      case FALSE:
+      case NULL:
+        out.append(cursor.chars(), cursor.tokenStart(), cursor.tokenEnd());
+        break;
+      default:
+        throw new IllegalArgumentException(
+            "Unexpected " + cursor.token() + " at offset "
+            + cursor.tokenStart() + " of JSON text.");
+    }
+  }
+
+  /**
+   * Internal method to write an object with its members sorted by key.
+   */
+  private void writeObject(JsonBuffer out) {
+    List<String[]> members = new ArrayList<>();
+    while (this.cursor.next() == JsonCursor.Token.FIELD_NAME) {
+      String key = this.normalizedString(false);
+      this.cursor.next();
+      JsonBuffer value = new JsonBuffer(32);
+      this.writeValue(value);
+      members.add(new String[] { key, value.toString() });
+    }
+    members.sort((m1, m2) -> m1[0].compareTo(m2[0]));
+    out.append('{');
+    for (String[] member : members) {
+      if (out.last() != '{') out.append(',');
+      out.appendQuoted(member[0]).append(':').append(member[1]);
+    }
+    out.append('}');
+  }
+
+  /**
+   * Internal method to decode and normalize the current string token,
+   * optionally collapsing whitespace.
+   */
+  private String normalizedString(boolean collapse) {
+    StringBuilder sb = this.scratch;
+    sb.setLength(0);
+    this.cursor.appendDecoded(sb);
+    int length = 0;
+    boolean space = false;
+    for (int index = 0; index < sb.length(); index++) {
+      char c = sb.charAt(index);
+      if (collapse && Character.isWhitespace(c)) {
+        space = (length > 0);
+        continue;
+      }
+      if (space) {
+        sb.setCharAt(length++, ' ');
+        space = false;
+      }
+      sb.setCharAt(length++, c);
+    }
+    sb.setLength(length);
+    return sb.toString().toUpperCase(Locale.ROOT);
+  }
+}
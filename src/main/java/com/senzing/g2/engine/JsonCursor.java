@@ -0,0 +1,723 @@
+package com.senzing.g2.engine;
+
+/**
+ * A minimal forward-only pull parser over JSON text that is used internally by
+ * the SDK helper classes to read response documents without building an
+ * object tree.  The text is copied once into an internal (reusable) character
+ * array and every token is then addressed by its offsets within that array,
+ * so callers can compare field names and read numeric values without
+ * allocating intermediate {@link String} instances.  A cursor reset with
+ * {@link #resetLazily(CharSequence)} instead copies the text in chunks as
+ * the parse reaches them, so a caller that stops early never copies the
+ * rest of the text.
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+final class JsonCursor {
+  /**
+   * Enumerates the tokens reported by {@link #next()}.
+   */
+  enum Token {
+    START_OBJECT,
+    END_OBJECT,
+    START_ARRAY,
+    END_ARRAY,
+    FIELD_NAME,
+    STRING,
+    NUMBER,
+    TRUE,
+    FALSE,
+    NULL,
+    END
+  }
+
+  /**
+   * The number of characters first copied by a lazy reset.
+   */
+  private static final int INITIAL_CHUNK = 8192;
+
+  /**
+   * The characters being parsed.
+   */
+  private char[] chars;
+
+  /**
+   * The index one past the last character to parse, or one past the last
+   * character copied so far when reading lazily.
+   */
+  private int limit;
+
+  /**
+   * The text still being copied when reading lazily, otherwise
+   * <code>null</code>.
+   */
+  private CharSequence source;
+
+  /**
+   * The length of the text being copied when reading lazily.
+   */
+  private int sourceLength;
+
+  /**
+   * The index of the next character to read.
+   */
+  private int pos;
+
+  /**
+   * The current token.
+   */
+  private Token token;
+
+  /**
+   * The start offset of the current token's text (exclusive of the quotes for
+   * strings and field names).
+   */
+  private int tokenStart;
+
+  /**
+   * The end offset (exclusive) of the current token's text (exclusive of the
+   * quotes for strings and field names).
+   */
+  private int tokenEnd;
+
+  /**
+   * Whether or not the current string token contains escape sequences.
+   */
+  private boolean escaped;
+
+  /**
+   * The stack of open containers, <code>true</code> for objects and
+   * <code>false</code> for arrays.
+   */
+  private boolean[] stack = new boolean[16];
+
+  /**
+   * The number of open containers.
+   */
+  private int depth;
+
+  /**
+   * Whether or not the next token in the current object is a field name.
+   */
+  private boolean expectName;
+
+  /**
+   * Constructs with no text.  Call {@link #reset(CharSequence)} before
+   * reading any tokens.
+   */
+  JsonCursor() {
+    this.chars = new char[0];
+    this.reset(0);
+  }
+
+  /**
+   * Constructs with the specified JSON text.
+   *
+   * @param text The JSON text to parse.
+   */
+  JsonCursor(CharSequence text) {
+    this.chars = new char[0];
+    this.reset(text);
+  }
+
+  /**
+   * Resets this instance to parse the specified JSON text, reusing the
+   * internal character array if it is large enough.
+   *
+   * @param text The JSON text to parse.
+   *
+   * @return A reference to this instance.
+   */
+  JsonCursor reset(CharSequence text) {
+    int length = text.length();
+    if (this.chars.length < length) {
+      this.chars = new char[Math.max(length, this.chars.length * 2)];
+    }
+    copyChars(text, 0, length, this.chars, 0);
+    return this.reset(length);
+  }
+
+  /**
+   * Resets this instance to parse the specified JSON text, copying it into
+   * the internal character array only as the parse reaches it.  The caller
+   * must not modify the text while this instance is in use.
+   *
+   * @param text The JSON text to parse.
+   *
+   * @return A reference to this instance.
+   */
+  JsonCursor resetLazily(CharSequence text) {
+    this.reset(0);
+    this.source       = text;
+    this.sourceLength = text.length();
+    return this;
+  }
+
+  /**
+   * Resets this instance to parse the specified range of the specified
+   * character array <b>without</b> copying it.  The caller must not modify
+   * the array while this instance is in use.
+   *
+   * @param text The characters to parse.
+   * @param start The offset of the first character to parse.
+   * @param end The offset one past the last character to parse.
+   *
+   * @return A reference to this instance.
+   */
+  JsonCursor reset(char[] text, int start, int end) {
+    this.chars = text;
+    this.reset(end);
+    this.pos = start;
+    return this;
+  }
+
+  /**
+   * Internal method to reset the parse state.
+   */
+  private JsonCursor reset(int limit) {
+    this.limit      = limit;
+    this.source     = null;
+    this.pos        = 0;
+    this.token      = null;
+    this.tokenStart = 0;
+    this.tokenEnd   = 0;
+    this.escaped    = false;
+    this.depth      = 0;
+    this.expectName = false;
+    return this;
+  }
+
+  /**
+   * Copies characters from the specified {@link CharSequence} using a bulk
+   * copy for the common implementations.
+   *
+   * @param source The source {@link CharSequence}.
+   * @param start The offset of the first character to copy.
+   * @param end The offset one past the last character to copy.
+   * @param target The target array.
+   * @param offset The offset in the target array to copy to.
+   */
+  static void copyChars(CharSequence  source,
+                        int           start,
+                        int           end,
+                        char[]        target,
+                        int           offset)
+  {
+    if (source instanceof String) {
+      ((String) source).getChars(start, end, target, offset);
+    } else if (source instanceof StringBuffer) {
+      ((StringBuffer) source).getChars(start, end, target, offset);
+    } else if (source instanceof StringBuilder) {
+      ((StringBuilder) source).getChars(start, end, target, offset);
+    } else {
+      for (int index = start; index < end; index++) {
+        target[offset++] = source.charAt(index);
+      }
+    }
+  }
+
+  /**
+   * Returns the backing character array.  When reading lazily only the
+   * characters before the current {@linkplain #position() position} are
+   * guaranteed to have been copied, and a later token may replace the
+   * array with a larger one.
+   *
+   * @return The backing character array.
+   */
+  char[] chars() {
+    return this.chars;
+  }
+
+  /**
+   * Returns the current token, or <code>null</code> if {@link #next()} has
+   * not yet been called.
+   *
+   * @return The current token.
+   */
+  Token token() {
+    return this.token;
+  }
+
+  /**
+   * Returns the number of currently open objects and arrays.  After a
+   * {@link Token#START_OBJECT} or {@link Token#START_ARRAY} token this
+   * includes the container just opened.
+   *
+   * @return The number of currently open objects and arrays.
+   */
+  int depth() {
+    return this.depth;
+  }
+
+  /**
+   * Returns the offset of the first character of the current token's text.
+   * For {@link Token#STRING} and {@link Token#FIELD_NAME} tokens this is the
+   * offset just after the opening quote.  For {@link Token#START_OBJECT} and
+   * {@link Token#START_ARRAY} tokens it is the offset of the opening bracket.
+   *
+   * @return The offset of the first character of the current token's text.
+   */
+  int tokenStart() {
+    return this.tokenStart;
+  }
+
+  /**
+   * Returns the offset one past the last character of the current token's
+   * text.  For {@link Token#STRING} and {@link Token#FIELD_NAME} tokens this
+   * is the offset of the closing quote.
+   *
+   * @return The offset one past the last character of the current token's
+   *         text.
+   */
+  int tokenEnd() {
+    return this.tokenEnd;
+  }
+
+  /**
+   * Returns the offset of the next character to be read.  Following a call
+   * to {@link #skipValue()} on a {@link Token#START_OBJECT} or {@link
+   * Token#START_ARRAY} token this is the offset just past the closing
+   * bracket.
+   *
+   * @return The offset of the next character to be read.
+   */
+  int position() {
+    return this.pos;
+  }
+
+  /**
+   * Advances to the next token.
+   *
+   * @return The new current token.
+   *
+   * @throws IllegalArgumentException If the JSON text is malformed.
+   */
+  Token next() {
+    char c = this.skipSeparators();
+    if (!this.fill(this.pos)) {
+      if (this.depth > 0) throw this.error("Unexpected end of JSON text");
+      this.tokenStart = this.tokenEnd = this.pos;
+      return (this.token = Token.END);
+    }
+    int start = this.pos;
+    if (this.expectName && c != '}') {
+      if (c != '"') throw this.error("Expected field name");
+      this.readString();
+      this.skipWhitespace();
+      if (!this.fill(this.pos) || this.chars[this.pos] != ':') {
+        throw this.error("Expected colon after field name");
+      }
+      this.pos++;
+      this.expectName = false;
+      return (this.token = Token.FIELD_NAME);
+    }
+    switch (c) {
+      case '{':
+        this.push(true);
+        this.pos++;
+        this.tokenStart = start;
+        this.tokenEnd   = this.pos;
+        this.expectName = true;
+        return (this.token = Token.START_OBJECT);
+      case '[':
+        this.push(false);
+        this.pos++;
+        this.tokenStart = start;
+        this.tokenEnd   = this.pos;
+        return (this.token = Token.START_ARRAY);
+      case '}':
+      case ']':
+        if (this.depth == 0 || this.stack[this.depth - 1] != (c == '}')) {
+          throw this.error("Unbalanced '" + c + "'");
+        }
+        this.depth--;
+        this.pos++;
+        this.tokenStart = start;
+        this.tokenEnd   = this.pos;
+        this.valueDone();
+        return (this.token = (c == '}') ? Token.END_OBJECT : Token.END_ARRAY);
+      case '"':
+        this.readString();
+        this.valueDone();
+        return (this.token = Token.STRING);
+      case 't':
+        this.readLiteral("true");
+        return (this.token = Token.TRUE);
+      case 'f':
+        this.readLiteral("false");
+        return (this.token = Token.FALSE);
+      case 'n':
+        this.readLiteral("null");
+        return (this.token = Token.NULL);
+      default:
+        if (c == '-' || (c >= '0' && c <= '9')) {
+          this.readNumber();
+          this.valueDone();
+          return (this.token = Token.NUMBER);
+        }
+        throw this.error("Unexpected character '" + c + "'");
+    }
+  }
+
+  /**
+   * Skips the value of the current token.  If the current token is a
+   * {@link Token#FIELD_NAME} then the field's value is skipped.  If the
+   * current token is {@link Token#START_OBJECT} or {@link Token#START_ARRAY}
+   * then this advances to the matching closing token.  Otherwise this does
+   * nothing.
+   */
+  void skipValue() {
+    if (this.token == Token.FIELD_NAME) this.next();
+    if (this.token != Token.START_OBJECT && this.token != Token.START_ARRAY) {
+      return;
+    }
+    int target = this.depth - 1;
+    while (this.depth > target) {
+      if (!this.fill(this.pos)) {
+        throw this.error("Unexpected end of JSON text");
+      }
+      // scan quickly through the nested content without tokenizing scalars
+      char c = this.chars[this.pos];
+      switch (c) {
+        case '"':
+          this.readString();
+          break;
+        case '{':
+        case '[':
+          this.push(c == '{');
+          this.pos++;
+          break;
+        case '}':
+        case ']':
+          if (this.stack[this.depth - 1] != (c == '}')) {
+            throw this.error("Unbalanced '" + c + "'");
+          }
+          this.depth--;
+          this.pos++;
+          break;
+        default:
+          this.pos++;
+      }
+    }
+    this.tokenEnd = this.pos;
+    this.token = (this.chars[this.pos - 1] == '}')
+        ? Token.END_OBJECT : Token.END_ARRAY;
+    this.valueDone();
+  }
+
+  /**
+   * Checks if the current {@link Token#FIELD_NAME} or {@link Token#STRING}
+   * token text is equal to the specified {@link String} without allocating.
+   *
+   * @param text The text to compare with.
+   *
+   * @return <code>true</code> if the current token text is equal to the
+   *         specified text, otherwise <code>false</code>.
+   */
+  boolean textEquals(String text) {
+    if (this.escaped) return this.stringValue().equals(text);
+    int length = this.tokenEnd - this.tokenStart;
+    if (length != text.length()) return false;
+    for (int index = 0; index < length; index++) {
+      if (this.chars[this.tokenStart + index] != text.charAt(index)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the decoded text of the current {@link Token#FIELD_NAME} or
+   * {@link Token#STRING} token, or the raw text of any other scalar token.
+   *
+   * @return The text of the current token.
+   */
+  String stringValue() {
+    if (!this.escaped) {
+      return new String(this.chars,
+                        this.tokenStart,
+                        this.tokenEnd - this.tokenStart);
+    }
+    StringBuilder sb = new StringBuilder(this.tokenEnd - this.tokenStart);
+    this.appendDecoded(sb);
+    return sb.toString();
+  }
+
+  /**
+   * Appends the decoded text of the current {@link Token#FIELD_NAME} or
+   * {@link Token#STRING} token to the specified {@link StringBuilder}.
+   *
+   * @param sb The {@link StringBuilder} to append to.
+   */
+  void appendDecoded(StringBuilder sb) {
+    if (!this.escaped) {
+      sb.append(this.chars, this.tokenStart, this.tokenEnd - this.tokenStart);
+      return;
+    }
+    for (int index = this.tokenStart; index < this.tokenEnd; index++) {
+      char c = this.chars[index];
+      if (c != '\\') {
+        sb.append(c);
+        continue;
+      }
+      c = this.chars[++index];
+      switch (c) {
+        case 'b':
+          sb.append('\b');
+          break;
+        case 'f':
+          sb.append('\f');
+          break;
+        case 'n':
+          sb.append('\n');
+          break;
+        case 'r':
+          sb.append('\r');
+          break;
+        case 't':
+          sb.append('\t');
+          break;
+        case 'u':
+          sb.append((char) Integer.parseInt(
+              new String(this.chars, index + 1, 4), 16));
+          index += 4;
+          break;
+        default:
+          sb.append(c);
+      }
+    }
+  }
+
+  /**
+   * Returns the value of the current {@link Token#NUMBER} token as a
+   * <code>long</code> without allocating.  Fractional numbers are truncated.
+   *
+   * @return The value of the current token as a <code>long</code>.
+   *
+   * @throws IllegalStateException If the current token is not a number.
+   */
+  long longValue() {
+    if (this.token != Token.NUMBER) {
+      throw new IllegalStateException("Current token is not a number: "
+                                      + this.token);
+    }
+    int     index     = this.tokenStart;
+    boolean negative  = (this.chars[index] == '-');
+    if (negative) index++;
+    long result = 0L;
+    for (; index < this.tokenEnd; index++) {
+      char c = this.chars[index];
+      if (c < '0' || c > '9') {
+        if (c == 'e' || c == 'E') return (long) this.doubleValue();
+        break;
+      }
+      result = (result * 10L) + (c - '0');
+    }
+    return negative ? -result : result;
+  }
+
+  /**
+   * Returns the value of the current {@link Token#NUMBER} token as a
+   * <code>double</code>.
+   *
+   * @return The value of the current token as a <code>double</code>.
+   *
+   * @throws IllegalStateException If the current token is not a number.
+   */
+  double doubleValue() {
+    if (this.token != Token.NUMBER) {
+      throw new IllegalStateException("Current token is not a number: "
+                                      + this.token);
+    }
+    return Double.parseDouble(this.stringValue());
+  }
+
+  /**
+   * Advances to the next token and returns its value as a <code>long</code>
+   * if it is a number, a string containing a number, or returns the specified
+   * default value if it is <code>null</code> or any other type of value
+   * (which is skipped).
+   *
+   * @param defaultValue The value to return if the value is not numeric.
+   *
+   * @return The numeric value of the next value.
+   */
+  long nextLong(long defaultValue) {
+    Token next = this.next();
+    switch (next) {
+      case NUMBER:
+        return this.longValue();
+      case STRING:
+        try {
+          return Long.parseLong(this.stringValue().trim());
+        } catch (NumberFormatException ignore) {
+          return defaultValue;
+        }
+      default:
+        this.skipValue();
+        return defaultValue;
+    }
+  }
+
+  /**
+   * Advances to the next token and returns its text if it is a scalar value
+   * or <code>null</code> if it is a JSON <code>null</code>, an object or an
+   * array (which is skipped).
+   *
+   * @return The text of the next scalar value, or <code>null</code>.
+   */
+  String nextString() {
+    Token next = this.next();
+    switch (next) {
+      case STRING:
+      case NUMBER:
+      case TRUE:
+      case FALSE:
+        return this.stringValue();
+      default:
+        this.skipValue();
+        return null;
+    }
+  }
+
+  /**
+   * Internal method to push a container on the stack.
+   */
+  private void push(boolean object) {
+    if (this.depth == this.stack.length) {
+      boolean[] larger = new boolean[this.stack.length * 2];
+      System.arraycopy(this.stack, 0, larger, 0, this.depth);
+      this.stack = larger;
+    }
+    this.stack[this.depth++] = object;
+  }
+
+  /**
+   * Internal method to update the state after a complete value is read.
+   */
+  private void valueDone() {
+    this.expectName = (this.depth > 0 && this.stack[this.depth - 1]);
+  }
+
+  /**
+   * Internal method to skip whitespace.
+   */
+  private void skipWhitespace() {
+    while (this.fill(this.pos)) {
+      char c = this.chars[this.pos];
+      if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return;
+      this.pos++;
+    }
+  }
+
+  /**
+   * Internal method to skip whitespace and commas and return the next
+   * significant character (or zero at the end of the text).
+   */
+  private char skipSeparators() {
+    while (this.fill(this.pos)) {
+      char c = this.chars[this.pos];
+      if (c != ' ' && c != '\n' && c != '\r' && c != '\t' && c != ',') {
+        return c;
+      }
+      this.pos++;
+    }
+    return 0;
+  }
+
+  /**
+   * Internal method to read a string starting at the current position
+   * (which must be the opening quote).
+   */
+  private void readString() {
+    int index = this.pos + 1;
+    boolean esc = false;
+    while (this.fill(index)) {
+      char c = this.chars[index];
+      if (c == '"') {
+        this.tokenStart = this.pos + 1;
+        this.tokenEnd   = index;
+        this.escaped    = esc;
+        this.pos        = index + 1;
+        return;
+      }
+      if (c == '\\') {
+        esc = true;
+        index++;
+      }
+      index++;
+    }
+    throw this.error("Unterminated string");
+  }
+
+  /**
+   * Internal method to read a literal (<code>true</code>,
+   * <code>false</code> or <code>null</code>).
+   */
+  private void readLiteral(String literal) {
+    int length = literal.length();
+    if (!this.fill(this.pos + length - 1)) throw this.error("Bad literal");
+    for (int index = 0; index < length; index++) {
+      if (this.chars[this.pos + index] != literal.charAt(index)) {
+        throw this.error("Bad literal");
+      }
+    }
+    this.tokenStart = this.pos;
+    this.tokenEnd   = this.pos + length;
+    this.pos       += length;
+    this.escaped    = false;
+    this.valueDone();
+  }
+
+  /**
+   * Internal method to read a number.
+   */
+  private void readNumber() {
+    int index = this.pos;
+    while (this.fill(index)) {
+      char c = this.chars[index];
+      if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.'
+          || c == 'e' || c == 'E')
+      {
+        index++;
+      } else {
+        break;
+      }
+    }
+    this.tokenStart = this.pos;
+    this.tokenEnd   = index;
+    this.pos        = index;
+    this.escaped    = false;
+  }
+
+  /**
+   * Internal method to check that the character at the specified index is
+   * available, copying the next chunk of the text first if reading lazily.
+   */
+  private boolean fill(int index) {
+    if (index < this.limit) return true;
+    if (this.source == null) return false;
+    int limit = (int) Math.min((long) this.sourceLength,
+                               Math.max((long) index + 1L,
+                                        Math.max((long) this.limit * 2L,
+                                                 (long) INITIAL_CHUNK)));
+    if (this.chars.length < limit) {
+      char[] larger = new char[limit];
+      System.arraycopy(this.chars, 0, larger, 0, this.limit);
+      this.chars = larger;
+    }
+    copyChars(this.source, this.limit, limit, this.chars, this.limit);
+    this.limit = limit;
+    if (limit == this.sourceLength) this.source = null;
+    return (index < limit);
+  }
+
+  /**
+   * Internal method to create an exception describing a parse error.
+   */
+  private IllegalArgumentException error(String message) {
+    return new IllegalArgumentException(
+        message + " at offset " + this.pos + " of JSON text.");
+  }
+}
@@ -0,0 +1,884 @@
+package com.senzing.g2.engine;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * Provides a write-ahead journal of record load operations ({@link
+ * G2Engine#addRecord(String,String,String,String)}, {@link
+ * G2Engine#replaceRecord(String,String,String,String)} and {@link
+ * G2Engine#deleteRecord(String,String,String)}) so that a loader that dies
+ * can determine exactly which operations may not have reached the engine
+ * and replay only those, giving at-least-once loading.
+ *
+ * <p>
+ * Each operation is appended to a memory-mapped segment file before the
+ * native call and is marked acknowledged in place once the native call
+ * returns (whether or not it succeeded).  Because the segments are memory
+ * mapped, appended entries survive the death of the process without any
+ * system call per operation; enable <code>sync</code> to also force the
+ * pages of each entry to storage so they survive an operating system crash.
+ * Segments whose entries are all acknowledged are recycled for new entries.
+ * Each ticket identifies the generation of its segment, so a stale or
+ * repeated acknowledgement is ignored rather than acknowledging a newer
+ * entry in a recycled segment.
+ *
+ * <p>
+ * On opening an existing journal directory, any unacknowledged entries are
+ * retained and can be replayed with {@link #replay(G2Engine,ReplayListener)}.
+ * Replay only performs the entries that were journaled before the journal
+ * was opened, and segments are not recycled while it runs, so it is safe to
+ * replay while new operations are being journaled.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   try (LoadJournal journal = LoadJournal.open(directory)) {
+ *     journal.replay(engine, null);
+ *     G2Engine journaled = journal.wrap(engine);
+ *     ...
+ *     journaled.addRecord(dataSourceCode, recordID, jsonData, loadID);
+ *   }
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe.
+ */
+public class LoadJournal implements AutoCloseable {
+  /**
+   * The default size of each segment file in bytes.
+   */
+  public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  /**
+   * The magic number identifying a journal segment.
+   */
+  private static final long SEGMENT_MAGIC = 0x47324A524E4C3031L;
+
+  /**
+   * The size of the segment header (magic number and generation).
+   */
+  private static final int SEGMENT_HEADER_SIZE = 16;
+
+  /**
+   * The size of an entry header (status, payload length, sequence number
+   * and checksum).
+   */
+  private static final int ENTRY_HEADER_SIZE = 24;
+
+  /**
+   * The status marking the end of the entries in a segment.
+   */
+  private static final int STATUS_END = 0;
+
+  /**
+   * The status of an unacknowledged entry.
+   */
+  private static final int STATUS_PENDING = 0x50454E44;
+
+  /**
+   * The status of an acknowledged entry.
+   */
+  private static final int STATUS_ACKED = 0x41434B44;
+
+  /**
+   * The file name prefix for segment files.
+   */
+  private static final String FILE_PREFIX = "journal-";
+
+  /**
+   * The file name suffix for segment files.
+   */
+  private static final String FILE_SUFFIX = ".seg";
+
+  /**
+   * The number of low bits of a ticket holding the entry offset divided by
+   * the entry alignment, with the segment generation in the remaining bits.
+   */
+  private static final int OFFSET_BITS = 28;
+
+  /**
+   * The mask for the offset bits of a ticket.
+   */
+  private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1L;
+
+  /**
+   * The generation of a segment that has not been initialized, which no
+   * ticket can refer to.
+   */
+  private static final long UNASSIGNED_GENERATION = -1L;
+
+  /**
+   * The handle for <code>MappedByteBuffer.force(int,int)</code>, or
+   * <code>null</code> if the runtime does not provide it (before Java 13),
+   * in which case the whole mapping is forced.
+   */
+  private static final MethodHandle FORCE_RANGE = findForceRange();
+
+  /**
+   * Enumerates the journaled operations.
+   */
+  public enum Operation {
+    /**
+     * {@link G2Engine#addRecord(String,String,String,String)}.
+     */
+    ADD,
+
+    /**
+     * {@link G2Engine#replaceRecord(String,String,String,String)}.
+     */
+    REPLACE,
+
+    /**
+     * {@link G2Engine#deleteRecord(String,String,String)}.
+     */
+    DELETE
+  }
+
+  /**
+   * Describes a journaled operation.
+   */
+  public static class Entry {
+    private final long sequence;
+    private final Operation operation;
+    private final String dataSourceCode;
+    private final String recordID;
+    private final String jsonData;
+    private final String loadID;
+
+    private Entry(long      sequence,
+                  Operation operation,
+                  String    dataSourceCode,
+                  String    recordID,
+                  String    jsonData,
+                  String    loadID)
+    {
+      this.sequence       = sequence;
+      this.operation      = operation;
+      this.dataSourceCode = dataSourceCode;
+      this.recordID       = recordID;
+      this.jsonData       = jsonData;
+      this.loadID         = loadID;
+    }
+
+    /**
+     * Returns the sequence number of the entry.
+     *
+     * @return The sequence number of the entry.
+     */
+    public long getSequence() {
+      return this.sequence;
+    }
+
+    /**
+     * Returns the journaled {@link Operation}.
+     *
+     * @return The journaled {@link Operation}.
+     */
+    public Operation getOperation() {
+      return this.operation;
+    }
+
+    /**
+     * Returns the data source code of the record.
+     *
+     * @return The data source code of the record.
+     */
+    public String getDataSourceCode() {
+      return this.dataSourceCode;
+    }
+
+    /**
+     * Returns the record ID of the record.
+     *
+     * @return The record ID of the record.
+     */
+    public String getRecordID() {
+      return this.recordID;
+    }
+
+    /**
+     * Returns the JSON data of the record, or <code>null</code> for a
+     * {@link Operation#DELETE} operation.
+     *
+     * @return The JSON data of the record.
+     */
+    public String getJsonData() {
+      return this.jsonData;
+    }
+
+    /**
+     * Returns the load ID, or <code>null</code> if none.
+     *
+     * @return The load ID.
+     */
+    public String getLoadID() {
+      return this.loadID;
+    }
+
+    /**
+     * Performs this operation against the specified {@link G2Engine}.
+     *
+     * @param engine The {@link G2Engine} to perform the operation against.
+     *
+     * @return The return code from the {@link G2Engine} function.
+     */
+    public int perform(G2Engine engine) {
+      switch (this.operation) {
+        case ADD:
+          return engine.addRecord(
+              this.dataSourceCode, this.recordID, this.jsonData, this.loadID);
+        case REPLACE:
+          return engine.replaceRecord(
+              this.dataSourceCode, this.recordID, this.jsonData, this.loadID);
+        case DELETE:
+          return engine.deleteRecord(
+              this.dataSourceCode, this.recordID, this.loadID);
+        default:
+          throw new IllegalStateException(
+              "Unhandled operation: " + this.operation);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return this.sequence + ": " + this.operation + " "
+          + this.dataSourceCode + ":" + this.recordID;
+    }
+  }
+
+  /**
+   * Interface for receiving the outcome of each replayed {@link Entry}.
+   */
+  public interface ReplayListener {
+    /**
+     * Called after an {@link Entry} has been replayed.
+     *
+     * @param entry The {@link Entry} that was replayed.
+     * @param returnCode The return code from the {@link G2Engine} function.
+     */
+    void replayed(Entry entry, int returnCode);
+  }
+
+  /**
+   * A memory-mapped segment file.
+   */
+  private static final class Segment {
+    private final MappedByteBuffer buffer;
+    private final AtomicInteger pendingCount = new AtomicInteger(0);
+    private long generation;
+    private int position;
+    private boolean sealed;
+
+    private Segment(MappedByteBuffer buffer) {
+      this.buffer     = buffer;
+      this.generation = UNASSIGNED_GENERATION;
+    }
+  }
+
+  /**
+   * The directory containing the segment files.
+   */
+  private final Path directory;
+
+  /**
+   * The size of each segment file.
+   */
+  private final int segmentSize;
+
+  /**
+   * Whether or not to force each entry to storage.
+   */
+  private final boolean sync;
+
+  /**
+   * All segments in the order their files are numbered.
+   */
+  private final List<Segment> segments = new ArrayList<>();
+
+  /**
+   * The initialized segments by generation.
+   */
+  private final Map<Long, Segment> segmentsByGeneration = new HashMap<>();
+
+  /**
+   * The recycled segments available for reuse.
+   */
+  private final Deque<Segment> freeSegments = new ArrayDeque<>();
+
+  /**
+   * The number of iterations over the pending entries in progress, during
+   * which segments are not recycled.
+   */
+  private int pinCount = 0;
+
+  /**
+   * The sequence number of the first entry journaled by this instance, which
+   * bounds the entries performed by {@link #replay(G2Engine,ReplayListener)}.
+   */
+  private long recoveredSequence;
+
+  /**
+   * The segment currently being appended to.
+   */
+  private Segment current;
+
+  /**
+   * The next generation number for a segment.
+   */
+  private long nextGeneration;
+
+  /**
+   * The next sequence number for an entry.
+   */
+  private long nextSequence;
+
+  /**
+   * Whether or not this instance has been closed.
+   */
+  private boolean closed = false;
+
+  /**
+   * Opens the journal in the specified directory with the default segment
+   * size and without forcing entries to storage.
+   *
+   * @param directory The directory for the segment files.
+   *
+   * @return The opened {@link LoadJournal}.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  public static LoadJournal open(Path directory) throws IOException {
+    return new LoadJournal(directory, DEFAULT_SEGMENT_SIZE, false);
+  }
+
+  /**
+   * Opens (or creates) the journal in the specified directory.  Existing
+   * segment files must have been created with the same segment size.
+   *
+   * @param directory The directory for the segment files.
+   * @param segmentSize The size of each segment file in bytes.
+   * @param sync <code>true</code> if each appended entry and acknowledgement
+   *             should be forced to storage, otherwise <code>false</code>.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  public LoadJournal(Path directory, int segmentSize, boolean sync)
+      throws IOException
+  {
+    if (segmentSize < 4096) {
+      throw new IllegalArgumentException(
+          "The segment size must be at least 4096 bytes: " + segmentSize);
+    }
+    this.directory    = directory;
+    this.segmentSize  = segmentSize;
+    this.sync         = sync;
+    Files.createDirectories(directory);
+    this.recover();
+    this.recoveredSequence = this.nextSequence;
+  }
+
+  /**
+   * Returns the number of journaled entries that have not been acknowledged.
+   *
+   * @return The number of unacknowledged entries.
+   */
+  public synchronized long getPendingCount() {
+    long count = 0L;
+    for (Segment segment : this.segments) {
+      count += segment.pendingCount.get();
+    }
+    return count;
+  }
+
+  /**
+   * Returns the number of segment files.
+   *
+   * @return The number of segment files.
+   */
+  public synchronized int getSegmentCount() {
+    return this.segments.size();
+  }
+
+  /**
+   * Appends an operation to the journal and returns the ticket with which to
+   * acknowledge it via {@link #acknowledge(long)}.
+   *
+   * @param operation The {@link Operation}.
+   * @param dataSourceCode The data source code of the record.
+   * @param recordID The record ID of the record.
+   * @param jsonData The JSON data of the record (<code>null</code> for
+   *                 {@link Operation#DELETE}).
+   * @param loadID The load ID (may be <code>null</code>).
+   *
+   * @return The ticket for acknowledging the entry, which identifies the
+   *         entry and the generation of its segment.
+   *
+   * @throws IllegalArgumentException If the entry is too large for a segment.
+   * @throws UncheckedIOException If an I/O failure occurs.
+   */
+  public long append(Operation  operation,
+                     String     dataSourceCode,
+                     String     recordID,
+                     String     jsonData,
+                     String     loadID)
+  {
+    byte[][] fields = {
+        bytes(dataSourceCode), bytes(recordID), bytes(jsonData), bytes(loadID)
+    };
+    int payloadLength = 1;
+    for (byte[] field : fields) {
+      payloadLength += Integer.BYTES + ((field == null) ? 0 : field.length);
+    }
+    int entrySize = align(ENTRY_HEADER_SIZE + payloadLength);
+    // leave room for the end marker after the entry
+    if (entrySize + Integer.BYTES > this.segmentSize - SEGMENT_HEADER_SIZE) {
+      throw new IllegalArgumentException(
+          "The journal entry (" + entrySize + " bytes) exceeds the segment "
+          + "size (" + this.segmentSize + " bytes).");
+    }
+
+    Segment segment;
+    int     offset;
+    synchronized (this) {
+      if (this.closed) throw new IllegalStateException("Journal is closed.");
+      segment = this.current;
+      if (segment.position + entrySize + Integer.BYTES > this.segmentSize) {
+        segment = this.rollSegment();
+      }
+      offset = segment.position;
+      ByteBuffer  buffer    = segment.buffer;
+      CRC32       crc       = new CRC32();
+      ByteBuffer  payload   = buffer.duplicate();
+      payload.position(offset + ENTRY_HEADER_SIZE);
+      payload.put((byte) operation.ordinal());
+      for (byte[] field : fields) {
+        if (field == null) {
+          payload.putInt(-1);
+        } else {
+          payload.putInt(field.length);
+          payload.put(field);
+        }
+      }
+      ByteBuffer checked = buffer.duplicate();
+      checked.position(offset + ENTRY_HEADER_SIZE);
+      checked.limit(offset + ENTRY_HEADER_SIZE + payloadLength);
+      crc.update(checked);
+
+      long sequence = this.nextSequence++;
+      buffer.putInt(offset + 4, payloadLength);
+      buffer.putLong(offset + 8, sequence);
+      buffer.putInt(offset + 16, (int) crc.getValue());
+      buffer.putInt(offset + entrySize, STATUS_END);
+      // the status is written last so a torn entry is never replayed
+      buffer.putInt(offset, STATUS_PENDING);
+      segment.position += entrySize;
+      segment.pendingCount.incrementAndGet();
+    }
+    // the segment cannot be recycled until this entry is acknowledged
+    if (this.sync) force(segment, offset, entrySize + Integer.BYTES);
+    return ticket(segment, offset);
+  }
+
+  /**
+   * Marks the entry identified by the specified ticket as acknowledged.
+   * Acknowledging an entry that is already acknowledged, or whose segment
+   * has since been recycled, has no effect.
+   *
+   * @param ticket The ticket returned from {@link #append(Operation,String,
+   *               String,String,String)}.
+   */
+  public void acknowledge(long ticket) {
+    Segment segment;
+    int     offset = (int) (ticket & OFFSET_MASK) << 3;
+    synchronized (this) {
+      segment = this.segmentsByGeneration.get(ticket >>> OFFSET_BITS);
+      if (segment == null || offset >= segment.position
+          || segment.buffer.getInt(offset) != STATUS_PENDING)
+      {
+        return;
+      }
+      segment.buffer.putInt(offset, STATUS_ACKED);
+      if (segment.pendingCount.decrementAndGet() == 0 && segment.sealed) {
+        this.freeSegments.add(segment);
+      }
+    }
+    if (this.sync) force(segment, offset, Integer.BYTES);
+  }
+
+  /**
+   * Returns the unacknowledged entries in the order they were journaled.
+   *
+   * @return The {@link List} of unacknowledged {@link Entry} instances.
+   */
+  public List<Entry> getPendingEntries() {
+    List<Entry> result = new ArrayList<>();
+    this.forEachPending(Long.MAX_VALUE, (entry, ticket) -> result.add(entry));
+    return result;
+  }
+
+  /**
+   * Replays every unacknowledged entry that was journaled before this
+   * journal was opened against the specified {@link G2Engine} in the order
+   * they were journaled, acknowledging each once the native call returns.
+   * Entries journaled since the journal was opened are in flight on other
+   * threads and are not replayed.
+   *
+   * @param engine The {@link G2Engine} to replay against.
+   * @param listener The optional {@link ReplayListener} to notify of the
+   *                 outcome of each entry (may be <code>null</code>).
+   *
+   * @return The number of replayed entries.
+   */
+  public long replay(G2Engine engine, ReplayListener listener) {
+    long[] count = { 0L };
+    this.forEachPending(this.recoveredSequence, (entry, ticket) -> {
+      int returnCode = entry.perform(engine);
+      this.acknowledge(ticket);
+      count[0]++;
+      if (listener != null) listener.replayed(entry, returnCode);
+    });
+    return count[0];
+  }
+
+  /**
+   * Returns a {@link G2Engine} that forwards to the specified {@link
+   * G2Engine} and journals every {@link
+   * G2Engine#addRecord(String,String,String,String)}, {@link
+   * G2Engine#replaceRecord(String,String,String,String)} and {@link
+   * G2Engine#deleteRecord(String,String,String)} call.
+   *
+   * @param engine The {@link G2Engine} to wrap.
+   *
+   * @return The journaling {@link G2Engine}.
+   */
+  public G2Engine wrap(G2Engine engine) {
+    return new JournalingEngine(engine);
+  }
+
+  /**
+   * Closes the journal, forcing all segments to storage.  Unacknowledged
+   * entries remain in the segment files for replay.
+   */
+  @Override
+  public synchronized void close() {
+    if (this.closed) return;
+    this.closed = true;
+    for (Segment segment : this.segments) {
+      segment.buffer.force();
+    }
+  }
+
+  /**
+   * Internal functional interface for iterating pending entries.
+   */
+  private interface PendingVisitor {
+    void visit(Entry entry, long ticket);
+  }
+
+  /**
+   * Internal method to visit the pending entries with sequence numbers less
+   * than the specified sequence number in generation order.  Segments are
+   * pinned against recycling for the duration so that their entries are not
+   * overwritten while they are read outside the lock.
+   */
+  private void forEachPending(long endSequence, PendingVisitor visitor) {
+    List<Segment> ordered;
+    synchronized (this) {
+      ordered = new ArrayList<>(this.segments);
+      this.pinCount++;
+    }
+    try {
+      ordered.sort((s1, s2) -> Long.compare(s1.generation, s2.generation));
+      for (Segment segment : ordered) {
+        if (segment.pendingCount.get() == 0) continue;
+        int limit;
+        long generation;
+        synchronized (this) {
+          limit       = segment.position;
+          generation  = segment.generation;
+        }
+        for (int offset = SEGMENT_HEADER_SIZE; offset < limit; ) {
+          ByteBuffer buffer = segment.buffer;
+          int status = buffer.getInt(offset);
+          int payloadLength = buffer.getInt(offset + 4);
+          if (status == STATUS_PENDING
+              && buffer.getLong(offset + 8) < endSequence)
+          {
+            visitor.visit(readEntry(buffer, offset, payloadLength),
+                          (generation << OFFSET_BITS) | (offset >>> 3));
+          }
+          offset += align(ENTRY_HEADER_SIZE + payloadLength);
+        }
+      }
+    } finally {
+      synchronized (this) {
+        this.pinCount--;
+      }
+    }
+  }
+
+  /**
+   * Internal method to decode an entry.
+   */
+  private static Entry readEntry(ByteBuffer buffer, int offset, int length) {
+    ByteBuffer payload = buffer.duplicate();
+    payload.position(offset + ENTRY_HEADER_SIZE);
+    payload.limit(offset + ENTRY_HEADER_SIZE + length);
+    Operation operation = Operation.values()[payload.get()];
+    String[] fields = new String[4];
+    for (int index = 0; index < fields.length; index++) {
+      int fieldLength = payload.getInt();
+      if (fieldLength < 0) continue;
+      byte[] bytes = new byte[fieldLength];
+      payload.get(bytes);
+      fields[index] = new String(bytes, StandardCharsets.UTF_8);
+    }
+    return new Entry(buffer.getLong(offset + 8), operation,
+                     fields[0], fields[1], fields[2], fields[3]);
+  }
+
+  /**
+   * Internal method to check if an entry's checksum is valid.
+   */
+  private static boolean isValid(ByteBuffer buffer, int offset, int limit) {
+    int length = buffer.getInt(offset + 4);
+    if (length < 1 || offset + ENTRY_HEADER_SIZE + length > limit) {
+      return false;
+    }
+    ByteBuffer payload = buffer.duplicate();
+    payload.position(offset + ENTRY_HEADER_SIZE);
+    payload.limit(offset + ENTRY_HEADER_SIZE + length);
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+    return ((int) crc.getValue()) == buffer.getInt(offset + 16);
+  }
+
+  /**
+   * Internal method to load the existing segments and prepare for appending.
+   */
+  private void recover() throws IOException {
+    List<Path> files = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(
+        this.directory, FILE_PREFIX + "*" + FILE_SUFFIX))
+    {
+      stream.forEach(files::add);
+    }
+    files.sort(null);
+    for (Path file : files) {
+      Segment segment = this.mapSegment(file);
+      ByteBuffer buffer = segment.buffer;
+      if (buffer.getLong(0) != SEGMENT_MAGIC) {
+        // a blank segment gets a generation only when it is first used
+        segment.sealed = true;
+        this.freeSegments.add(segment);
+        this.segments.add(segment);
+        continue;
+      }
+      segment.generation = buffer.getLong(8);
+      segment.sealed = true;
+      this.segmentsByGeneration.put(segment.generation, segment);
+      int offset = SEGMENT_HEADER_SIZE;
+      while (offset + ENTRY_HEADER_SIZE <= this.segmentSize) {
+        int status = buffer.getInt(offset);
+        if ((status != STATUS_PENDING && status != STATUS_ACKED)
+            || !isValid(buffer, offset, this.segmentSize))
+        {
+          break;
+        }
+        if (status == STATUS_PENDING) segment.pendingCount.incrementAndGet();
+        this.nextSequence = Math.max(this.nextSequence,
+                                     buffer.getLong(offset + 8) + 1);
+        offset += align(ENTRY_HEADER_SIZE + buffer.getInt(offset + 4));
+      }
+      segment.position = offset;
+      this.nextGeneration = Math.max(this.nextGeneration,
+                                     segment.generation + 1);
+      if (segment.pendingCount.get() == 0) this.freeSegments.add(segment);
+      this.segments.add(segment);
+    }
+    this.rollSegment();
+  }
+
+  /**
+   * Internal method to seal the current segment and start a new one,
+   * reusing a recycled segment if one is available.
+   */
+  private Segment rollSegment() {
+    if (this.current != null) {
+      this.current.sealed = true;
+      if (this.current.pendingCount.get() == 0) {
+        this.freeSegments.add(this.current);
+      }
+    }
+    // a pinned journal grows rather than overwriting entries being read
+    Segment segment = (this.pinCount == 0) ? this.freeSegments.pollFirst()
+                                           : null;
+    try {
+      if (segment == null) {
+        segment = this.mapSegment(this.directory.resolve(String.format(
+            "%s%06d%s", FILE_PREFIX, this.segments.size(), FILE_SUFFIX)));
+        this.segments.add(segment);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    this.initSegment(segment, this.nextGeneration++);
+    segment.sealed = false;
+    this.current = segment;
+    return segment;
+  }
+
+  /**
+   * Internal method to write a fresh segment header.
+   */
+  private void initSegment(Segment segment, long generation) {
+    this.segmentsByGeneration.remove(segment.generation, segment);
+    segment.generation = generation;
+    segment.position = SEGMENT_HEADER_SIZE;
+    segment.pendingCount.set(0);
+    segment.buffer.putInt(SEGMENT_HEADER_SIZE, STATUS_END);
+    segment.buffer.putLong(8, generation);
+    segment.buffer.putLong(0, SEGMENT_MAGIC);
+    this.segmentsByGeneration.put(generation, segment);
+    if (this.sync) force(segment, 0, SEGMENT_HEADER_SIZE + Integer.BYTES);
+  }
+
+  /**
+   * Internal method to build the ticket for the entry at the specified
+   * offset of the specified segment.
+   */
+  private static long ticket(Segment segment, int offset) {
+    return (segment.generation << OFFSET_BITS) | (offset >>> 3);
+  }
+
+  /**
+   * Internal method to force the specified range of a segment to storage,
+   * or the whole segment if the runtime cannot force a range.
+   */
+  private static void force(Segment segment, int offset, int length) {
+    if (FORCE_RANGE == null) {
+      segment.buffer.force();
+      return;
+    }
+    try {
+      FORCE_RANGE.invokeExact(segment.buffer, offset, length);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Internal method to look up <code>MappedByteBuffer.force(int,int)</code>,
+   * returning <code>null</code> if it is not available.
+   */
+  private static MethodHandle findForceRange() {
+    try {
+      return MethodHandles.publicLookup().findVirtual(
+          MappedByteBuffer.class, "force",
+          MethodType.methodType(MappedByteBuffer.class, int.class, int.class))
+          .asType(MethodType.methodType(
+              void.class, MappedByteBuffer.class, int.class, int.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Internal method to map a segment file.
+   */
+  private Segment mapSegment(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(
+        file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE))
+    {
+      MappedByteBuffer buffer = channel.map(
+          FileChannel.MapMode.READ_WRITE, 0, this.segmentSize);
+      return new Segment(buffer);
+    }
+  }
+
+  /**
+   * Internal method to align a size to eight (8) bytes.
+   */
+  private static int align(int size) {
+    return (size + 7) & ~7;
+  }
+
+  /**
+   * Internal method to encode a string as UTF-8.
+   */
+  private static byte[] bytes(String text) {
+    return (text == null) ? null : text.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * The {@link G2Engine} returned by {@link #wrap(G2Engine)}.
+   */
+  private class JournalingEngine extends G2EngineDecorator {
+    private JournalingEngine(G2Engine engine) {
+      super(engine);
+    }
+
+    @Override
+    public int addRecord(String dataSourceCode,
+                         String recordID,
+                         String jsonData,
+                         String loadID)
+    {
+      long ticket = append(
+          Operation.ADD, dataSourceCode, recordID, jsonData, loadID);
+      int returnCode = super.addRecord(
+          dataSourceCode, recordID, jsonData, loadID);
+      acknowledge(ticket);
+      return returnCode;
+    }
+
+    @Override
+    public int replaceRecord(String dataSourceCode,
+                             String recordID,
+                             String jsonData,
+                             String loadID)
+    {
+      long ticket = append(
+          Operation.REPLACE, dataSourceCode, recordID, jsonData, loadID);
+      int returnCode = super.replaceRecord(
+          dataSourceCode, recordID, jsonData, loadID);
+      acknowledge(ticket);
+      return returnCode;
+    }
+
+    @Override
+    public int deleteRecord(String dataSourceCode,
+                            String recordID,
+                            String loadID)
+    {
+      long ticket = append(
+          Operation.DELETE, dataSourceCode, recordID, null, loadID);
+      int returnCode = super.deleteRecord(dataSourceCode, recordID, loadID);
+      acknowledge(ticket);
+      return returnCode;
+    }
+  }
+}
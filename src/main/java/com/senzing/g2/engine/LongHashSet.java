@@ -0,0 +1,320 @@
+package com.senzing.g2.engine;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.function.LongConsumer;
+
+/**
+ * Provides a set of primitive <code>long</code> values (e.g.: entity IDs)
+ * that avoids boxing.  The values are stored in an open-addressing hash table
+ * with linear probing that is backed either by the Java heap or, if
+ * requested, by a direct (off-heap) buffer so that very large sets add no
+ * garbage collection pressure.
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+public class LongHashSet {
+  /**
+   * The maximum fraction of occupied slots before resizing.
+   */
+  private static final double MAX_LOAD = 0.65;
+
+  /**
+   * The maximum number of slots in a single buffer.
+   */
+  private static final int MAX_SLOTS = 1 << 28;
+
+  /**
+   * Whether or not the table is allocated off-heap.
+   */
+  private final boolean offHeap;
+
+  /**
+   * The slots, with zero (0) marking an empty slot.
+   */
+  private LongBuffer table;
+
+  /**
+   * The mask for computing slot indexes.
+   */
+  private int mask;
+
+  /**
+   * The number of non-zero values in the table.
+   */
+  private int tableSize;
+
+  /**
+   * Whether or not zero (0) is in the set, which is tracked separately
+   * since zero marks an empty slot.
+   */
+  private boolean containsZero;
+
+  /**
+   * Constructs an empty on-heap set.
+   */
+  public LongHashSet() {
+    this(16, false);
+  }
+
+  /**
+   * Constructs an empty on-heap set sized for the specified number of
+   * values.
+   *
+   * @param expectedSize The expected number of values.
+   */
+  public LongHashSet(int expectedSize) {
+    this(expectedSize, false);
+  }
+
+  /**
+   * Constructs an empty set sized for the specified number of values that
+   * is stored on or off the heap.
+   *
+   * @param expectedSize The expected number of values.
+   * @param offHeap <code>true</code> if the values should be stored in a
+   *                direct (off-heap) buffer, otherwise <code>false</code>.
+   */
+  public LongHashSet(int expectedSize, boolean offHeap) {
+    this.offHeap = offHeap;
+    this.allocate(slotsFor(expectedSize));
+  }
+
+  /**
+   * Constructs an on-heap set containing the specified values.
+   *
+   * @param values The values for the set.
+   */
+  public LongHashSet(long... values) {
+    this(values.length, false);
+    this.addAll(values);
+  }
+
+  /**
+   * Internal method to compute the number of slots for a size.
+   */
+  private static int slotsFor(int size) {
+    long slots = Long.highestOneBit(
+        Math.max(8L, (long) Math.ceil(size / MAX_LOAD))) << 1;
+    if (slots > MAX_SLOTS) {
+      throw new IllegalArgumentException("Too many values: " + size);
+    }
+    return (int) slots;
+  }
+
+  /**
+   * Internal method to allocate the table.
+   */
+  private void allocate(int slots) {
+    int bytes = slots * Long.BYTES;
+    this.table = (this.offHeap ? ByteBuffer.allocateDirect(bytes)
+                               : ByteBuffer.allocate(bytes)).asLongBuffer();
+    this.mask = slots - 1;
+    this.tableSize = 0;
+  }
+
+  /**
+   * Internal method to compute the home slot of a value.
+   */
+  private int slot(long value) {
+    long hash = value * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & this.mask;
+  }
+
+  /**
+   * Checks if this set stores its values off-heap.
+   *
+   * @return <code>true</code> if stored off-heap, otherwise
+   *         <code>false</code>.
+   */
+  public boolean isOffHeap() {
+    return this.offHeap;
+  }
+
+  /**
+   * Returns the number of values in the set.
+   *
+   * @return The number of values in the set.
+   */
+  public int size() {
+    return this.tableSize + (this.containsZero ? 1 : 0);
+  }
+
+  /**
+   * Checks if this set is empty.
+   *
+   * @return <code>true</code> if empty, otherwise <code>false</code>.
+   */
+  public boolean isEmpty() {
+    return this.size() == 0;
+  }
+
+  /**
+   * Checks if the specified value is in the set.
+   *
+   * @param value The value to check for.
+   *
+   * @return <code>true</code> if the value is in the set, otherwise
+   *         <code>false</code>.
+   */
+  public boolean contains(long value) {
+    if (value == 0L) return this.containsZero;
+    for (int slot = this.slot(value); ; slot = (slot + 1) & this.mask) {
+      long current = this.table.get(slot);
+      if (current == value) return true;
+      if (current == 0L) return false;
+    }
+  }
+
+  /**
+   * Adds the specified value to the set.
+   *
+   * @param value The value to add.
+   *
+   * @return <code>true</code> if the value was added, or <code>false</code>
+   *         if it was already in the set.
+   */
+  public boolean add(long value) {
+    if (value == 0L) {
+      if (this.containsZero) return false;
+      this.containsZero = true;
+      return true;
+    }
+    for (int slot = this.slot(value); ; slot = (slot + 1) & this.mask) {
+      long current = this.table.get(slot);
+      if (current == value) return false;
+      if (current == 0L) {
+        this.table.put(slot, value);
+        if (++this.tableSize > (this.mask + 1) * MAX_LOAD) this.grow();
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Adds all the specified values to the set.
+   *
+   * @param values The values to add.
+   *
+   * @return The number of values that were added.
+   */
+  public int addAll(long... values) {
+    int count = 0;
+    for (long value : values) {
+      if (this.add(value)) count++;
+    }
+    return count;
+  }
+
+  /**
+   * Removes the specified value from the set.
+   *
+   * @param value The value to remove.
+   *
+   * @return <code>true</code> if the value was removed, or <code>false</code>
+   *         if it was not in the set.
+   */
+  public boolean remove(long value) {
+    if (value == 0L) {
+      boolean result = this.containsZero;
+      this.containsZero = false;
+      return result;
+    }
+    int slot = this.slot(value);
+    for (; ; slot = (slot + 1) & this.mask) {
+      long current = this.table.get(slot);
+      if (current == 0L) return false;
+      if (current == value) break;
+    }
+    // shift back any following values so no probe sequence is broken
+    int gap = slot;
+    for (int next = (gap + 1) & this.mask; ; next = (next + 1) & this.mask) {
+      long current = this.table.get(next);
+      if (current == 0L) break;
+      int home = this.slot(current);
+      boolean movable = (gap <= next) ? (home <= gap || home > next)
+                                      : (home <= gap && home > next);
+      if (movable) {
+        this.table.put(gap, current);
+        gap = next;
+      }
+    }
+    this.table.put(gap, 0L);
+    this.tableSize--;
+    return true;
+  }
+
+  /**
+   * Removes all values from the set, retaining its capacity.
+   */
+  public void clear() {
+    for (int slot = 0; slot <= this.mask; slot++) {
+      this.table.put(slot, 0L);
+    }
+    this.tableSize    = 0;
+    this.containsZero = false;
+  }
+
+  /**
+   * Performs the specified action for each value in the set in no particular
+   * order.
+   *
+   * @param action The action to perform.
+   */
+  public void forEach(LongConsumer action) {
+    if (this.containsZero) action.accept(0L);
+    for (int slot = 0; slot <= this.mask; slot++) {
+      long value = this.table.get(slot);
+      if (value != 0L) action.accept(value);
+    }
+  }
+
+  /**
+   * Returns the values in the set as a new array in no particular order.
+   *
+   * @return The values in the set as a new array.
+   */
+  public long[] toArray() {
+    long[] result = new long[this.size()];
+    int index = 0;
+    if (this.containsZero) result[index++] = 0L;
+    for (int slot = 0; slot <= this.mask; slot++) {
+      long value = this.table.get(slot);
+      if (value != 0L) result[index++] = value;
+    }
+    return result;
+  }
+
+  /**
+   * Internal method to double the capacity of the table.
+   */
+  private void grow() {
+    LongBuffer  oldTable  = this.table;
+    int         oldSlots  = this.mask + 1;
+    if (oldSlots >= MAX_SLOTS) {
+      throw new IllegalStateException("LongHashSet is full: " + this.size());
+    }
+    this.allocate(oldSlots * 2);
+    for (int slot = 0; slot < oldSlots; slot++) {
+      long value = oldTable.get(slot);
+      if (value == 0L) continue;
+      int target = this.slot(value);
+      while (this.table.get(target) != 0L) {
+        target = (target + 1) & this.mask;
+      }
+      this.table.put(target, value);
+      this.tableSize++;
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    this.forEach(value -> {
+      if (sb.length() > 1) sb.append(", ");
+      sb.append(value);
+    });
+    return sb.append("]").toString();
+  }
+}
@@ -0,0 +1,41 @@
+package com.senzing.g2.engine;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link ThreadFactory} that creates daemon threads named with a common
+ * prefix and a sequence number so that SDK-owned worker threads are easily
+ * identified in thread dumps and never prevent the JVM from exiting.
+ */
+final class NamedThreadFactory implements ThreadFactory {
+  /**
+   * The prefix for the thread names.
+   */
+  private final String prefix;
+
+  /**
+   * The sequence number for the next thread.
+   */
+  private final AtomicInteger sequence = new AtomicInteger(0);
+
+  /**
+   * Constructs with the specified thread name prefix.
+   *
+   * @param prefix The prefix for the thread names.
+   */
+  NamedThreadFactory(String prefix) {
+    this.prefix = prefix;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Thread newThread(Runnable runnable) {
+    Thread thread = new Thread(
+        runnable, this.prefix + "-" + this.sequence.incrementAndGet());
+    thread.setDaemon(true);
+    return thread;
+  }
+}
@@ -0,0 +1,726 @@
+package com.senzing.g2.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Expands the network around a large list of seed entities by splitting the
+ * seeds into chunks, calling {@link
+ * G2Engine#findNetworkByEntityID(String,int,int,int,long,StringBuffer)} for
+ * the chunks in parallel over a bounded number of threads and merging the
+ * responses, de-duplicating entities by entity ID and paths by their
+ * (unordered) end points.
+ *
+ * <p>
+ * The <code>maxEntities</code> limit applies to the merged network: each
+ * call is given the remaining budget, chunks are not started once the budget
+ * is exhausted and entities beyond the budget are dropped, in which case the
+ * result is flagged as {@linkplain NetworkResult#isTruncated() truncated}.
+ * A path that passes through an entity that was dropped is dropped as well,
+ * so the merged network never references an entity it does not contain;
+ * such paths are counted by {@link NetworkResult#getDroppedPathCount()}.
+ * Paths are only found between seeds that fall in the same chunk, so seeds
+ * that are expected to be related should be adjacent in the seed list.
+ *
+ * <p>
+ * An optional {@link Listener} receives each newly merged entity and path as
+ * soon as the chunk containing it completes, so callers can render partial
+ * networks while the remaining chunks run.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   try (NetworkExpander expander = new NetworkExpander(engine, 8)) {
+ *     NetworkExpander.NetworkResult result = expander.expand(
+ *         seedIDs, 100, 3, 1, 5000, G2Engine.G2_FIND_PATH_DEFAULT_FLAGS);
+ *     String json = result.toJson();
+ *   }
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe.
+ */
+public class NetworkExpander implements AutoCloseable {
+  /**
+   * The field name of the paths array in the response.
+   */
+  private static final String ENTITY_PATHS = "ENTITY_PATHS";
+
+  /**
+   * The field name of the entities array in the response.
+   */
+  private static final String ENTITIES = "ENTITIES";
+
+  /**
+   * The field name of the resolved entity in each entity element.
+   */
+  private static final String RESOLVED_ENTITY = "RESOLVED_ENTITY";
+
+  /**
+   * The field name of the entity ID in the resolved entity.
+   */
+  private static final String ENTITY_ID = "ENTITY_ID";
+
+  /**
+   * The empty array of entity IDs for a path without intermediate entities.
+   */
+  private static final long[] EMPTY_IDS = new long[0];
+
+  /**
+   * The field name of the start entity ID in each path element.
+   */
+  private static final String START_ENTITY_ID = "START_ENTITY_ID";
+
+  /**
+   * The field name of the end entity ID in each path element.
+   */
+  private static final String END_ENTITY_ID = "END_ENTITY_ID";
+
+  /**
+   * The {@link G2Engine} to query.
+   */
+  private final G2Engine engine;
+
+  /**
+   * The {@link ExecutorService} that runs the calls.
+   */
+  private final ExecutorService executor;
+
+  /**
+   * The maximum number of concurrent calls for a single expansion.
+   */
+  private final int concurrency;
+
+  /**
+   * Whether or not this instance owns (and should shut down) the executor.
+   */
+  private final boolean ownsExecutor;
+
+  /**
+   * Receives the entities and paths of an expansion as they are merged.
+   * Calls are serialized, so implementations need not be thread-safe.
+   */
+  public interface Listener {
+    /**
+     * Called when an entity is first merged into the network.
+     *
+     * @param entityID The entity ID of the entity.
+     * @param entityJson The JSON element from the <code>ENTITIES</code>
+     *                   array of the response.
+     */
+    void entityAdded(long entityID, String entityJson);
+
+    /**
+     * Called when a path is first merged into the network.
+     *
+     * @param startEntityID The start entity ID of the path.
+     * @param endEntityID The end entity ID of the path.
+     * @param pathJson The JSON element from the <code>ENTITY_PATHS</code>
+     *                 array of the response.
+     */
+    void pathAdded(long startEntityID, long endEntityID, String pathJson);
+
+    /**
+     * Called when the call for a chunk of seeds fails.  The default
+     * implementation does nothing.
+     *
+     * @param seedIDs The entity IDs of the seeds in the failed chunk.
+     * @param errorCode The value of {@link G2Engine#getLastExceptionCode()}
+     *                  captured for the failure.
+     * @param message The value of {@link G2Engine#getLastException()}
+     *                captured for the failure.
+     */
+    default void chunkFailed(long[] seedIDs, int errorCode, String message) {
+      // do nothing
+    }
+  }
+
+  /**
+   * Describes the merged network produced by an expansion.
+   */
+  public static class NetworkResult {
+    private final long[] entityIDs;
+    private final String[] entities;
+    private final String[] paths;
+    private final long[] failedSeedIDs;
+    private final boolean truncated;
+    private final int droppedPathCount;
+
+    private NetworkResult(long[]    entityIDs,
+                          String[]  entities,
+                          String[]  paths,
+                          long[]    failedSeedIDs,
+                          boolean   truncated,
+                          int       droppedPathCount)
+    {
+      this.entityIDs        = entityIDs;
+      this.entities         = entities;
+      this.paths            = paths;
+      this.failedSeedIDs    = failedSeedIDs;
+      this.truncated        = truncated;
+      this.droppedPathCount = droppedPathCount;
+    }
+
+    /**
+     * Returns the number of distinct entities in the network.
+     *
+     * @return The number of distinct entities in the network.
+     */
+    public int getEntityCount() {
+      return this.entities.length;
+    }
+
+    /**
+     * Returns the entity ID of the entity at the specified index, in the
+     * order the entities were merged.
+     *
+     * @param index The index of the entity.
+     *
+     * @return The entity ID of the entity at the specified index.
+     */
+    public long getEntityID(int index) {
+      return this.entityIDs[index];
+    }
+
+    /**
+     * Returns the <code>ENTITIES</code> element for the entity at the
+     * specified index, in the order the entities were merged.
+     *
+     * @param index The index of the entity.
+     *
+     * @return The JSON text for the entity at the specified index.
+     */
+    public String getEntity(int index) {
+      return this.entities[index];
+    }
+
+    /**
+     * Returns the number of distinct paths in the network.
+     *
+     * @return The number of distinct paths in the network.
+     */
+    public int getPathCount() {
+      return this.paths.length;
+    }
+
+    /**
+     * Returns the <code>ENTITY_PATHS</code> element for the path at the
+     * specified index, in the order the paths were merged.
+     *
+     * @param index The index of the path.
+     *
+     * @return The JSON text for the path at the specified index.
+     */
+    public String getPath(int index) {
+      return this.paths[index];
+    }
+
+    /**
+     * Returns the seed entity IDs of the chunks that failed.
+     *
+     * @return The seed entity IDs of the failed chunks (empty if none).
+     */
+    public long[] getFailedSeedIDs() {
+      return this.failedSeedIDs.clone();
+    }
+
+    /**
+     * Checks if the network was cut short by the <code>maxEntities</code>
+     * budget.
+     *
+     * @return <code>true</code> if chunks were skipped or entities dropped
+     *         because of the budget, otherwise <code>false</code>.
+     */
+    public boolean isTruncated() {
+      return this.truncated;
+    }
+
+    /**
+     * Returns the number of distinct paths that were dropped because they
+     * pass through an entity that was dropped by the <code>maxEntities</code>
+     * budget.  These paths are not included in {@link #getPathCount()}.
+     *
+     * @return The number of dropped paths.
+     */
+    public int getDroppedPathCount() {
+      return this.droppedPathCount;
+    }
+
+    /**
+     * Checks if the call for every chunk succeeded.
+     *
+     * @return <code>true</code> if no chunk failed, otherwise
+     *         <code>false</code>.
+     */
+    public boolean isAllSuccessful() {
+      return this.failedSeedIDs.length == 0;
+    }
+
+    /**
+     * Returns the merged network as a JSON document with the same
+     * <code>ENTITY_PATHS</code> and <code>ENTITIES</code> arrays as the
+     * response of {@link
+     * G2Engine#findNetworkByEntityID(String,int,int,int,long,StringBuffer)}.
+     *
+     * @return The merged network as JSON text.
+     */
+    public String toJson() {
+      int capacity = 32;
+      for (String path : this.paths) capacity += path.length() + 1;
+      for (String entity : this.entities) capacity += entity.length() + 1;
+      JsonBuffer buffer = new JsonBuffer(capacity);
+      buffer.append("{\"").append(ENTITY_PATHS).append("\":[");
+      for (int index = 0; index < this.paths.length; index++) {
+        if (index > 0) buffer.append(',');
+        buffer.append(this.paths[index]);
+      }
+      buffer.append("],\"").append(ENTITIES).append("\":[");
+      for (int index = 0; index < this.entities.length; index++) {
+        if (index > 0) buffer.append(',');
+        buffer.append(this.entities[index]);
+      }
+      return buffer.append("]}").toString();
+    }
+  }
+
+  /**
+   * The entities and paths parsed from the response for one chunk.
+   */
+  private static final class ChunkResponse {
+    private final List<String> entities = new ArrayList<>();
+    private long[] entityIDs = new long[16];
+    private final List<String> paths = new ArrayList<>();
+    private long[] pathEnds = new long[32];
+    private final List<long[]> pathEntityIDs = new ArrayList<>();
+
+    private void addEntity(long entityID, String json) {
+      int count = this.entities.size();
+      if (count == this.entityIDs.length) {
+        this.entityIDs = Arrays.copyOf(this.entityIDs, count * 2);
+      }
+      this.entityIDs[count] = entityID;
+      this.entities.add(json);
+    }
+
+    private void addPath(long   startEntityID,
+                         long   endEntityID,
+                         long[] entityIDs,
+                         String json)
+    {
+      int count = this.paths.size();
+      if (count * 2 == this.pathEnds.length) {
+        this.pathEnds = Arrays.copyOf(this.pathEnds, count * 4);
+      }
+      this.pathEnds[count * 2]     = startEntityID;
+      this.pathEnds[count * 2 + 1] = endEntityID;
+      this.pathEntityIDs.add(entityIDs);
+      this.paths.add(json);
+    }
+  }
+
+  /**
+   * The merge state of a single expansion, guarded by its own monitor.
+   */
+  private static final class Merger {
+    private final int maxEntities;
+    private final Listener listener;
+    private final LongHashSet entitySet = new LongHashSet();
+    private long[] entityIDs = new long[64];
+    private final List<String> entities = new ArrayList<>();
+    private final Set<String> pathKeys = new HashSet<>();
+    private final List<String> paths = new ArrayList<>();
+    private final Set<String> droppedPathKeys = new HashSet<>();
+    private final LongHashSet failedSeeds = new LongHashSet();
+    private boolean truncated = false;
+
+    private Merger(int maxEntities, Listener listener) {
+      this.maxEntities  = maxEntities;
+      this.listener     = listener;
+    }
+
+    /**
+     * Returns the number of entities that may still be merged.
+     */
+    private synchronized int remaining() {
+      int remaining = this.maxEntities - this.entities.size();
+      if (remaining <= 0) this.truncated = true;
+      return remaining;
+    }
+
+    private synchronized void merge(ChunkResponse chunk) {
+      for (int index = 0; index < chunk.entities.size(); index++) {
+        long entityID = chunk.entityIDs[index];
+        if (this.entitySet.contains(entityID)) continue;
+        if (this.entities.size() >= this.maxEntities) {
+          this.truncated = true;
+          break;
+        }
+        this.entitySet.add(entityID);
+        int count = this.entities.size();
+        if (count == this.entityIDs.length) {
+          this.entityIDs = Arrays.copyOf(this.entityIDs, count * 2);
+        }
+        this.entityIDs[count] = entityID;
+        String json = chunk.entities.get(index);
+        this.entities.add(json);
+        if (this.listener != null) this.listener.entityAdded(entityID, json);
+      }
+      for (int index = 0; index < chunk.paths.size(); index++) {
+        long start = chunk.pathEnds[index * 2];
+        long end   = chunk.pathEnds[index * 2 + 1];
+        String key = (start < end) ? (start + ":" + end) : (end + ":" + start);
+        if (this.pathKeys.contains(key)) continue;
+        if (!this.containsAll(start, end, chunk.pathEntityIDs.get(index))) {
+          this.droppedPathKeys.add(key);
+          continue;
+        }
+        this.pathKeys.add(key);
+        this.droppedPathKeys.remove(key);
+        String json = chunk.paths.get(index);
+        this.paths.add(json);
+        if (this.listener != null) this.listener.pathAdded(start, end, json);
+      }
+    }
+
+    /**
+     * Checks if every entity on a path has been merged.
+     */
+    private boolean containsAll(long start, long end, long[] entityIDs) {
+      if (!this.entitySet.contains(start) || !this.entitySet.contains(end)) {
+        return false;
+      }
+      for (long entityID : entityIDs) {
+        if (!this.entitySet.contains(entityID)) return false;
+      }
+      return true;
+    }
+
+    private synchronized void fail(long[] seedIDs, int errorCode, String message)
+    {
+      this.failedSeeds.addAll(seedIDs);
+      if (this.listener != null) {
+        this.listener.chunkFailed(seedIDs.clone(), errorCode, message);
+      }
+    }
+
+    private synchronized NetworkResult result() {
+      return new NetworkResult(
+          Arrays.copyOf(this.entityIDs, this.entities.size()),
+          this.entities.toArray(new String[0]),
+          this.paths.toArray(new String[0]),
+          this.failedSeeds.toArray(),
+          this.truncated,
+          this.droppedPathKeys.size());
+    }
+  }
+
+  /**
+   * Constructs with the specified {@link G2Engine} and the maximum number of
+   * concurrent calls, creating an internal pool of that many threads which
+   * is shut down by {@link #close()}.
+   *
+   * @param engine The {@link G2Engine} to query.
+   * @param concurrency The maximum number of concurrent calls.
+   *
+   * @throws IllegalArgumentException If the specified concurrency is less
+   *                                  than one (1).
+   */
+  public NetworkExpander(G2Engine engine, int concurrency) {
+    this(engine,
+         Executors.newFixedThreadPool(
+             checkConcurrency(concurrency),
+             new NamedThreadFactory("g2-network-expander")),
+         concurrency,
+         true);
+  }
+
+  /**
+   * Constructs with the specified {@link G2Engine}, the caller-managed
+   * {@link ExecutorService} and the maximum number of concurrent calls per
+   * expansion.  The {@link ExecutorService} is <b>not</b> shut down by
+   * {@link #close()}.
+   *
+   * @param engine The {@link G2Engine} to query.
+   * @param executor The {@link ExecutorService} to run the calls on.
+   * @param concurrency The maximum number of concurrent calls per expansion.
+   *
+   * @throws IllegalArgumentException If the specified concurrency is less
+   *                                  than one (1).
+   */
+  public NetworkExpander(G2Engine        engine,
+                         ExecutorService executor,
+                         int             concurrency)
+  {
+    this(engine, executor, checkConcurrency(concurrency), false);
+  }
+
+  /**
+   * Internal constructor.
+   */
+  private NetworkExpander(G2Engine        engine,
+                          ExecutorService executor,
+                          int             concurrency,
+                          boolean         ownsExecutor)
+  {
+    if (engine == null) {
+      throw new NullPointerException("The G2Engine cannot be null.");
+    }
+    this.engine       = engine;
+    this.executor     = executor;
+    this.concurrency  = concurrency;
+    this.ownsExecutor = ownsExecutor;
+  }
+
+  /**
+   * Internal method to validate the concurrency.
+   */
+  private static int checkConcurrency(int concurrency) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException(
+          "The concurrency must be at least one (1): " + concurrency);
+    }
+    return concurrency;
+  }
+
+  /**
+   * Expands the network around the specified seed entities.  This blocks
+   * until every chunk has completed.
+   *
+   * @param seedIDs The entity IDs of the seed entities (duplicates are
+   *                ignored).
+   * @param chunkSize The maximum number of seeds per call.
+   * @param maxDegrees The maximum degrees for paths between seeds.
+   * @param buildOutDegrees The degrees of build out around the seeds.
+   * @param maxEntities The maximum number of entities in the merged network.
+   * @param flags The flags for {@link
+   *              G2Engine#findNetworkByEntityID(String,int,int,int,long,StringBuffer)}.
+   *
+   * @return The {@link NetworkResult} describing the merged network.
+   *
+   * @throws InterruptedException If interrupted while waiting for the calls
+   *                              to complete.
+   */
+  public NetworkResult expand(long[]  seedIDs,
+                              int     chunkSize,
+                              int     maxDegrees,
+                              int     buildOutDegrees,
+                              int     maxEntities,
+                              long    flags)
+      throws InterruptedException
+  {
+    return this.expand(seedIDs, chunkSize, maxDegrees, buildOutDegrees,
+                       maxEntities, flags, null);
+  }
+
+  /**
+   * Expands the network around the specified seed entities, notifying the
+   * specified {@link Listener} of each entity and path as it is merged.  This
+   * blocks until every chunk has completed.
+   *
+   * @param seedIDs The entity IDs of the seed entities (duplicates are
+   *                ignored).
+   * @param chunkSize The maximum number of seeds per call.
+   * @param maxDegrees The maximum degrees for paths between seeds.
+   * @param buildOutDegrees The degrees of build out around the seeds.
+   * @param maxEntities The maximum number of entities in the merged network.
+   * @param flags The flags for {@link
+   *              G2Engine#findNetworkByEntityID(String,int,int,int,long,StringBuffer)}.
+   * @param listener The {@link Listener} to notify, or <code>null</code> if
+   *                 none.
+   *
+   * @return The {@link NetworkResult} describing the merged network.
+   *
+   * @throws IllegalArgumentException If the chunk size or maximum entities is
+   *                                  less than one (1).
+   * @throws InterruptedException If interrupted while waiting for the calls
+   *                              to complete.
+   */
+  public NetworkResult expand(long[]    seedIDs,
+                              int       chunkSize,
+                              int       maxDegrees,
+                              int       buildOutDegrees,
+                              int       maxEntities,
+                              long      flags,
+                              Listener  listener)
+      throws InterruptedException
+  {
+    if (chunkSize < 1 || maxEntities < 1) {
+      throw new IllegalArgumentException(
+          "The chunk size (" + chunkSize + ") and maximum entities ("
+          + maxEntities + ") must be at least one (1).");
+    }
+
+    // de-duplicate the seeds preserving their order so related seeds that
+    // are adjacent in the list stay in the same chunk
+    LongHashSet seen = new LongHashSet(seedIDs.length);
+    long[] seeds = new long[seedIDs.length];
+    int seedCount = 0;
+    for (long seedID : seedIDs) {
+      if (seen.add(seedID)) seeds[seedCount++] = seedID;
+    }
+    final long[] unique     = seeds;
+    final int    count      = seedCount;
+    final int    chunkCount = (count + chunkSize - 1) / chunkSize;
+
+    final Merger        merger = new Merger(maxEntities, listener);
+    final AtomicInteger next   = new AtomicInteger(0);
+
+    Runnable worker = () -> {
+      EntityListEncoder encoder   = new EntityListEncoder();
+      JsonCursor        cursor    = new JsonCursor();
+      StringBuffer      response  = new StringBuffer();
+      for (int chunk = next.getAndIncrement();
+           chunk < chunkCount;
+           chunk = next.getAndIncrement())
+      {
+        int remaining = merger.remaining();
+        if (remaining <= 0) break;
+        int offset = chunk * chunkSize;
+        int length = Math.min(chunkSize, count - offset);
+        response.setLength(0);
+        int returnCode = this.engine.findNetworkByEntityID(
+            encoder.entities(unique, offset, length), maxDegrees,
+            buildOutDegrees, remaining, flags, response);
+        if (returnCode != 0) {
+          int     errorCode = this.engine.getLastExceptionCode();
+          String  message   = this.engine.getLastException();
+          this.engine.clearLastException();
+          merger.fail(Arrays.copyOfRange(unique, offset, offset + length),
+                      errorCode, message);
+          continue;
+        }
+        merger.merge(parse(cursor.reset(response)));
+      }
+    };
+
+    int workerCount = Math.min(this.concurrency, chunkCount);
+    List<Future<?>> futures = new ArrayList<>(workerCount);
+    try {
+      for (int index = 0; index < workerCount; index++) {
+        futures.add(this.executor.submit(worker));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+      if (cause instanceof Error) throw (Error) cause;
+      throw new IllegalStateException(cause);
+    } finally {
+      // stop any remaining work if we are exiting early
+      next.set(chunkCount);
+      for (Future<?> future : futures) {
+        future.cancel(false);
+      }
+    }
+
+    return merger.result();
+  }
+
+  /**
+   * Internal method to extract the entities and paths from a response.
+   */
+  private static ChunkResponse parse(JsonCursor cursor) {
+    ChunkResponse chunk = new ChunkResponse();
+    if (cursor.next() != JsonCursor.Token.START_OBJECT) return chunk;
+    while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+      boolean paths = cursor.textEquals(ENTITY_PATHS);
+      if (!paths && !cursor.textEquals(ENTITIES)) {
+        cursor.skipValue();
+        continue;
+      }
+      if (cursor.next() != JsonCursor.Token.START_ARRAY) {
+        cursor.skipValue();
+        continue;
+      }
+      while (cursor.next() == JsonCursor.Token.START_OBJECT) {
+        int start = cursor.tokenStart();
+        if (paths) {
+          long    startID   = 0L;
+          long    endID     = 0L;
+          long[]  entityIDs = EMPTY_IDS;
+          while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+            if (cursor.textEquals(START_ENTITY_ID)) {
+              startID = cursor.nextLong(0L);
+            } else if (cursor.textEquals(END_ENTITY_ID)) {
+              endID = cursor.nextLong(0L);
+            } else if (cursor.textEquals(ENTITIES)) {
+              entityIDs = parseIDs(cursor);
+            } else {
+              cursor.skipValue();
+            }
+          }
+          chunk.addPath(startID, endID, entityIDs, text(cursor, start));
+        } else {
+          long entityID = 0L;
+          while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+            if (!cursor.textEquals(RESOLVED_ENTITY)) {
+              cursor.skipValue();
+            } else if (cursor.next() != JsonCursor.Token.START_OBJECT) {
+              cursor.skipValue();
+            } else {
+              while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+                if (cursor.textEquals(ENTITY_ID)) {
+                  entityID = cursor.nextLong(0L);
+                } else {
+                  cursor.skipValue();
+                }
+              }
+            }
+          }
+          chunk.addEntity(entityID, text(cursor, start));
+        }
+      }
+    }
+    return chunk;
+  }
+
+  /**
+   * Internal method to parse the entity IDs of the <code>ENTITIES</code>
+   * array of a path element whose field name is the current token.
+   */
+  private static long[] parseIDs(JsonCursor cursor) {
+    if (cursor.next() != JsonCursor.Token.START_ARRAY) {
+      cursor.skipValue();
+      return EMPTY_IDS;
+    }
+    long[]  entityIDs = new long[8];
+    int     count     = 0;
+    while (cursor.next() != JsonCursor.Token.END_ARRAY) {
+      if (cursor.token() != JsonCursor.Token.NUMBER) {
+        cursor.skipValue();
+        continue;
+      }
+      if (count == entityIDs.length) {
+        entityIDs = Arrays.copyOf(entityIDs, count * 2);
+      }
+      entityIDs[count++] = cursor.longValue();
+    }
+    return Arrays.copyOf(entityIDs, count);
+  }
+
+  /**
+   * Internal method to return the text from the specified offset through the
+   * end of the current token.
+   */
+  private static String text(JsonCursor cursor, int start) {
+    return new String(cursor.chars(), start, cursor.tokenEnd() - start);
+  }
+
+  /**
+   * Shuts down the internal thread pool if this instance created it.
+   */
+  @Override
+  public void close() {
+    if (this.ownsExecutor) this.executor.shutdown();
+  }
+}
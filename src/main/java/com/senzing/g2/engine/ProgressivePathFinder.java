@@ -0,0 +1,251 @@
+package com.senzing.g2.engine;
+
+/**
+ * Finds a path between two entities by calling {@link
+ * G2Engine#findPathByEntityID(long,long,int,long,StringBuffer)} with
+ * increasing maximum degrees (1, 2, 3, ...) and returning as soon as a path
+ * is found.  Since most related entities are connected within one or two
+ * degrees, this is usually far cheaper than a single call with a large
+ * maximum degrees, while still finding the shortest path.
+ *
+ * <p>
+ * An overall time budget bounds the search.  The budget is checked before
+ * each call (a call in progress is never interrupted), and when it expires
+ * the result reports the largest degree that was fully searched, so callers
+ * still get the cheap partial answer "no path within <i>N</i> degrees".
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   ProgressivePathFinder finder = new ProgressivePathFinder(engine);
+ *   ProgressivePathFinder.PathResult result = finder.findPath(
+ *       entityID1, entityID2, 6, G2Engine.G2_FIND_PATH_DEFAULT_FLAGS, 500L);
+ *   if (result.isFound()) {
+ *     String json = result.getResponse();
+ *   } else if (result.isTimedOut()) {
+ *     int searched = result.getSearchedDegrees();
+ *     ...
+ *   }
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe if the backing {@link G2Engine} is thread-safe.
+ */
+public class ProgressivePathFinder {
+  /**
+   * The field name of the paths array in the response.
+   */
+  private static final String ENTITY_PATHS = "ENTITY_PATHS";
+
+  /**
+   * The field name of the entity ID array in each path element.
+   */
+  private static final String ENTITIES = "ENTITIES";
+
+  /**
+   * The {@link G2Engine} to query.
+   */
+  private final G2Engine engine;
+
+  /**
+   * Describes the outcome of a call to {@link
+   * #findPath(long,long,int,long,long)}.
+   */
+  public static class PathResult {
+    private final int returnCode;
+    private final int errorCode;
+    private final boolean found;
+    private final boolean timedOut;
+    private final int searchedDegrees;
+    private final int callCount;
+    private final String response;
+
+    private PathResult(int      returnCode,
+                       int      errorCode,
+                       boolean  found,
+                       boolean  timedOut,
+                       int      searchedDegrees,
+                       int      callCount,
+                       String   response)
+    {
+      this.returnCode       = returnCode;
+      this.errorCode        = errorCode;
+      this.found            = found;
+      this.timedOut         = timedOut;
+      this.searchedDegrees  = searchedDegrees;
+      this.callCount        = callCount;
+      this.response         = response;
+    }
+
+    /**
+     * Returns the return code of the last call.  This is zero (0) unless a
+     * call failed, in which case the search stopped at that call.
+     *
+     * @return The return code of the last call.
+     */
+    public int getReturnCode() {
+      return this.returnCode;
+    }
+
+    /**
+     * Returns the value of {@link G2Engine#getLastExceptionCode()} that was
+     * captured if a call failed, otherwise zero (0).
+     *
+     * @return The exception code of the failed call, or zero (0).
+     */
+    public int getErrorCode() {
+      return this.errorCode;
+    }
+
+    /**
+     * Checks if a path was found.
+     *
+     * @return <code>true</code> if a path was found, otherwise
+     *         <code>false</code>.
+     */
+    public boolean isFound() {
+      return this.found;
+    }
+
+    /**
+     * Checks if the time budget expired before a path was found or the
+     * maximum degrees was searched.
+     *
+     * @return <code>true</code> if the search was cut short by the time
+     *         budget, otherwise <code>false</code>.
+     */
+    public boolean isTimedOut() {
+      return this.timedOut;
+    }
+
+    /**
+     * Returns the maximum degrees of the last successful call.  If a path
+     * was found this is the length of the shortest path, otherwise there is
+     * no path within this many degrees.
+     *
+     * @return The number of degrees searched, or zero (0) if no call
+     *         succeeded.
+     */
+    public int getSearchedDegrees() {
+      return this.searchedDegrees;
+    }
+
+    /**
+     * Returns the number of calls made to the engine.
+     *
+     * @return The number of calls made.
+     */
+    public int getCallCount() {
+      return this.callCount;
+    }
+
+    /**
+     * Returns the response document of the last successful call, or the
+     * value of {@link G2Engine#getLastException()} if a call failed.
+     *
+     * @return The response of the last call, or <code>null</code> if no call
+     *         was made.
+     */
+    public String getResponse() {
+      return this.response;
+    }
+  }
+
+  /**
+   * Constructs with the {@link G2Engine} to query.
+   *
+   * @param engine The {@link G2Engine} to query.
+   */
+  public ProgressivePathFinder(G2Engine engine) {
+    if (engine == null) {
+      throw new NullPointerException("The G2Engine cannot be null.");
+    }
+    this.engine = engine;
+  }
+
+  /**
+   * Searches for the shortest path between the specified entities with
+   * increasing maximum degrees up to the specified maximum, stopping when a
+   * path is found, a call fails or the time budget expires.
+   *
+   * @param entityID1 The entity ID of the first entity.
+   * @param entityID2 The entity ID of the second entity.
+   * @param maxDegrees The maximum degrees to search.
+   * @param flags The flags for {@link
+   *              G2Engine#findPathByEntityID(long,long,int,long,StringBuffer)}.
+   * @param timeBudgetMillis The time budget in milliseconds, or a negative
+   *                         number for no limit.  At least one call is
+   *                         always made.
+   *
+   * @return The {@link PathResult} describing the outcome.
+   *
+   * @throws IllegalArgumentException If the maximum degrees is less than one
+   *                                  (1).
+   */
+  public PathResult findPath(long entityID1,
+                             long entityID2,
+                             int  maxDegrees,
+                             long flags,
+                             long timeBudgetMillis)
+  {
+    if (maxDegrees < 1) {
+      throw new IllegalArgumentException(
+          "The maximum degrees must be at least one (1): " + maxDegrees);
+    }
+    long deadline = (timeBudgetMillis < 0L) ? Long.MAX_VALUE
+        : System.nanoTime() + timeBudgetMillis * 1000000L;
+
+    StringBuffer  response  = new StringBuffer();
+    JsonCursor    cursor    = new JsonCursor();
+    String        last      = null;
+    int           searched  = 0;
+    int           calls     = 0;
+    for (int degrees = 1; degrees <= maxDegrees; degrees++) {
+      if (calls > 0 && System.nanoTime() - deadline >= 0L) {
+        return new PathResult(0, 0, false, true, searched, calls, last);
+      }
+      response.setLength(0);
+      int returnCode = this.engine.findPathByEntityID(
+          entityID1, entityID2, degrees, flags, response);
+      calls++;
+      if (returnCode != 0) {
+        int     errorCode = this.engine.getLastExceptionCode();
+        String  message   = this.engine.getLastException();
+        this.engine.clearLastException();
+        return new PathResult(
+            returnCode, errorCode, false, false, searched, calls, message);
+      }
+      searched  = degrees;
+      last      = response.toString();
+      if (hasPath(cursor.reset(response))) {
+        return new PathResult(0, 0, true, false, searched, calls, last);
+      }
+    }
+    return new PathResult(0, 0, false, false, searched, calls, last);
+  }
+
+  /**
+   * Internal method to check if the first path in a response has entities.
+   */
+  private static boolean hasPath(JsonCursor cursor) {
+    if (cursor.next() != JsonCursor.Token.START_OBJECT) return false;
+    while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+      if (!cursor.textEquals(ENTITY_PATHS)) {
+        cursor.skipValue();
+        continue;
+      }
+      if (cursor.next() != JsonCursor.Token.START_ARRAY) return false;
+      while (cursor.next() == JsonCursor.Token.START_OBJECT) {
+        while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+          if (cursor.textEquals(ENTITIES)) {
+            return cursor.next() == JsonCursor.Token.START_ARRAY
+                && cursor.next() != JsonCursor.Token.END_ARRAY;
+          }
+          cursor.skipValue();
+        }
+      }
+      return false;
+    }
+    return false;
+  }
+}
@@ -0,0 +1,847 @@
+package com.senzing.g2.engine;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.senzing.g2.engine.G2Engine.*;
+
+/**
+ * Provides a local index from record key (data source code and record ID) to
+ * the ID of the entity that the record currently belongs to, so that callers
+ * that only need the entity ID can avoid calling {@link
+ * G2Engine#getEntityByRecordID(String,String,long,StringBuffer)}.
+ *
+ * <p>
+ * The index is populated with {@link #loadFromExport(G2Engine)} and kept
+ * current by passing the responses from the <code>*WithInfo</code> functions
+ * to {@link #apply(G2Engine,CharSequence)}, or automatically by performing
+ * those functions through the {@link G2Engine} returned from {@link
+ * #wrap(G2Engine)}.  Changes made through functions that do not return info
+ * (or by other processes) are <b>not</b> reflected until the affected
+ * entities are next reported or the index is reloaded.
+ *
+ * <p>
+ * The entries are stored in open-addressing hash tables of primitive
+ * <code>long</code> slots with the keys stored as characters in arenas,
+ * either on the Java heap or, if requested, in direct (off-heap) buffers.
+ * Removed slots are reused by later insertions, and an arena is compacted
+ * when its removed keys outgrow its live keys, so memory use follows the
+ * number of records rather than the number of updates.  The index is
+ * partitioned into segments, each with its own read-write lock.  This class
+ * is thread-safe.
+ */
+public class RecordEntityIndex {
+  /**
+   * The value returned from {@link #lookupEntityID(String,String)} if the
+   * record key is not found.
+   */
+  public static final long NOT_FOUND = -1L;
+
+  /**
+   * The flags used for export and entity refresh, returning only the record
+   * keys for each entity.
+   */
+  private static final long ENTITY_FLAGS = G2_ENTITY_INCLUDE_RECORD_DATA;
+
+  /**
+   * The flags used for the export.
+   */
+  private static final long EXPORT_FLAGS
+      = G2_EXPORT_INCLUDE_ALL_ENTITIES | ENTITY_FLAGS;
+
+  /**
+   * The number of bits of the hash used to select a segment.
+   */
+  private static final int SEGMENT_BITS = 6;
+
+  /**
+   * The number of segments.
+   */
+  private static final int SEGMENT_COUNT = 1 << SEGMENT_BITS;
+
+  /**
+   * The number of <code>long</code> values per slot.
+   */
+  private static final int SLOT_WIDTH = 3;
+
+  /**
+   * The maximum fraction of occupied (or deleted) slots before resizing.
+   */
+  private static final double MAX_LOAD = 0.6;
+
+  /**
+   * The largest number of slots per segment that fits in a single buffer.
+   */
+  private static final int MAX_SLOTS
+      = Integer.highestOneBit(Integer.MAX_VALUE / (SLOT_WIDTH * Long.BYTES));
+
+  /**
+   * The entity ID stored for a deleted slot.
+   */
+  private static final long DELETED = -1L;
+
+  /**
+   * The size of the first key arena chunk in bytes.
+   */
+  private static final int MIN_CHUNK_SIZE = 1 << 12;
+
+  /**
+   * The maximum size of a key arena chunk in bytes.
+   */
+  private static final int MAX_CHUNK_SIZE = 1 << 24;
+
+  /**
+   * Whether or not the buffers are allocated off-heap.
+   */
+  private final boolean offHeap;
+
+  /**
+   * The segments.
+   */
+  private final Segment[] segments;
+
+  /**
+   * Constructs an on-heap index.
+   */
+  public RecordEntityIndex() {
+    this(0, false);
+  }
+
+  /**
+   * Constructs with the expected number of records and whether or not to
+   * store the entries off-heap in direct buffers.
+   *
+   * @param expectedRecords The expected number of records, used to pre-size
+   *                        the index.
+   * @param offHeap <code>true</code> if the entries should be stored in
+   *                direct (off-heap) buffers, otherwise <code>false</code>.
+   */
+  public RecordEntityIndex(long expectedRecords, boolean offHeap) {
+    this.offHeap  = offHeap;
+    this.segments = new Segment[SEGMENT_COUNT];
+    long perSegment = Math.max(16L, expectedRecords / SEGMENT_COUNT);
+    int slots = (int) Math.min(
+        MAX_SLOTS, Long.highestOneBit((long) (perSegment / MAX_LOAD)) << 1);
+    for (int index = 0; index < SEGMENT_COUNT; index++) {
+      this.segments[index] = new Segment(slots);
+    }
+  }
+
+  /**
+   * Checks if the entries are stored off-heap.
+   *
+   * @return <code>true</code> if the entries are stored off-heap, otherwise
+   *         <code>false</code>.
+   */
+  public boolean isOffHeap() {
+    return this.offHeap;
+  }
+
+  /**
+   * Returns the ID of the entity to which the record identified by the
+   * specified data source code and record ID belongs, or {@link #NOT_FOUND}
+   * if the record is not in the index.
+   *
+   * @param dataSource The data source code for the record.
+   * @param recordID The record ID for the record.
+   *
+   * @return The entity ID, or {@link #NOT_FOUND} if not found.
+   */
+  public long lookupEntityID(String dataSource, String recordID) {
+    long hash = hash(dataSource, recordID);
+    return this.segmentFor(hash).get(hash, dataSource, recordID);
+  }
+
+  /**
+   * Associates the record identified by the specified data source code and
+   * record ID with the specified entity ID.
+   *
+   * @param dataSource The data source code for the record.
+   * @param recordID The record ID for the record.
+   * @param entityID The entity ID for the record.
+   *
+   * @throws IllegalArgumentException If the entity ID is not positive.
+   */
+  public void put(String dataSource, String recordID, long entityID) {
+    if (entityID <= 0L) {
+      throw new IllegalArgumentException(
+          "The entity ID must be positive: " + entityID);
+    }
+    long hash = hash(dataSource, recordID);
+    this.segmentFor(hash).put(hash, dataSource, recordID, entityID);
+  }
+
+  /**
+   * Removes the record identified by the specified data source code and
+   * record ID from the index.
+   *
+   * @param dataSource The data source code for the record.
+   * @param recordID The record ID for the record.
+   *
+   * @return <code>true</code> if the record was removed, or
+   *         <code>false</code> if it was not in the index.
+   */
+  public boolean remove(String dataSource, String recordID) {
+    long hash = hash(dataSource, recordID);
+    return this.segmentFor(hash).remove(hash, dataSource, recordID);
+  }
+
+  /**
+   * Returns the number of records in the index.
+   *
+   * @return The number of records in the index.
+   */
+  public long size() {
+    long size = 0L;
+    for (Segment segment : this.segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  /**
+   * Removes all records from the index, releasing the stored keys.
+   */
+  public void clear() {
+    for (Segment segment : this.segments) {
+      segment.clear();
+    }
+  }
+
+  /**
+   * Clears the index and populates it from an export of all entities via
+   * {@link G2Engine#exportJSONEntityReport(long,Result)} requesting only the
+   * record keys of each entity.
+   *
+   * @param engine The {@link G2Engine} to export from.
+   *
+   * @return Zero (0) on success and non-zero on failure, in which case the
+   *         index may be partially populated and the error is available
+   *         from the specified {@link G2Engine}.
+   */
+  public int loadFromExport(G2Engine engine) {
+    this.clear();
+    Result<Long> exportHandle = new Result<>();
+    int returnCode = engine.exportJSONEntityReport(EXPORT_FLAGS, exportHandle);
+    if (returnCode != 0) return returnCode;
+    long handle = exportHandle.getValue();
+    try {
+      StringBuffer  response  = new StringBuffer();
+      JsonCursor    cursor    = new JsonCursor();
+      List<String>  keys      = new ArrayList<>();
+      for (returnCode = engine.fetchNext(handle, response);
+           returnCode == 0 && response.length() > 0;
+           returnCode = engine.fetchNext(handle, response))
+      {
+        this.indexEntity(cursor.reset(response), keys);
+        response.setLength(0);
+      }
+    } finally {
+      int closeCode = engine.closeExport(handle);
+      if (returnCode == 0) returnCode = closeCode;
+    }
+    return returnCode;
+  }
+
+  /**
+   * Updates the index from the info response returned by one of the
+   * <code>*WithInfo</code> functions of {@link G2Engine}.  Each affected
+   * entity is re-read with {@link
+   * G2Engine#getEntityByEntityID(long,long,StringBuffer)}, requesting only
+   * the record keys, and the entity IDs of its records are updated in place.
+   * The record identified in the response (if any) is then removed only if
+   * at least one affected entity was re-read and none of them reported it,
+   * so a response with no affected entities (e.g.: a replace with unchanged
+   * data, a reevaluation or a redo) leaves the index unchanged.  Affected
+   * entities that no longer exist are skipped since their records will have
+   * been reported as part of another affected entity.
+   *
+   * <p>
+   * Use {@link #apply(G2Engine,CharSequence,boolean)} for the response of
+   * {@link
+   * G2Engine#deleteRecordWithInfo(String,String,String,long,StringBuffer)},
+   * whose record must be removed even if no affected entity remains.
+   *
+   * @param engine The {@link G2Engine} to re-read affected entities from.
+   * @param withInfoResponse The info response document.
+   *
+   * @return Zero (0) on success and non-zero if re-reading an affected
+   *         entity failed for any reason other than the entity no longer
+   *         existing.
+   */
+  public int apply(G2Engine engine, CharSequence withInfoResponse) {
+    return this.apply(engine, withInfoResponse, false);
+  }
+
+  /**
+   * Updates the index from the info response returned by one of the
+   * <code>*WithInfo</code> functions of {@link G2Engine} as described by
+   * {@link #apply(G2Engine,CharSequence)}, except that if
+   * <code>deleted</code> is <code>true</code> the record identified in the
+   * response is removed unless an affected entity still reports it.
+   *
+   * @param engine The {@link G2Engine} to re-read affected entities from.
+   * @param withInfoResponse The info response document.
+   * @param deleted <code>true</code> if the response is from deleting the
+   *                record it identifies, otherwise <code>false</code>.
+   *
+   * @return Zero (0) on success and non-zero if re-reading an affected
+   *         entity failed for any reason other than the entity no longer
+   *         existing.
+   */
+  public int apply(G2Engine     engine,
+                   CharSequence withInfoResponse,
+                   boolean      deleted)
+  {
+    if (withInfoResponse == null || withInfoResponse.length() == 0) return 0;
+    JsonCursor cursor = new JsonCursor(withInfoResponse);
+    if (cursor.next() != JsonCursor.Token.START_OBJECT) return 0;
+    String dataSource = null;
+    String recordID   = null;
+    List<Long> affected = new ArrayList<>();
+    while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+      if (cursor.textEquals("DATA_SOURCE")) {
+        dataSource = cursor.nextString();
+      } else if (cursor.textEquals("RECORD_ID")) {
+        recordID = cursor.nextString();
+      } else if (cursor.textEquals("AFFECTED_ENTITIES")) {
+        if (cursor.next() != JsonCursor.Token.START_ARRAY) {
+          cursor.skipValue();
+          continue;
+        }
+        while (cursor.next() == JsonCursor.Token.START_OBJECT) {
+          while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+            if (cursor.textEquals("ENTITY_ID")) {
+              affected.add(cursor.nextLong(0L));
+            } else {
+              cursor.skipValue();
+            }
+          }
+        }
+      } else {
+        cursor.skipValue();
+      }
+    }
+
+    int     result    = 0;
+    int     fetched   = 0;
+    boolean reported  = false;
+    StringBuffer response = new StringBuffer();
+    List<String> keys = new ArrayList<>();
+    for (long entityID : affected) {
+      response.setLength(0);
+      int returnCode = engine.getEntityByEntityID(
+          entityID, ENTITY_FLAGS, response);
+      if (returnCode == 0) {
+        fetched++;
+        this.indexEntity(cursor.reset(response), keys);
+        reported = reported || containsKey(keys, dataSource, recordID);
+      } else {
+        // a missing entity is expected (it was merged or deleted)
+        if (result == 0
+            && G2ErrorType.classifyLast(engine) != G2ErrorType.NOT_FOUND)
+        {
+          result = returnCode;
+        }
+        engine.clearLastException();
+      }
+    }
+
+    // the record is gone if it was deleted or if the affected entities
+    // that still exist no longer report it
+    boolean gone = deleted || (result == 0 && fetched > 0);
+    if (gone && !reported && dataSource != null && recordID != null) {
+      this.remove(dataSource, recordID);
+    }
+    return result;
+  }
+
+  /**
+   * Returns a {@link G2Engine} that forwards to the specified {@link
+   * G2Engine} and applies the info response of every successful
+   * <code>*WithInfo</code> call to this index.
+   *
+   * @param engine The {@link G2Engine} to wrap.
+   *
+   * @return The {@link G2Engine} that maintains this index.
+   */
+  public G2Engine wrap(G2Engine engine) {
+    return new IndexingEngine(engine);
+  }
+
+  /**
+   * Internal method to check if the alternating data source codes and record
+   * IDs in the specified {@link List} include the specified record key.
+   */
+  private static boolean containsKey(List<String> keys,
+                                     String       dataSource,
+                                     String       recordID)
+  {
+    if (dataSource == null || recordID == null) return false;
+    for (int index = 0; index < keys.size(); index += 2) {
+      if (keys.get(index).equals(dataSource)
+          && keys.get(index + 1).equals(recordID))
+      {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Internal method to index the records of the entity document at which
+   * the specified cursor is positioned.
+   */
+  private void indexEntity(JsonCursor cursor, List<String> keys) {
+    keys.clear();
+    long entityID = 0L;
+    if (cursor.next() != JsonCursor.Token.START_OBJECT) return;
+    while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+      if (!cursor.textEquals("RESOLVED_ENTITY")) {
+        cursor.skipValue();
+        continue;
+      }
+      if (cursor.next() != JsonCursor.Token.START_OBJECT) {
+        cursor.skipValue();
+        continue;
+      }
+      while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+        if (cursor.textEquals("ENTITY_ID")) {
+          entityID = cursor.nextLong(0L);
+        } else if (cursor.textEquals("RECORDS")) {
+          if (cursor.next() != JsonCursor.Token.START_ARRAY) {
+            cursor.skipValue();
+            continue;
+          }
+          while (cursor.next() == JsonCursor.Token.START_OBJECT) {
+            String dataSource = null;
+            String recordID   = null;
+            while (cursor.next() == JsonCursor.Token.FIELD_NAME) {
+              if (cursor.textEquals("DATA_SOURCE")) {
+                dataSource = cursor.nextString();
+              } else if (cursor.textEquals("RECORD_ID")) {
+                recordID = cursor.nextString();
+              } else {
+                cursor.skipValue();
+              }
+            }
+            if (dataSource != null && recordID != null) {
+              keys.add(dataSource);
+              keys.add(recordID);
+            }
+          }
+        } else {
+          cursor.skipValue();
+        }
+      }
+    }
+    if (entityID <= 0L) return;
+    for (int index = 0; index < keys.size(); index += 2) {
+      this.put(keys.get(index), keys.get(index + 1), entityID);
+    }
+  }
+
+  /**
+   * Internal method to get the segment for a hash.
+   */
+  private Segment segmentFor(long hash) {
+    return this.segments[(int) (hash >>> (Long.SIZE - SEGMENT_BITS))];
+  }
+
+  /**
+   * Computes a 64-bit hash of the specified record key.
+   */
+  private static long hash(String dataSource, String recordID) {
+    long hash = 0xcbf29ce484222325L;
+    for (int index = 0; index < dataSource.length(); index++) {
+      hash = (hash ^ dataSource.charAt(index)) * 0x100000001b3L;
+    }
+    hash = (hash ^ 0xFFFFL) * 0x100000001b3L;
+    for (int index = 0; index < recordID.length(); index++) {
+      hash = (hash ^ recordID.charAt(index)) * 0x100000001b3L;
+    }
+    // finalize to spread the bits
+    hash ^= (hash >>> 33);
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= (hash >>> 33);
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= (hash >>> 33);
+    return hash;
+  }
+
+  /**
+   * Internal method to allocate a buffer on or off the heap.
+   */
+  private ByteBuffer allocate(int size) {
+    return (this.offHeap) ? ByteBuffer.allocateDirect(size)
+                          : ByteBuffer.allocate(size);
+  }
+
+  /**
+   * A single partition of the index.
+   */
+  private final class Segment {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int initialSlots;
+    private LongBuffer table;
+    private int mask;
+    private int size;
+    private int used;
+    private long keyBytes;
+    private long garbageBytes;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+
+    private Segment(int slots) {
+      this.initialSlots = slots;
+      this.clearTable(slots);
+    }
+
+    private void clearTable(int slots) {
+      this.table = allocate(slots * SLOT_WIDTH * Long.BYTES).asLongBuffer();
+      this.mask  = slots - 1;
+      this.size  = 0;
+      this.used  = 0;
+      this.keyBytes     = 0L;
+      this.garbageBytes = 0L;
+    }
+
+    private int size() {
+      this.lock.readLock().lock();
+      try {
+        return this.size;
+      } finally {
+        this.lock.readLock().unlock();
+      }
+    }
+
+    private void clear() {
+      this.lock.writeLock().lock();
+      try {
+        this.chunks.clear();
+        this.clearTable(this.initialSlots);
+      } finally {
+        this.lock.writeLock().unlock();
+      }
+    }
+
+    private long get(long hash, String dataSource, String recordID) {
+      this.lock.readLock().lock();
+      try {
+        int slot = this.find(hash, dataSource, recordID);
+        return (slot < 0) ? NOT_FOUND
+            : this.table.get(slot * SLOT_WIDTH + 2);
+      } finally {
+        this.lock.readLock().unlock();
+      }
+    }
+
+    private void put(long   hash,
+                     String dataSource,
+                     String recordID,
+                     long   entityID)
+    {
+      this.lock.writeLock().lock();
+      try {
+        int slot = this.find(hash, dataSource, recordID);
+        if (slot >= 0) {
+          this.table.put(slot * SLOT_WIDTH + 2, entityID);
+          return;
+        }
+        if ((this.used + 1) > (this.mask + 1) * MAX_LOAD) {
+          int slots = this.mask + 1;
+          this.rebuild((this.size * 2 > slots * MAX_LOAD) ? slots * 2 : slots);
+        } else if (this.garbageBytes > MIN_CHUNK_SIZE
+                   && this.garbageBytes > this.keyBytes)
+        {
+          this.rebuild(this.mask + 1);
+        }
+        long keyRef = this.storeKey(dataSource, recordID);
+        this.insert(hash, keyRef, entityID);
+        this.size++;
+      } finally {
+        this.lock.writeLock().unlock();
+      }
+    }
+
+    private boolean remove(long hash, String dataSource, String recordID) {
+      this.lock.writeLock().lock();
+      try {
+        int slot = this.find(hash, dataSource, recordID);
+        if (slot < 0) return false;
+        int length = this.keyLength(this.table.get(slot * SLOT_WIDTH + 1));
+        this.table.put(slot * SLOT_WIDTH + 2, DELETED);
+        this.keyBytes     -= length;
+        this.garbageBytes += length;
+        this.size--;
+        return true;
+      } finally {
+        this.lock.writeLock().unlock();
+      }
+    }
+
+    /**
+     * Finds the slot for the key, or returns negative one (-1).
+     */
+    private int find(long hash, String dataSource, String recordID) {
+      for (int slot = (int) hash & this.mask; ;
+           slot = (slot + 1) & this.mask)
+      {
+        int base = slot * SLOT_WIDTH;
+        long entityID = this.table.get(base + 2);
+        if (entityID == 0L) return -1;
+        if (entityID != DELETED && this.table.get(base) == hash
+            && this.keyEquals(this.table.get(base + 1), dataSource, recordID))
+        {
+          return slot;
+        }
+      }
+    }
+
+    /**
+     * Inserts into the first free or deleted slot, assuming the key is
+     * absent.
+     */
+    private void insert(long hash, long keyRef, long entityID) {
+      for (int slot = (int) hash & this.mask; ;
+           slot = (slot + 1) & this.mask)
+      {
+        int base = slot * SLOT_WIDTH;
+        long current = this.table.get(base + 2);
+        if (current == 0L || current == DELETED) {
+          this.table.put(base, hash);
+          this.table.put(base + 1, keyRef);
+          this.table.put(base + 2, entityID);
+          if (current == 0L) this.used++;
+          return;
+        }
+      }
+    }
+
+    /**
+     * Rehashes the live entries into a table with the specified number of
+     * slots, copying their keys into a new arena so that the space of
+     * removed keys is released.
+     */
+    private void rebuild(int newSlots) {
+      if (newSlots > MAX_SLOTS) {
+        throw new IllegalStateException(
+            "Record entity index segment is full: " + this.size);
+      }
+      LongBuffer        oldTable  = this.table;
+      List<ByteBuffer>  oldChunks = new ArrayList<>(this.chunks);
+      int               oldSlots  = this.mask + 1;
+      int               liveCount = this.size;
+      this.chunks.clear();
+      this.clearTable(newSlots);
+      for (int slot = 0; slot < oldSlots; slot++) {
+        int base = slot * SLOT_WIDTH;
+        long entityID = oldTable.get(base + 2);
+        if (entityID > 0L) {
+          long keyRef = this.copyKey(oldChunks, oldTable.get(base + 1));
+          this.insert(oldTable.get(base), keyRef, entityID);
+        }
+      }
+      this.size = liveCount;
+    }
+
+    /**
+     * Appends the key to the arena and returns its reference.
+     */
+    private long storeKey(String dataSource, String recordID) {
+      int length = Integer.BYTES * 2
+          + (dataSource.length() + recordID.length()) * Character.BYTES;
+      ByteBuffer chunk = this.reserve(length);
+      long keyRef = (((long) (this.chunks.size() - 1)) << 32)
+          | chunk.position();
+      chunk.putInt(dataSource.length());
+      chunk.putInt(recordID.length());
+      for (int index = 0; index < dataSource.length(); index++) {
+        chunk.putChar(dataSource.charAt(index));
+      }
+      for (int index = 0; index < recordID.length(); index++) {
+        chunk.putChar(recordID.charAt(index));
+      }
+      this.keyBytes += length;
+      return keyRef;
+    }
+
+    /**
+     * Copies a key from the specified arena to the end of this arena and
+     * returns its new reference.
+     */
+    private long copyKey(List<ByteBuffer> fromChunks, long fromKeyRef) {
+      ByteBuffer  source  = fromChunks.get((int) (fromKeyRef >>> 32));
+      int         offset  = (int) fromKeyRef;
+      int         length  = Integer.BYTES * 2
+          + (source.getInt(offset) + source.getInt(offset + Integer.BYTES))
+            * Character.BYTES;
+      ByteBuffer chunk = this.reserve(length);
+      long keyRef = (((long) (this.chunks.size() - 1)) << 32)
+          | chunk.position();
+      ByteBuffer bytes = source.duplicate();
+      bytes.limit(offset + length).position(offset);
+      chunk.put(bytes);
+      this.keyBytes += length;
+      return keyRef;
+    }
+
+    /**
+     * Returns the last arena chunk, first adding a new one if it does not
+     * have room for a key of the specified length in bytes.
+     */
+    private ByteBuffer reserve(int length) {
+      ByteBuffer chunk = this.chunks.isEmpty() ? null
+          : this.chunks.get(this.chunks.size() - 1);
+      if (chunk == null || chunk.remaining() < length) {
+        int size = (chunk == null) ? MIN_CHUNK_SIZE
+            : Math.min(MAX_CHUNK_SIZE, chunk.capacity() * 2);
+        chunk = allocate(Math.max(size, length));
+        this.chunks.add(chunk);
+      }
+      return chunk;
+    }
+
+    /**
+     * Returns the length in bytes of the stored key.
+     */
+    private int keyLength(long keyRef) {
+      ByteBuffer  chunk   = this.chunks.get((int) (keyRef >>> 32));
+      int         offset  = (int) keyRef;
+      return Integer.BYTES * 2
+          + (chunk.getInt(offset) + chunk.getInt(offset + Integer.BYTES))
+            * Character.BYTES;
+    }
+
+    /**
+     * Compares the stored key with the specified key without allocating.
+     */
+    private boolean keyEquals(long keyRef, String dataSource, String recordID)
+    {
+      ByteBuffer  chunk   = this.chunks.get((int) (keyRef >>> 32));
+      int         offset  = (int) keyRef;
+      if (chunk.getInt(offset) != dataSource.length()
+          || chunk.getInt(offset + Integer.BYTES) != recordID.length())
+      {
+        return false;
+      }
+      offset += Integer.BYTES * 2;
+      for (int index = 0; index < dataSource.length(); index++) {
+        if (chunk.getChar(offset) != dataSource.charAt(index)) return false;
+        offset += Character.BYTES;
+      }
+      for (int index = 0; index < recordID.length(); index++) {
+        if (chunk.getChar(offset) != recordID.charAt(index)) return false;
+        offset += Character.BYTES;
+      }
+      return true;
+    }
+  }
+
+  /**
+   * The {@link G2Engine} returned by {@link #wrap(G2Engine)}.
+   */
+  private class IndexingEngine extends G2EngineDecorator {
+    private IndexingEngine(G2Engine engine) {
+      super(engine);
+    }
+
+    private int update(int returnCode, StringBuffer response) {
+      if (returnCode == 0) apply(this.delegate, response, false);
+      return returnCode;
+    }
+
+    private int delete(int returnCode, StringBuffer response) {
+      if (returnCode == 0) apply(this.delegate, response, true);
+      return returnCode;
+    }
+
+    @Override
+    public int addRecordWithInfo(String       dataSourceCode,
+                                 String       recordID,
+                                 String       jsonData,
+                                 String       loadID,
+                                 long         flags,
+                                 StringBuffer response)
+    {
+      return this.update(super.addRecordWithInfo(
+          dataSourceCode, recordID, jsonData, loadID, flags, response),
+          response);
+    }
+
+    @Override
+    public int addRecordWithInfoWithReturnedRecordID(
+        String        dataSourceCode,
+        String        jsonData,
+        String        loadID,
+        long          flags,
+        StringBuffer  recordID,
+        StringBuffer  response)
+    {
+      return this.update(super.addRecordWithInfoWithReturnedRecordID(
+          dataSourceCode, jsonData, loadID, flags, recordID, response),
+          response);
+    }
+
+    @Override
+    public int replaceRecordWithInfo(String       dataSourceCode,
+                                     String       recordID,
+                                     String       jsonData,
+                                     String       loadID,
+                                     long         flags,
+                                     StringBuffer response)
+    {
+      return this.update(super.replaceRecordWithInfo(
+          dataSourceCode, recordID, jsonData, loadID, flags, response),
+          response);
+    }
+
+    @Override
+    public int deleteRecordWithInfo(String        dataSourceCode,
+                                    String        recordID,
+                                    String        loadID,
+                                    long          flags,
+                                    StringBuffer  response)
+    {
+      return this.delete(super.deleteRecordWithInfo(
+          dataSourceCode, recordID, loadID, flags, response), response);
+    }
+
+    @Override
+    public int reevaluateRecordWithInfo(String        dataSourceCode,
+                                        String        recordID,
+                                        long          flags,
+                                        StringBuffer  response)
+    {
+      return this.update(super.reevaluateRecordWithInfo(
+          dataSourceCode, recordID, flags, response), response);
+    }
+
+    @Override
+    public int reevaluateEntityWithInfo(long          entityID,
+                                        long          flags,
+                                        StringBuffer  response)
+    {
+      return this.update(super.reevaluateEntityWithInfo(
+          entityID, flags, response), response);
+    }
+
+    @Override
+    public int processRedoRecordWithInfo(long         flags,
+                                         StringBuffer jsonData,
+                                         StringBuffer response)
+    {
+      return this.update(super.processRedoRecordWithInfo(
+          flags, jsonData, response), response);
+    }
+
+    @Override
+    public int processWithInfo(String record, long flags, StringBuffer response)
+    {
+      return this.update(super.processWithInfo(record, flags, response),
+                         response);
+    }
+  }
+}
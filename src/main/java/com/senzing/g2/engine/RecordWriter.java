@@ -0,0 +1,354 @@
+package com.senzing.g2.engine;
+
+/**
+ * Writes Senzing record JSON documents for {@link
+ * G2Engine#addRecord(String,String,String,String)}, {@link
+ * G2Engine#replaceRecord(String,String,String,String)} and {@link
+ * G2Engine#process(String)} by streaming attribute/value pairs (including
+ * nested feature lists) into a reusable character buffer with a fixed
+ * escaping routine.  The only allocation per record is the single {@link
+ * String} handed to the engine.
+ *
+ * <p>
+ * Attributes with <code>null</code> values are omitted.  Commas are inserted
+ * automatically.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   RecordWriter writer = RecordWriter.forCurrentThread();
+ *   writer.field("NAME_FULL", name)
+ *         .field("DATE_OF_BIRTH", dob)
+ *         .beginList("ADDRESSES");
+ *   for (Address address : addresses) {
+ *     writer.beginItem()
+ *           .field("ADDR_TYPE", address.getType())
+ *           .field("ADDR_FULL", address.getFullText())
+ *           .endItem();
+ *   }
+ *   writer.endList();
+ *   int returnCode = writer.addRecord(engine, "CUSTOMERS", recordID, null);
+ * </pre>
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe.  Use {@link #forCurrentThread()} to
+ * obtain a reusable instance for the calling thread.
+ */
+public class RecordWriter {
+  /**
+   * The per-thread instances.
+   */
+  private static final ThreadLocal<RecordWriter> THREAD_WRITERS
+      = ThreadLocal.withInitial(RecordWriter::new);
+
+  /**
+   * The reusable buffer.
+   */
+  private final JsonBuffer buffer;
+
+  /**
+   * The number of open objects and lists, including the record object.
+   */
+  private int depth;
+
+  /**
+   * Default constructor.
+   */
+  public RecordWriter() {
+    this(1024);
+  }
+
+  /**
+   * Constructs with the specified initial capacity for the reusable buffer.
+   *
+   * @param initialCapacity The initial capacity in characters.
+   */
+  public RecordWriter(int initialCapacity) {
+    this.buffer = new JsonBuffer(initialCapacity);
+    this.reset();
+  }
+
+  /**
+   * Returns the reusable {@link RecordWriter} for the calling thread after
+   * resetting it to begin a new record.
+   *
+   * @return The reset {@link RecordWriter} for the calling thread.
+   */
+  public static RecordWriter forCurrentThread() {
+    return THREAD_WRITERS.get().reset();
+  }
+
+  /**
+   * Discards any content and begins a new record.
+   *
+   * @return A reference to this instance.
+   */
+  public RecordWriter reset() {
+    this.buffer.reset().append('{');
+    this.depth = 1;
+    return this;
+  }
+
+  /**
+   * Writes an attribute with a text value.  Nothing is written if the value
+   * is <code>null</code>.
+   *
+   * @param name The attribute name.
+   * @param value The attribute value.
+   *
+   * @return A reference to this instance.
+   *
+   * @throws IllegalStateException If positioned within a list rather than an
+   *                               object.
+   */
+  public RecordWriter field(String name, CharSequence value) {
+    if (value == null) return this;
+    this.name(name).appendQuoted(value);
+    return this;
+  }
+
+  /**
+   * Writes an attribute with a numeric value.
+   *
+   * @param name The attribute name.
+   * @param value The attribute value.
+   *
+   * @return A reference to this instance.
+   *
+   * @throws IllegalStateException If positioned within a list rather than an
+   *                               object.
+   */
+  public RecordWriter field(String name, long value) {
+    this.name(name).append(value);
+    return this;
+  }
+
+  /**
+   * Writes an attribute with a numeric value.  Nothing is written if the
+   * value is not a finite number.
+   *
+   * @param name The attribute name.
+   * @param value The attribute value.
+   *
+   * @return A reference to this instance.
+   *
+   * @throws IllegalStateException If positioned within a list rather than an
+   *                               object.
+   */
+  public RecordWriter field(String name, double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) return this;
+    if (value == (long) value) return this.field(name, (long) value);
+    this.name(name).append(Double.toString(value));
+    return this;
+  }
+
+  /**
+   * Writes an attribute with a boolean value.
+   *
+   * @param name The attribute name.
+   * @param value The attribute value.
+   *
+   * @return A reference to this instance.
+   *
+   * @throws IllegalStateException If positioned within a list rather than an
+   *                               object.
+   */
+  public RecordWriter field(String name, boolean value) {
+    this.name(name).append(value ? "true" : "false");
+    return this;
+  }
+
+  /**
+   * Begins a list attribute (e.g.: <code>"NAMES"</code> or
+   * <code>"ADDRESSES"</code>) whose items are written between calls to
+   * {@link #beginItem()} and {@link #endItem()}.
+   *
+   * @param name The attribute name of the list.
+   *
+   * @return A reference to this instance.
+   *
+   * @throws IllegalStateException If positioned within a list rather than an
+   *                               object.
+   */
+  public RecordWriter beginList(String name) {
+    this.name(name).append('[');
+    this.depth++;
+    return this;
+  }
+
+  /**
+   * Ends the current list attribute.
+   *
+   * @return A reference to this instance.
+   *
+   * @throws IllegalStateException If not positioned within a list.
+   */
+  public RecordWriter endList() {
+    if (this.inObject() || this.depth < 2) {
+      throw new IllegalStateException("Not positioned within a list.");
+    }
+    this.buffer.append(']');
+    this.depth--;
+    return this;
+  }
+
+  /**
+   * Begins an item within the current list attribute.
+   *
+   * @return A reference to this instance.
+   *
+   * @throws IllegalStateException If not positioned within a list.
+   */
+  public RecordWriter beginItem() {
+    if (this.inObject()) {
+      throw new IllegalStateException("Not positioned within a list.");
+    }
+    this.separate().append('{');
+    this.depth++;
+    return this;
+  }
+
+  /**
+   * Ends the current list item.
+   *
+   * @return A reference to this instance.
+   *
+   * @throws IllegalStateException If not positioned within a list item.
+   */
+  public RecordWriter endItem() {
+    if (!this.inObject() || this.depth < 3) {
+      throw new IllegalStateException("Not positioned within a list item.");
+    }
+    this.buffer.append('}');
+    this.depth--;
+    return this;
+  }
+
+  /**
+   * Returns the number of characters written so far.
+   *
+   * @return The number of characters written so far.
+   */
+  public int length() {
+    return this.buffer.length();
+  }
+
+  /**
+   * Completes the record and returns its JSON text.  The writer remains
+   * usable and may be extended further after this call.
+   *
+   * @return The JSON text of the record.
+   *
+   * @throws IllegalStateException If a list or list item is still open.
+   */
+  public String toJson() {
+    if (this.depth != 1) {
+      throw new IllegalStateException(
+          "Cannot complete a record with " + (this.depth - 1)
+          + " unclosed list(s) or item(s).");
+    }
+    this.buffer.append('}');
+    try {
+      return this.buffer.toString();
+    } finally {
+      this.buffer.setLength(this.buffer.length() - 1);
+    }
+  }
+
+  /**
+   * Completes the record and adds it via {@link
+   * G2Engine#addRecord(String,String,String,String)}.
+   *
+   * @param engine The {@link G2Engine} to add the record to.
+   * @param dataSourceCode The data source code for the record.
+   * @param recordID The record ID for the record.
+   * @param loadID The load ID for the record (may be <code>null</code>).
+   *
+   * @return Zero (0) on success and non-zero on failure.
+   *
+   * @throws IllegalStateException If a list or list item is still open.
+   */
+  public int addRecord(G2Engine engine,
+                       String   dataSourceCode,
+                       String   recordID,
+                       String   loadID)
+  {
+    return engine.addRecord(dataSourceCode, recordID, this.toJson(), loadID);
+  }
+
+  /**
+   * Completes the record and replaces it via {@link
+   * G2Engine#replaceRecord(String,String,String,String)}.
+   *
+   * @param engine The {@link G2Engine} to replace the record in.
+   * @param dataSourceCode The data source code for the record.
+   * @param recordID The record ID for the record.
+   * @param loadID The load ID for the record (may be <code>null</code>).
+   *
+   * @return Zero (0) on success and non-zero on failure.
+   *
+   * @throws IllegalStateException If a list or list item is still open.
+   */
+  public int replaceRecord(G2Engine engine,
+                           String   dataSourceCode,
+                           String   recordID,
+                           String   loadID)
+  {
+    return engine.replaceRecord(
+        dataSourceCode, recordID, this.toJson(), loadID);
+  }
+
+  /**
+   * Completes the record and processes it via {@link
+   * G2Engine#process(String)}.  The record should include its
+   * <code>"DATA_SOURCE"</code> and <code>"RECORD_ID"</code> attributes.
+   *
+   * @param engine The {@link G2Engine} to process the record with.
+   *
+   * @return Zero (0) on success and non-zero on failure.
+   *
+   * @throws IllegalStateException If a list or list item is still open.
+   */
+  public int process(G2Engine engine) {
+    return engine.process(this.toJson());
+  }
+
+  /**
+   * Returns the JSON text written so far, which is not necessarily a
+   * complete document.
+   *
+   * @return The JSON text written so far.
+   */
+  @Override
+  public String toString() {
+    return this.buffer.toString();
+  }
+
+  /**
+   * Internal method to check if the innermost open container is an object.
+   */
+  private boolean inObject() {
+    // lists and objects alternate starting with the record object
+    return (this.depth % 2) == 1;
+  }
+
+  /**
+   * Internal method to write a comma if required.
+   */
+  private JsonBuffer separate() {
+    char last = this.buffer.last();
+    if (last != '{' && last != '[') this.buffer.append(',');
+    return this.buffer;
+  }
+
+  /**
+   * Internal method to write an attribute name and colon.
+   */
+  private JsonBuffer name(String name) {
+    if (!this.inObject()) {
+      throw new IllegalStateException(
+          "Cannot write attribute " + name + " directly within a list.");
+    }
+    return this.separate().appendQuoted(name).append(':');
+  }
+}
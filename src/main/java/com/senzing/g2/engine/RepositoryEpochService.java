@@ -0,0 +1,359 @@
+package com.senzing.g2.engine;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Polls {@link G2Engine#getRepositoryLastModifiedTime(Result)} on a
+ * background thread and exposes a monotonically increasing <b>epoch</b> that
+ * is incremented each time the repository's last modified time changes, so
+ * that client-side caches can be invalidated in bulk when the repository
+ * changes without each cache polling the repository itself.  The epoch
+ * also advances when the last modified time goes <b>back</b> (e.g.: after
+ * {@link G2Engine#purgeRepository()} or a restore), since the cached data
+ * is just as stale.
+ *
+ * <p>
+ * Caches may either register a {@link Listener} to be notified of each new
+ * epoch, or record {@link #getEpoch()} alongside their entries and compare it
+ * on access (see {@link CachingSearchEngine}).  The epoch starts at zero when
+ * the first successful poll establishes the baseline last modified time.
+ *
+ * <p>
+ * Each poll is scheduled after the configured interval randomly lengthened
+ * or shortened by up to the configured jitter fraction, so that many nodes
+ * started together do not poll the repository in lock step.  A failed poll
+ * clears the engine's last exception and leaves the epoch unchanged.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   RepositoryEpochService epochs
+ *       = new RepositoryEpochService(engine, 1000L, 0.2);
+ *   epochs.addListener((epoch, lastModified) -&gt; cache.clear());
+ *   epochs.start();
+ *   ...
+ *   epochs.close();
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe if the backing {@link G2Engine} is thread-safe.
+ */
+public class RepositoryEpochService implements AutoCloseable {
+  /**
+   * The default interval in milliseconds between polls.
+   */
+  public static final long DEFAULT_INTERVAL = 1000L;
+
+  /**
+   * The default jitter as a fraction of the interval.
+   */
+  public static final double DEFAULT_JITTER = 0.2;
+
+  /**
+   * Notified each time the epoch advances.
+   */
+  @FunctionalInterface
+  public interface Listener {
+    /**
+     * Called on the polling thread (or the thread calling {@link #poll()})
+     * after the epoch advances.  Calls are made in epoch order.
+     *
+     * @param epoch The new epoch.
+     * @param lastModifiedTime The repository last modified time that
+     *                         produced the new epoch.
+     */
+    void epochChanged(long epoch, long lastModifiedTime);
+  }
+
+  /**
+   * The {@link G2Engine} to poll.
+   */
+  private final G2Engine engine;
+
+  /**
+   * The nominal interval between polls in milliseconds.
+   */
+  private final long intervalMillis;
+
+  /**
+   * The jitter as a fraction of the interval.
+   */
+  private final double jitter;
+
+  /**
+   * The registered listeners.
+   */
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * The monitor serializing polls and listener notification.
+   */
+  private final Object pollLock = new Object();
+
+  /**
+   * The current epoch, or negative one before the first successful poll.
+   */
+  private volatile long epoch = -1L;
+
+  /**
+   * The last observed repository last modified time.
+   */
+  private volatile long lastModified = Long.MIN_VALUE;
+
+  /**
+   * The number of polls performed.
+   */
+  private final AtomicLong pollCount = new AtomicLong(0L);
+
+  /**
+   * The number of failed polls.
+   */
+  private final AtomicLong pollFailureCount = new AtomicLong(0L);
+
+  /**
+   * The number of listener calls that threw an exception.
+   */
+  private final AtomicLong listenerFailureCount = new AtomicLong(0L);
+
+  /**
+   * The polling thread, or <code>null</code> if not started.
+   */
+  private ScheduledExecutorService poller = null;
+
+  /**
+   * Whether or not this instance has been closed.
+   */
+  private volatile boolean closed = false;
+
+  /**
+   * Constructs with the {@link G2Engine} to poll, polling every {@link
+   * #DEFAULT_INTERVAL} milliseconds with {@link #DEFAULT_JITTER}.
+   *
+   * @param engine The {@link G2Engine} to poll.
+   */
+  public RepositoryEpochService(G2Engine engine) {
+    this(engine, DEFAULT_INTERVAL, DEFAULT_JITTER);
+  }
+
+  /**
+   * Constructs with the {@link G2Engine} to poll, the nominal interval
+   * between polls and the jitter applied to each interval.
+   *
+   * @param engine The {@link G2Engine} to poll.
+   * @param intervalMillis The nominal interval between polls in
+   *                       milliseconds.
+   * @param jitter The maximum fraction (from zero inclusive to one exclusive)
+   *               by which each interval is randomly lengthened or shortened.
+   *
+   * @throws NullPointerException If the specified {@link G2Engine} is
+   *                              <code>null</code>.
+   * @throws IllegalArgumentException If the interval is not positive or the
+   *                                  jitter is out of range.
+   */
+  public RepositoryEpochService(G2Engine engine,
+                                long     intervalMillis,
+                                double   jitter)
+  {
+    if (engine == null) {
+      throw new NullPointerException("The G2Engine cannot be null.");
+    }
+    if (intervalMillis < 1L || !(jitter >= 0.0 && jitter < 1.0)) {
+      throw new IllegalArgumentException(
+          "The interval (" + intervalMillis + ") must be positive and the "
+          + "jitter (" + jitter + ") must be at least zero and less than one.");
+    }
+    this.engine         = engine;
+    this.intervalMillis = intervalMillis;
+    this.jitter         = jitter;
+  }
+
+  /**
+   * Starts polling on a background daemon thread.  The first poll is made
+   * immediately.
+   *
+   * @throws IllegalStateException If already started or closed.
+   */
+  public synchronized void start() {
+    if (this.closed || this.poller != null) {
+      throw new IllegalStateException("The service has already been "
+                                      + (this.closed ? "closed." : "started."));
+    }
+    this.poller = Executors.newSingleThreadScheduledExecutor(
+        new NamedThreadFactory("g2-repository-epoch"));
+    this.poller.execute(this::scheduledPoll);
+  }
+
+  /**
+   * Polls the repository last modified time immediately on the calling
+   * thread, advancing the epoch and notifying the listeners if it has
+   * changed.
+   *
+   * @return <code>true</code> if the epoch advanced, otherwise
+   *         <code>false</code>.
+   */
+  public boolean poll() {
+    synchronized (this.pollLock) {
+      this.pollCount.incrementAndGet();
+      Result<Long> result = new Result<>();
+      if (this.engine.getRepositoryLastModifiedTime(result) != 0) {
+        this.engine.clearLastException();
+        this.pollFailureCount.incrementAndGet();
+        return false;
+      }
+      long modified = result.getValue();
+      if (this.epoch < 0L) {
+        this.lastModified = modified;
+        this.epoch        = 0L;
+        return false;
+      }
+      // a purge or restore can move the time back, which is a change too
+      if (modified == this.lastModified) return false;
+      this.lastModified = modified;
+      long epoch = ++this.epoch;
+      for (Listener listener : this.listeners) {
+        try {
+          listener.epochChanged(epoch, modified);
+        } catch (RuntimeException e) {
+          // one failing cache must not keep the others stale
+          this.listenerFailureCount.incrementAndGet();
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Returns the current epoch, which is zero after the first successful poll
+   * and increases by one each time the repository's last modified time
+   * changes.
+   *
+   * @return The current epoch, or negative one if no poll has succeeded.
+   */
+  public long getEpoch() {
+    return this.epoch;
+  }
+
+  /**
+   * Returns the repository last modified time observed by the most recent
+   * successful poll.
+   *
+   * @return The last observed repository last modified time, or {@link
+   *         Long#MIN_VALUE} if no poll has succeeded.
+   */
+  public long getLastModifiedTime() {
+    return this.lastModified;
+  }
+
+  /**
+   * Registers the specified {@link Listener} to be notified each time the
+   * epoch advances.
+   *
+   * @param listener The {@link Listener} to register.
+   */
+  public void addListener(Listener listener) {
+    if (listener == null) {
+      throw new NullPointerException("The listener cannot be null.");
+    }
+    this.listeners.add(listener);
+  }
+
+  /**
+   * Unregisters the specified {@link Listener}.
+   *
+   * @param listener The {@link Listener} to unregister.
+   *
+   * @return <code>true</code> if the listener was registered, otherwise
+   *         <code>false</code>.
+   */
+  public boolean removeListener(Listener listener) {
+    return this.listeners.remove(listener);
+  }
+
+  /**
+   * Returns the nominal interval between polls in milliseconds.
+   *
+   * @return The nominal interval between polls in milliseconds.
+   */
+  public long getIntervalMillis() {
+    return this.intervalMillis;
+  }
+
+  /**
+   * Returns the number of polls performed.
+   *
+   * @return The number of polls performed.
+   */
+  public long getPollCount() {
+    return this.pollCount.get();
+  }
+
+  /**
+   * Returns the number of polls that failed.
+   *
+   * @return The number of failed polls.
+   */
+  public long getPollFailureCount() {
+    return this.pollFailureCount.get();
+  }
+
+  /**
+   * Returns the number of listener notifications that threw an exception.
+   *
+   * @return The number of failed listener notifications.
+   */
+  public long getListenerFailureCount() {
+    return this.listenerFailureCount.get();
+  }
+
+  /**
+   * Stops polling, waiting for a poll in progress to complete.  The epoch
+   * and listeners remain available and {@link #poll()} may still be called.
+   */
+  @Override
+  public void close() {
+    ScheduledExecutorService poller;
+    synchronized (this) {
+      if (this.closed) return;
+      this.closed = true;
+      poller      = this.poller;
+    }
+    if (poller == null) return;
+    // drop the pending poll rather than running it after shutdown
+    poller.shutdownNow();
+    try {
+      while (!poller.awaitTermination(1L, TimeUnit.SECONDS)) {
+        // wait for a native call in progress to return
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Internal method to poll and schedule the next poll.
+   */
+  private void scheduledPoll() {
+    try {
+      this.poll();
+    } catch (RuntimeException e) {
+      this.pollFailureCount.incrementAndGet();
+    }
+    if (this.closed) return;
+    double factor = 1.0 + this.jitter
+        * (2.0 * ThreadLocalRandom.current().nextDouble() - 1.0);
+    try {
+      this.poller.schedule(this::scheduledPoll,
+                           Math.max(1L, (long) (this.intervalMillis * factor)),
+                           TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      // closed concurrently
+    }
+  }
+}
@@ -0,0 +1,1020 @@
+package com.senzing.g2.engine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Takes over failed {@link G2Engine#addRecord(String,String,String,String)},
+ * {@link G2Engine#replaceRecord(String,String,String,String)}, {@link
+ * G2Engine#deleteRecord(String,String,String)} and {@link
+ * G2Engine#processRedoRecord(StringBuffer)} calls so that loader threads
+ * never block on a failure.
+ *
+ * <p>
+ * The failure is read from {@link G2Engine#getLastExceptionCode()} and
+ * {@link G2Engine#getLastException()} on the failing thread, cleared, and
+ * classified with {@link G2ErrorType}.  Transient failures are retried by
+ * background threads with jittered exponential backoff; once more than the
+ * configured number of retries are waiting in memory, further retries are
+ * spilled to files in the working directory and read back as the backlog
+ * drains.  Permanent failures, and transient failures that exhaust their
+ * attempts, are appended as JSON lines to the dead-letter file
+ * (<code>dead-letter.jsonl</code>) in the working directory.  Spilled
+ * retries and dead letters are handed to a background writer thread in
+ * memory, so the thread reporting a failure never performs file I/O.  An
+ * operation that throws an exception on retry is dead-lettered as {@link
+ * G2ErrorType#FATAL}.
+ *
+ * <p>
+ * Retries still waiting when the queue is closed are written to the working
+ * directory and resumed when a queue is next constructed over it.  Once the
+ * queue is closed, its load functions and {@link
+ * #handleFailure(Operation,String,String,String,String)} throw {@link
+ * IllegalStateException} rather than accept work that could not be retried.
+ * A failed redo record is retried via {@link G2Engine#process(String)}.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   try (RetryQueue retries = new RetryQueue(engine, workDirectory)) {
+ *     for (...) {
+ *       // on failure the record is handed off and the loop continues
+ *       retries.addRecord(dataSource, recordID, jsonData, loadID);
+ *     }
+ *   }
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe.
+ */
+public class RetryQueue implements AutoCloseable {
+  /**
+   * The default maximum number of attempts (including the original call).
+   */
+  public static final int DEFAULT_MAX_ATTEMPTS = 8;
+
+  /**
+   * The default base delay in milliseconds before the first retry.
+   */
+  public static final long DEFAULT_BASE_DELAY = 100L;
+
+  /**
+   * The default maximum delay in milliseconds between retries.
+   */
+  public static final long DEFAULT_MAX_DELAY = 60000L;
+
+  /**
+   * The default maximum number of retries held in memory before spilling.
+   */
+  public static final int DEFAULT_MAX_IN_MEMORY = 10000;
+
+  /**
+   * The name of the dead-letter file in the working directory.
+   */
+  public static final String DEAD_LETTER_FILE_NAME = "dead-letter.jsonl";
+
+  /**
+   * The file name prefix for spill files.
+   */
+  private static final String SPILL_PREFIX = "retry-";
+
+  /**
+   * The file name suffix for spill files.
+   */
+  private static final String SPILL_SUFFIX = ".spill";
+
+  /**
+   * The number of milliseconds a retry thread waits for work before checking
+   * for spilled retries or closure.
+   */
+  private static final long POLL_MILLIS = 250L;
+
+  /**
+   * Enumerates the operations that can be retried.
+   */
+  public enum Operation {
+    /**
+     * {@link G2Engine#addRecord(String,String,String,String)}.
+     */
+    ADD,
+
+    /**
+     * {@link G2Engine#replaceRecord(String,String,String,String)}.
+     */
+    REPLACE,
+
+    /**
+     * {@link G2Engine#deleteRecord(String,String,String)}.
+     */
+    DELETE,
+
+    /**
+     * {@link G2Engine#processRedoRecord(StringBuffer)}, retried via {@link
+     * G2Engine#process(String)}.
+     */
+    REDO
+  }
+
+  /**
+   * The operations by ordinal, for decoding spill files.
+   */
+  private static final Operation[] OPERATIONS = Operation.values();
+
+  /**
+   * Thrown when a spill file holds data that no spilled task could contain,
+   * so the rest of the file is abandoned.
+   */
+  private static final class CorruptSpillException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private CorruptSpillException(Path file, String message) {
+      super(message + " in " + file);
+    }
+  }
+
+  /**
+   * A failed operation awaiting retry.
+   */
+  private static final class Task implements Delayed {
+    private final Operation operation;
+    private final String dataSourceCode;
+    private final String recordID;
+    private final String jsonData;
+    private final String loadID;
+    private int attempts;
+    private long dueTime;
+
+    private Task(Operation  operation,
+                 String     dataSourceCode,
+                 String     recordID,
+                 String     jsonData,
+                 String     loadID,
+                 int        attempts,
+                 long       dueTime)
+    {
+      this.operation      = operation;
+      this.dataSourceCode = dataSourceCode;
+      this.recordID       = recordID;
+      this.jsonData       = jsonData;
+      this.loadID         = loadID;
+      this.attempts       = attempts;
+      this.dueTime        = dueTime;
+    }
+
+    private int perform(G2Engine engine) {
+      switch (this.operation) {
+        case ADD:
+          return engine.addRecord(
+              this.dataSourceCode, this.recordID, this.jsonData, this.loadID);
+        case REPLACE:
+          return engine.replaceRecord(
+              this.dataSourceCode, this.recordID, this.jsonData, this.loadID);
+        case DELETE:
+          return engine.deleteRecord(
+              this.dataSourceCode, this.recordID, this.loadID);
+        case REDO:
+          return engine.process(this.jsonData);
+        default:
+          throw new IllegalStateException(
+              "Unhandled operation: " + this.operation);
+      }
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(this.dueTime - System.currentTimeMillis(),
+                          TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return Long.compare(this.dueTime, ((Task) other).dueTime);
+    }
+  }
+
+  /**
+   * The {@link G2Engine} to retry against.
+   */
+  private final G2Engine engine;
+
+  /**
+   * The working directory for spill files and the dead-letter file.
+   */
+  private final Path directory;
+
+  /**
+   * The maximum number of attempts.
+   */
+  private final int maxAttempts;
+
+  /**
+   * The base delay in milliseconds.
+   */
+  private final long baseDelay;
+
+  /**
+   * The maximum delay in milliseconds.
+   */
+  private final long maxDelay;
+
+  /**
+   * The maximum number of retries held in memory.
+   */
+  private final int maxInMemory;
+
+  /**
+   * The retries held in memory ordered by due time.
+   */
+  private final DelayQueue<Task> queue = new DelayQueue<>();
+
+  /**
+   * The retry threads.
+   */
+  private final ExecutorService workers;
+
+  /**
+   * The thread writing spill files and the dead-letter file.
+   */
+  private final ExecutorService writer;
+
+  /**
+   * The {@link Task} instances to spill and the {@link DeadLetter} instances
+   * to record, in the order they were handed to the writer thread.
+   */
+  private final LinkedBlockingQueue<Object> handoff
+      = new LinkedBlockingQueue<>();
+
+  /**
+   * The lock ordering hand-offs from callers with closure.
+   */
+  private final Object stateLock = new Object();
+
+  /**
+   * The lock guarding the spill files and the dead-letter file.
+   */
+  private final Object spillLock = new Object();
+
+  /**
+   * The completed spill files awaiting reading, oldest first.
+   */
+  private final Deque<Path> spillFiles = new ArrayDeque<>();
+
+  /**
+   * The spill file being written, or <code>null</code> if none.
+   */
+  private DataOutputStream spillOut;
+
+  /**
+   * The path of the spill file being written.
+   */
+  private Path spillOutPath;
+
+  /**
+   * The spill file being read, or <code>null</code> if none.
+   */
+  private DataInputStream spillIn;
+
+  /**
+   * The path of the spill file being read.
+   */
+  private Path spillInPath;
+
+  /**
+   * The size in bytes of the spill file being read, which bounds the length
+   * of any text read from it.
+   */
+  private long spillInSize;
+
+  /**
+   * The sequence number for the next spill file.
+   */
+  private long spillSequence;
+
+  /**
+   * The dead-letter writer, opened on first use and guarded by the spill
+   * lock.
+   */
+  private BufferedWriter deadLetterOut;
+
+  /**
+   * The buffer for encoding dead-letter entries.
+   */
+  private final JsonBuffer deadLetterBuffer = new JsonBuffer(1024);
+
+  /**
+   * The number of failures handed to this instance.
+   */
+  private final AtomicLong failureCount = new AtomicLong(0L);
+
+  /**
+   * The number of retry attempts made.
+   */
+  private final AtomicLong retryCount = new AtomicLong(0L);
+
+  /**
+   * The number of operations that succeeded on retry.
+   */
+  private final AtomicLong recoveredCount = new AtomicLong(0L);
+
+  /**
+   * The number of operations written to the dead-letter file.
+   */
+  private final AtomicLong deadLetterCount = new AtomicLong(0L);
+
+  /**
+   * The number of retries written to spill files.
+   */
+  private final AtomicLong spillCount = new AtomicLong(0L);
+
+  /**
+   * The number of failures writing or reading spill files or the
+   * dead-letter file.
+   */
+  private final AtomicLong ioFailureCount = new AtomicLong(0L);
+
+  /**
+   * Whether or not this instance has been closed.
+   */
+  private volatile boolean closed = false;
+
+  /**
+   * A dead-lettered operation awaiting the writer thread.
+   */
+  private static final class DeadLetter {
+    private final Task task;
+    private final G2ErrorType errorType;
+    private final int errorCode;
+    private final String message;
+
+    private DeadLetter(Task         task,
+                       G2ErrorType  errorType,
+                       int          errorCode,
+                       String       message)
+    {
+      this.task       = task;
+      this.errorType  = errorType;
+      this.errorCode  = errorCode;
+      this.message    = message;
+    }
+  }
+
+  /**
+   * Constructs with the specified {@link G2Engine} and working directory
+   * using the default settings and a single retry thread.
+   *
+   * @param engine The {@link G2Engine} to call.
+   * @param directory The working directory for spill files and the
+   *                  dead-letter file.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  public RetryQueue(G2Engine engine, Path directory) throws IOException {
+    this(engine, directory, 1, DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_DELAY,
+         DEFAULT_MAX_DELAY, DEFAULT_MAX_IN_MEMORY);
+  }
+
+  /**
+   * Constructs with the specified settings.  Any retries spilled to the
+   * working directory by a previous instance are resumed.
+   *
+   * @param engine The {@link G2Engine} to call.
+   * @param directory The working directory for spill files and the
+   *                  dead-letter file.
+   * @param concurrency The number of retry threads.
+   * @param maxAttempts The maximum number of attempts for an operation,
+   *                    including the original call.
+   * @param baseDelay The delay in milliseconds before the first retry, which
+   *                  doubles with each further attempt.
+   * @param maxDelay The maximum delay in milliseconds between retries.
+   * @param maxInMemory The maximum number of retries to hold in memory before
+   *                    spilling to disk.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  public RetryQueue(G2Engine  engine,
+                    Path      directory,
+                    int       concurrency,
+                    int       maxAttempts,
+                    long      baseDelay,
+                    long      maxDelay,
+                    int       maxInMemory)
+      throws IOException
+  {
+    if (engine == null) {
+      throw new NullPointerException("The specified engine cannot be null.");
+    }
+    if (concurrency < 1 || maxAttempts < 1 || maxInMemory < 1) {
+      throw new IllegalArgumentException(
+          "The concurrency (" + concurrency + "), maximum attempts ("
+          + maxAttempts + ") and maximum in memory (" + maxInMemory
+          + ") must be positive.");
+    }
+    if (baseDelay < 0L || maxDelay < baseDelay) {
+      throw new IllegalArgumentException(
+          "Bad base delay (" + baseDelay + ") or maximum delay (" + maxDelay
+          + ").");
+    }
+    this.engine       = engine;
+    this.directory    = directory;
+    this.maxAttempts  = maxAttempts;
+    this.baseDelay    = baseDelay;
+    this.maxDelay     = maxDelay;
+    this.maxInMemory  = maxInMemory;
+
+    Files.createDirectories(directory);
+    List<Path> files = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(
+        directory, SPILL_PREFIX + "*" + SPILL_SUFFIX))
+    {
+      stream.forEach(files::add);
+    }
+    files.sort(null);
+    for (Path file : files) {
+      String name = file.getFileName().toString();
+      this.spillSequence = Math.max(this.spillSequence, 1L + Long.parseLong(
+          name.substring(SPILL_PREFIX.length(),
+                         name.length() - SPILL_SUFFIX.length())));
+      this.spillFiles.add(file);
+    }
+
+    this.workers = Executors.newFixedThreadPool(
+        concurrency, new NamedThreadFactory("g2-retry"));
+    for (int index = 0; index < concurrency; index++) {
+      this.workers.execute(this::retryLoop);
+    }
+    this.writer = Executors.newSingleThreadExecutor(
+        new NamedThreadFactory("g2-retry-writer"));
+    this.writer.execute(this::writeLoop);
+  }
+
+  /**
+   * Calls {@link G2Engine#addRecord(String,String,String,String)} and hands
+   * the operation off for retry or dead-lettering if it fails.
+   *
+   * @param dataSourceCode The data source code for the record.
+   * @param recordID The record ID for the record.
+   * @param jsonData The JSON data for the record.
+   * @param loadID The load ID (may be <code>null</code>).
+   *
+   * @return The return code from the initial call.
+   *
+   * @throws IllegalStateException If this instance has been closed.
+   */
+  public int addRecord(String dataSourceCode,
+                       String recordID,
+                       String jsonData,
+                       String loadID)
+  {
+    this.checkOpen();
+    int returnCode = this.engine.addRecord(
+        dataSourceCode, recordID, jsonData, loadID);
+    if (returnCode != 0) {
+      this.handleFailure(
+          Operation.ADD, dataSourceCode, recordID, jsonData, loadID);
+    }
+    return returnCode;
+  }
+
+  /**
+   * Calls {@link G2Engine#replaceRecord(String,String,String,String)} and
+   * hands the operation off for retry or dead-lettering if it fails.
+   *
+   * @param dataSourceCode The data source code for the record.
+   * @param recordID The record ID for the record.
+   * @param jsonData The JSON data for the record.
+   * @param loadID The load ID (may be <code>null</code>).
+   *
+   * @return The return code from the initial call.
+   *
+   * @throws IllegalStateException If this instance has been closed.
+   */
+  public int replaceRecord(String dataSourceCode,
+                           String recordID,
+                           String jsonData,
+                           String loadID)
+  {
+    this.checkOpen();
+    int returnCode = this.engine.replaceRecord(
+        dataSourceCode, recordID, jsonData, loadID);
+    if (returnCode != 0) {
+      this.handleFailure(
+          Operation.REPLACE, dataSourceCode, recordID, jsonData, loadID);
+    }
+    return returnCode;
+  }
+
+  /**
+   * Calls {@link G2Engine#deleteRecord(String,String,String)} and hands the
+   * operation off for retry or dead-lettering if it fails.
+   *
+   * @param dataSourceCode The data source code for the record.
+   * @param recordID The record ID for the record.
+   * @param loadID The load ID (may be <code>null</code>).
+   *
+   * @return The return code from the initial call.
+   *
+   * @throws IllegalStateException If this instance has been closed.
+   */
+  public int deleteRecord(String dataSourceCode,
+                          String recordID,
+                          String loadID)
+  {
+    this.checkOpen();
+    int returnCode = this.engine.deleteRecord(
+        dataSourceCode, recordID, loadID);
+    if (returnCode != 0) {
+      this.handleFailure(
+          Operation.DELETE, dataSourceCode, recordID, null, loadID);
+    }
+    return returnCode;
+  }
+
+  /**
+   * Calls {@link G2Engine#processRedoRecord(StringBuffer)} and hands the
+   * returned redo record off for retry or dead-lettering if it fails.
+   *
+   * @param jsonData The {@link StringBuffer} to receive the redo record.
+   *
+   * @return The return code from the initial call.
+   *
+   * @throws IllegalStateException If this instance has been closed.
+   */
+  public int processRedoRecord(StringBuffer jsonData) {
+    this.checkOpen();
+    int returnCode = this.engine.processRedoRecord(jsonData);
+    if (returnCode != 0) {
+      this.handleFailure(Operation.REDO, null, null,
+                         (jsonData.length() == 0) ? null : jsonData.toString(),
+                         null);
+    }
+    return returnCode;
+  }
+
+  /**
+   * Reads and clears the last failure of the {@link G2Engine} on the calling
+   * thread, classifies it, and either schedules the described operation for
+   * retry or writes it to the dead-letter file.  Call this on the same
+   * thread immediately after a failed call made directly on the engine.
+   *
+   * @param operation The failed {@link Operation}.
+   * @param dataSourceCode The data source code for the record (ignored for
+   *                       {@link Operation#REDO}).
+   * @param recordID The record ID for the record (ignored for {@link
+   *                 Operation#REDO}).
+   * @param jsonData The JSON data for the record or the redo record
+   *                 (<code>null</code> for {@link Operation#DELETE}).
+   * @param loadID The load ID (may be <code>null</code>).
+   *
+   * @return <code>true</code> if the operation was scheduled for retry, or
+   *         <code>false</code> if it was dead-lettered.
+   *
+   * @throws IllegalStateException If this instance has been closed.
+   */
+  public boolean handleFailure(Operation  operation,
+                               String     dataSourceCode,
+                               String     recordID,
+                               String     jsonData,
+                               String     loadID)
+  {
+    int         errorCode = this.engine.getLastExceptionCode();
+    String      message   = this.engine.getLastException();
+    this.engine.clearLastException();
+    G2ErrorType errorType = G2ErrorType.classify(errorCode, message);
+
+    Task task = new Task(operation, dataSourceCode, recordID, jsonData,
+                         loadID, 1, 0L);
+    boolean retryable = (operation != Operation.REDO || jsonData != null);
+    synchronized (this.stateLock) {
+      this.checkOpen();
+      this.failureCount.incrementAndGet();
+      if (errorType.isTransient() && retryable && this.maxAttempts > 1) {
+        this.schedule(task);
+        return true;
+      }
+      this.handoff.add(new DeadLetter(task, errorType, errorCode, message));
+      return false;
+    }
+  }
+
+  /**
+   * Returns the number of failed operations handed to this instance.
+   *
+   * @return The number of failed operations handed to this instance.
+   */
+  public long getFailureCount() {
+    return this.failureCount.get();
+  }
+
+  /**
+   * Returns the number of retry attempts made.
+   *
+   * @return The number of retry attempts made.
+   */
+  public long getRetryCount() {
+    return this.retryCount.get();
+  }
+
+  /**
+   * Returns the number of operations that succeeded on retry.
+   *
+   * @return The number of operations that succeeded on retry.
+   */
+  public long getRecoveredCount() {
+    return this.recoveredCount.get();
+  }
+
+  /**
+   * Returns the number of operations written to the dead-letter file.
+   *
+   * @return The number of operations written to the dead-letter file.
+   */
+  public long getDeadLetterCount() {
+    return this.deadLetterCount.get();
+  }
+
+  /**
+   * Returns the number of retries written to spill files.
+   *
+   * @return The number of retries written to spill files.
+   */
+  public long getSpillCount() {
+    return this.spillCount.get();
+  }
+
+  /**
+   * Returns the number of failures writing or reading the spill files or the
+   * dead-letter file.  A retry that cannot be spilled is kept in memory, a
+   * dead letter that cannot be written is discarded, and a spill file that
+   * cannot be read is left in the working directory.
+   *
+   * @return The number of I/O failures.
+   */
+  public long getIOFailureCount() {
+    return this.ioFailureCount.get();
+  }
+
+  /**
+   * Returns the number of retries currently held in memory.
+   *
+   * @return The number of retries currently held in memory.
+   */
+  public int getQueuedCount() {
+    return this.queue.size();
+  }
+
+  /**
+   * Returns the path of the dead-letter file.
+   *
+   * @return The path of the dead-letter file.
+   */
+  public Path getDeadLetterFile() {
+    return this.directory.resolve(DEAD_LETTER_FILE_NAME);
+  }
+
+  /**
+   * Stops the retry threads (waiting for in-flight retries to complete) and
+   * writes any waiting retries to the working directory for resumption.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  @Override
+  public void close() throws IOException {
+    synchronized (this.stateLock) {
+      if (this.closed) return;
+      this.closed = true;
+    }
+    this.workers.shutdown();
+    try {
+      while (!this.workers.awaitTermination(1L, TimeUnit.SECONDS)) {
+        // wait for native calls in progress to return
+      }
+      // the writer drains the hand-offs made by the retry threads and exits
+      this.writer.shutdown();
+      while (!this.writer.awaitTermination(1L, TimeUnit.SECONDS)) {
+        // wait for pending writes
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    synchronized (this.spillLock) {
+      for (Object item = this.handoff.poll(); item != null;
+           item = this.handoff.poll())
+      {
+        if (item instanceof Task) {
+          this.writeSpilled((Task) item);
+        } else {
+          this.writeDeadLetter((DeadLetter) item);
+        }
+      }
+      // move the unread remainder of a partially read file so nothing is
+      // retried twice after restart
+      try {
+        for (Task task = this.readSpilled(false); task != null;
+             task = this.readSpilled(false))
+        {
+          this.writeSpilled(task);
+        }
+      } catch (CorruptSpillException e) {
+        this.ioFailureCount.incrementAndGet();
+        this.abandonSpillIn();
+      }
+      List<Task> remaining = new ArrayList<>();
+      this.queue.drainTo(remaining);
+      for (Task task : remaining) {
+        this.writeSpilled(task);
+      }
+      if (this.spillOut != null) {
+        this.spillOut.close();
+        this.spillOut = null;
+      }
+      if (this.deadLetterOut != null) {
+        this.deadLetterOut.close();
+        this.deadLetterOut = null;
+      }
+    }
+  }
+
+  /**
+   * Internal method to throw {@link IllegalStateException} if this instance
+   * has been closed.
+   */
+  private void checkOpen() {
+    if (this.closed) throw new IllegalStateException("RetryQueue is closed.");
+  }
+
+  /**
+   * Internal method to schedule a task after the backoff for its attempts,
+   * handing it to the writer thread to spill if the memory limit is reached.
+   */
+  private void schedule(Task task) {
+    long delay = Math.min(this.maxDelay,
+                          this.baseDelay << Math.min(task.attempts - 1, 30));
+    // equal jitter: half the delay is fixed and half is random
+    long half = delay / 2L;
+    delay = half + ThreadLocalRandom.current().nextLong(half + 1L);
+    task.dueTime = System.currentTimeMillis() + delay;
+
+    if (this.queue.size() < this.maxInMemory) {
+      this.queue.add(task);
+    } else {
+      this.handoff.add(task);
+    }
+  }
+
+  /**
+   * Internal method run by each retry thread.
+   */
+  private void retryLoop() {
+    while (!this.closed) {
+      Task task;
+      try {
+        if (this.queue.size() < this.maxInMemory / 2) this.refill();
+        task = this.queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        return;
+      }
+      if (task == null) continue;
+
+      this.retryCount.incrementAndGet();
+      int returnCode;
+      try {
+        returnCode = task.perform(this.engine);
+      } catch (RuntimeException e) {
+        task.attempts++;
+        this.handoff.add(
+            new DeadLetter(task, G2ErrorType.FATAL, 0, e.toString()));
+        continue;
+      }
+      if (returnCode == 0) {
+        this.recoveredCount.incrementAndGet();
+        continue;
+      }
+      int         errorCode = this.engine.getLastExceptionCode();
+      String      message   = this.engine.getLastException();
+      this.engine.clearLastException();
+      G2ErrorType errorType = G2ErrorType.classify(errorCode, message);
+      task.attempts++;
+      if (errorType.isTransient() && task.attempts < this.maxAttempts) {
+        this.schedule(task);
+      } else {
+        this.handoff.add(new DeadLetter(task, errorType, errorCode, message));
+      }
+    }
+  }
+
+  /**
+   * Internal method run by the writer thread to spill the retries and
+   * record the dead letters handed to it, flushing after each batch.  It
+   * exits once it has been shut down and the hand-offs are drained.
+   */
+  private void writeLoop() {
+    while (true) {
+      Object item;
+      try {
+        item = this.handoff.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        return;
+      }
+      if (item == null) {
+        if (this.writer.isShutdown()) return;
+        continue;
+      }
+      synchronized (this.spillLock) {
+        for (; item != null; item = this.handoff.poll()) {
+          try {
+            if (item instanceof Task) {
+              this.writeSpilled((Task) item);
+            } else {
+              this.writeDeadLetter((DeadLetter) item);
+            }
+          } catch (IOException e) {
+            this.ioFailureCount.incrementAndGet();
+            // keep a retry that cannot be spilled rather than lose it
+            if (item instanceof Task) this.queue.add((Task) item);
+          }
+        }
+        try {
+          if (this.spillOut != null) this.spillOut.flush();
+          if (this.deadLetterOut != null) this.deadLetterOut.flush();
+        } catch (IOException e) {
+          this.ioFailureCount.incrementAndGet();
+        }
+      }
+    }
+  }
+
+  /**
+   * Internal method to move spilled retries back into memory.  A spill file
+   * that cannot be read is abandoned and left in the working directory.
+   */
+  private void refill() {
+    synchronized (this.spillLock) {
+      int target = Math.max(1, this.maxInMemory / 2);
+      try {
+        while (this.queue.size() < target) {
+          Task task = this.readSpilled(true);
+          if (task == null) break;
+          this.queue.add(task);
+        }
+      } catch (IOException e) {
+        this.ioFailureCount.incrementAndGet();
+        this.abandonSpillIn();
+      }
+    }
+  }
+
+  /**
+   * Internal method to stop reading the current spill file, leaving it in
+   * the spill directory.  This requires the spill lock.
+   */
+  private void abandonSpillIn() {
+    if (this.spillIn == null) return;
+    try {
+      this.spillIn.close();
+    } catch (IOException ignore) {
+      // the file is abandoned either way
+    }
+    this.spillIn = null;
+  }
+
+  /**
+   * Internal method to read the next spilled task, or <code>null</code> if
+   * none.  This must be called while holding the spill lock.
+   */
+  private Task readSpilled(boolean advance) throws IOException {
+    while (true) {
+      if (this.spillIn == null) {
+        if (!advance) return null;
+        if (this.spillFiles.isEmpty() && this.spillOut != null) {
+          // rotate the file being written so it can be read
+          this.spillOut.close();
+          this.spillOut = null;
+          this.spillFiles.add(this.spillOutPath);
+        }
+        if (this.spillFiles.isEmpty()) return null;
+        this.spillInPath = this.spillFiles.removeFirst();
+        this.spillInSize = Files.size(this.spillInPath);
+        this.spillIn = new DataInputStream(new BufferedInputStream(
+            Files.newInputStream(this.spillInPath)));
+      }
+      try {
+        int ordinal = this.spillIn.readByte();
+        if (ordinal < 0 || ordinal >= OPERATIONS.length) {
+          throw new CorruptSpillException(
+              this.spillInPath, "Bad operation: " + ordinal);
+        }
+        Operation operation = OPERATIONS[ordinal];
+        int       attempts  = this.spillIn.readInt();
+        long      dueTime   = this.spillIn.readLong();
+        return new Task(operation, this.readText(), this.readText(),
+                        this.readText(), this.readText(), attempts, dueTime);
+      } catch (EOFException e) {
+        this.spillIn.close();
+        this.spillIn = null;
+        Files.deleteIfExists(this.spillInPath);
+        if (!advance) return null;
+      }
+    }
+  }
+
+  /**
+   * Internal method to append a task to the spill file being written.  This
+   * must be called while holding the spill lock.
+   */
+  private void writeSpilled(Task task) throws IOException {
+    if (this.spillOut == null) {
+      this.spillOutPath = this.directory.resolve(String.format(
+          "%s%012d%s", SPILL_PREFIX, this.spillSequence++, SPILL_SUFFIX));
+      this.spillOut = new DataOutputStream(new BufferedOutputStream(
+          Files.newOutputStream(this.spillOutPath)));
+    }
+    this.spillOut.writeByte(task.operation.ordinal());
+    this.spillOut.writeInt(task.attempts);
+    this.spillOut.writeLong(task.dueTime);
+    writeText(this.spillOut, task.dataSourceCode);
+    writeText(this.spillOut, task.recordID);
+    writeText(this.spillOut, task.jsonData);
+    writeText(this.spillOut, task.loadID);
+    this.spillCount.incrementAndGet();
+  }
+
+  /**
+   * Internal method to write length-prefixed UTF-8 text.
+   */
+  private static void writeText(DataOutputStream out, String text)
+      throws IOException
+  {
+    if (text == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Internal method to read length-prefixed UTF-8 text from the spill file
+   * being read, rejecting a length that the file cannot hold.
+   */
+  private String readText() throws IOException {
+    int length = this.spillIn.readInt();
+    if (length == -1) return null;
+    if (length < 0 || length > this.spillInSize) {
+      throw new CorruptSpillException(
+          this.spillInPath, "Bad text length: " + length);
+    }
+    byte[] bytes = new byte[length];
+    this.spillIn.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Internal method to append a dead letter to the dead-letter file.  This
+   * must be called while holding the spill lock.
+   */
+  private void writeDeadLetter(DeadLetter deadLetter) throws IOException {
+    Task        task  = deadLetter.task;
+    JsonBuffer  buf   = this.deadLetterBuffer.reset();
+    buf.append("{\"OPERATION\":").appendQuoted(task.operation.toString())
+       .append(",\"DATA_SOURCE\":").appendQuoted(task.dataSourceCode)
+       .append(",\"RECORD_ID\":").appendQuoted(task.recordID)
+       .append(",\"LOAD_ID\":").appendQuoted(task.loadID)
+       .append(",\"ATTEMPTS\":").append(task.attempts)
+       .append(",\"ERROR_TYPE\":")
+       .appendQuoted(deadLetter.errorType.toString())
+       .append(",\"ERROR_CODE\":").append(deadLetter.errorCode)
+       .append(",\"ERROR_MESSAGE\":").appendQuoted(deadLetter.message)
+       .append(",\"JSON_DATA\":").appendQuoted(task.jsonData)
+       .append("}\n");
+    if (this.deadLetterOut == null) {
+      this.deadLetterOut = Files.newBufferedWriter(
+          this.getDeadLetterFile(), StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+    this.deadLetterOut.write(buf.array(), 0, buf.length());
+    this.deadLetterCount.incrementAndGet();
+  }
+}
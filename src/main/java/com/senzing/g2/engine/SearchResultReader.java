@@ -0,0 +1,627 @@
+package com.senzing.g2.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.senzing.g2.engine.G2Engine.*;
+
+/**
+ * Provides a forward-only streaming reader over the response document from
+ * {@link G2Engine#searchByAttributes(String,long,StringBuffer)} (and its
+ * variants).  Each call to {@link #next()} advances to the next element of
+ * the <code>"RESOLVED_ENTITIES"</code> array in the order returned by the
+ * engine and exposes its entity ID, match information and feature scores.
+ * The caller may stop reading at any point (or set a maximum number of
+ * results) and the remainder of the response is never parsed.  The
+ * response is copied in chunks only as far as the reading has reached, so
+ * it must not be modified until the reader is no longer used.
+ *
+ * <p>
+ * Sub-documents that are not commonly needed (the entity features, the
+ * record summary and the feature scores) are only located while reading and
+ * are not decoded unless their accessor is called.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   long flags = SearchResultReader.leanestFlags(
+ *       EnumSet.of(SearchResultReader.Field.MATCH_KEY,
+ *                  SearchResultReader.Field.FEATURE_SCORES), false);
+ *   StringBuffer response = new StringBuffer();
+ *   int returnCode = engine.searchByAttributes(jsonData, flags, response);
+ *   ...
+ *   SearchResultReader reader = new SearchResultReader(response, 5);
+ *   while (reader.next()) {
+ *     long   entityID = reader.getEntityID();
+ *     String matchKey = reader.getMatchKey();
+ *     ...
+ *   }
+ * </pre>
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+public class SearchResultReader {
+  /**
+   * Enumerates the parts of a search result that a caller may require.  These
+   * are used with {@link #leanestFlags(Set,boolean)} to determine the minimal
+   * flags for {@link G2Engine#searchByAttributes(String,long,StringBuffer)}.
+   */
+  public enum Field {
+    /**
+     * The entity ID of the matched entity (always returned).
+     */
+    ENTITY_ID(0L),
+
+    /**
+     * The match key of the match (always returned).
+     */
+    MATCH_KEY(0L),
+
+    /**
+     * The match level and match level code (always returned).
+     */
+    MATCH_LEVEL(0L),
+
+    /**
+     * The resolution rule code for the match (always returned).
+     */
+    RULE_CODE(0L),
+
+    /**
+     * The best name of the matched entity.
+     */
+    ENTITY_NAME(G2_ENTITY_INCLUDE_ENTITY_NAME),
+
+    /**
+     * The feature scores for the match.
+     */
+    FEATURE_SCORES(G2_SEARCH_INCLUDE_FEATURE_SCORES),
+
+    /**
+     * The record summary of the matched entity.
+     */
+    RECORD_SUMMARY(G2_ENTITY_INCLUDE_RECORD_SUMMARY),
+
+    /**
+     * The representative features of the matched entity.
+     */
+    FEATURES(G2_ENTITY_INCLUDE_REPRESENTATIVE_FEATURES);
+
+    /**
+     * The flags required to obtain the field.
+     */
+    private final long flags;
+
+    /**
+     * Constructs with the flags required to obtain the field.
+     */
+    Field(long flags) {
+      this.flags = flags;
+    }
+
+    /**
+     * Returns the bitwise flags that must be specified to obtain this field
+     * in the search response, or zero (0) if the field is always present.
+     *
+     * @return The bitwise flags that must be specified to obtain this field.
+     */
+    public long getFlags() {
+      return this.flags;
+    }
+  }
+
+  /**
+   * Describes a single matched entity read by {@link #readTop(CharSequence,
+   * int)}.
+   */
+  public static class Match {
+    private final long entityID;
+    private final String entityName;
+    private final String matchKey;
+    private final int matchLevel;
+    private final String matchLevelCode;
+    private final String ruleCode;
+    private final Map<String, Integer> featureScores;
+
+    /**
+     * Constructs from the current position of the specified reader.
+     *
+     * @param reader The {@link SearchResultReader} to obtain the values from.
+     */
+    protected Match(SearchResultReader reader) {
+      this.entityID       = reader.getEntityID();
+      this.entityName     = reader.getEntityName();
+      this.matchKey       = reader.getMatchKey();
+      this.matchLevel     = reader.getMatchLevel();
+      this.matchLevelCode = reader.getMatchLevelCode();
+      this.ruleCode       = reader.getRuleCode();
+      this.featureScores  = reader.getFeatureScores();
+    }
+
+    /**
+     * Returns the entity ID of the matched entity.
+     *
+     * @return The entity ID of the matched entity.
+     */
+    public long getEntityID() {
+      return this.entityID;
+    }
+
+    /**
+     * Returns the entity name of the matched entity, or <code>null</code> if
+     * not present in the response.
+     *
+     * @return The entity name of the matched entity.
+     */
+    public String getEntityName() {
+      return this.entityName;
+    }
+
+    /**
+     * Returns the match key, or <code>null</code> if not present.
+     *
+     * @return The match key.
+     */
+    public String getMatchKey() {
+      return this.matchKey;
+    }
+
+    /**
+     * Returns the match level, or zero (0) if not present.
+     *
+     * @return The match level.
+     */
+    public int getMatchLevel() {
+      return this.matchLevel;
+    }
+
+    /**
+     * Returns the match level code, or <code>null</code> if not present.
+     *
+     * @return The match level code.
+     */
+    public String getMatchLevelCode() {
+      return this.matchLevelCode;
+    }
+
+    /**
+     * Returns the resolution rule code, or <code>null</code> if not present.
+     *
+     * @return The resolution rule code.
+     */
+    public String getRuleCode() {
+      return this.ruleCode;
+    }
+
+    /**
+     * Returns the unmodifiable {@link Map} of feature type to best score.
+     *
+     * @return The unmodifiable {@link Map} of feature type to best score.
+     */
+    public Map<String, Integer> getFeatureScores() {
+      return this.featureScores;
+    }
+
+    @Override
+    public String toString() {
+      return "{ entityID=[ " + this.entityID + " ], matchKey=[ "
+          + this.matchKey + " ], matchLevel=[ " + this.matchLevel
+          + " ], ruleCode=[ " + this.ruleCode + " ], featureScores=[ "
+          + this.featureScores + " ] }";
+    }
+  }
+
+  /**
+   * The cursor for the response document.
+   */
+  private final JsonCursor cursor = new JsonCursor();
+
+  /**
+   * The secondary cursor used for lazily decoding sub-documents.
+   */
+  private final JsonCursor subCursor = new JsonCursor();
+
+  /**
+   * The maximum number of results to read.
+   */
+  private final int maxResults;
+
+  /**
+   * The number of results read so far.
+   */
+  private int count = 0;
+
+  /**
+   * Whether or not the reader is positioned within the results array.
+   */
+  private boolean inResults = false;
+
+  /**
+   * Whether or not the end of the results has been reached.
+   */
+  private boolean done = false;
+
+  private long entityID;
+  private String entityName;
+  private String matchKey;
+  private int matchLevel;
+  private String matchLevelCode;
+  private String ruleCode;
+  private int scoresStart;
+  private int scoresEnd;
+  private int summaryStart;
+  private int summaryEnd;
+  private int featuresStart;
+  private int featuresEnd;
+  private Map<String, Integer> featureScores;
+
+  /**
+   * Constructs with the specified search response document reading all
+   * results.
+   *
+   * @param response The JSON response document from the search, which must
+   *                 not be modified while this instance is in use.
+   */
+  public SearchResultReader(CharSequence response) {
+    this(response, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Constructs with the specified search response document reading at most
+   * the specified number of results.
+   *
+   * @param response The JSON response document from the search, which must
+   *                 not be modified while this instance is in use.
+   * @param maxResults The maximum number of results to read.
+   *
+   * @throws IllegalArgumentException If the specified maximum number of
+   *                                  results is negative.
+   */
+  public SearchResultReader(CharSequence response, int maxResults) {
+    if (maxResults < 0) {
+      throw new IllegalArgumentException(
+          "The maximum number of results cannot be negative: " + maxResults);
+    }
+    this.cursor.resetLazily(response);
+    this.maxResults = maxResults;
+  }
+
+  /**
+   * Returns the leanest bitwise flags for {@link
+   * G2Engine#searchByAttributes(String,long,StringBuffer)} that still
+   * return all of the specified fields.
+   *
+   * @param fields The {@link Set} of {@link Field} values required.
+   * @param includeWeakMatches <code>true</code> if possibly-related and
+   *                           name-only matches should be returned, or
+   *                           <code>false</code> if only resolved and
+   *                           possibly-same matches should be returned.
+   *
+   * @return The leanest bitwise flags that return the specified fields.
+   */
+  public static long leanestFlags(Set<Field> fields, boolean includeWeakMatches)
+  {
+    long flags = (includeWeakMatches)
+        ? G2_SEARCH_BY_ATTRIBUTES_MINIMAL_ALL
+        : G2_SEARCH_BY_ATTRIBUTES_MINIMAL_STRONG;
+    for (Field field : fields) {
+      flags |= field.getFlags();
+    }
+    return flags;
+  }
+
+  /**
+   * Reads at most the specified number of matches from the specified search
+   * response document.
+   *
+   * @param response The JSON response document from the search.
+   * @param k The maximum number of matches to read.
+   *
+   * @return The {@link List} of {@link Match} instances in the order returned
+   *         by the engine.
+   */
+  public static List<Match> readTop(CharSequence response, int k) {
+    SearchResultReader reader = new SearchResultReader(response, k);
+    List<Match> result = new ArrayList<>(Math.min(k, 16));
+    while (reader.next()) {
+      result.add(new Match(reader));
+    }
+    return result;
+  }
+
+  /**
+   * Advances to the next matched entity.
+   *
+   * @return <code>true</code> if positioned on the next matched entity and
+   *         <code>false</code> if there are no more entities or the maximum
+   *         number of results has been read.
+   *
+   * @throws IllegalArgumentException If the response is malformed.
+   */
+  public boolean next() {
+    if (this.done) return false;
+    if (this.count >= this.maxResults) {
+      this.done = true;
+      return false;
+    }
+    if (!this.inResults && !this.seekResults()) {
+      this.done = true;
+      return false;
+    }
+    JsonCursor.Token token = this.cursor.next();
+    if (token != JsonCursor.Token.START_OBJECT) {
+      this.done = true;
+      return false;
+    }
+    this.readEntry();
+    this.count++;
+    return true;
+  }
+
+  /**
+   * Returns the number of matched entities read so far.
+   *
+   * @return The number of matched entities read so far.
+   */
+  public int getCount() {
+    return this.count;
+  }
+
+  /**
+   * Returns the entity ID for the current matched entity.
+   *
+   * @return The entity ID for the current matched entity.
+   */
+  public long getEntityID() {
+    return this.entityID;
+  }
+
+  /**
+   * Returns the entity name for the current matched entity, or
+   * <code>null</code> if not present in the response.
+   *
+   * @return The entity name for the current matched entity.
+   */
+  public String getEntityName() {
+    return this.entityName;
+  }
+
+  /**
+   * Returns the match key for the current matched entity, or
+   * <code>null</code> if not present in the response.
+   *
+   * @return The match key for the current matched entity.
+   */
+  public String getMatchKey() {
+    return this.matchKey;
+  }
+
+  /**
+   * Returns the match level for the current matched entity, or zero (0) if
+   * not present in the response.
+   *
+   * @return The match level for the current matched entity.
+   */
+  public int getMatchLevel() {
+    return this.matchLevel;
+  }
+
+  /**
+   * Returns the match level code for the current matched entity, or
+   * <code>null</code> if not present in the response.
+   *
+   * @return The match level code for the current matched entity.
+   */
+  public String getMatchLevelCode() {
+    return this.matchLevelCode;
+  }
+
+  /**
+   * Returns the resolution rule code for the current matched entity, or
+   * <code>null</code> if not present in the response.
+   *
+   * @return The resolution rule code for the current matched entity.
+   */
+  public String getRuleCode() {
+    return this.ruleCode;
+  }
+
+  /**
+   * Returns an unmodifiable {@link Map} of feature type to the best score
+   * for that feature type for the current matched entity.  The score is
+   * taken from the <code>"FULL_SCORE"</code> value of each feature score
+   * or, for names, the <code>"GNR_FN"</code> value.  This returns an empty
+   * {@link Map} if the feature scores were not requested.
+   *
+   * @return An unmodifiable {@link Map} of feature type to the best score.
+   */
+  public Map<String, Integer> getFeatureScores() {
+    if (this.featureScores == null) {
+      this.featureScores = (this.scoresStart < this.scoresEnd)
+          ? this.decodeScores() : Collections.emptyMap();
+    }
+    return this.featureScores;
+  }
+
+  /**
+   * Returns the raw JSON text of the record summary for the current matched
+   * entity, or <code>null</code> if not present in the response.
+   *
+   * @return The raw JSON text of the record summary, or <code>null</code>.
+   */
+  public String getRecordSummaryJson() {
+    return this.subText(this.summaryStart, this.summaryEnd);
+  }
+
+  /**
+   * Returns the raw JSON text of the features for the current matched
+   * entity, or <code>null</code> if not present in the response.
+   *
+   * @return The raw JSON text of the features, or <code>null</code>.
+   */
+  public String getFeaturesJson() {
+    return this.subText(this.featuresStart, this.featuresEnd);
+  }
+
+  /**
+   * Internal method to position the cursor at the start of the
+   * <code>"RESOLVED_ENTITIES"</code> array.
+   */
+  private boolean seekResults() {
+    JsonCursor.Token token = this.cursor.next();
+    if (token != JsonCursor.Token.START_OBJECT) return false;
+    while ((token = this.cursor.next()) == JsonCursor.Token.FIELD_NAME) {
+      if (this.cursor.textEquals("RESOLVED_ENTITIES")) {
+        if (this.cursor.next() != JsonCursor.Token.START_ARRAY) return false;
+        this.inResults = true;
+        return true;
+      }
+      this.cursor.skipValue();
+    }
+    return false;
+  }
+
+  /**
+   * Internal method to read the element of the results array at which the
+   * cursor is positioned.
+   */
+  private void readEntry() {
+    this.entityID       = 0L;
+    this.entityName     = null;
+    this.matchKey       = null;
+    this.matchLevel     = 0;
+    this.matchLevelCode = null;
+    this.ruleCode       = null;
+    this.scoresStart    = this.scoresEnd    = 0;
+    this.summaryStart   = this.summaryEnd   = 0;
+    this.featuresStart  = this.featuresEnd  = 0;
+    this.featureScores  = null;
+
+    JsonCursor c = this.cursor;
+    while (c.next() == JsonCursor.Token.FIELD_NAME) {
+      if (c.textEquals("MATCH_INFO")) {
+        this.readMatchInfo();
+      } else if (c.textEquals("ENTITY")) {
+        this.readEntity();
+      } else {
+        c.skipValue();
+      }
+    }
+  }
+
+  /**
+   * Internal method to read the <code>"MATCH_INFO"</code> object.
+   */
+  private void readMatchInfo() {
+    JsonCursor c = this.cursor;
+    if (c.next() != JsonCursor.Token.START_OBJECT) {
+      c.skipValue();
+      return;
+    }
+    while (c.next() == JsonCursor.Token.FIELD_NAME) {
+      if (c.textEquals("MATCH_KEY")) {
+        this.matchKey = c.nextString();
+      } else if (c.textEquals("MATCH_LEVEL")) {
+        this.matchLevel = (int) c.nextLong(0L);
+      } else if (c.textEquals("MATCH_LEVEL_CODE")) {
+        this.matchLevelCode = c.nextString();
+      } else if (c.textEquals("ERRULE_CODE")) {
+        this.ruleCode = c.nextString();
+      } else if (c.textEquals("FEATURE_SCORES")) {
+        c.next();
+        this.scoresStart = c.tokenStart();
+        c.skipValue();
+        this.scoresEnd = c.position();
+      } else {
+        c.skipValue();
+      }
+    }
+  }
+
+  /**
+   * Internal method to read the <code>"ENTITY"</code> object.
+   */
+  private void readEntity() {
+    JsonCursor c = this.cursor;
+    if (c.next() != JsonCursor.Token.START_OBJECT) {
+      c.skipValue();
+      return;
+    }
+    while (c.next() == JsonCursor.Token.FIELD_NAME) {
+      if (!c.textEquals("RESOLVED_ENTITY")) {
+        c.skipValue();
+        continue;
+      }
+      if (c.next() != JsonCursor.Token.START_OBJECT) {
+        c.skipValue();
+        continue;
+      }
+      while (c.next() == JsonCursor.Token.FIELD_NAME) {
+        if (c.textEquals("ENTITY_ID")) {
+          this.entityID = c.nextLong(0L);
+        } else if (c.textEquals("ENTITY_NAME")) {
+          this.entityName = c.nextString();
+        } else if (c.textEquals("RECORD_SUMMARY")) {
+          c.next();
+          this.summaryStart = c.tokenStart();
+          c.skipValue();
+          this.summaryEnd = c.position();
+        } else if (c.textEquals("FEATURES")) {
+          c.next();
+          this.featuresStart = c.tokenStart();
+          c.skipValue();
+          this.featuresEnd = c.position();
+        } else {
+          c.skipValue();
+        }
+      }
+    }
+  }
+
+  /**
+   * Internal method to get the text for a sub-document.
+   */
+  private String subText(int start, int end) {
+    if (start >= end) return null;
+    return new String(this.cursor.chars(), start, end - start);
+  }
+
+  /**
+   * Internal method to decode the feature scores.
+   */
+  private Map<String, Integer> decodeScores() {
+    JsonCursor c = this.subCursor.reset(
+        this.cursor.chars(), this.scoresStart, this.scoresEnd);
+    Map<String, Integer> result = new LinkedHashMap<>();
+    if (c.next() != JsonCursor.Token.START_OBJECT) return result;
+    while (c.next() == JsonCursor.Token.FIELD_NAME) {
+      String featureType = c.stringValue();
+      if (c.next() != JsonCursor.Token.START_ARRAY) {
+        c.skipValue();
+        continue;
+      }
+      int best = -1;
+      while (c.next() == JsonCursor.Token.START_OBJECT) {
+        int fullScore = -1;
+        int nameScore = -1;
+        while (c.next() == JsonCursor.Token.FIELD_NAME) {
+          if (c.textEquals("FULL_SCORE")) {
+            fullScore = (int) c.nextLong(-1L);
+          } else if (c.textEquals("GNR_FN")) {
+            nameScore = (int) c.nextLong(-1L);
+          } else {
+            c.skipValue();
+          }
+        }
+        best = Math.max(best, (fullScore >= 0) ? fullScore : nameScore);
+      }
+      if (best >= 0) result.put(featureType, best);
+    }
+    return Collections.unmodifiableMap(result);
+  }
+}
@@ -0,0 +1,1353 @@
+package com.senzing.g2.engine;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+/**
+ * Schedules calls against a shared {@link G2Engine} across separate {@link
+ * Lane}s so that interactive queries are not starved by bulk loading, redo
+ * processing or exports.
+ *
+ * <p>
+ * At most the configured number of calls run at once.  When a call slot
+ * frees up and calls are waiting in several lanes, the slot goes to the lane
+ * that is furthest behind its weighted share (stride scheduling), so a lane
+ * with weight 8 is granted eight slots for each one granted to a lane with
+ * weight 1.  Each lane also has a cap on its concurrent calls; by default
+ * the non-interactive lanes are capped at three quarters of the slots so
+ * that some are always left for interactive calls to begin immediately.
+ * Slots are never left idle while any uncapped lane has calls waiting.
+ *
+ * <p>
+ * Use {@link #wrap(G2Engine)} to route every {@link G2Engine} call to its
+ * {@link Lane} automatically, or use {@link #acquire(Lane)} and {@link
+ * #release(Lane)} directly.
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ *   WeightedFairScheduler scheduler = new WeightedFairScheduler(16);
+ *   scheduler.configure(Lane.REDO, 1, 2);
+ *   G2Engine scheduled = scheduler.wrap(engine);
+ *   // analysts and loaders share the scheduled engine
+ * </pre>
+ *
+ * <p>
+ * This class is thread-safe.
+ */
+public class WeightedFairScheduler {
+  /**
+   * Enumerates the scheduling lanes.
+   */
+  public enum Lane {
+    /**
+     * Interactive reads such as searches, entity and record lookups, paths,
+     * networks and why/how analysis.
+     */
+    INTERACTIVE(8),
+
+    /**
+     * Bulk writes such as adding, replacing, deleting, reevaluating and
+     * processing records.
+     */
+    BULK_WRITE(4),
+
+    /**
+     * Redo record processing.
+     */
+    REDO(2),
+
+    /**
+     * Entity report exports.
+     */
+    EXPORT(1);
+
+    /**
+     * The default weight for the lane.
+     */
+    private final int defaultWeight;
+
+    /**
+     * Constructs with the default weight.
+     */
+    Lane(int defaultWeight) {
+      this.defaultWeight = defaultWeight;
+    }
+
+    /**
+     * Returns the default weight for this lane.
+     *
+     * @return The default weight for this lane.
+     */
+    public int getDefaultWeight() {
+      return this.defaultWeight;
+    }
+  }
+
+  /**
+   * The scheduling state of a lane.
+   */
+  private static final class LaneState {
+    private final Condition granted;
+    private int weight;
+    private int cap;
+    private int waiting;
+    private int grants;
+    private int running;
+    private double pass;
+    private long acquiredCount;
+    private long waitNanos;
+
+    private LaneState(Condition granted, int weight, int cap) {
+      this.granted  = granted;
+      this.weight   = weight;
+      this.cap      = cap;
+    }
+  }
+
+  /**
+   * The maximum number of concurrent calls across all lanes.
+   */
+  private final int concurrency;
+
+  /**
+   * The lock guarding the state.
+   */
+  private final ReentrantLock lock = new ReentrantLock();
+
+  /**
+   * The state of each lane.
+   */
+  private final Map<Lane, LaneState> lanes = new EnumMap<>(Lane.class);
+
+  /**
+   * The number of calls running across all lanes.
+   */
+  private int running;
+
+  /**
+   * The pass value of the most recent grant.
+   */
+  private double virtualTime;
+
+  /**
+   * Constructs with the specified maximum number of concurrent calls, the
+   * default lane weights, no cap on the {@link Lane#INTERACTIVE} lane and
+   * the other lanes capped at three quarters of the calls.
+   *
+   * @param concurrency The maximum number of concurrent calls across all
+   *                    lanes (typically the number of engine threads).
+   *
+   * @throws IllegalArgumentException If the concurrency is not positive.
+   */
+  public WeightedFairScheduler(int concurrency) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException(
+          "The concurrency must be positive: " + concurrency);
+    }
+    this.concurrency = concurrency;
+    int sharedCap = Math.max(1, (concurrency * 3) / 4);
+    for (Lane lane : Lane.values()) {
+      int cap = (lane == Lane.INTERACTIVE) ? concurrency : sharedCap;
+      this.lanes.put(lane, new LaneState(
+          this.lock.newCondition(), lane.getDefaultWeight(), cap));
+    }
+  }
+
+  /**
+   * Returns the maximum number of concurrent calls across all lanes.
+   *
+   * @return The maximum number of concurrent calls across all lanes.
+   */
+  public int getConcurrency() {
+    return this.concurrency;
+  }
+
+  /**
+   * Sets the weight and concurrency cap of the specified {@link Lane}.
+   *
+   * @param lane The {@link Lane} to configure.
+   * @param weight The relative weight of the lane.
+   * @param cap The maximum number of concurrent calls in the lane (values
+   *            above the overall concurrency have no further effect).
+   *
+   * @throws IllegalArgumentException If the weight or cap is not positive.
+   */
+  public void configure(Lane lane, int weight, int cap) {
+    if (weight < 1 || cap < 1) {
+      throw new IllegalArgumentException(
+          "The weight (" + weight + ") and cap (" + cap
+          + ") must be positive.");
+    }
+    this.lock.lock();
+    try {
+      LaneState state = this.lanes.get(lane);
+      state.weight  = weight;
+      state.cap     = cap;
+      this.dispatch();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Waits until a call may run in the specified {@link Lane}.  Every
+   * successful call to this method must be followed by a call to {@link
+   * #release(Lane)} once the engine call completes.
+   *
+   * @param lane The {@link Lane} of the call.
+   *
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  public void acquire(Lane lane) throws InterruptedException {
+    this.lock.lock();
+    try {
+      LaneState state = this.lanes.get(lane);
+      if (this.tryStart(state)) return;
+      long start = System.nanoTime();
+      try {
+        while (state.grants == 0) {
+          state.granted.await();
+        }
+      } catch (InterruptedException e) {
+        // give up our place, or the grant made for a parked thread if every
+        // parked thread in the lane has already been granted
+        if (state.waiting > 0) {
+          state.waiting--;
+        } else {
+          state.grants--;
+          state.running--;
+          this.running--;
+          this.dispatch();
+        }
+        throw e;
+      }
+      state.grants--;
+      state.waitNanos += System.nanoTime() - start;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Waits until a call may run in the specified {@link Lane}, ignoring
+   * interruption.  Every call to this method must be followed by a call to
+   * {@link #release(Lane)} once the engine call completes.
+   *
+   * @param lane The {@link Lane} of the call.
+   */
+  public void acquireUninterruptibly(Lane lane) {
+    this.lock.lock();
+    try {
+      LaneState state = this.lanes.get(lane);
+      if (this.tryStart(state)) return;
+      long start = System.nanoTime();
+      while (state.grants == 0) {
+        state.granted.awaitUninterruptibly();
+      }
+      state.grants--;
+      state.waitNanos += System.nanoTime() - start;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Releases the call slot held in the specified {@link Lane}.
+   *
+   * @param lane The {@link Lane} of the completed call.
+   */
+  public void release(Lane lane) {
+    this.lock.lock();
+    try {
+      LaneState state = this.lanes.get(lane);
+      if (state.running == 0) {
+        throw new IllegalStateException(
+            "No call is running in the " + lane + " lane.");
+      }
+      state.running--;
+      this.running--;
+      this.dispatch();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of calls running in the specified {@link Lane}.
+   *
+   * @param lane The {@link Lane}.
+   *
+   * @return The number of calls running in the lane.
+   */
+  public int getRunningCount(Lane lane) {
+    this.lock.lock();
+    try {
+      return this.lanes.get(lane).running;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of calls waiting in the specified {@link Lane}.
+   *
+   * @param lane The {@link Lane}.
+   *
+   * @return The number of calls waiting in the lane.
+   */
+  public int getWaitingCount(Lane lane) {
+    this.lock.lock();
+    try {
+      LaneState state = this.lanes.get(lane);
+      return state.waiting + state.grants;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of calls that have started in the specified {@link
+   * Lane}.
+   *
+   * @param lane The {@link Lane}.
+   *
+   * @return The number of calls that have started in the lane.
+   */
+  public long getAcquiredCount(Lane lane) {
+    this.lock.lock();
+    try {
+      return this.lanes.get(lane).acquiredCount;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the total time in nanoseconds that calls in the specified {@link
+   * Lane} have spent waiting to start.
+   *
+   * @param lane The {@link Lane}.
+   *
+   * @return The total wait time for the lane in nanoseconds.
+   */
+  public long getWaitNanos(Lane lane) {
+    this.lock.lock();
+    try {
+      return this.lanes.get(lane).waitNanos;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Runs the specified call in the specified {@link Lane}, waiting for a
+   * call slot first.
+   *
+   * @param lane The {@link Lane} of the call.
+   * @param call The call to run.
+   *
+   * @return The return code from the call.
+   */
+  public int call(Lane lane, IntSupplier call) {
+    this.acquireUninterruptibly(lane);
+    try {
+      return call.getAsInt();
+    } finally {
+      this.release(lane);
+    }
+  }
+
+  /**
+   * Returns a {@link G2Engine} that forwards to the specified {@link
+   * G2Engine}, scheduling each call in its {@link Lane}: searches, lookups,
+   * paths, networks and why/how analysis in {@link Lane#INTERACTIVE}; adds,
+   * replaces, deletes, reevaluations and record processing in {@link
+   * Lane#BULK_WRITE}; redo functions in {@link Lane#REDO}; and export
+   * functions in {@link Lane#EXPORT}.  Lifecycle, configuration, statistics
+   * and error functions are not scheduled.
+   *
+   * @param engine The {@link G2Engine} to wrap.
+   *
+   * @return The scheduled {@link G2Engine}.
+   */
+  public G2Engine wrap(G2Engine engine) {
+    return new ScheduledEngine(engine);
+  }
+
+  /**
+   * Internal method to start a call immediately if the lane has no queued
+   * calls and a slot is free within its cap, otherwise queue it.  This must
+   * be called while holding the lock.
+   */
+  private boolean tryStart(LaneState state) {
+    if (state.waiting == 0 && state.grants == 0
+        && this.running < this.concurrency && state.running < state.cap)
+    {
+      this.start(state);
+      return true;
+    }
+    if (state.waiting == 0 && state.grants == 0) {
+      // a lane returning from idle does not get credit for its idle time
+      state.pass = Math.max(state.pass, this.virtualTime);
+    }
+    state.waiting++;
+    return false;
+  }
+
+  /**
+   * Internal method to record the start of a call in a lane.  This must be
+   * called while holding the lock.
+   */
+  private void start(LaneState state) {
+    state.running++;
+    this.running++;
+    state.acquiredCount++;
+    this.virtualTime = Math.max(this.virtualTime, state.pass);
+    state.pass += 1.0 / state.weight;
+  }
+
+  /**
+   * Internal method to grant free slots to waiting lanes in weighted-fair
+   * order.  This must be called while holding the lock.
+   */
+  private void dispatch() {
+    while (this.running < this.concurrency) {
+      LaneState next = null;
+      for (LaneState state : this.lanes.values()) {
+        if (state.waiting == 0 || state.running >= state.cap) continue;
+        if (next == null || state.pass < next.pass) next = state;
+      }
+      if (next == null) return;
+      next.waiting--;
+      next.grants++;
+      this.start(next);
+      next.granted.signal();
+    }
+  }
+
+  /**
+   * The {@link G2Engine} returned by {@link #wrap(G2Engine)}.
+   */
+  private class ScheduledEngine extends G2EngineDecorator {
+    private ScheduledEngine(G2Engine engine) {
+      super(engine);
+    }
+
+    @Override
+    public int addRecord(String  dataSourceCode,
+                         String  recordID,
+                         String  jsonData,
+                         String  loadID)
+    {
+      acquireUninterruptibly(Lane.BULK_WRITE);
+      try {
+        return this.delegate.addRecord(
+            dataSourceCode, recordID, jsonData, loadID);
+      } finally {
+        release(Lane.BULK_WRITE);
+      }
+    }
+
+    @Override
+    public int replaceRecord(String  dataSourceCode,
+                             String  recordID,
+                             String  jsonData,
+                             String  loadID)
+    {
+      acquireUninterruptibly(Lane.BULK_WRITE);
+      try {
+        return this.delegate.replaceRecord(
+            dataSourceCode, recordID, jsonData, loadID);
+      } finally {
+        release(Lane.BULK_WRITE);
+      }
+    }
+
+    @Override
+    public int replaceRecordWithInfo(String        dataSourceCode,
+                                     String        recordID,
+                                     String        jsonData,
+                                     String        loadID,
+                                     long          flags,
+                                     StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.BULK_WRITE);
+      try {
+        return this.delegate.replaceRecordWithInfo(
+            dataSourceCode, recordID, jsonData, loadID, flags, response);
+      } finally {
+        release(Lane.BULK_WRITE);
+      }
+    }
+
+    @Override
+    public int addRecordWithReturnedRecordID(String        dataSourceCode,
+                                             StringBuffer  recordID,
+                                             String        jsonData,
+                                             String        loadID)
+    {
+      acquireUninterruptibly(Lane.BULK_WRITE);
+      try {
+        return this.delegate.addRecordWithReturnedRecordID(
+            dataSourceCode, recordID, jsonData, loadID);
+      } finally {
+        release(Lane.BULK_WRITE);
+      }
+    }
+
+    @Override
+    public int addRecordWithInfoWithReturnedRecordID(String        dataSourceCode,
+                                                     String        jsonData,
+                                                     String        loadID,
+                                                     long          flags,
+                                                     StringBuffer  recordID,
+                                                     StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.BULK_WRITE);
+      try {
+        return this.delegate.addRecordWithInfoWithReturnedRecordID(
+            dataSourceCode, jsonData, loadID, flags, recordID, response);
+      } finally {
+        release(Lane.BULK_WRITE);
+      }
+    }
+
+    @Override
+    public int addRecordWithInfo(String        dataSourceCode,
+                                 String        recordID,
+                                 String        jsonData,
+                                 String        loadID,
+                                 long          flags,
+                                 StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.BULK_WRITE);
+      try {
+        return this.delegate.addRecordWithInfo(
+            dataSourceCode, recordID, jsonData, loadID, flags, response);
+      } finally {
+        release(Lane.BULK_WRITE);
+      }
+    }
+
+    @Override
+    public int deleteRecord(String  dataSourceCode,
+                            String  recordID,
+                            String  loadID)
+    {
+      acquireUninterruptibly(Lane.BULK_WRITE);
+      try {
+        return this.delegate.deleteRecord(dataSourceCode, recordID, loadID);
+      } finally {
+        release(Lane.BULK_WRITE);
+      }
+    }
+
+    @Override
+    public int deleteRecordWithInfo(String        dataSourceCode,
+                                    String        recordID,
+                                    String        loadID,
+                                    long          flags,
+                                    StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.BULK_WRITE);
+      try {
+        return this.delegate.deleteRecordWithInfo(
+            dataSourceCode, recordID, loadID, flags, response);
+      } finally {
+        release(Lane.BULK_WRITE);
+      }
+    }
+
+    @Override
+    public int reevaluateRecord(String  dataSourceCode,
+                                String  recordID,
+                                long    flags)
+    {
+      acquireUninterruptibly(Lane.BULK_WRITE);
+      try {
+        return this.delegate.reevaluateRecord(dataSourceCode, recordID, flags);
+      } finally {
+        release(Lane.BULK_WRITE);
+      }
+    }
+
+    @Override
+    public int reevaluateRecordWithInfo(String        dataSourceCode,
+                                        String        recordID,
+                                        long          flags,
+                                        StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.BULK_WRITE);
+      try {
+        return this.delegate.reevaluateRecordWithInfo(
+            dataSourceCode, recordID, flags, response);
+      } finally {
+        release(Lane.BULK_WRITE);
+      }
+    }
+
+    @Override
+    public int reevaluateEntity(long entityID, long flags) {
+      acquireUninterruptibly(Lane.BULK_WRITE);
+      try {
+        return this.delegate.reevaluateEntity(entityID, flags);
+      } finally {
+        release(Lane.BULK_WRITE);
+      }
+    }
+
+    @Override
+    public int reevaluateEntityWithInfo(long          entityID,
+                                        long          flags,
+                                        StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.BULK_WRITE);
+      try {
+        return this.delegate.reevaluateEntityWithInfo(
+            entityID, flags, response);
+      } finally {
+        release(Lane.BULK_WRITE);
+      }
+    }
+
+    @Override
+    public int searchByAttributes(String jsonData, StringBuffer response) {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.searchByAttributes(jsonData, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int searchByAttributes(String        jsonData,
+                                  long          flags,
+                                  StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.searchByAttributes(jsonData, flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int searchByAttributes(String        jsonData,
+                                  String        searchProfile,
+                                  long          flags,
+                                  StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.searchByAttributes(
+            jsonData, searchProfile, flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int getEntityByEntityID(long entityID, StringBuffer response) {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.getEntityByEntityID(entityID, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int getEntityByEntityID(long          entityID,
+                                   long          flags,
+                                   StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.getEntityByEntityID(entityID, flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int getEntityByRecordID(String        dataSourceCode,
+                                   String        recordID,
+                                   StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.getEntityByRecordID(
+            dataSourceCode, recordID, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int getEntityByRecordID(String        dataSourceCode,
+                                   String        recordID,
+                                   long          flags,
+                                   StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.getEntityByRecordID(
+            dataSourceCode, recordID, flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findInterestingEntitiesByEntityID(long          entityID,
+                                                 long          flags,
+                                                 StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findInterestingEntitiesByEntityID(
+            entityID, flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findInterestingEntitiesByRecordID(String        dataSourceCode,
+                                                 String        recordID,
+                                                 long          flags,
+                                                 StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findInterestingEntitiesByRecordID(
+            dataSourceCode, recordID, flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findPathByEntityID(long          entityID1,
+                                  long          entityID2,
+                                  int           maxDegrees,
+                                  StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findPathByEntityID(
+            entityID1, entityID2, maxDegrees, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findPathByEntityID(long          entityID1,
+                                  long          entityID2,
+                                  int           maxDegrees,
+                                  long          flags,
+                                  StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findPathByEntityID(
+            entityID1, entityID2, maxDegrees, flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findPathByRecordID(String        dataSourceCode1,
+                                  String        recordID1,
+                                  String        dataSourceCode2,
+                                  String        recordID2,
+                                  int           maxDegrees,
+                                  StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findPathByRecordID(
+            dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+            response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findPathByRecordID(String        dataSourceCode1,
+                                  String        recordID1,
+                                  String        dataSourceCode2,
+                                  String        recordID2,
+                                  int           maxDegrees,
+                                  long          flags,
+                                  StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findPathByRecordID(
+            dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+            flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findPathExcludingByEntityID(long          entityID1,
+                                           long          entityID2,
+                                           int           maxDegrees,
+                                           String        excludedEntities,
+                                           StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findPathExcludingByEntityID(
+            entityID1, entityID2, maxDegrees, excludedEntities, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findPathExcludingByEntityID(long          entityID1,
+                                           long          entityID2,
+                                           int           maxDegrees,
+                                           String        excludedEntities,
+                                           long          flags,
+                                           StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findPathExcludingByEntityID(
+            entityID1, entityID2, maxDegrees, excludedEntities, flags,
+            response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findPathExcludingByRecordID(String        dataSourceCode1,
+                                           String        recordID1,
+                                           String        dataSourceCode2,
+                                           String        recordID2,
+                                           int           maxDegrees,
+                                           String        excludedEntities,
+                                           StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findPathExcludingByRecordID(
+            dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+            excludedEntities, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findPathExcludingByRecordID(String        dataSourceCode1,
+                                           String        recordID1,
+                                           String        dataSourceCode2,
+                                           String        recordID2,
+                                           int           maxDegrees,
+                                           String        excludedEntities,
+                                           long          flags,
+                                           StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findPathExcludingByRecordID(
+            dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+            excludedEntities, flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findPathIncludingSourceByEntityID(long          entityID1,
+                                                 long          entityID2,
+                                                 int           maxDegrees,
+                                                 String        excludedEntities,
+                                                 String        requiredSources,
+                                                 StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findPathIncludingSourceByEntityID(
+            entityID1, entityID2, maxDegrees, excludedEntities, requiredSources,
+            response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findPathIncludingSourceByEntityID(long          entityID1,
+                                                 long          entityID2,
+                                                 int           maxDegrees,
+                                                 String        excludedEntities,
+                                                 String        requiredSources,
+                                                 long          flags,
+                                                 StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findPathIncludingSourceByEntityID(
+            entityID1, entityID2, maxDegrees, excludedEntities, requiredSources,
+            flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findPathIncludingSourceByRecordID(String        dataSourceCode1,
+                                                 String        recordID1,
+                                                 String        dataSourceCode2,
+                                                 String        recordID2,
+                                                 int           maxDegrees,
+                                                 String        excludedEntities,
+                                                 String        requiredSources,
+                                                 StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findPathIncludingSourceByRecordID(
+            dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+            excludedEntities, requiredSources, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findPathIncludingSourceByRecordID(String        dataSourceCode1,
+                                                 String        recordID1,
+                                                 String        dataSourceCode2,
+                                                 String        recordID2,
+                                                 int           maxDegrees,
+                                                 String        excludedEntities,
+                                                 String        requiredSources,
+                                                 long          flags,
+                                                 StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findPathIncludingSourceByRecordID(
+            dataSourceCode1, recordID1, dataSourceCode2, recordID2, maxDegrees,
+            excludedEntities, requiredSources, flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findNetworkByEntityID(String        entityList,
+                                     int           maxDegrees,
+                                     int           buildOutDegrees,
+                                     int           maxEntities,
+                                     StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findNetworkByEntityID(
+            entityList, maxDegrees, buildOutDegrees, maxEntities, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findNetworkByEntityID(String        entityList,
+                                     int           maxDegrees,
+                                     int           buildOutDegrees,
+                                     int           maxEntities,
+                                     long          flags,
+                                     StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findNetworkByEntityID(
+            entityList, maxDegrees, buildOutDegrees, maxEntities, flags,
+            response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findNetworkByRecordID(String        recordList,
+                                     int           maxDegrees,
+                                     int           buildOutDegrees,
+                                     int           maxEntities,
+                                     StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findNetworkByRecordID(
+            recordList, maxDegrees, buildOutDegrees, maxEntities, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int findNetworkByRecordID(String        recordList,
+                                     int           maxDegrees,
+                                     int           buildOutDegrees,
+                                     int           maxEntities,
+                                     long          flags,
+                                     StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.findNetworkByRecordID(
+            recordList, maxDegrees, buildOutDegrees, maxEntities, flags,
+            response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int whyRecordInEntity(String        dataSourceCode,
+                                 String        recordID,
+                                 StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.whyRecordInEntity(
+            dataSourceCode, recordID, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int whyRecordInEntity(String        dataSourceCode,
+                                 String        recordID,
+                                 long          flags,
+                                 StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.whyRecordInEntity(
+            dataSourceCode, recordID, flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int whyEntityByRecordID(String        dataSourceCode,
+                                   String        recordID,
+                                   StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.whyEntityByRecordID(
+            dataSourceCode, recordID, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int whyEntityByRecordID(String        dataSourceCode,
+                                   String        recordID,
+                                   long          flags,
+                                   StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.whyEntityByRecordID(
+            dataSourceCode, recordID, flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int whyEntityByEntityID(long entityID, StringBuffer response) {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.whyEntityByEntityID(entityID, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int whyEntityByEntityID(long          entityID,
+                                   long          flags,
+                                   StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.whyEntityByEntityID(entityID, flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int whyRecords(String        dataSourceCode1,
+                          String        recordID1,
+                          String        dataSourceCode2,
+                          String        recordID2,
+                          StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.whyRecords(
+            dataSourceCode1, recordID1, dataSourceCode2, recordID2, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int whyRecords(String        dataSourceCode1,
+                          String        recordID1,
+                          String        dataSourceCode2,
+                          String        recordID2,
+                          long          flags,
+                          StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.whyRecords(
+            dataSourceCode1, recordID1, dataSourceCode2, recordID2, flags,
+            response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int whyEntities(long          entityID1,
+                           long          entityID2,
+                           StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.whyEntities(entityID1, entityID2, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int whyEntities(long          entityID1,
+                           long          entityID2,
+                           long          flags,
+                           StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.whyEntities(entityID1, entityID2, flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int howEntityByEntityID(long entityID, StringBuffer response) {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.howEntityByEntityID(entityID, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int howEntityByEntityID(long          entityID,
+                                   long          flags,
+                                   StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.howEntityByEntityID(entityID, flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int getVirtualEntityByRecordID(String        recordList,
+                                          StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.getVirtualEntityByRecordID(recordList, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int getVirtualEntityByRecordID(String        recordList,
+                                          long          flags,
+                                          StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.getVirtualEntityByRecordID(
+            recordList, flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int getRecord(String        dataSourceCode,
+                         String        recordID,
+                         StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.getRecord(dataSourceCode, recordID, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int getRecord(String        dataSourceCode,
+                         String        recordID,
+                         long          flags,
+                         StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.INTERACTIVE);
+      try {
+        return this.delegate.getRecord(
+            dataSourceCode, recordID, flags, response);
+      } finally {
+        release(Lane.INTERACTIVE);
+      }
+    }
+
+    @Override
+    public int exportJSONEntityReport(long flags, Result<Long> exportHandle) {
+      acquireUninterruptibly(Lane.EXPORT);
+      try {
+        return this.delegate.exportJSONEntityReport(flags, exportHandle);
+      } finally {
+        release(Lane.EXPORT);
+      }
+    }
+
+    @Override
+    public int exportCSVEntityReport(String        csvColumnList,
+                                     long          flags,
+                                     Result<Long>  exportHandle)
+    {
+      acquireUninterruptibly(Lane.EXPORT);
+      try {
+        return this.delegate.exportCSVEntityReport(
+            csvColumnList, flags, exportHandle);
+      } finally {
+        release(Lane.EXPORT);
+      }
+    }
+
+    @Override
+    public int fetchNext(long exportHandle, StringBuffer response) {
+      acquireUninterruptibly(Lane.EXPORT);
+      try {
+        return this.delegate.fetchNext(exportHandle, response);
+      } finally {
+        release(Lane.EXPORT);
+      }
+    }
+
+    @Override
+    public int closeExport(long exportHandle) {
+      acquireUninterruptibly(Lane.EXPORT);
+      try {
+        return this.delegate.closeExport(exportHandle);
+      } finally {
+        release(Lane.EXPORT);
+      }
+    }
+
+    @Override
+    public int processRedoRecord(StringBuffer jsonData) {
+      acquireUninterruptibly(Lane.REDO);
+      try {
+        return this.delegate.processRedoRecord(jsonData);
+      } finally {
+        release(Lane.REDO);
+      }
+    }
+
+    @Override
+    public int processRedoRecordWithInfo(long          flags,
+                                         StringBuffer  jsonData,
+                                         StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.REDO);
+      try {
+        return this.delegate.processRedoRecordWithInfo(
+            flags, jsonData, response);
+      } finally {
+        release(Lane.REDO);
+      }
+    }
+
+    @Override
+    public int getRedoRecord(StringBuffer jsonData) {
+      acquireUninterruptibly(Lane.REDO);
+      try {
+        return this.delegate.getRedoRecord(jsonData);
+      } finally {
+        release(Lane.REDO);
+      }
+    }
+
+    @Override
+    public int process(String record) {
+      acquireUninterruptibly(Lane.BULK_WRITE);
+      try {
+        return this.delegate.process(record);
+      } finally {
+        release(Lane.BULK_WRITE);
+      }
+    }
+
+    @Override
+    public int processWithInfo(String        record,
+                               long          flags,
+                               StringBuffer  response)
+    {
+      acquireUninterruptibly(Lane.BULK_WRITE);
+      try {
+        return this.delegate.processWithInfo(record, flags, response);
+      } finally {
+        release(Lane.BULK_WRITE);
+      }
+    }
+
+    @Override
+    public int process(String record, StringBuffer response) {
+      acquireUninterruptibly(Lane.BULK_WRITE);
+      try {
+        return this.delegate.process(record, response);
+      } finally {
+        release(Lane.BULK_WRITE);
+      }
+    }
+  }
+}
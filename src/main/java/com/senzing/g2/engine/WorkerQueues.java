@@ -0,0 +1,55 @@
+package com.senzing.g2.engine;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provides the hand-off used by the SDK classes in which a producer thread
+ * feeds batches of work to a fixed set of worker threads through a bounded
+ * queue.  The workers run until they take an end-of-input marker, so a
+ * worker that completes before then has failed and the producer must stop
+ * rather than wait on a queue that is no longer drained.
+ */
+final class WorkerQueues {
+  /**
+   * The milliseconds to wait for queue space before checking the workers.
+   */
+  private static final long CHECK_INTERVAL = 100L;
+
+  /**
+   * Private constructor.
+   */
+  private WorkerQueues() {
+    // do nothing
+  }
+
+  /**
+   * Adds the specified batch to the specified queue, waiting for space if
+   * necessary and failing fast if a worker has failed.
+   *
+   * @param queue The queue to add the batch to.
+   * @param batch The batch to add.
+   * @param workers The {@link Future} instances for the workers draining
+   *                the queue.
+   *
+   * @param <T> The type of the batches.
+   *
+   * @throws InterruptedException If interrupted while waiting for space.
+   * @throws ExecutionException If a worker has failed.
+   */
+  static <T> void offer(BlockingQueue<T>          queue,
+                        T                         batch,
+                        List<? extends Future<?>> workers)
+      throws InterruptedException, ExecutionException
+  {
+    while (!queue.offer(batch, CHECK_INTERVAL, TimeUnit.MILLISECONDS)) {
+      for (Future<?> worker : workers) {
+        // a worker only completes early if it failed
+        if (worker.isDone()) worker.get();
+      }
+    }
+  }
+}